@@ -24,11 +24,16 @@ import java.lang.annotation.Target;
  * The annotation that specifies mapping between a field and a condition defined
  * in a conten file.
  *
+ * <p>
+ * This annotation can also be given to a getter method of the result type
+ * declared as an interface, which is returned as a lazy view of each selected
+ * item.
+ *
  * @author Kato Shinya
  * @since 1.0.0
  */
 @Documented
-@Target(ElementType.FIELD)
+@Target({ ElementType.FIELD, ElementType.METHOD })
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Attribute {
 
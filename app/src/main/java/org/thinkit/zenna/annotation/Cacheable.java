@@ -0,0 +1,58 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotation that enables caching of the results of the content class.
+ *
+ * <p>
+ * When this annotation is given to the content class, the result of scanning is
+ * cached for each combination of the condition values of the content class,
+ * and the same result list is returned for the same conditions without
+ * evaluating the content again. The cached results are discarded when the
+ * content file is loaded again.
+ *
+ * <p>
+ * The result list returned from the cached content class is unmodifiable, and
+ * the entities in the list are shared by every scan with the same conditions.
+ * Therefore, only the result type whose entities are immutable can be cached,
+ * that is an interface bound as a lazy view or a type whose non-static fields
+ * are all final, such as a record. The content class whose result type is
+ * mutable is rejected with {@code IllegalContentStateException} when it is
+ * scanned.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Cacheable {
+
+    /**
+     * Specify the maximum number of condition combinations whose results are
+     * cached. When the number of cached results exceeds this size, the result least
+     * recently used is evicted.
+     *
+     * @return The maximum number of cached results
+     */
+    long maximumSize() default 1000L;
+}
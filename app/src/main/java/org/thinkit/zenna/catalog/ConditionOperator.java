@@ -0,0 +1,87 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.catalog;
+
+import org.thinkit.api.catalog.BiCatalog;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The catalog that manages operator of condition.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@RequiredArgsConstructor
+public enum ConditionOperator implements BiCatalog<ConditionOperator, String> {
+
+    /**
+     * The value is equal to the operand
+     */
+    EQUAL(0, "="),
+
+    /**
+     * The value is not equal to the operand
+     */
+    NOT_EQUAL(1, "!="),
+
+    /**
+     * The value is less than the operand
+     */
+    LESS_THAN(2, "<"),
+
+    /**
+     * The value is less than or equal to the operand
+     */
+    LESS_THAN_OR_EQUAL(3, "<="),
+
+    /**
+     * The value is greater than the operand
+     */
+    GREATER_THAN(4, ">"),
+
+    /**
+     * The value is greater than or equal to the operand
+     */
+    GREATER_THAN_OR_EQUAL(5, ">="),
+
+    /**
+     * The value is one of the operands
+     */
+    IN(6, "in"),
+
+    /**
+     * The value is between the lower and upper operands inclusive
+     */
+    BETWEEN(7, "between"),
+
+    /**
+     * The value starts with the operand
+     */
+    PREFIX(8, "prefix");
+
+    /**
+     * The code
+     */
+    @Getter
+    private final int code;
+
+    /**
+     * The tag
+     */
+    @Getter
+    private final String tag;
+}
@@ -31,7 +31,17 @@ public enum ContentExtension implements BiCatalog<ContentExtension, String> {
     /**
      * JSON
      */
-    JSON(0, "json");
+    JSON(0, "json"),
+
+    /**
+     * The binary content file compiled in advance
+     */
+    ZDB(1, "zdb"),
+
+    /**
+     * The content archive packing the binary content files
+     */
+    ZPACK(2, "zpack");
 
     /**
      * The code
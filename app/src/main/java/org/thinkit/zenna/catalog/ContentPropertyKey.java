@@ -36,7 +36,12 @@ public enum ContentPropertyKey implements BiCatalog<ContentPropertyKey, String>
     /**
      * {@code "mapperSuffix"}
      */
-    MAPPER_SUFFIX(1, "mapperSuffix");
+    MAPPER_SUFFIX(1, "mapperSuffix"),
+
+    /**
+     * {@code "contentDirectory"}
+     */
+    CONTENT_DIRECTORY(2, "contentDirectory");
 
     /**
      * The code
@@ -31,7 +31,13 @@ public enum ContentRoot implements BiCatalog<ContentRoot, String> {
     /**
      * {@code "resources/zenna"}
      */
-    DEFAULT(0, "zenna/");
+    DEFAULT(0, "zenna/"),
+
+    /**
+     * {@code "zenna"} under the directory set in {@code "contentDirectory"} of
+     * {@code "content.properties"}
+     */
+    FILE_SYSTEM(1, "zenna/");
 
     /**
      * The code
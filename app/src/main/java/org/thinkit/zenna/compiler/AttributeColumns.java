@@ -0,0 +1,790 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.compiler;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.thinkit.zenna.key.SelectionNodeKey;
+import org.thinkit.zenna.util.ContentNodeResolver;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * The class that holds the attributes of the selection nodes defined in the
+ * content file in columns.
+ *
+ * <p>
+ * Each attribute defined in {@code "selectionNodes"} is stored in a column, and
+ * each selection node is identified by its row, which is its position in
+ * {@code "selectionNodes"} . The column of an attribute whose values are all
+ * {@link Integer} , {@link Long} , {@link Double} or {@link Boolean} is stored
+ * in a primitive array, and the other columns are stored as they are. The
+ * typed getters such as {@link #getInt(int, int)} read a primitive column
+ * without boxing, and convert the value of the other columns in the same way
+ * as unboxing the value returned by {@link #getObject(int, int)} . The equal
+ * strings in the columns are shared by a single instance.
+ *
+ * <p>
+ * The {@code "conditionId"} of each selection node is also encoded into a code
+ * column, and the codes are used to index the selection nodes by condition
+ * node without comparing the strings.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@ToString
+@NoArgsConstructor(access = AccessLevel.PRIVATE, force = true)
+public final class AttributeColumns {
+
+    /**
+     * The column returned if the attribute does not exist
+     */
+    public static final int NOT_FOUND = -1;
+
+    /**
+     * The handle that unboxes an object to {@code int}
+     */
+    private static final MethodHandle TO_INT = unboxer(int.class);
+
+    /**
+     * The handle that unboxes an object to {@code long}
+     */
+    private static final MethodHandle TO_LONG = unboxer(long.class);
+
+    /**
+     * The handle that unboxes an object to {@code double}
+     */
+    private static final MethodHandle TO_DOUBLE = unboxer(double.class);
+
+    /**
+     * The handle that unboxes an object to {@code boolean}
+     */
+    private static final MethodHandle TO_BOOLEAN = unboxer(boolean.class);
+
+    /**
+     * The number of rows
+     */
+    private final int rowCount;
+
+    /**
+     * The columns associated with each attribute name
+     */
+    private final Map<String, Integer> columns;
+
+    /**
+     * The attribute names of each column
+     */
+    private final String[] attributes;
+
+    /**
+     * The types of each column
+     */
+    private final ColumnType[] types;
+
+    /**
+     * The values of each column, stored in the array of the column type
+     */
+    @ToString.Exclude
+    private final Object[] values;
+
+    /**
+     * The rows where the value of each column does not exist
+     */
+    @ToString.Exclude
+    private final BitSet[] nulls;
+
+    /**
+     * The codes of the condition id of each row, or {@link #NOT_FOUND} for the
+     * rows without condition id
+     */
+    @ToString.Exclude
+    private final int[] conditionCodes;
+
+    /**
+     * The codes associated with each condition id
+     */
+    private final Map<String, Integer> conditionIds;
+
+    /**
+     * The constructor.
+     *
+     * @param builder The builder holding the attributes of each row
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private AttributeColumns(@NonNull Builder builder) {
+
+        this.rowCount = builder.rowCount;
+        this.conditionCodes = Arrays.copyOf(builder.conditionCodes, this.rowCount);
+        this.conditionIds = builder.conditionIds;
+
+        final Map<String, Object[]> rawColumns = builder.rawColumns;
+
+        this.columns = new HashMap<>(rawColumns.size() * 2);
+        this.attributes = new String[rawColumns.size()];
+        this.types = new ColumnType[rawColumns.size()];
+        this.values = new Object[rawColumns.size()];
+        this.nulls = new BitSet[rawColumns.size()];
+
+        int column = 0;
+
+        for (final Entry<String, Object[]> rawColumn : rawColumns.entrySet()) {
+            final Object[] rawValues = Arrays.copyOf(rawColumn.getValue(), this.rowCount);
+            this.columns.put(rawColumn.getKey(), column);
+            this.attributes[column] = rawColumn.getKey();
+            this.types[column] = this.getColumnType(rawValues);
+            this.nulls[column] = this.getNulls(rawValues);
+            this.values[column] = this.toColumn(this.types[column], rawValues);
+            column++;
+        }
+    }
+
+    /**
+     * The constructor.
+     *
+     * @param rowCount       The number of rows
+     * @param attributes     The attribute name of each column
+     * @param types          The type of each column
+     * @param values         The array holding the values of each column
+     * @param nulls          The rows where the value of each column does not exist
+     * @param conditionCodes The codes of the condition id of each row
+     * @param conditionIds   The condition id of each code
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private AttributeColumns(int rowCount, @NonNull String[] attributes, @NonNull ColumnType[] types,
+            @NonNull Object[] values, @NonNull BitSet[] nulls, @NonNull int[] conditionCodes,
+            @NonNull String[] conditionIds) {
+
+        this.rowCount = rowCount;
+        this.attributes = attributes;
+        this.types = types;
+        this.values = values;
+        this.nulls = nulls;
+        this.conditionCodes = conditionCodes;
+        this.columns = new HashMap<>(attributes.length * 2);
+        this.conditionIds = new HashMap<>(conditionIds.length * 2);
+
+        for (int column = 0; column < attributes.length; column++) {
+            this.columns.put(attributes[column], column);
+        }
+
+        for (int code = 0; code < conditionIds.length; code++) {
+            this.conditionIds.put(conditionIds[code], code);
+        }
+    }
+
+    /**
+     * Returns the new instance of {@link AttributeColumns} based on the selection
+     * nodes defined in the content passed as an argument.
+     *
+     * @param content The map containing the items defined in the content file
+     * @return The new instance of {@link AttributeColumns}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public static AttributeColumns from(@NonNull Map<String, Object> content) {
+
+        final List<Map<String, Object>> selectionNodes = ContentNodeResolver.getNodeList(content,
+                SelectionNodeKey.SELECTION_NODES);
+        final Builder builder = builder();
+
+        if (selectionNodes != null) {
+            for (final Map<String, Object> selectionNode : selectionNodes) {
+                builder.addRow();
+
+                final Map<String, Object> nodeMap = ContentNodeResolver.getNodeMap(selectionNode,
+                        SelectionNodeKey.NODE);
+
+                if (nodeMap != null) {
+                    nodeMap.forEach(builder::set);
+                }
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Returns the new instance of {@link AttributeColumns} holding the columns
+     * passed as arguments as they are. It is used to restore the attribute columns
+     * written in the binary content file without collecting the rows again. The
+     * array of each column must be the array of the column type, and the strings
+     * in the columns should already be shared by a single instance.
+     *
+     * @param rowCount       The number of rows
+     * @param attributes     The attribute name of each column
+     * @param types          The type of each column
+     * @param values         The array holding the values of each column
+     * @param nulls          The rows where the value of each column does not exist
+     * @param conditionCodes The codes of the condition id of each row
+     * @param conditionIds   The condition id of each code
+     * @return The new instance of {@link AttributeColumns}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    static AttributeColumns of(int rowCount, @NonNull String[] attributes, @NonNull ColumnType[] types,
+            @NonNull Object[] values, @NonNull BitSet[] nulls, @NonNull int[] conditionCodes,
+            @NonNull String[] conditionIds) {
+        return new AttributeColumns(rowCount, attributes, types, values, nulls, conditionCodes, conditionIds);
+    }
+
+    /**
+     * Returns the new builder that creates the attribute columns row by row. It is
+     * used to create the attribute columns without holding each selection node in
+     * a map.
+     *
+     * @return The new builder
+     */
+    static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the number of rows, which is the number of selection nodes.
+     *
+     * @return The number of rows
+     */
+    public int size() {
+        return this.rowCount;
+    }
+
+    /**
+     * Returns the number of columns.
+     *
+     * @return The number of columns
+     */
+    public int getColumnCount() {
+        return this.attributes.length;
+    }
+
+    /**
+     * Returns the attribute name of the column passed as an argument.
+     *
+     * @param column The column
+     * @return The attribute name of the column
+     *
+     * @exception IndexOutOfBoundsException If the column is out of range
+     */
+    public String getAttribute(int column) {
+        return this.attributes[column];
+    }
+
+    /**
+     * Returns the column of the attribute passed as an argument.
+     *
+     * @param attribute The attribute name
+     * @return The column of the attribute, or {@link #NOT_FOUND} if the attribute
+     *         does not exist
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public int getColumn(@NonNull String attribute) {
+        return this.columns.getOrDefault(attribute, NOT_FOUND);
+    }
+
+    /**
+     * Returns the columns of the attributes passed as an argument, in the
+     * iteration order of the attributes. The column of the attribute that does not
+     * exist is {@link #NOT_FOUND} .
+     *
+     * @param attributes The attribute names
+     * @return The columns of the attributes
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public int[] getColumns(@NonNull Collection<String> attributes) {
+
+        final int[] columns = new int[attributes.size()];
+        int index = 0;
+
+        for (final String attribute : attributes) {
+            columns[index++] = this.getColumn(attribute);
+        }
+
+        return columns;
+    }
+
+    /**
+     * Returns the number of distinct condition ids, which is also the upper bound
+     * of the codes of condition id.
+     *
+     * @return The number of distinct condition ids
+     */
+    public int getConditionCodeCount() {
+        return this.conditionIds.size();
+    }
+
+    /**
+     * Returns the code of the condition id of the row passed as an argument.
+     *
+     * @param row The row
+     * @return The code of the condition id, or {@link #NOT_FOUND} if the row does
+     *         not have condition id
+     *
+     * @exception IndexOutOfBoundsException If the row is out of range
+     */
+    public int getConditionCode(int row) {
+        return this.conditionCodes[row];
+    }
+
+    /**
+     * Returns the code of the condition id passed as an argument.
+     *
+     * @param conditionId The condition id
+     * @return The code of the condition id, or {@link #NOT_FOUND} if no row has
+     *         the condition id
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public int getConditionCode(@NonNull String conditionId) {
+        return this.conditionIds.getOrDefault(conditionId, NOT_FOUND);
+    }
+
+    /**
+     * Returns the type of the column passed as an argument.
+     *
+     * @param column The column
+     * @return The type of the column
+     *
+     * @exception IndexOutOfBoundsException If the column is out of range
+     */
+    public ColumnType getType(int column) {
+        return this.types[column];
+    }
+
+    /**
+     * Checks if the value at the column and the row passed as arguments does not
+     * exist. The value of {@link #NOT_FOUND} column never exists.
+     *
+     * @param column The column
+     * @param row    The row
+     * @return {@code true} if the value does not exist, otherwise {@code false}
+     */
+    public boolean isNull(int column, int row) {
+        return column == NOT_FOUND || this.nulls[column].get(row);
+    }
+
+    /**
+     * Returns the value at the column and the row passed as arguments as an
+     * object. The value of a primitive column is boxed.
+     *
+     * @param column The column
+     * @param row    The row
+     * @return The value, or {@code null} if the value does not exist
+     *
+     * @exception IndexOutOfBoundsException If the row is out of range
+     */
+    public Object getObject(int column, int row) {
+
+        if (this.isNull(column, row)) {
+            return null;
+        }
+
+        switch (this.types[column]) {
+            case INT:
+                return ((int[]) this.values[column])[row];
+            case LONG:
+                return ((long[]) this.values[column])[row];
+            case DOUBLE:
+                return ((double[]) this.values[column])[row];
+            case BOOLEAN:
+                return ((boolean[]) this.values[column])[row];
+            default:
+                return ((Object[]) this.values[column])[row];
+        }
+    }
+
+    /**
+     * Returns the value at the column and the row passed as arguments as
+     * {@code int} .
+     *
+     * @param column The column
+     * @param row    The row
+     * @return The value
+     *
+     * @exception NullPointerException      If the value does not exist
+     * @exception ClassCastException        If the value cannot be unboxed to
+     *                                      {@code int}
+     * @exception IndexOutOfBoundsException If the row is out of range
+     */
+    public int getInt(int column, int row) {
+
+        if (this.isPrimitive(column, row, ColumnType.INT)) {
+            return ((int[]) this.values[column])[row];
+        }
+
+        try {
+            return (int) TO_INT.invokeExact(this.getObject(column, row));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the value at the column and the row passed as arguments as
+     * {@code long} .
+     *
+     * @param column The column
+     * @param row    The row
+     * @return The value
+     *
+     * @exception NullPointerException      If the value does not exist
+     * @exception ClassCastException        If the value cannot be unboxed to
+     *                                      {@code long}
+     * @exception IndexOutOfBoundsException If the row is out of range
+     */
+    public long getLong(int column, int row) {
+
+        if (this.isPrimitive(column, row, ColumnType.LONG)) {
+            return ((long[]) this.values[column])[row];
+        }
+
+        if (this.isPrimitive(column, row, ColumnType.INT)) {
+            return ((int[]) this.values[column])[row];
+        }
+
+        try {
+            return (long) TO_LONG.invokeExact(this.getObject(column, row));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the value at the column and the row passed as arguments as
+     * {@code double} .
+     *
+     * @param column The column
+     * @param row    The row
+     * @return The value
+     *
+     * @exception NullPointerException      If the value does not exist
+     * @exception ClassCastException        If the value cannot be unboxed to
+     *                                      {@code double}
+     * @exception IndexOutOfBoundsException If the row is out of range
+     */
+    public double getDouble(int column, int row) {
+
+        if (this.isPrimitive(column, row, ColumnType.DOUBLE)) {
+            return ((double[]) this.values[column])[row];
+        }
+
+        if (this.isPrimitive(column, row, ColumnType.LONG)) {
+            return ((long[]) this.values[column])[row];
+        }
+
+        if (this.isPrimitive(column, row, ColumnType.INT)) {
+            return ((int[]) this.values[column])[row];
+        }
+
+        try {
+            return (double) TO_DOUBLE.invokeExact(this.getObject(column, row));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the value at the column and the row passed as arguments as
+     * {@code boolean} .
+     *
+     * @param column The column
+     * @param row    The row
+     * @return The value
+     *
+     * @exception NullPointerException      If the value does not exist
+     * @exception ClassCastException        If the value cannot be unboxed to
+     *                                      {@code boolean}
+     * @exception IndexOutOfBoundsException If the row is out of range
+     */
+    public boolean getBoolean(int column, int row) {
+
+        if (this.isPrimitive(column, row, ColumnType.BOOLEAN)) {
+            return ((boolean[]) this.values[column])[row];
+        }
+
+        try {
+            return (boolean) TO_BOOLEAN.invokeExact(this.getObject(column, row));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Checks if the value at the column and the row passed as arguments exists in
+     * the primitive column of the type passed as an argument.
+     *
+     * @param column The column
+     * @param row    The row
+     * @param type   The type of primitive column
+     * @return {@code true} if the value exists in the primitive column of the
+     *         type, otherwise {@code false}
+     */
+    private boolean isPrimitive(int column, int row, ColumnType type) {
+        return column != NOT_FOUND && this.types[column] == type && !this.nulls[column].get(row);
+    }
+
+    /**
+     * Returns the type of the column based on the values passed as an argument.
+     * The primitive type is returned only if all the existing values are boxed in
+     * the same wrapper class.
+     *
+     * @param rawColumn The values of the column
+     * @return The type of the column
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private ColumnType getColumnType(@NonNull Object[] rawColumn) {
+
+        Class<?> valueType = null;
+
+        for (final Object value : rawColumn) {
+            if (value == null) {
+                continue;
+            }
+
+            if (valueType == null) {
+                valueType = value.getClass();
+            } else if (valueType != value.getClass()) {
+                return ColumnType.OBJECT;
+            }
+        }
+
+        if (valueType == Integer.class) {
+            return ColumnType.INT;
+        } else if (valueType == Long.class) {
+            return ColumnType.LONG;
+        } else if (valueType == Double.class) {
+            return ColumnType.DOUBLE;
+        } else if (valueType == Boolean.class) {
+            return ColumnType.BOOLEAN;
+        }
+
+        return ColumnType.OBJECT;
+    }
+
+    /**
+     * Returns the rows where the value does not exist.
+     *
+     * @param rawColumn The values of the column
+     * @return The rows where the value does not exist
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private BitSet getNulls(@NonNull Object[] rawColumn) {
+
+        final BitSet nulls = new BitSet(rawColumn.length);
+
+        for (int row = 0; row < rawColumn.length; row++) {
+            if (rawColumn[row] == null) {
+                nulls.set(row);
+            }
+        }
+
+        return nulls;
+    }
+
+    /**
+     * Returns the array of the column type holding the values passed as an
+     * argument.
+     *
+     * @param type      The type of the column
+     * @param rawColumn The values of the column
+     * @return The array holding the values
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private Object toColumn(@NonNull ColumnType type, @NonNull Object[] rawColumn) {
+
+        final int rowCount = rawColumn.length;
+
+        switch (type) {
+            case INT:
+                final int[] ints = new int[rowCount];
+                for (int row = 0; row < rowCount; row++) {
+                    ints[row] = rawColumn[row] != null ? (Integer) rawColumn[row] : 0;
+                }
+                return ints;
+            case LONG:
+                final long[] longs = new long[rowCount];
+                for (int row = 0; row < rowCount; row++) {
+                    longs[row] = rawColumn[row] != null ? (Long) rawColumn[row] : 0L;
+                }
+                return longs;
+            case DOUBLE:
+                final double[] doubles = new double[rowCount];
+                for (int row = 0; row < rowCount; row++) {
+                    doubles[row] = rawColumn[row] != null ? (Double) rawColumn[row] : 0.0d;
+                }
+                return doubles;
+            case BOOLEAN:
+                final boolean[] booleans = new boolean[rowCount];
+                for (int row = 0; row < rowCount; row++) {
+                    booleans[row] = rawColumn[row] != null && (Boolean) rawColumn[row];
+                }
+                return booleans;
+            default:
+                return rawColumn;
+        }
+    }
+
+    /**
+     * Returns the handle that unboxes an object to the primitive type passed as an
+     * argument, in the same way as the reflection.
+     *
+     * @param primitiveType The primitive type
+     * @return The handle that unboxes an object
+     */
+    private static MethodHandle unboxer(Class<?> primitiveType) {
+        return MethodHandles.identity(Object.class).asType(MethodType.methodType(primitiveType, Object.class));
+    }
+
+    /**
+     * The class that collects the attributes of the selection nodes row by row and
+     * creates the {@link AttributeColumns} . The arrays holding each column grow
+     * as the rows are added, and the equal strings are shared by a single instance
+     * as they are set.
+     */
+    @ToString
+    static final class Builder {
+
+        /**
+         * The initial capacity of each column
+         */
+        private static final int INITIAL_CAPACITY = 16;
+
+        /**
+         * The number of rows
+         */
+        private int rowCount;
+
+        /**
+         * The values of each attribute
+         */
+        @ToString.Exclude
+        private final Map<String, Object[]> rawColumns = new LinkedHashMap<>();
+
+        /**
+         * The canonical instance of each string
+         */
+        @ToString.Exclude
+        private final Map<String, String> strings = new HashMap<>();
+
+        /**
+         * The codes of the condition id of each row
+         */
+        @ToString.Exclude
+        private int[] conditionCodes = new int[INITIAL_CAPACITY];
+
+        /**
+         * The code of each condition id
+         */
+        @ToString.Exclude
+        private final Map<String, Integer> conditionIds = new HashMap<>();
+
+        /**
+         * The constructor.
+         */
+        private Builder() {
+        }
+
+        /**
+         * Adds the new row. The attributes set after this method is called are
+         * stored in the added row.
+         *
+         * @return This builder
+         */
+        Builder addRow() {
+
+            if (this.rowCount == this.conditionCodes.length) {
+                final int capacity = this.rowCount * 2;
+                this.conditionCodes = Arrays.copyOf(this.conditionCodes, capacity);
+                this.rawColumns.replaceAll((attribute, rawColumn) -> Arrays.copyOf(rawColumn, capacity));
+            }
+
+            this.conditionCodes[this.rowCount++] = NOT_FOUND;
+            return this;
+        }
+
+        /**
+         * Sets the value of the attribute to the last added row. If the attribute is
+         * {@code "conditionId"} , the condition id is also encoded into the code
+         * column.
+         *
+         * @param attribute The attribute name
+         * @param value     The value of the attribute
+         * @return This builder
+         *
+         * @exception NullPointerException  If {@code attribute} is {@code null}
+         * @exception ClassCastException    If the condition id is not a string
+         * @exception IllegalStateException If no row has been added
+         */
+        Builder set(@NonNull String attribute, Object value) {
+
+            if (this.rowCount == 0) {
+                throw new IllegalStateException("The row must be added before the attribute is set.");
+            }
+
+            final int row = this.rowCount - 1;
+            final Object canonicalValue = value instanceof String
+                    ? this.strings.computeIfAbsent((String) value, string -> string)
+                    : value;
+
+            this.rawColumns.computeIfAbsent(attribute,
+                    key -> new Object[this.conditionCodes.length])[row] = canonicalValue;
+
+            if (SelectionNodeKey.CONDITION_ID.getName().equals(attribute)) {
+                final String conditionId = (String) value;
+                this.conditionCodes[row] = conditionId != null && !conditionId.isEmpty()
+                        ? this.conditionIds.computeIfAbsent(conditionId, key -> this.conditionIds.size())
+                        : NOT_FOUND;
+            }
+
+            return this;
+        }
+
+        /**
+         * Returns the new instance of {@link AttributeColumns} holding the rows added
+         * to this builder.
+         *
+         * @return The new instance of {@link AttributeColumns}
+         */
+        AttributeColumns build() {
+            return new AttributeColumns(this);
+        }
+    }
+}
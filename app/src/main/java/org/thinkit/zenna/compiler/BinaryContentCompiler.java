@@ -0,0 +1,600 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.compiler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.thinkit.common.base.precondition.Preconditions;
+import org.thinkit.zenna.catalog.ConditionOperator;
+import org.thinkit.zenna.exception.ContentParsingException;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * The class that restores the compiled content from the binary content file
+ * written by the {@link BinaryContentWriter} .
+ *
+ * <p>
+ * The binary content file is not parsed. After the header is validated with the
+ * format version and the checksum of the body, each primitive column is copied
+ * from the buffer in bulk, the strings are decoded once from the dictionary of
+ * the body and shared by every column, and the indexes built in advance are
+ * restored from their bitsets and sorted arrays as they are. Therefore, the
+ * content is ready to be evaluated without compiling the selection nodes and
+ * the condition nodes again, and without parsing any value.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor(access = AccessLevel.PRIVATE, force = true)
+public final class BinaryContentCompiler implements Compiler {
+
+    /**
+     * The buffer holding the binary content file
+     */
+    @ToString.Exclude
+    private final ByteBuffer contentBuffer;
+
+    /**
+     * The constructor.
+     *
+     * @param contentBuffer The buffer holding the binary content file
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private BinaryContentCompiler(@NonNull ByteBuffer contentBuffer) {
+        this.contentBuffer = contentBuffer;
+    }
+
+    /**
+     * Returns the new instance of {@link BinaryContentCompiler} based on the
+     * buffer holding the binary content file from its position to its limit. The
+     * buffer may be a direct buffer mapped to the file.
+     *
+     * @param contentBuffer The buffer holding the binary content file
+     * @return The new instance of {@link BinaryContentCompiler}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public static BinaryContentCompiler from(@NonNull ByteBuffer contentBuffer) {
+        return new BinaryContentCompiler(contentBuffer.slice());
+    }
+
+    /**
+     * Returns the new instance of {@link BinaryContentCompiler} based on the input
+     * stream of the binary content file. The input stream is read to the end and
+     * closed.
+     *
+     * @param contentStream The input stream of the binary content file
+     * @return The new instance of {@link BinaryContentCompiler}
+     *
+     * @exception NullPointerException    If {@code null} is passed as an argument
+     * @exception ContentParsingException If the input stream cannot be read
+     */
+    public static BinaryContentCompiler from(@NonNull InputStream contentStream) {
+        try (contentStream) {
+            return new BinaryContentCompiler(ByteBuffer.wrap(contentStream.readAllBytes()));
+        } catch (IOException e) {
+            throw new ContentParsingException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @exception NullPointerException    If the buffer of the binary content file
+     *                                    is {@code null}
+     * @exception ContentParsingException If the binary content file is broken or
+     *                                    its format version is not supported
+     */
+    @Override
+    public CompiledContent compile() {
+        Preconditions.requireNonNull(this.contentBuffer, "The content buffer must not be null.");
+
+        try {
+            return this.readBody(this.validateHeader(this.contentBuffer.duplicate().order(ByteOrder.BIG_ENDIAN)));
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException
+                | NegativeArraySizeException | ClassCastException e) {
+            throw new ContentParsingException("The binary content file is broken.", e);
+        }
+    }
+
+    /**
+     * Validates the header of the binary content file and returns the buffer
+     * holding the body.
+     *
+     * @param buffer The buffer positioned at the header
+     * @return The buffer holding the body
+     *
+     * @exception NullPointerException    If {@code null} is passed as an argument
+     * @exception ContentParsingException If the header is not valid or the
+     *                                    checksum of the body does not match
+     */
+    private ByteBuffer validateHeader(@NonNull ByteBuffer buffer) {
+
+        if (buffer.remaining() < BinaryContentFormat.HEADER_SIZE || buffer.getInt() != BinaryContentFormat.MAGIC) {
+            throw new ContentParsingException("The content is not a binary content file.");
+        }
+
+        final short version = buffer.getShort();
+
+        if (version != BinaryContentFormat.VERSION) {
+            throw new ContentParsingException(
+                    String.format("The format version '%d' of the binary content file is not supported.", version));
+        }
+
+        buffer.getShort();
+
+        final int bodyLength = buffer.getInt();
+        final int expectedChecksum = buffer.getInt();
+
+        if (bodyLength != buffer.remaining()) {
+            throw new ContentParsingException("The length of the binary content file does not match its header.");
+        }
+
+        final ByteBuffer body = buffer.slice().order(ByteOrder.BIG_ENDIAN);
+        final CRC32 checksum = new CRC32();
+        checksum.update(body.duplicate());
+
+        if ((int) checksum.getValue() != expectedChecksum) {
+            throw new ContentParsingException("The checksum of the binary content file does not match its header.");
+        }
+
+        return body;
+    }
+
+    /**
+     * Reads the body of the binary content file and returns the compiled content.
+     *
+     * @param body The buffer holding the body
+     * @return The compiled content
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private CompiledContent readBody(@NonNull ByteBuffer body) {
+
+        final String[] strings = this.readStrings(body);
+        final String resultType = this.readString(body, strings);
+        final int weight = body.getInt();
+        final AttributeColumns attributeColumns = this.readAttributeColumns(body, strings);
+        final ConditionIndex conditionIndex = this.readConditionIndex(body, strings);
+        final SelectionIndex selectionIndex = this.readSelectionIndex(body, conditionIndex);
+
+        return new CompiledContent(resultType, attributeColumns, selectionIndex, conditionIndex, weight);
+    }
+
+    /**
+     * Reads the strings of the body.
+     *
+     * @param body The buffer positioned at the strings
+     * @return The strings
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private String[] readStrings(@NonNull ByteBuffer body) {
+
+        final String[] strings = new String[body.getInt()];
+
+        for (int i = 0; i < strings.length; i++) {
+            final int length = body.getInt();
+
+            if (body.hasArray()) {
+                strings[i] = new String(body.array(), body.arrayOffset() + body.position(), length,
+                        StandardCharsets.UTF_8);
+                body.position(body.position() + length);
+            } else {
+                final byte[] bytes = new byte[length];
+                body.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+
+        return strings;
+    }
+
+    /**
+     * Reads the attribute columns of the body.
+     *
+     * @param body    The buffer positioned at the attribute columns
+     * @param strings The strings of the body
+     * @return The attribute columns
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private AttributeColumns readAttributeColumns(@NonNull ByteBuffer body, @NonNull String[] strings) {
+
+        final int rowCount = body.getInt();
+        final int columnCount = body.getInt();
+        final String[] attributes = new String[columnCount];
+        final ColumnType[] types = new ColumnType[columnCount];
+        final Object[] values = new Object[columnCount];
+        final BitSet[] nulls = new BitSet[columnCount];
+
+        for (int column = 0; column < columnCount; column++) {
+            attributes[column] = this.readString(body, strings);
+            types[column] = BinaryContentFormat.toColumnType(body.get());
+            nulls[column] = this.readBitSet(body);
+
+            switch (types[column]) {
+                case INT:
+                    final int[] ints = new int[rowCount];
+                    body.asIntBuffer().get(ints);
+                    body.position(body.position() + rowCount * Integer.BYTES);
+                    values[column] = ints;
+                    break;
+                case LONG:
+                    final long[] longs = new long[rowCount];
+                    body.asLongBuffer().get(longs);
+                    body.position(body.position() + rowCount * Long.BYTES);
+                    values[column] = longs;
+                    break;
+                case DOUBLE:
+                    final double[] doubles = new double[rowCount];
+                    body.asDoubleBuffer().get(doubles);
+                    body.position(body.position() + rowCount * Double.BYTES);
+                    values[column] = doubles;
+                    break;
+                case BOOLEAN:
+                    final BitSet bits = this.readBitSet(body);
+                    final boolean[] booleans = new boolean[rowCount];
+
+                    for (int row = bits.nextSetBit(0); row >= 0 && row < rowCount; row = bits.nextSetBit(row + 1)) {
+                        booleans[row] = true;
+                    }
+
+                    values[column] = booleans;
+                    break;
+                default:
+                    final Object[] objects = new Object[rowCount];
+
+                    for (int row = 0; row < rowCount; row++) {
+                        objects[row] = this.readValue(body, strings);
+                    }
+
+                    values[column] = objects;
+            }
+        }
+
+        final String[] conditionIds = new String[body.getInt()];
+
+        for (int code = 0; code < conditionIds.length; code++) {
+            conditionIds[code] = this.readString(body, strings);
+        }
+
+        final int[] conditionCodes = new int[rowCount];
+        body.asIntBuffer().get(conditionCodes);
+        body.position(body.position() + rowCount * Integer.BYTES);
+
+        return AttributeColumns.of(rowCount, attributes, types, values, nulls, conditionCodes, conditionIds);
+    }
+
+    /**
+     * Reads the condition index of the body.
+     *
+     * @param body    The buffer positioned at the condition index
+     * @param strings The strings of the body
+     * @return The condition index
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private ConditionIndex readConditionIndex(@NonNull ByteBuffer body, @NonNull String[] strings) {
+
+        final String[] conditionIds = new String[body.getInt()];
+
+        for (int position = 0; position < conditionIds.length; position++) {
+            conditionIds[position] = this.readString(body, strings);
+        }
+
+        final BitSet excludeNodes = this.readBitSet(body);
+        final int keyCount = body.getInt();
+        final Map<String, ConditionKeyIndex> keyIndexes = new HashMap<>(keyCount);
+
+        for (int i = 0; i < keyCount; i++) {
+            final String keyName = this.readString(body, strings);
+            keyIndexes.put(keyName, this.readKeyIndex(body, strings));
+        }
+
+        return ConditionIndex.of(conditionIds, excludeNodes, keyIndexes);
+    }
+
+    /**
+     * Reads the index of the condition nodes constraining a key name.
+     *
+     * @param body    The buffer positioned at the index of the key name
+     * @param strings The strings of the body
+     * @return The index of the key name
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the operator of a range index is not
+     *                                     defined
+     */
+    private ConditionKeyIndex readKeyIndex(@NonNull ByteBuffer body, @NonNull String[] strings) {
+
+        final BitSet equalityNodes = this.readBitSet(body);
+
+        final String[] operands = new String[body.getInt()];
+
+        for (int code = 0; code < operands.length; code++) {
+            operands[code] = this.readString(body, strings);
+        }
+
+        final long[] integralOperands = new long[body.getInt()];
+        body.asLongBuffer().get(integralOperands);
+        body.position(body.position() + integralOperands.length * Long.BYTES);
+
+        final int[] integralCodes = new int[integralOperands.length];
+        body.asIntBuffer().get(integralCodes);
+        body.position(body.position() + integralCodes.length * Integer.BYTES);
+
+        final List<BitSet> satisfiedNodes = this.readBitSets(body);
+        final List<BitSet> notEqualNodes = this.readBitSets(body);
+
+        final int rangeCount = body.getInt();
+        final Map<ConditionOperator, RangeIndex> rangeIndexes = new EnumMap<>(ConditionOperator.class);
+
+        for (int i = 0; i < rangeCount; i++) {
+            final RangeIndex rangeIndex = this.readRangeIndex(body, strings);
+            rangeIndexes.put(rangeIndex.getOperator(), rangeIndex);
+        }
+
+        final BitSet prefixNodes = this.readBitSet(body);
+        final int prefixCount = body.getInt();
+        final Map<String, BitSet> prefixSatisfiedNodes = new HashMap<>(prefixCount);
+
+        for (int i = 0; i < prefixCount; i++) {
+            final String prefix = this.readString(body, strings);
+            prefixSatisfiedNodes.put(prefix, this.readBitSet(body));
+        }
+
+        final int[] prefixLengths = new int[body.getInt()];
+        body.asIntBuffer().get(prefixLengths);
+        body.position(body.position() + prefixLengths.length * Integer.BYTES);
+
+        return ConditionKeyIndex.of(equalityNodes, OperandDictionary.of(operands, integralOperands, integralCodes),
+                satisfiedNodes, notEqualNodes, rangeIndexes, prefixNodes, prefixSatisfiedNodes, prefixLengths);
+    }
+
+    /**
+     * Reads the range index written with the tag of its operator.
+     *
+     * @param body    The buffer positioned at the range index
+     * @param strings The strings of the body
+     * @return The range index
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the operator is not defined
+     */
+    private RangeIndex readRangeIndex(@NonNull ByteBuffer body, @NonNull String[] strings) {
+
+        final ConditionOperator operator = ConditionKeyIndex.toOperator(this.readString(body, strings));
+
+        final BigDecimal[] numericOperands = new BigDecimal[body.getInt()];
+
+        for (int i = 0; i < numericOperands.length; i++) {
+            numericOperands[i] = this.readDecimal(body);
+        }
+
+        final int[] numericPositions = new int[numericOperands.length];
+        body.asIntBuffer().get(numericPositions);
+        body.position(body.position() + numericPositions.length * Integer.BYTES);
+
+        final String[] textOperands = new String[body.getInt()];
+
+        for (int i = 0; i < textOperands.length; i++) {
+            textOperands[i] = this.readString(body, strings);
+        }
+
+        final int[] textPositions = new int[textOperands.length];
+        body.asIntBuffer().get(textPositions);
+        body.position(body.position() + textPositions.length * Integer.BYTES);
+
+        return RangeIndex.of(operator, numericOperands, numericPositions, textOperands, textPositions);
+    }
+
+    /**
+     * Reads the selection index of the body. The condition nodes whose
+     * {@code "exclude"} is {@code true} are shared with the condition index.
+     *
+     * @param body           The buffer positioned at the selection index
+     * @param conditionIndex The condition index read from the body
+     * @return The selection index
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private SelectionIndex readSelectionIndex(@NonNull ByteBuffer body, @NonNull ConditionIndex conditionIndex) {
+
+        final int nodeCount = body.getInt();
+        final BitSet defaultNodes = this.readBitSet(body);
+
+        final BitSet[] selections = new BitSet[body.getInt()];
+
+        for (int i = 0; i < selections.length; i++) {
+            selections[i] = this.readBitSet(body);
+        }
+
+        final BitSet[] conditionNodeSelections = new BitSet[body.getInt()];
+
+        for (int node = 0; node < conditionNodeSelections.length; node++) {
+            conditionNodeSelections[node] = selections[body.getInt()];
+        }
+
+        return SelectionIndex.of(nodeCount, defaultNodes, conditionNodeSelections, conditionIndex.getExcludeNodes());
+    }
+
+    /**
+     * Reads the value in a column of {@link ColumnType#OBJECT} written with the tag
+     * of its type.
+     *
+     * @param body    The buffer positioned at the value
+     * @param strings The strings of the body
+     * @return The value
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the tag is not defined
+     */
+    private Object readValue(@NonNull ByteBuffer body, @NonNull String[] strings) {
+
+        final byte tag = body.get();
+
+        switch (tag) {
+            case BinaryContentFormat.TAG_NULL:
+                return null;
+            case BinaryContentFormat.TAG_STRING:
+                return this.readString(body, strings);
+            case BinaryContentFormat.TAG_INTEGER:
+                return body.getInt();
+            case BinaryContentFormat.TAG_LONG:
+                return body.getLong();
+            case BinaryContentFormat.TAG_DOUBLE:
+                return body.getDouble();
+            case BinaryContentFormat.TAG_BOOLEAN:
+                return body.get() != 0;
+            case BinaryContentFormat.TAG_BIG_INTEGER:
+                return new BigInteger(this.readBytes(body));
+            case BinaryContentFormat.TAG_BIG_DECIMAL:
+                return this.readDecimal(body);
+            case BinaryContentFormat.TAG_LIST:
+                final int size = body.getInt();
+                final List<Object> list = new ArrayList<>(size);
+
+                for (int i = 0; i < size; i++) {
+                    list.add(this.readValue(body, strings));
+                }
+
+                return list;
+            case BinaryContentFormat.TAG_MAP:
+                final int entryCount = body.getInt();
+                final Map<String, Object> map = new LinkedHashMap<>(entryCount);
+
+                for (int i = 0; i < entryCount; i++) {
+                    final String key = this.readString(body, strings);
+                    map.put(key, this.readValue(body, strings));
+                }
+
+                return map;
+            default:
+                throw new IllegalArgumentException(String.format("The value tag '%d' is not defined.", tag));
+        }
+    }
+
+    /**
+     * Reads the decimal written as the scale followed by the bytes of the unscaled
+     * value.
+     *
+     * @param body The buffer positioned at the decimal
+     * @return The decimal
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private BigDecimal readDecimal(@NonNull ByteBuffer body) {
+        final int scale = body.getInt();
+        return new BigDecimal(new BigInteger(this.readBytes(body)), scale);
+    }
+
+    /**
+     * Reads the bytes prefixed with their length.
+     *
+     * @param body The buffer positioned at the bytes
+     * @return The bytes
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private byte[] readBytes(@NonNull ByteBuffer body) {
+
+        final byte[] bytes = new byte[body.getInt()];
+        body.get(bytes);
+
+        return bytes;
+    }
+
+    /**
+     * Reads the bitsets prefixed with their number. Each bitset is read as a
+     * nullable bitset.
+     *
+     * @param body The buffer positioned at the bitsets
+     * @return The bitsets, which may contain {@code null}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private List<BitSet> readBitSets(@NonNull ByteBuffer body) {
+
+        final int size = body.getInt();
+        final List<BitSet> bitSets = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            if (body.getInt(body.position()) == BinaryContentFormat.NULL_BITSET) {
+                body.getInt();
+                bitSets.add(null);
+            } else {
+                bitSets.add(this.readBitSet(body));
+            }
+        }
+
+        return bitSets;
+    }
+
+    /**
+     * Reads the bitset written as the number of words followed by each word.
+     *
+     * @param body The buffer positioned at the bitset
+     * @return The bitset
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private BitSet readBitSet(@NonNull ByteBuffer body) {
+
+        final long[] words = new long[body.getInt()];
+        body.asLongBuffer().get(words);
+        body.position(body.position() + words.length * Long.BYTES);
+
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * Reads the index of a string and returns the string.
+     *
+     * @param body    The buffer positioned at the index of the string
+     * @param strings The strings of the body
+     * @return The string, or {@code null} if the index is
+     *         {@link BinaryContentFormat#NULL_STRING}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private String readString(@NonNull ByteBuffer body, @NonNull String[] strings) {
+        final int index = body.getInt();
+        return index == BinaryContentFormat.NULL_STRING ? null : strings[index];
+    }
+}
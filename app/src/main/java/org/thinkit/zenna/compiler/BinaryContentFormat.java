@@ -0,0 +1,219 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.compiler;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * The class that defines the layout of the binary content file, whose extension
+ * is {@code ".zdb"} .
+ *
+ * <p>
+ * The binary content file holds the content compiled in advance, and consists
+ * of the header and the body. All the numbers are written in big-endian order.
+ *
+ * <pre>
+ * header:
+ *   int    magic number ({@code "ZDB\0"})
+ *   short  format version
+ *   short  flags (reserved)
+ *   int    length of the body
+ *   int    CRC-32 checksum of the body
+ * body:
+ *   int    number of strings, followed by the UTF-8 bytes of each string
+ *          prefixed with their length
+ *   int    string of the result type
+ *   int    weight
+ *   int    number of rows
+ *   int    number of columns, followed by each column:
+ *            int    string of the attribute name
+ *            byte   column type
+ *            bitset rows where the value does not exist
+ *            values of the rows in the array of the column type
+ *   int    number of condition ids, followed by the string of each condition
+ *          id in the order of its code
+ *   int[]  code of the condition id of each row
+ *   condition index:
+ *     int    number of condition nodes, followed by the string of the
+ *            condition id of each node
+ *     bitset condition nodes whose "exclude" is true
+ *     int    number of key names, followed by each key index:
+ *              int    string of the key name
+ *              bitset condition nodes constrained by "=" or "in"
+ *              int    number of operands, followed by the string of each
+ *                     operand in the order of its code
+ *              int    number of integral operands, followed by each long
+ *                     operand in ascending order and the int code of each
+ *              int    number of codes, followed by the nullable bitset of
+ *                     condition nodes satisfied by each code
+ *              int    number of codes, followed by the nullable bitset of
+ *                     condition nodes not satisfied by each code
+ *              int    number of range operators, followed by each range:
+ *                       int    string of the tag of the operator
+ *                       int    number of numeric operands, followed by each
+ *                              sorted decimal and the int position of each
+ *                       int    number of string operands, followed by the
+ *                              string of each sorted operand and the int
+ *                              position of each
+ *              bitset condition nodes constrained by "prefix"
+ *              int    number of prefixes, followed by the string of each
+ *                     prefix and the bitset of condition nodes satisfied by
+ *                     the prefix
+ *              int    number of prefix lengths, followed by each length
+ *   selection index:
+ *     int    number of selection nodes
+ *     bitset selection nodes selected by default
+ *     int    number of distinct selections, followed by the bitset of each
+ *     int    number of condition nodes, followed by the int index of the
+ *            selection of each condition node
+ * </pre>
+ *
+ * <p>
+ * A string is written as the index in the strings of the body, or {@code -1}
+ * for {@code null} . A bitset is written as the number of words followed by
+ * each word, and a nullable bitset is written as {@code -1} for {@code null} .
+ * A decimal is written as the scale followed by the length and the bytes of
+ * the two's-complement unscaled value. The value in a column of
+ * {@link ColumnType#OBJECT} is written as the tag of its type followed by the
+ * value, and the elements of a list and the entries of a map are written in the
+ * same way, so no value is parsed when the content is restored. The condition
+ * nodes whose {@code "exclude"} is {@code true} are shared by the condition
+ * index and the selection index.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class BinaryContentFormat {
+
+    /**
+     * The magic number at the beginning of the binary content file
+     */
+    static final int MAGIC = 0x5A444200;
+
+    /**
+     * The current format version
+     */
+    static final short VERSION = 2;
+
+    /**
+     * The size of the header in bytes
+     */
+    static final int HEADER_SIZE = 16;
+
+    /**
+     * The index written for the {@code null} string
+     */
+    static final int NULL_STRING = -1;
+
+    /**
+     * The tag of the {@code null} value
+     */
+    static final byte TAG_NULL = 0;
+
+    /**
+     * The tag of the {@link String} value
+     */
+    static final byte TAG_STRING = 1;
+
+    /**
+     * The tag of the {@link Integer} value
+     */
+    static final byte TAG_INTEGER = 2;
+
+    /**
+     * The tag of the {@link Long} value
+     */
+    static final byte TAG_LONG = 3;
+
+    /**
+     * The tag of the {@link Double} value
+     */
+    static final byte TAG_DOUBLE = 4;
+
+    /**
+     * The tag of the {@link Boolean} value
+     */
+    static final byte TAG_BOOLEAN = 5;
+
+    /**
+     * The tag of the {@link java.math.BigInteger} value
+     */
+    static final byte TAG_BIG_INTEGER = 6;
+
+    /**
+     * The tag of the {@link java.math.BigDecimal} value
+     */
+    static final byte TAG_BIG_DECIMAL = 7;
+
+    /**
+     * The tag of the {@link java.util.List} value
+     */
+    static final byte TAG_LIST = 8;
+
+    /**
+     * The tag of the {@link java.util.Map} value
+     */
+    static final byte TAG_MAP = 9;
+
+    /**
+     * The length written for the {@code null} bitset
+     */
+    static final int NULL_BITSET = -1;
+
+    /**
+     * The column types associated with each code written in the binary content
+     * file
+     */
+    private static final ColumnType[] COLUMN_TYPES = { ColumnType.INT, ColumnType.LONG, ColumnType.DOUBLE,
+            ColumnType.BOOLEAN, ColumnType.OBJECT };
+
+    /**
+     * Returns the code of the column type passed as an argument.
+     *
+     * @param columnType The column type
+     * @return The code of the column type
+     *
+     * @exception IllegalArgumentException If the column type is not supported
+     */
+    static byte toCode(ColumnType columnType) {
+
+        for (byte code = 0; code < COLUMN_TYPES.length; code++) {
+            if (COLUMN_TYPES[code] == columnType) {
+                return code;
+            }
+        }
+
+        throw new IllegalArgumentException(String.format("The column type '%s' is not supported.", columnType));
+    }
+
+    /**
+     * Returns the column type associated with the code passed as an argument.
+     *
+     * @param code The code of the column type
+     * @return The column type
+     *
+     * @exception IllegalArgumentException If the code is not defined
+     */
+    static ColumnType toColumnType(byte code) {
+
+        if (code < 0 || code >= COLUMN_TYPES.length) {
+            throw new IllegalArgumentException(String.format("The column type code '%d' is not defined.", code));
+        }
+
+        return COLUMN_TYPES[code];
+    }
+}
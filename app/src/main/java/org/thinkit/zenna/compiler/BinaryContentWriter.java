@@ -0,0 +1,565 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.compiler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.zip.CRC32;
+
+import org.thinkit.common.base.precondition.Preconditions;
+import org.thinkit.zenna.catalog.ConditionOperator;
+import org.thinkit.zenna.key.SelectionNodeKey;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * The class that writes the compiled content in the binary content file format
+ * defined in {@link BinaryContentFormat} .
+ *
+ * <p>
+ * The binary content file is written at build time from the content compiled
+ * by the {@link ContentCompiler} or the {@link ContentStreamCompiler} , and is
+ * read by the {@link BinaryContentCompiler} at runtime without parsing the
+ * content file again.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(staticName = "from")
+@NoArgsConstructor(access = AccessLevel.PRIVATE, force = true)
+public final class BinaryContentWriter {
+
+    /**
+     * The compiled content
+     */
+    private final CompiledContent compiledContent;
+
+    /**
+     * Writes the compiled content to the output stream passed as an argument. The
+     * output stream is not closed.
+     *
+     * @param outputStream The output stream
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument,
+     *                                  or if the compiled content is {@code null}
+     * @exception IllegalStateException If the compiled content cannot be written
+     */
+    public void write(@NonNull OutputStream outputStream) {
+        try {
+            outputStream.write(this.toByteArray());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the compiled content written in the binary content file format.
+     *
+     * @return The bytes of the binary content file
+     *
+     * @exception NullPointerException  If the compiled content is {@code null}
+     * @exception IllegalStateException If the compiled content cannot be written
+     */
+    public byte[] toByteArray() {
+        Preconditions.requireNonNull(this.compiledContent, "The compiled content must not be null.");
+
+        final byte[] body;
+
+        try {
+            body = this.writeBody(this.compiledContent);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        final CRC32 checksum = new CRC32();
+        checksum.update(body);
+
+        return ByteBuffer.allocate(BinaryContentFormat.HEADER_SIZE + body.length).putInt(BinaryContentFormat.MAGIC)
+                .putShort(BinaryContentFormat.VERSION).putShort((short) 0).putInt(body.length)
+                .putInt((int) checksum.getValue()).put(body).array();
+    }
+
+    /**
+     * Returns the body of the binary content file. The sections of the body are
+     * written first while collecting the strings, and the collected strings are
+     * written before the sections.
+     *
+     * @param compiledContent The compiled content
+     * @return The bytes of the body
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     * @exception IOException          If the body cannot be written
+     */
+    private byte[] writeBody(@NonNull CompiledContent compiledContent) throws IOException {
+
+        final Map<String, Integer> strings = new LinkedHashMap<>();
+        final ByteArrayOutputStream sections = new ByteArrayOutputStream();
+
+        try (DataOutputStream output = new DataOutputStream(sections)) {
+            output.writeInt(this.indexOf(strings, compiledContent.getResultType()));
+            output.writeInt(compiledContent.getWeight());
+            this.writeAttributeColumns(output, strings, compiledContent.getAttributeColumns());
+            this.writeConditionIndex(output, strings, compiledContent.getConditionIndex());
+            this.writeSelectionIndex(output, compiledContent.getSelectionIndex());
+        }
+
+        final ByteArrayOutputStream body = new ByteArrayOutputStream(sections.size() + strings.size() * 16);
+
+        try (DataOutputStream output = new DataOutputStream(body)) {
+            output.writeInt(strings.size());
+
+            for (final String string : strings.keySet()) {
+                final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                output.writeInt(bytes.length);
+                output.write(bytes);
+            }
+
+            sections.writeTo(output);
+        }
+
+        return body.toByteArray();
+    }
+
+    /**
+     * Writes the attribute columns passed as an argument.
+     *
+     * @param output           The output of the body
+     * @param strings          The indexes of the strings collected so far
+     * @param attributeColumns The attribute columns
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     * @exception IOException          If the attribute columns cannot be written
+     */
+    private void writeAttributeColumns(@NonNull DataOutputStream output, @NonNull Map<String, Integer> strings,
+            @NonNull AttributeColumns attributeColumns) throws IOException {
+
+        final int rowCount = attributeColumns.size();
+
+        output.writeInt(rowCount);
+        output.writeInt(attributeColumns.getColumnCount());
+
+        for (int column = 0; column < attributeColumns.getColumnCount(); column++) {
+            final ColumnType columnType = attributeColumns.getType(column);
+            final BitSet nulls = new BitSet(rowCount);
+
+            for (int row = 0; row < rowCount; row++) {
+                if (attributeColumns.isNull(column, row)) {
+                    nulls.set(row);
+                }
+            }
+
+            output.writeInt(this.indexOf(strings, attributeColumns.getAttribute(column)));
+            output.writeByte(BinaryContentFormat.toCode(columnType));
+            this.writeBitSet(output, nulls);
+
+            if (columnType == ColumnType.BOOLEAN) {
+                final BitSet booleans = new BitSet(rowCount);
+
+                for (int row = nulls.nextClearBit(0); row < rowCount; row = nulls.nextClearBit(row + 1)) {
+                    booleans.set(row, attributeColumns.getBoolean(column, row));
+                }
+
+                this.writeBitSet(output, booleans);
+                continue;
+            }
+
+            for (int row = 0; row < rowCount; row++) {
+                final boolean isNull = nulls.get(row);
+
+                switch (columnType) {
+                    case INT:
+                        output.writeInt(isNull ? 0 : attributeColumns.getInt(column, row));
+                        break;
+                    case LONG:
+                        output.writeLong(isNull ? 0L : attributeColumns.getLong(column, row));
+                        break;
+                    case DOUBLE:
+                        output.writeDouble(isNull ? 0.0d : attributeColumns.getDouble(column, row));
+                        break;
+                    default:
+                        this.writeValue(output, strings, attributeColumns.getObject(column, row));
+                }
+            }
+        }
+
+        final int conditionIdColumn = attributeColumns.getColumn(SelectionNodeKey.CONDITION_ID.getName());
+        final String[] conditionIds = new String[attributeColumns.getConditionCodeCount()];
+
+        for (int row = 0; row < rowCount; row++) {
+            final int conditionCode = attributeColumns.getConditionCode(row);
+
+            if (conditionCode != AttributeColumns.NOT_FOUND) {
+                conditionIds[conditionCode] = (String) attributeColumns.getObject(conditionIdColumn, row);
+            }
+        }
+
+        output.writeInt(conditionIds.length);
+
+        for (final String conditionId : conditionIds) {
+            output.writeInt(this.indexOf(strings, conditionId));
+        }
+
+        for (int row = 0; row < rowCount; row++) {
+            output.writeInt(attributeColumns.getConditionCode(row));
+        }
+    }
+
+    /**
+     * Writes the condition index passed as an argument.
+     *
+     * @param output         The output of the body
+     * @param strings        The indexes of the strings collected so far
+     * @param conditionIndex The condition index
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     * @exception IOException          If the condition index cannot be written
+     */
+    private void writeConditionIndex(@NonNull DataOutputStream output, @NonNull Map<String, Integer> strings,
+            @NonNull ConditionIndex conditionIndex) throws IOException {
+
+        output.writeInt(conditionIndex.size());
+
+        for (int position = 0; position < conditionIndex.size(); position++) {
+            output.writeInt(this.indexOf(strings, conditionIndex.getConditionId(position)));
+        }
+
+        this.writeBitSet(output, conditionIndex.getExcludeNodes());
+
+        final Map<String, ConditionKeyIndex> keyIndexes = conditionIndex.getKeyIndexes();
+        output.writeInt(keyIndexes.size());
+
+        for (final Entry<String, ConditionKeyIndex> keyIndex : keyIndexes.entrySet()) {
+            output.writeInt(this.indexOf(strings, keyIndex.getKey()));
+            this.writeKeyIndex(output, strings, keyIndex.getValue());
+        }
+    }
+
+    /**
+     * Writes the index of the condition nodes constraining a key name.
+     *
+     * @param output   The output of the body
+     * @param strings  The indexes of the strings collected so far
+     * @param keyIndex The index of the key name
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     * @exception IOException          If the index cannot be written
+     */
+    private void writeKeyIndex(@NonNull DataOutputStream output, @NonNull Map<String, Integer> strings,
+            @NonNull ConditionKeyIndex keyIndex) throws IOException {
+
+        this.writeBitSet(output, keyIndex.getEqualityNodes());
+
+        final OperandDictionary dictionary = keyIndex.getDictionary();
+        final String[] operands = dictionary.getOperands();
+        output.writeInt(operands.length);
+
+        for (final String operand : operands) {
+            output.writeInt(this.indexOf(strings, operand));
+        }
+
+        final long[] integralOperands = dictionary.getIntegralOperands();
+        output.writeInt(integralOperands.length);
+
+        for (final long integralOperand : integralOperands) {
+            output.writeLong(integralOperand);
+        }
+
+        for (final int integralCode : dictionary.getIntegralCodes()) {
+            output.writeInt(integralCode);
+        }
+
+        this.writeBitSets(output, keyIndex.getSatisfiedNodes());
+        this.writeBitSets(output, keyIndex.getNotEqualNodes());
+
+        final Map<ConditionOperator, RangeIndex> rangeIndexes = keyIndex.getRangeIndexes();
+        output.writeInt(rangeIndexes.size());
+
+        for (final RangeIndex rangeIndex : rangeIndexes.values()) {
+            this.writeRangeIndex(output, strings, rangeIndex);
+        }
+
+        this.writeBitSet(output, keyIndex.getPrefixNodes());
+
+        final Map<String, BitSet> prefixSatisfiedNodes = keyIndex.getPrefixSatisfiedNodes();
+        output.writeInt(prefixSatisfiedNodes.size());
+
+        for (final Entry<String, BitSet> prefix : prefixSatisfiedNodes.entrySet()) {
+            output.writeInt(this.indexOf(strings, prefix.getKey()));
+            this.writeBitSet(output, prefix.getValue());
+        }
+
+        final int[] prefixLengths = keyIndex.getPrefixLengths();
+        output.writeInt(prefixLengths.length);
+
+        for (final int prefixLength : prefixLengths) {
+            output.writeInt(prefixLength);
+        }
+    }
+
+    /**
+     * Writes the range index passed as an argument with the tag of its operator.
+     *
+     * @param output     The output of the body
+     * @param strings    The indexes of the strings collected so far
+     * @param rangeIndex The range index
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     * @exception IOException          If the range index cannot be written
+     */
+    private void writeRangeIndex(@NonNull DataOutputStream output, @NonNull Map<String, Integer> strings,
+            @NonNull RangeIndex rangeIndex) throws IOException {
+
+        output.writeInt(this.indexOf(strings, rangeIndex.getOperator().getTag()));
+
+        final BigDecimal[] numericOperands = rangeIndex.getNumericOperands();
+        output.writeInt(numericOperands.length);
+
+        for (final BigDecimal numericOperand : numericOperands) {
+            this.writeDecimal(output, numericOperand);
+        }
+
+        for (final int numericPosition : rangeIndex.getNumericPositions()) {
+            output.writeInt(numericPosition);
+        }
+
+        final String[] textOperands = rangeIndex.getTextOperands();
+        output.writeInt(textOperands.length);
+
+        for (final String textOperand : textOperands) {
+            output.writeInt(this.indexOf(strings, textOperand));
+        }
+
+        for (final int textPosition : rangeIndex.getTextPositions()) {
+            output.writeInt(textPosition);
+        }
+    }
+
+    /**
+     * Writes the selection index passed as an argument. The selections shared by
+     * several condition nodes are written only once.
+     *
+     * @param output         The output of the body
+     * @param selectionIndex The selection index
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     * @exception IOException          If the selection index cannot be written
+     */
+    private void writeSelectionIndex(@NonNull DataOutputStream output, @NonNull SelectionIndex selectionIndex)
+            throws IOException {
+
+        output.writeInt(selectionIndex.size());
+        this.writeBitSet(output, selectionIndex.getDefaultNodes());
+
+        final BitSet[] conditionNodeSelections = selectionIndex.getConditionNodeSelections();
+        final Map<BitSet, Integer> selections = new IdentityHashMap<>();
+        final int[] selectionIndexes = new int[conditionNodeSelections.length];
+
+        for (int node = 0; node < conditionNodeSelections.length; node++) {
+            selectionIndexes[node] = selections.computeIfAbsent(conditionNodeSelections[node],
+                    key -> selections.size());
+        }
+
+        final BitSet[] distinctSelections = new BitSet[selections.size()];
+        selections.forEach((selection, index) -> distinctSelections[index] = selection);
+
+        output.writeInt(distinctSelections.length);
+
+        for (final BitSet selection : distinctSelections) {
+            this.writeBitSet(output, selection);
+        }
+
+        output.writeInt(selectionIndexes.length);
+
+        for (final int index : selectionIndexes) {
+            output.writeInt(index);
+        }
+    }
+
+    /**
+     * Writes the value in a column of {@link ColumnType#OBJECT} with the tag of its
+     * type.
+     *
+     * @param output  The output of the body
+     * @param strings The indexes of the strings collected so far
+     * @param value   The value
+     *
+     * @exception NullPointerException  If {@code output} or {@code strings} is
+     *                                  {@code null}
+     * @exception IllegalStateException If the type of the value is not supported
+     * @exception IOException           If the value cannot be written
+     */
+    private void writeValue(@NonNull DataOutputStream output, @NonNull Map<String, Integer> strings, Object value)
+            throws IOException {
+
+        if (value == null) {
+            output.writeByte(BinaryContentFormat.TAG_NULL);
+        } else if (value instanceof String) {
+            output.writeByte(BinaryContentFormat.TAG_STRING);
+            output.writeInt(this.indexOf(strings, (String) value));
+        } else if (value instanceof Integer) {
+            output.writeByte(BinaryContentFormat.TAG_INTEGER);
+            output.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            output.writeByte(BinaryContentFormat.TAG_LONG);
+            output.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            output.writeByte(BinaryContentFormat.TAG_DOUBLE);
+            output.writeDouble((Double) value);
+        } else if (value instanceof Boolean) {
+            output.writeByte(BinaryContentFormat.TAG_BOOLEAN);
+            output.writeBoolean((Boolean) value);
+        } else if (value instanceof BigInteger) {
+            output.writeByte(BinaryContentFormat.TAG_BIG_INTEGER);
+            this.writeBytes(output, ((BigInteger) value).toByteArray());
+        } else if (value instanceof BigDecimal) {
+            output.writeByte(BinaryContentFormat.TAG_BIG_DECIMAL);
+            this.writeDecimal(output, (BigDecimal) value);
+        } else if (value instanceof List) {
+            output.writeByte(BinaryContentFormat.TAG_LIST);
+            output.writeInt(((List<?>) value).size());
+
+            for (final Object element : (List<?>) value) {
+                this.writeValue(output, strings, element);
+            }
+        } else if (value instanceof Map) {
+            output.writeByte(BinaryContentFormat.TAG_MAP);
+            output.writeInt(((Map<?, ?>) value).size());
+
+            for (final Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!(entry.getKey() instanceof String)) {
+                    throw new IllegalStateException(
+                            String.format("The key '%s' of the attribute value must be a string.", entry.getKey()));
+                }
+
+                output.writeInt(this.indexOf(strings, (String) entry.getKey()));
+                this.writeValue(output, strings, entry.getValue());
+            }
+        } else {
+            throw new IllegalStateException(
+                    String.format("The attribute value of type '%s' is not supported.", value.getClass().getName()));
+        }
+    }
+
+    /**
+     * Writes the decimal passed as an argument as the scale followed by the bytes
+     * of the unscaled value.
+     *
+     * @param output  The output of the body
+     * @param decimal The decimal
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     * @exception IOException          If the decimal cannot be written
+     */
+    private void writeDecimal(@NonNull DataOutputStream output, @NonNull BigDecimal decimal) throws IOException {
+        output.writeInt(decimal.scale());
+        this.writeBytes(output, decimal.unscaledValue().toByteArray());
+    }
+
+    /**
+     * Writes the bytes passed as an argument prefixed with their length.
+     *
+     * @param output The output of the body
+     * @param bytes  The bytes
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     * @exception IOException          If the bytes cannot be written
+     */
+    private void writeBytes(@NonNull DataOutputStream output, @NonNull byte[] bytes) throws IOException {
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Writes the bitsets passed as an argument prefixed with their number. Each
+     * bitset is written as a nullable bitset.
+     *
+     * @param output  The output of the body
+     * @param bitSets The bitsets
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     * @exception IOException          If the bitsets cannot be written
+     */
+    private void writeBitSets(@NonNull DataOutputStream output, @NonNull List<BitSet> bitSets) throws IOException {
+
+        output.writeInt(bitSets.size());
+
+        for (final BitSet bitSet : bitSets) {
+            if (bitSet == null) {
+                output.writeInt(BinaryContentFormat.NULL_BITSET);
+            } else {
+                this.writeBitSet(output, bitSet);
+            }
+        }
+    }
+
+    /**
+     * Writes the bitset passed as an argument as the number of words followed by
+     * each word.
+     *
+     * @param output The output of the body
+     * @param bitSet The bitset
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     * @exception IOException          If the bitset cannot be written
+     */
+    private void writeBitSet(@NonNull DataOutputStream output, @NonNull BitSet bitSet) throws IOException {
+
+        final long[] words = bitSet.toLongArray();
+        output.writeInt(words.length);
+
+        for (final long word : words) {
+            output.writeLong(word);
+        }
+    }
+
+    /**
+     * Returns the index of the string passed as an argument in the strings of the
+     * body. If the string is not collected yet, the new index is assigned to it.
+     *
+     * @param strings The indexes of the strings collected so far
+     * @param string  The string
+     * @return The index of the string, or {@link BinaryContentFormat#NULL_STRING}
+     *         if the string is {@code null}
+     *
+     * @exception NullPointerException If {@code strings} is {@code null}
+     */
+    private int indexOf(@NonNull Map<String, Integer> strings, String string) {
+
+        if (string == null) {
+            return BinaryContentFormat.NULL_STRING;
+        }
+
+        return strings.computeIfAbsent(string, key -> strings.size());
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.compiler;
+
+/**
+ * The enum that represents the type of the values stored in a column of
+ * {@link AttributeColumns} .
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public enum ColumnType {
+
+    /**
+     * The column whose values are all {@link Integer} , stored as {@code int}
+     */
+    INT,
+
+    /**
+     * The column whose values are all {@link Long} , stored as {@code long}
+     */
+    LONG,
+
+    /**
+     * The column whose values are all {@link Double} , stored as {@code double}
+     */
+    DOUBLE,
+
+    /**
+     * The column whose values are all {@link Boolean} , stored as
+     * {@code boolean}
+     */
+    BOOLEAN,
+
+    /**
+     * The column whose values are stored as they are
+     */
+    OBJECT;
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.compiler;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+/**
+ * The class that represents the compiled form of a content file.
+ *
+ * <p>
+ * The compiled content holds everything the evaluation process needs from a
+ * content file, such as the result type defined in the meta node, the
+ * attributes of selection nodes held in columns and the indexes of selection
+ * nodes and condition nodes. Once created, the compiled content is never
+ * modified, so a single instance can be shared by any number of mappers and
+ * threads.
+ *
+ * <p>
+ * Use {@link ContentCompiler} to create an instance of this class.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE, force = true)
+public final class CompiledContent {
+
+    /**
+     * The fully qualified name of the result type
+     */
+    @Getter
+    private final String resultType;
+
+    /**
+     * The attributes of selection nodes held in columns
+     */
+    @Getter
+    private final AttributeColumns attributeColumns;
+
+    /**
+     * The index of selection nodes
+     */
+    @Getter
+    private final SelectionIndex selectionIndex;
+
+    /**
+     * The index of condition nodes
+     */
+    @Getter
+    private final ConditionIndex conditionIndex;
+
+    /**
+     * The relative weight of this content, used to bound the size of caches
+     */
+    @Getter
+    private final int weight;
+
+    /**
+     * The constructor.
+     *
+     * @param resultType       The fully qualified name of the result type
+     * @param attributeColumns The attributes of selection nodes held in columns
+     * @param selectionIndex   The index of selection nodes
+     * @param conditionIndex   The index of condition nodes
+     * @param weight           The relative weight of this content
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    CompiledContent(@NonNull String resultType, @NonNull AttributeColumns attributeColumns,
+            @NonNull SelectionIndex selectionIndex, @NonNull ConditionIndex conditionIndex, int weight) {
+        this.resultType = resultType;
+        this.attributeColumns = attributeColumns;
+        this.selectionIndex = selectionIndex;
+        this.conditionIndex = conditionIndex;
+        this.weight = weight;
+    }
+}
@@ -0,0 +1,477 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.compiler;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.thinkit.zenna.catalog.ConditionOperator;
+import org.thinkit.zenna.exception.IllegalContentStateException;
+import org.thinkit.zenna.key.ConditionNodeKey;
+import org.thinkit.zenna.util.ContentNodeResolver;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * The class that indexes the condition nodes defined in the content file.
+ *
+ * <p>
+ * Each condition node is identified by its position in {@code "conditionNodes"}
+ * of the content file, and the conditions of the nodes are indexed by key name
+ * and operator when the content is compiled. Therefore, finding the condition
+ * nodes that satisfy the given conditions takes only hash lookups and binary
+ * searches for each given condition, regardless of the number of condition
+ * nodes defined in the content file.
+ *
+ * <p>
+ * A condition node is satisfied if every condition of the node whose key name
+ * is given is satisfied by the given value with the operator of the condition.
+ * The supported operators are defined in {@link ConditionOperator} , and
+ * {@code "="} is used if the operator is not defined. Conditions whose key name
+ * is not given do not affect the result.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@ToString
+@NoArgsConstructor(access = AccessLevel.PRIVATE, force = true)
+public final class ConditionIndex {
+
+    /**
+     * The number of condition nodes
+     */
+    private final int nodeCount;
+
+    /**
+     * The condition ids of each condition node
+     */
+    private final String[] conditionIds;
+
+    /**
+     * The positions of condition nodes whose {@code "exclude"} is {@code true}
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final BitSet excludeNodes;
+
+    /**
+     * The positions of condition nodes associated with each condition id
+     */
+    private final Map<String, int[]> positions;
+
+    /**
+     * The indexes associated with each key name
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final Map<String, ConditionKeyIndex> keyIndexes;
+
+    /**
+     * The constructor.
+     *
+     * @param conditionIds The condition ids of each condition node
+     * @param excludeNodes The positions of condition nodes whose
+     *                     {@code "exclude"} is {@code true}
+     * @param keyIndexes   The indexes associated with each key name
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private ConditionIndex(@NonNull String[] conditionIds, @NonNull BitSet excludeNodes,
+            @NonNull Map<String, ConditionKeyIndex> keyIndexes) {
+        this.nodeCount = conditionIds.length;
+        this.conditionIds = conditionIds;
+        this.excludeNodes = excludeNodes;
+        this.keyIndexes = keyIndexes;
+        this.positions = this.createPositions(conditionIds);
+    }
+
+    /**
+     * Returns the new instance of {@link ConditionIndex} based on the condition
+     * nodes defined in the content passed as an argument. If the condition nodes
+     * are not defined in the content, the index is empty.
+     *
+     * @param content The map containing the items defined in the content file
+     * @return The new instance of {@link ConditionIndex}
+     *
+     * @exception NullPointerException         If {@code null} is passed as an
+     *                                         argument
+     * @exception IllegalContentStateException If the condition nodes have an
+     *                                         unsupported operator or an illegal
+     *                                         operand
+     */
+    public static ConditionIndex from(@NonNull Map<String, Object> content) {
+
+        final List<Map<String, Object>> conditionNodes = ContentNodeResolver.getNodeList(content,
+                ConditionNodeKey.CONDITION_NODES);
+        final Builder builder = builder();
+
+        if (conditionNodes == null) {
+            return builder.build();
+        }
+
+        for (final Map<String, Object> conditionNode : conditionNodes) {
+            final Map<String, Object> nodeMap = ContentNodeResolver.getNodeMap(conditionNode, ConditionNodeKey.NODE);
+
+            builder.addNode().setConditionId(ContentNodeResolver.getString(nodeMap, ConditionNodeKey.CONDITION_ID))
+                    .setExclude(ContentNodeResolver.getObject(nodeMap, ConditionNodeKey.EXCLUDE.getName()));
+
+            final List<Map<String, Object>> conditions = ContentNodeResolver.getNodeList(nodeMap,
+                    ConditionNodeKey.CONDITIONS);
+
+            if (conditions == null) {
+                continue;
+            }
+
+            for (final Map<String, Object> condition : conditions) {
+                builder.addCondition(ContentNodeResolver.getString(condition, ConditionNodeKey.KEY_NAME),
+                        ContentNodeResolver.getString(condition, ConditionNodeKey.OPERATOR),
+                        ContentNodeResolver.getObject(condition, ConditionNodeKey.OPERAND.getName()));
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Returns the new instance of {@link ConditionIndex} holding the structures
+     * passed as arguments as they are. It is used to restore the condition index
+     * written in the binary content file without indexing the condition nodes
+     * again.
+     *
+     * @param conditionIds The condition ids of each condition node
+     * @param excludeNodes The positions of condition nodes whose
+     *                     {@code "exclude"} is {@code true}
+     * @param keyIndexes   The indexes associated with each key name
+     * @return The new instance of {@link ConditionIndex}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    static ConditionIndex of(@NonNull String[] conditionIds, @NonNull BitSet excludeNodes,
+            @NonNull Map<String, ConditionKeyIndex> keyIndexes) {
+        return new ConditionIndex(conditionIds, excludeNodes, keyIndexes);
+    }
+
+    /**
+     * Returns the new builder that indexes the condition nodes one by one. It is
+     * used to index the condition nodes without holding each condition node in a
+     * map.
+     *
+     * @return The new builder
+     */
+    static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the number of condition nodes.
+     *
+     * @return The number of condition nodes
+     */
+    public int size() {
+        return this.nodeCount;
+    }
+
+    /**
+     * Returns the condition id of the condition node at the position passed as an
+     * argument.
+     *
+     * @param position The position of condition node
+     * @return The condition id of the condition node
+     *
+     * @exception IndexOutOfBoundsException If the position is out of range
+     */
+    public String getConditionId(int position) {
+        return this.conditionIds[position];
+    }
+
+    /**
+     * Checks if {@code "exclude"} of the condition node at the position passed as
+     * an argument is {@code true} . The selection nodes associated with an
+     * exclusion node are excluded from the result when the node is satisfied.
+     *
+     * @param position The position of condition node
+     * @return {@code true} if the condition node is an exclusion node, otherwise
+     *         {@code false}
+     */
+    public boolean isExclude(int position) {
+        return this.excludeNodes.get(position);
+    }
+
+    /**
+     * Returns the positions of the condition nodes that satisfy the conditions
+     * passed as an argument.
+     *
+     * @param conditions The map containing condition data to be checked against the
+     *                   conditions defined in the content file
+     * @return The positions of the satisfied condition nodes
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public BitSet match(@NonNull Map<String, String> conditions) {
+        return this.match(ConditionTuple.from(conditions));
+    }
+
+    /**
+     * Returns the positions of the condition nodes that satisfy the condition
+     * values held in the tuple passed as an argument. The condition whose value is
+     * {@code null} is ignored, and the integral condition value is matched without
+     * being converted to a string.
+     *
+     * @param conditionTuple The tuple holding condition data to be checked against
+     *                       the conditions defined in the content file
+     * @return The positions of the satisfied condition nodes
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public BitSet match(@NonNull ConditionTuple conditionTuple) {
+
+        final BitSet unsatisfiedNodes = new BitSet(this.nodeCount);
+
+        if (!this.keyIndexes.isEmpty()) {
+            for (int i = 0, size = conditionTuple.size(); i < size; i++) {
+                final ConditionKeyIndex keyIndex = this.keyIndexes.get(conditionTuple.getKey(i));
+
+                if (keyIndex == null) {
+                    continue;
+                }
+
+                if (conditionTuple.isIntegral(i)) {
+                    keyIndex.collectUnsatisfiedNodes(conditionTuple.getIntegralValue(i), unsatisfiedNodes);
+                } else if (conditionTuple.getValue(i) != null) {
+                    keyIndex.collectUnsatisfiedNodes(conditionTuple.getValue(i), unsatisfiedNodes);
+                }
+            }
+        }
+
+        final BitSet satisfiedNodes = new BitSet(this.nodeCount);
+        satisfiedNodes.set(0, this.nodeCount);
+        satisfiedNodes.andNot(unsatisfiedNodes);
+
+        return satisfiedNodes;
+    }
+
+    /**
+     * Checks if any condition node associated with the condition id is included in
+     * the satisfied condition nodes returned by {@link #match(ConditionTuple)} .
+     *
+     * @param satisfiedNodes The positions of the satisfied condition nodes
+     * @param conditionId    The condition id to be checked
+     * @return {@code true} if any condition node associated with the condition id
+     *         is satisfied, otherwise {@code false}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public boolean isSatisfied(@NonNull BitSet satisfiedNodes, @NonNull String conditionId) {
+
+        final int[] positions = this.positions.get(conditionId);
+
+        if (positions == null) {
+            return false;
+        }
+
+        for (final int position : positions) {
+            if (satisfiedNodes.get(position)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the positions of condition nodes associated with each condition id
+     * passed as an argument.
+     *
+     * @param conditionIds The condition ids of each condition node
+     * @return The positions of condition nodes associated with each condition id
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private Map<String, int[]> createPositions(@NonNull String[] conditionIds) {
+
+        final Map<String, List<Integer>> positions = new HashMap<>(conditionIds.length);
+
+        for (int position = 0; position < conditionIds.length; position++) {
+            positions.computeIfAbsent(conditionIds[position], key -> new ArrayList<>(1)).add(position);
+        }
+
+        final Map<String, int[]> positionArrays = new HashMap<>(positions.size());
+        positions.forEach((conditionId, nodePositions) -> positionArrays.put(conditionId,
+                nodePositions.stream().mapToInt(Integer::intValue).toArray()));
+
+        return positionArrays;
+    }
+
+    /**
+     * The class that indexes the condition nodes one by one and creates the
+     * {@link ConditionIndex} . The conditions of each node are applied to the
+     * index of the key name when the next node is added or the index is built.
+     */
+    @ToString
+    static final class Builder {
+
+        /**
+         * The condition ids of each condition node
+         */
+        @ToString.Exclude
+        private final List<String> conditionIds = new ArrayList<>();
+
+        /**
+         * The positions of condition nodes whose {@code "exclude"} is {@code true}
+         */
+        @ToString.Exclude
+        private final BitSet excludeNodes = new BitSet();
+
+        /**
+         * The indexes associated with each key name
+         */
+        @ToString.Exclude
+        private final Map<String, ConditionKeyIndex> keyIndexes = new HashMap<>();
+
+        /**
+         * The indexes of the key names used by the last added condition node
+         */
+        @ToString.Exclude
+        private final Set<ConditionKeyIndex> nodeKeyIndexes = new HashSet<>();
+
+        /**
+         * The constructor.
+         */
+        private Builder() {
+        }
+
+        /**
+         * Adds the new condition node. The items set after this method is called
+         * are stored in the added node.
+         *
+         * @return This builder
+         */
+        Builder addNode() {
+            this.completeNode();
+            this.conditionIds.add(null);
+            return this;
+        }
+
+        /**
+         * Sets the condition id of the last added condition node.
+         *
+         * @param conditionId The condition id
+         * @return This builder
+         *
+         * @exception IllegalStateException If no condition node has been added
+         */
+        Builder setConditionId(String conditionId) {
+            this.conditionIds.set(this.getPosition(), conditionId);
+            return this;
+        }
+
+        /**
+         * Sets {@code "exclude"} of the last added condition node. Both the boolean
+         * value and the string value are accepted.
+         *
+         * @param exclude The value of {@code "exclude"}
+         * @return This builder
+         *
+         * @exception IllegalStateException If no condition node has been added
+         */
+        Builder setExclude(Object exclude) {
+
+            final int position = this.getPosition();
+
+            if (exclude != null && Boolean.parseBoolean(String.valueOf(exclude))) {
+                this.excludeNodes.set(position);
+            }
+
+            return this;
+        }
+
+        /**
+         * Adds the condition to the last added condition node. The condition without
+         * a key name is ignored.
+         *
+         * @param keyName  The key name of the condition
+         * @param operator The tag of the operator, or {@code null} if it is not
+         *                 defined
+         * @param operand  The operand of the condition
+         * @return This builder
+         *
+         * @exception IllegalStateException        If no condition node has been
+         *                                         added
+         * @exception IllegalContentStateException If the operator is not supported
+         *                                         or the operand is illegal
+         */
+        Builder addCondition(String keyName, String operator, Object operand) {
+
+            final int position = this.getPosition();
+
+            if (keyName == null) {
+                return this;
+            }
+
+            final ConditionKeyIndex keyIndex = this.keyIndexes.computeIfAbsent(keyName,
+                    key -> new ConditionKeyIndex());
+
+            keyIndex.add(position, operator, operand);
+            this.nodeKeyIndexes.add(keyIndex);
+
+            return this;
+        }
+
+        /**
+         * Returns the new instance of {@link ConditionIndex} indexing the condition
+         * nodes added to this builder.
+         *
+         * @return The new instance of {@link ConditionIndex}
+         */
+        ConditionIndex build() {
+            this.completeNode();
+            this.keyIndexes.values().forEach(ConditionKeyIndex::build);
+            return new ConditionIndex(this.conditionIds.toArray(new String[0]), this.excludeNodes,
+                    this.keyIndexes);
+        }
+
+        /**
+         * Applies the conditions of the last added condition node to the indexes of
+         * the key names.
+         */
+        private void completeNode() {
+            this.nodeKeyIndexes.forEach(ConditionKeyIndex::complete);
+            this.nodeKeyIndexes.clear();
+        }
+
+        /**
+         * Returns the position of the last added condition node.
+         *
+         * @return The position of the last added condition node
+         *
+         * @exception IllegalStateException If no condition node has been added
+         */
+        private int getPosition() {
+
+            if (this.conditionIds.isEmpty()) {
+                throw new IllegalStateException("The condition node must be added before its items are set.");
+            }
+
+            return this.conditionIds.size() - 1;
+        }
+    }
+}
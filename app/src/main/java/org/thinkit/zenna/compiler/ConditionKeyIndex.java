@@ -0,0 +1,654 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.compiler;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.thinkit.zenna.catalog.ConditionOperator;
+import org.thinkit.zenna.exception.IllegalContentStateException;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * The class that indexes the condition nodes constraining a specific key name.
+ *
+ * <p>
+ * Each condition node is identified by its position in {@code "conditionNodes"}
+ * of the content file. The conditions of each node on the key name are compiled
+ * by operator when the content is compiled, and the index holds the following
+ * structures for each kind of operator.
+ *
+ * <ul>
+ * <li>{@code "="} and {@code "in"} : The positions of the condition nodes
+ * satisfied by each operand code</li>
+ * <li>{@code "!="} : The positions of the condition nodes not satisfied by each
+ * operand code</li>
+ * <li>{@code "<"} , {@code "<="} , {@code ">"} , {@code ">="} and
+ * {@code "between"} : The {@link RangeIndex} of sorted operands for each
+ * operator</li>
+ * <li>{@code "prefix"} : The positions of the condition nodes satisfied by each
+ * prefix</li>
+ * </ul>
+ *
+ * <p>
+ * The operands of {@code "="} , {@code "in"} and {@code "!="} are encoded into
+ * int codes by the {@link OperandDictionary} of the key name, so a value is
+ * looked up in the dictionary once and the structures are accessed by the code.
+ * A value given as an integral number is looked up by the primitive value
+ * without being converted to a string.
+ *
+ * <p>
+ * A condition node is satisfied by a value if all the conditions of the node on
+ * the key name are satisfied by the value. A condition whose operand is not
+ * defined is never satisfied.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@ToString
+final class ConditionKeyIndex {
+
+    /**
+     * The operators associated with each tag
+     */
+    private static final Map<String, ConditionOperator> OPERATORS = new HashMap<>();
+
+    static {
+        for (final ConditionOperator operator : ConditionOperator.values()) {
+            OPERATORS.put(operator.getTag(), operator);
+        }
+    }
+
+    /**
+     * The separator of operands defined as a string
+     */
+    private static final String OPERAND_SEPARATOR = ",";
+
+    /**
+     * The positions of condition nodes constrained by the {@code "="} or
+     * {@code "in"} conditions on the key name, or by a condition whose operand is
+     * not defined
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final BitSet equalityNodes;
+
+    /**
+     * The dictionary of the operands of {@code "="} , {@code "in"} and
+     * {@code "!="}
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final OperandDictionary dictionary;
+
+    /**
+     * The positions of condition nodes satisfied by each operand code
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final List<BitSet> satisfiedNodes;
+
+    /**
+     * The positions of condition nodes not satisfied by each operand code
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final List<BitSet> notEqualNodes;
+
+    /**
+     * The range indexes associated with each range operator
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final Map<ConditionOperator, RangeIndex> rangeIndexes;
+
+    /**
+     * The positions of condition nodes constrained by the {@code "prefix"}
+     * conditions on the key name
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final BitSet prefixNodes;
+
+    /**
+     * The positions of condition nodes satisfied by each prefix
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final Map<String, BitSet> prefixSatisfiedNodes;
+
+    /**
+     * The lengths of prefixes in ascending order
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private int[] prefixLengths;
+
+    /**
+     * The conditions of the condition node being added, or {@code null} if no
+     * condition of the node has been added
+     */
+    @ToString.Exclude
+    private NodeConditions nodeConditions;
+
+    /**
+     * The constructor.
+     */
+    ConditionKeyIndex() {
+        this.equalityNodes = new BitSet();
+        this.dictionary = new OperandDictionary();
+        this.satisfiedNodes = new ArrayList<>();
+        this.notEqualNodes = new ArrayList<>();
+        this.rangeIndexes = new EnumMap<>(ConditionOperator.class);
+        this.prefixNodes = new BitSet();
+        this.prefixSatisfiedNodes = new HashMap<>();
+    }
+
+    /**
+     * The constructor.
+     *
+     * @param equalityNodes        The positions of condition nodes constrained by
+     *                             the {@code "="} or {@code "in"} conditions
+     * @param dictionary           The dictionary of the operands
+     * @param satisfiedNodes       The positions of condition nodes satisfied by
+     *                             each operand code
+     * @param notEqualNodes        The positions of condition nodes not satisfied
+     *                             by each operand code
+     * @param rangeIndexes         The range indexes associated with each range
+     *                             operator
+     * @param prefixNodes          The positions of condition nodes constrained by
+     *                             the {@code "prefix"} conditions
+     * @param prefixSatisfiedNodes The positions of condition nodes satisfied by
+     *                             each prefix
+     * @param prefixLengths        The lengths of prefixes in ascending order
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private ConditionKeyIndex(@NonNull BitSet equalityNodes, @NonNull OperandDictionary dictionary,
+            @NonNull List<BitSet> satisfiedNodes, @NonNull List<BitSet> notEqualNodes,
+            @NonNull Map<ConditionOperator, RangeIndex> rangeIndexes, @NonNull BitSet prefixNodes,
+            @NonNull Map<String, BitSet> prefixSatisfiedNodes, @NonNull int[] prefixLengths) {
+        this.equalityNodes = equalityNodes;
+        this.dictionary = dictionary;
+        this.satisfiedNodes = satisfiedNodes;
+        this.notEqualNodes = notEqualNodes;
+        this.rangeIndexes = rangeIndexes;
+        this.prefixNodes = prefixNodes;
+        this.prefixSatisfiedNodes = prefixSatisfiedNodes;
+        this.prefixLengths = prefixLengths;
+    }
+
+    /**
+     * Returns the new instance of {@link ConditionKeyIndex} holding the built
+     * structures passed as arguments as they are. It is used to restore the index
+     * written in the binary content file, so {@link #build()} must not be called
+     * for the returned index.
+     *
+     * @param equalityNodes        The positions of condition nodes constrained by
+     *                             the {@code "="} or {@code "in"} conditions
+     * @param dictionary           The built dictionary of the operands
+     * @param satisfiedNodes       The positions of condition nodes satisfied by
+     *                             each operand code, or {@code null} for the code
+     *                             without them
+     * @param notEqualNodes        The positions of condition nodes not satisfied
+     *                             by each operand code, or {@code null} for the
+     *                             code without them
+     * @param rangeIndexes         The built range indexes associated with each
+     *                             range operator
+     * @param prefixNodes          The positions of condition nodes constrained by
+     *                             the {@code "prefix"} conditions
+     * @param prefixSatisfiedNodes The positions of condition nodes satisfied by
+     *                             each prefix
+     * @param prefixLengths        The lengths of prefixes in ascending order
+     * @return The new instance of {@link ConditionKeyIndex}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    static ConditionKeyIndex of(@NonNull BitSet equalityNodes, @NonNull OperandDictionary dictionary,
+            @NonNull List<BitSet> satisfiedNodes, @NonNull List<BitSet> notEqualNodes,
+            @NonNull Map<ConditionOperator, RangeIndex> rangeIndexes, @NonNull BitSet prefixNodes,
+            @NonNull Map<String, BitSet> prefixSatisfiedNodes, @NonNull int[] prefixLengths) {
+        return new ConditionKeyIndex(equalityNodes, dictionary, satisfiedNodes, notEqualNodes, rangeIndexes,
+                prefixNodes, prefixSatisfiedNodes, prefixLengths);
+    }
+
+    /**
+     * Returns the operator associated with the tag passed as an argument.
+     *
+     * @param tag The tag of the operator
+     * @return The operator associated with the tag
+     *
+     * @exception IllegalArgumentException If the operator is not defined
+     */
+    static ConditionOperator toOperator(String tag) {
+
+        final ConditionOperator operator = OPERATORS.get(tag);
+
+        if (operator == null) {
+            throw new IllegalArgumentException(String.format("The operator '%s' is not defined.", tag));
+        }
+
+        return operator;
+    }
+
+    /**
+     * Adds the condition of the condition node at the position passed as an
+     * argument to this index. If the operator of the condition is not defined, the
+     * condition is compiled as {@code "="} .
+     *
+     * <p>
+     * The {@code "="} , {@code "in"} and {@code "prefix"} conditions of the same
+     * node are combined, so they are applied to this index when
+     * {@link #complete()} is called after all the conditions of the node on the
+     * key name are added.
+     *
+     * @param position The position of condition node
+     * @param tag      The tag of the operator, or {@code null} if it is not
+     *                 defined
+     * @param operand  The operand of the condition, or {@code null} if it is not
+     *                 defined
+     *
+     * @exception IllegalContentStateException If the operator is not supported,
+     *                                         or if the operand of
+     *                                         {@code "between"} is not a pair of
+     *                                         lower and upper operands
+     */
+    void add(int position, String tag, Object operand) {
+
+        final ConditionOperator operator = this.getOperator(tag);
+
+        if (this.nodeConditions == null) {
+            this.nodeConditions = new NodeConditions(position);
+        }
+
+        final NodeConditions nodeConditions = this.nodeConditions;
+
+        if (operand == null) {
+            nodeConditions.satisfiable = false;
+            return;
+        }
+
+        switch (operator) {
+            case EQUAL:
+            case IN:
+                final Set<String> operands = operator == ConditionOperator.EQUAL
+                        ? Collections.singleton(String.valueOf(operand))
+                        : new LinkedHashSet<>(this.toOperands(operand));
+
+                if (nodeConditions.equalOperands == null) {
+                    nodeConditions.equalOperands = new LinkedHashSet<>(operands);
+                } else {
+                    nodeConditions.equalOperands.retainAll(operands);
+                }
+
+                break;
+            case NOT_EQUAL:
+                this.getNodes(this.notEqualNodes, this.dictionary.encode(String.valueOf(operand))).set(position);
+                break;
+            case LESS_THAN:
+            case LESS_THAN_OR_EQUAL:
+            case GREATER_THAN:
+            case GREATER_THAN_OR_EQUAL:
+                this.getRangeIndex(operator).add(position, operand);
+                break;
+            case BETWEEN:
+                final List<String> bounds = this.toOperands(operand);
+
+                if (bounds.size() != 2) {
+                    throw new IllegalContentStateException(String.format(
+                            "The operand of 'between' must be a pair of lower and upper operands, but was '%s'.",
+                            operand));
+                }
+
+                this.getRangeIndex(ConditionOperator.GREATER_THAN_OR_EQUAL).add(position, bounds.get(0));
+                this.getRangeIndex(ConditionOperator.LESS_THAN_OR_EQUAL).add(position, bounds.get(1));
+                break;
+            case PREFIX:
+                final String operandPrefix = String.valueOf(operand);
+
+                if (nodeConditions.prefix == null || operandPrefix.startsWith(nodeConditions.prefix)) {
+                    nodeConditions.prefix = operandPrefix;
+                } else if (!nodeConditions.prefix.startsWith(operandPrefix)) {
+                    nodeConditions.satisfiable = false;
+                }
+
+                break;
+            default:
+                throw new IllegalContentStateException(
+                        String.format("The operator '%s' is not supported.", operator.getTag()));
+        }
+    }
+
+    /**
+     * Applies the combined conditions of the condition node added last to this
+     * index. If no condition has been added since the last call, nothing is done.
+     */
+    void complete() {
+
+        final NodeConditions nodeConditions = this.nodeConditions;
+
+        if (nodeConditions == null) {
+            return;
+        }
+
+        this.nodeConditions = null;
+        final int position = nodeConditions.position;
+
+        if (!nodeConditions.satisfiable) {
+            this.equalityNodes.set(position);
+            return;
+        }
+
+        if (nodeConditions.equalOperands != null) {
+            this.equalityNodes.set(position);
+            nodeConditions.equalOperands.forEach(equalOperand -> this.getNodes(this.satisfiedNodes,
+                    this.dictionary.encode(equalOperand)).set(position));
+        }
+
+        if (nodeConditions.prefix != null) {
+            this.prefixNodes.set(position);
+            this.prefixSatisfiedNodes.computeIfAbsent(nodeConditions.prefix, key -> new BitSet()).set(position);
+        }
+    }
+
+    /**
+     * Builds the structures of this index after all the condition nodes are added.
+     * This method must be called once before evaluating conditions.
+     */
+    void build() {
+
+        this.dictionary.build();
+        this.rangeIndexes.values().forEach(RangeIndex::build);
+
+        final Set<Integer> prefixLengths = new TreeSet<>();
+        this.prefixSatisfiedNodes.keySet().forEach(prefix -> prefixLengths.add(prefix.length()));
+        this.prefixLengths = prefixLengths.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Adds the positions of the condition nodes that are not satisfied by the value
+     * passed as an argument to {@code unsatisfiedNodes} . The value is parsed as a
+     * number at most once.
+     *
+     * @param value            The value given to the key name
+     * @param unsatisfiedNodes The positions of unsatisfied condition nodes
+     *
+     * @exception NullPointerException If {@code unsatisfiedNodes} is {@code null}
+     */
+    void collectUnsatisfiedNodes(String value, @NonNull BitSet unsatisfiedNodes) {
+
+        this.collectUnsatisfiedNodes(this.dictionary.lookup(value), unsatisfiedNodes);
+
+        if (!this.rangeIndexes.isEmpty()) {
+            final BigDecimal numericValue = RangeIndex.toNumber(value);
+
+            for (final RangeIndex rangeIndex : this.rangeIndexes.values()) {
+                rangeIndex.collectUnsatisfiedNodes(value, numericValue, unsatisfiedNodes);
+            }
+        }
+
+        if (!this.prefixNodes.isEmpty()) {
+            this.collectUnsatisfiedPrefixNodes(value, unsatisfiedNodes);
+        }
+    }
+
+    /**
+     * Adds the positions of the condition nodes that are not satisfied by the
+     * integral value passed as an argument to {@code unsatisfiedNodes} . The value
+     * is looked up in the dictionary by the primitive value, and it is converted to
+     * a string only if the range or prefix conditions are defined on the key name.
+     *
+     * @param value            The integral value given to the key name
+     * @param unsatisfiedNodes The positions of unsatisfied condition nodes
+     *
+     * @exception NullPointerException If {@code unsatisfiedNodes} is {@code null}
+     */
+    void collectUnsatisfiedNodes(long value, @NonNull BitSet unsatisfiedNodes) {
+
+        this.collectUnsatisfiedNodes(this.dictionary.lookup(value), unsatisfiedNodes);
+
+        if (this.rangeIndexes.isEmpty() && this.prefixNodes.isEmpty()) {
+            return;
+        }
+
+        final String text = Long.toString(value);
+
+        if (!this.rangeIndexes.isEmpty()) {
+            final BigDecimal numericValue = BigDecimal.valueOf(value);
+
+            for (final RangeIndex rangeIndex : this.rangeIndexes.values()) {
+                rangeIndex.collectUnsatisfiedNodes(text, numericValue, unsatisfiedNodes);
+            }
+        }
+
+        if (!this.prefixNodes.isEmpty()) {
+            this.collectUnsatisfiedPrefixNodes(text, unsatisfiedNodes);
+        }
+    }
+
+    /**
+     * Adds the positions of the {@code "="} , {@code "in"} and {@code "!="}
+     * condition nodes that are not satisfied by the operand code passed as an
+     * argument to {@code unsatisfiedNodes} .
+     *
+     * @param code             The operand code of the value, or
+     *                         {@link OperandDictionary#NOT_FOUND}
+     * @param unsatisfiedNodes The positions of unsatisfied condition nodes
+     */
+    private void collectUnsatisfiedNodes(int code, BitSet unsatisfiedNodes) {
+
+        if (!this.equalityNodes.isEmpty()) {
+            this.collectUnsatisfiedNodes(this.equalityNodes, this.findNodes(this.satisfiedNodes, code),
+                    unsatisfiedNodes);
+        }
+
+        if (!this.notEqualNodes.isEmpty()) {
+            final BitSet notEqualNodes = this.findNodes(this.notEqualNodes, code);
+
+            if (notEqualNodes != null) {
+                unsatisfiedNodes.or(notEqualNodes);
+            }
+        }
+    }
+
+    /**
+     * Returns the positions of condition nodes associated with the operand code
+     * passed as an argument, creating them if they do not exist yet.
+     *
+     * @param nodes The positions of condition nodes indexed by operand code
+     * @param code  The operand code
+     * @return The positions of condition nodes associated with the operand code
+     */
+    private BitSet getNodes(List<BitSet> nodes, int code) {
+
+        while (nodes.size() <= code) {
+            nodes.add(null);
+        }
+
+        BitSet codeNodes = nodes.get(code);
+
+        if (codeNodes == null) {
+            codeNodes = new BitSet();
+            nodes.set(code, codeNodes);
+        }
+
+        return codeNodes;
+    }
+
+    /**
+     * Returns the positions of condition nodes associated with the operand code
+     * passed as an argument, or {@code null} if they do not exist.
+     *
+     * @param nodes The positions of condition nodes indexed by operand code
+     * @param code  The operand code, or {@link OperandDictionary#NOT_FOUND}
+     * @return The positions of condition nodes associated with the operand code,
+     *         or {@code null}
+     */
+    private BitSet findNodes(List<BitSet> nodes, int code) {
+        return code >= 0 && code < nodes.size() ? nodes.get(code) : null;
+    }
+
+    /**
+     * Adds the positions of the condition nodes that are constrained but not
+     * satisfied to {@code unsatisfiedNodes} .
+     *
+     * @param constrainedNodes The positions of constrained condition nodes
+     * @param satisfiedNodes   The positions of satisfied condition nodes, or
+     *                         {@code null} if no condition node is satisfied
+     * @param unsatisfiedNodes The positions of unsatisfied condition nodes
+     */
+    private void collectUnsatisfiedNodes(BitSet constrainedNodes, BitSet satisfiedNodes, BitSet unsatisfiedNodes) {
+
+        if (satisfiedNodes == null) {
+            unsatisfiedNodes.or(constrainedNodes);
+            return;
+        }
+
+        final BitSet nodes = (BitSet) constrainedNodes.clone();
+        nodes.andNot(satisfiedNodes);
+        unsatisfiedNodes.or(nodes);
+    }
+
+    /**
+     * Adds the positions of the condition nodes whose prefix is not a prefix of the
+     * value passed as an argument to {@code unsatisfiedNodes} . Only the prefixes
+     * of the value whose lengths are defined as prefixes are looked up.
+     *
+     * @param value            The value given to the key name
+     * @param unsatisfiedNodes The positions of unsatisfied condition nodes
+     */
+    private void collectUnsatisfiedPrefixNodes(String value, BitSet unsatisfiedNodes) {
+
+        if (value == null) {
+            unsatisfiedNodes.or(this.prefixNodes);
+            return;
+        }
+
+        final BitSet nodes = (BitSet) this.prefixNodes.clone();
+
+        for (final int prefixLength : this.prefixLengths) {
+            if (prefixLength > value.length()) {
+                break;
+            }
+
+            final BitSet satisfiedNodes = this.prefixSatisfiedNodes.get(value.substring(0, prefixLength));
+
+            if (satisfiedNodes != null) {
+                nodes.andNot(satisfiedNodes);
+            }
+        }
+
+        unsatisfiedNodes.or(nodes);
+    }
+
+    /**
+     * Returns the range index associated with the operator passed as an argument.
+     * If the range index does not exist, the new range index is created.
+     *
+     * @param operator The range operator
+     * @return The range index
+     */
+    private RangeIndex getRangeIndex(ConditionOperator operator) {
+        return this.rangeIndexes.computeIfAbsent(operator, RangeIndex::new);
+    }
+
+    /**
+     * Returns the operator associated with the tag passed as an argument. If the
+     * tag is {@code null} , {@link ConditionOperator#EQUAL} is returned.
+     *
+     * @param tag The tag of the operator, or {@code null}
+     * @return The operator associated with the tag
+     *
+     * @exception IllegalContentStateException If the operator is not supported
+     */
+    private ConditionOperator getOperator(String tag) {
+
+        if (tag == null) {
+            return ConditionOperator.EQUAL;
+        }
+
+        final ConditionOperator operator = OPERATORS.get(tag.trim());
+
+        if (operator == null) {
+            throw new IllegalContentStateException(String.format("The operator '%s' is not supported.", tag));
+        }
+
+        return operator;
+    }
+
+    /**
+     * Returns the operands defined as a list or as a comma-separated string.
+     *
+     * @param operand The operand of the condition
+     * @return The list of operands
+     */
+    private List<String> toOperands(Object operand) {
+
+        final List<String> operands = new ArrayList<>();
+
+        if (operand instanceof List) {
+            ((List<?>) operand).forEach(element -> operands.add(String.valueOf(element)));
+        } else {
+            Arrays.stream(String.valueOf(operand).split(OPERAND_SEPARATOR, -1))
+                    .forEach(element -> operands.add(element.trim()));
+        }
+
+        return operands;
+    }
+
+    /**
+     * The class that holds the conditions of the condition node being added until
+     * they are applied to the index.
+     */
+    private static final class NodeConditions {
+
+        /**
+         * The position of condition node
+         */
+        private final int position;
+
+        /**
+         * The operands satisfying all the {@code "="} and {@code "in"} conditions,
+         * or {@code null} if the node has no such condition
+         */
+        private Set<String> equalOperands;
+
+        /**
+         * The prefix satisfying all the {@code "prefix"} conditions, or
+         * {@code null} if the node has no such condition
+         */
+        private String prefix;
+
+        /**
+         * Whether the conditions can be satisfied by any value
+         */
+        private boolean satisfiable = true;
+
+        /**
+         * The constructor.
+         *
+         * @param position The position of condition node
+         */
+        private NodeConditions(int position) {
+            this.position = position;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.compiler;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * The class that represents the fixed layout of the condition values passed
+ * to the evaluation process, that is, the ordered key names of the conditions.
+ *
+ * <p>
+ * The layout is resolved only once for each content mapper, and each
+ * {@link ConditionTuple} created from the layout holds the condition value of
+ * each key name at the same position. Therefore, the condition values can be
+ * written and read by position without building a map for each evaluation.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor(access = AccessLevel.PRIVATE, force = true)
+public final class ConditionLayout {
+
+    /**
+     * The key names of the conditions
+     */
+    private final String[] keys;
+
+    /**
+     * The positions associated with each key name
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final Map<String, Integer> positions;
+
+    /**
+     * The constructor
+     *
+     * @param keys The distinct key names of the conditions
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private ConditionLayout(@NonNull String[] keys) {
+
+        final Map<String, Integer> positions = new HashMap<>(keys.length);
+
+        for (int i = 0; i < keys.length; i++) {
+            positions.put(keys[i], i);
+        }
+
+        this.keys = keys;
+        this.positions = Collections.unmodifiableMap(positions);
+    }
+
+    /**
+     * Returns the new instance of {@link ConditionLayout} based on the key names
+     * passed as an argument. The duplicate key names are merged into the position
+     * of the first one.
+     *
+     * @param keys The key names of the conditions
+     * @return The new instance of {@link ConditionLayout}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public static ConditionLayout of(@NonNull String... keys) {
+        return new ConditionLayout(new LinkedHashSet<>(Arrays.asList(keys)).toArray(new String[0]));
+    }
+
+    /**
+     * Returns the number of key names.
+     *
+     * @return The number of key names
+     */
+    public int size() {
+        return this.keys.length;
+    }
+
+    /**
+     * Returns the key name at the position passed as an argument.
+     *
+     * @param position The position of the key name
+     * @return The key name
+     *
+     * @exception IndexOutOfBoundsException If the position is out of the layout
+     */
+    public String getKey(int position) {
+        return this.keys[position];
+    }
+
+    /**
+     * Returns the position of the key name passed as an argument, or {@code -1} if
+     * the key name is not included in this layout.
+     *
+     * @param key The key name
+     * @return The position of the key name, or {@code -1}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public int getPosition(@NonNull String key) {
+        return this.positions.getOrDefault(key, -1);
+    }
+
+    /**
+     * Returns the new empty condition tuple with this layout.
+     *
+     * @return The new empty condition tuple
+     */
+    public ConditionTuple newTuple() {
+        return ConditionTuple.of(this);
+    }
+}
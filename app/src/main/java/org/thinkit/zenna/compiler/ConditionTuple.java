@@ -0,0 +1,255 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.compiler;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * The class that holds the condition values passed to the evaluation process
+ * in the fixed layout represented by {@link ConditionLayout} .
+ *
+ * <p>
+ * The condition value of each key name is held at the position of the key
+ * name in the layout, and a condition whose value is {@code null} is treated as
+ * if it were not specified. A condition value can also be held as a primitive
+ * integral value, such as the value of an {@code int} field or the code of a
+ * catalog, and such a value is matched against the operands of the content
+ * without being converted to a string. The tuple can be reused by clearing it with
+ * {@link #clear()} , and the copy returned by {@link #copy()} can be used as the
+ * key of a cache since two tuples with the same layout and the same values are
+ * equal.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor(access = AccessLevel.PRIVATE, force = true)
+public final class ConditionTuple {
+
+    /**
+     * The layout of the condition values
+     */
+    @Getter
+    private final ConditionLayout layout;
+
+    /**
+     * The condition values held at the position of each key name
+     */
+    private final String[] values;
+
+    /**
+     * The integral condition values held at the position of each key name
+     */
+    private final long[] integralValues;
+
+    /**
+     * Whether the condition value at each position is held as an integral value
+     */
+    private final boolean[] integral;
+
+    /**
+     * The constructor
+     *
+     * @param layout         The layout of the condition values
+     * @param values         The condition values
+     * @param integralValues The integral condition values
+     * @param integral       Whether each condition value is integral
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private ConditionTuple(@NonNull ConditionLayout layout, @NonNull String[] values,
+            @NonNull long[] integralValues, @NonNull boolean[] integral) {
+        this.layout = layout;
+        this.values = values;
+        this.integralValues = integralValues;
+        this.integral = integral;
+    }
+
+    /**
+     * Returns the new empty instance of {@link ConditionTuple} with the layout
+     * passed as an argument.
+     *
+     * @param layout The layout of the condition values
+     * @return The new instance of {@link ConditionTuple}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public static ConditionTuple of(@NonNull ConditionLayout layout) {
+        final int size = layout.size();
+        return new ConditionTuple(layout, new String[size], new long[size], new boolean[size]);
+    }
+
+    /**
+     * Returns the new instance of {@link ConditionTuple} holding the conditions of
+     * the map passed as an argument, with the layout of the key names of the map.
+     *
+     * @param conditions The map containing condition data
+     * @return The new instance of {@link ConditionTuple}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public static ConditionTuple from(@NonNull Map<String, String> conditions) {
+
+        final ConditionTuple conditionTuple = ConditionLayout.of(conditions.keySet().toArray(new String[0]))
+                .newTuple();
+
+        for (final Entry<String, String> condition : conditions.entrySet()) {
+            conditionTuple.set(conditionTuple.layout.getPosition(condition.getKey()), condition.getValue());
+        }
+
+        return conditionTuple;
+    }
+
+    /**
+     * Returns the number of the positions of this tuple.
+     *
+     * @return The number of the positions
+     */
+    public int size() {
+        return this.values.length;
+    }
+
+    /**
+     * Returns the key name at the position passed as an argument.
+     *
+     * @param position The position
+     * @return The key name
+     *
+     * @exception IndexOutOfBoundsException If the position is out of the layout
+     */
+    public String getKey(int position) {
+        return this.layout.getKey(position);
+    }
+
+    /**
+     * Returns the condition value at the position passed as an argument. If the
+     * value is held as an integral value, its decimal representation is returned.
+     *
+     * @param position The position
+     * @return The condition value, or {@code null} if it is not specified
+     *
+     * @exception IndexOutOfBoundsException If the position is out of the layout
+     */
+    public String getValue(int position) {
+        return this.integral[position] ? Long.toString(this.integralValues[position]) : this.values[position];
+    }
+
+    /**
+     * Checks if the condition value at the position passed as an argument is held
+     * as an integral value.
+     *
+     * @param position The position
+     * @return {@code true} if the condition value is integral, otherwise
+     *         {@code false}
+     *
+     * @exception IndexOutOfBoundsException If the position is out of the layout
+     */
+    public boolean isIntegral(int position) {
+        return this.integral[position];
+    }
+
+    /**
+     * Returns the integral condition value at the position passed as an argument.
+     * The returned value is meaningful only if {@link #isIntegral(int)} returns
+     * {@code true} for the position.
+     *
+     * @param position The position
+     * @return The integral condition value
+     *
+     * @exception IndexOutOfBoundsException If the position is out of the layout
+     */
+    public long getIntegralValue(int position) {
+        return this.integralValues[position];
+    }
+
+    /**
+     * Sets the condition value at the position passed as an argument.
+     *
+     * @param position The position
+     * @param value    The condition value, or {@code null} if it is not specified
+     *
+     * @exception IndexOutOfBoundsException If the position is out of the layout
+     */
+    public void set(int position, String value) {
+        this.values[position] = value;
+        this.integralValues[position] = 0L;
+        this.integral[position] = false;
+    }
+
+    /**
+     * Sets the integral condition value at the position passed as an argument.
+     *
+     * @param position The position
+     * @param value    The integral condition value
+     *
+     * @exception IndexOutOfBoundsException If the position is out of the layout
+     */
+    public void set(int position, long value) {
+        this.values[position] = null;
+        this.integralValues[position] = value;
+        this.integral[position] = true;
+    }
+
+    /**
+     * Clears all condition values so that this tuple can be reused.
+     */
+    public void clear() {
+        Arrays.fill(this.values, null);
+        Arrays.fill(this.integralValues, 0L);
+        Arrays.fill(this.integral, false);
+    }
+
+    /**
+     * Returns the copy of this tuple with the same layout and the same values.
+     *
+     * @return The copy of this tuple
+     */
+    public ConditionTuple copy() {
+        return new ConditionTuple(this.layout, this.values.clone(), this.integralValues.clone(),
+                this.integral.clone());
+    }
+
+    /**
+     * Returns the map containing the key names and the specified condition values
+     * of this tuple.
+     *
+     * @return The map containing the conditions
+     */
+    public Map<String, String> toMap() {
+
+        final Map<String, String> conditions = new LinkedHashMap<>(this.values.length);
+
+        for (int i = 0; i < this.values.length; i++) {
+            final String value = this.getValue(i);
+
+            if (value != null) {
+                conditions.put(this.layout.getKey(i), value);
+            }
+        }
+
+        return conditions;
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.compiler;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import org.thinkit.zenna.exception.ContentParsingException;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * The class that looks up the binary content files packed into a content
+ * archive written by the {@link ContentArchiveWriter} .
+ *
+ * <p>
+ * The content archive consists of the header, the directory, the names and the
+ * binary content files in this order. All the numbers are big endian.
+ *
+ * <pre>
+ * header    : magic (int) , version (short) , flags (short) , entry count (int)
+ * directory : name offset (int) , name length (int) , content offset (int) ,
+ *             content length (int) for each entry, sorted by name
+ * names     : UTF-8 bytes of each content name
+ * contents  : binary content file of each entry
+ * </pre>
+ *
+ * <p>
+ * Each directory entry has a fixed size and the entries are sorted by the
+ * UTF-8 bytes of the content name, so the content is looked up by a binary
+ * search over the directory without decoding any name. The binary content file
+ * found is returned as a slice of the buffer of the content archive, so it is
+ * never copied even if the content archive is mapped to a file. The directory
+ * is validated once when the content archive is opened.
+ *
+ * <p>
+ * A content archive is equal only to itself, since the content archives
+ * holding the same number of entries can hold different contents.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@ToString
+@NoArgsConstructor(access = AccessLevel.PRIVATE, force = true)
+public final class ContentArchive {
+
+    /**
+     * The magic number at the beginning of the content archive: {@code "ZPK\0"}
+     */
+    static final int MAGIC = 0x5A504B00;
+
+    /**
+     * The current format version
+     */
+    static final short VERSION = 1;
+
+    /**
+     * The size of the header in bytes
+     */
+    static final int HEADER_SIZE = 12;
+
+    /**
+     * The size of each directory entry in bytes
+     */
+    static final int ENTRY_SIZE = 16;
+
+    /**
+     * The buffer holding the content archive
+     */
+    @ToString.Exclude
+    private final ByteBuffer archiveBuffer;
+
+    /**
+     * The number of entries
+     */
+    private final int entryCount;
+
+    /**
+     * The constructor.
+     *
+     * @param archiveBuffer The buffer holding the content archive
+     *
+     * @exception NullPointerException    If {@code null} is passed as an argument
+     * @exception ContentParsingException If the content archive is broken or its
+     *                                    format version is not supported
+     */
+    private ContentArchive(@NonNull ByteBuffer archiveBuffer) {
+        this.archiveBuffer = archiveBuffer;
+
+        try {
+            this.entryCount = this.validate(archiveBuffer);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new ContentParsingException("The content archive is broken.", e);
+        }
+    }
+
+    /**
+     * Returns the new instance of {@link ContentArchive} based on the buffer
+     * holding the content archive from its position to its limit. The buffer may
+     * be a direct buffer mapped to the file.
+     *
+     * @param archiveBuffer The buffer holding the content archive
+     * @return The new instance of {@link ContentArchive}
+     *
+     * @exception NullPointerException    If {@code null} is passed as an argument
+     * @exception ContentParsingException If the content archive is broken or its
+     *                                    format version is not supported
+     */
+    public static ContentArchive from(@NonNull ByteBuffer archiveBuffer) {
+        return new ContentArchive(archiveBuffer.slice().order(ByteOrder.BIG_ENDIAN));
+    }
+
+    /**
+     * Returns the number of binary content files packed into the content archive.
+     *
+     * @return The number of binary content files
+     */
+    public int size() {
+        return this.entryCount;
+    }
+
+    /**
+     * Returns the binary content file associated with the content name passed as
+     * an argument. The returned buffer is a read-only slice of the content archive
+     * and can be passed to {@link BinaryContentCompiler#from(ByteBuffer)} .
+     *
+     * @param contentName The content name
+     * @return The buffer holding the binary content file, or {@code null} if the
+     *         content archive does not have the content
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public ByteBuffer find(@NonNull String contentName) {
+
+        final byte[] name = contentName.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = this.entryCount - 1;
+
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final int entry = HEADER_SIZE + middle * ENTRY_SIZE;
+            final int comparison = this.compareName(this.archiveBuffer.getInt(entry),
+                    this.archiveBuffer.getInt(entry + 4), name);
+
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                final int offset = this.archiveBuffer.getInt(entry + 8);
+                return this.archiveBuffer.asReadOnlyBuffer().position(offset)
+                        .limit(offset + this.archiveBuffer.getInt(entry + 12)).slice();
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Validates the header and the directory of the content archive passed as an
+     * argument and returns the number of entries.
+     *
+     * @param buffer The buffer holding the content archive
+     * @return The number of entries
+     *
+     * @exception NullPointerException      If {@code null} is passed as an argument
+     * @exception ContentParsingException   If the content archive is not valid or
+     *                                      its format version is not supported
+     * @exception BufferUnderflowException  If the header is truncated
+     * @exception IndexOutOfBoundsException If the directory is truncated
+     */
+    private int validate(@NonNull ByteBuffer buffer) {
+
+        final ByteBuffer header = buffer.duplicate();
+
+        if (header.getInt() != MAGIC) {
+            throw new ContentParsingException("The file is not a content archive.");
+        }
+
+        final short version = header.getShort();
+
+        if (version != VERSION) {
+            throw new ContentParsingException(
+                    String.format("The format version '%d' of the content archive is not supported.", version));
+        }
+
+        header.getShort();
+        final int entryCount = header.getInt();
+
+        if (entryCount < 0 || (long) HEADER_SIZE + (long) entryCount * ENTRY_SIZE > buffer.limit()) {
+            throw new IndexOutOfBoundsException("The directory exceeds the content archive.");
+        }
+
+        for (int i = 0; i < entryCount; i++) {
+            final int entry = HEADER_SIZE + i * ENTRY_SIZE;
+            this.checkRange(buffer, buffer.getInt(entry), buffer.getInt(entry + 4));
+            this.checkRange(buffer, buffer.getInt(entry + 8), buffer.getInt(entry + 12));
+
+            if (i > 0 && this.compareName(buffer.getInt(entry - ENTRY_SIZE), buffer.getInt(entry - ENTRY_SIZE + 4),
+                    buffer.getInt(entry), buffer.getInt(entry + 4)) >= 0) {
+                throw new IllegalArgumentException("The directory is not sorted by name.");
+            }
+        }
+
+        return entryCount;
+    }
+
+    /**
+     * Checks if the range passed as an argument is within the buffer.
+     *
+     * @param buffer The buffer holding the content archive
+     * @param offset The offset of the range
+     * @param length The length of the range
+     *
+     * @exception NullPointerException      If {@code null} is passed as an argument
+     * @exception IndexOutOfBoundsException If the range is not within the buffer
+     */
+    private void checkRange(@NonNull ByteBuffer buffer, int offset, int length) {
+        if (offset < 0 || length < 0 || (long) offset + length > buffer.limit()) {
+            throw new IndexOutOfBoundsException(
+                    String.format("The range [%d, %d + %d) exceeds the content archive.", offset, offset, length));
+        }
+    }
+
+    /**
+     * Compares the name in the content archive with the name passed as an
+     * argument by the unsigned value of each UTF-8 byte.
+     *
+     * @param offset The offset of the name in the content archive
+     * @param length The length of the name in the content archive
+     * @param name   The UTF-8 bytes of the name to be compared
+     * @return A negative integer, zero, or a positive integer as the name in the
+     *         content archive is less than, equal to, or greater than the name
+     *         passed as an argument
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private int compareName(int offset, int length, @NonNull byte[] name) {
+
+        final int commonLength = Math.min(length, name.length);
+
+        for (int i = 0; i < commonLength; i++) {
+            final int comparison = Byte.compareUnsigned(this.archiveBuffer.get(offset + i), name[i]);
+
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+
+        return Integer.compare(length, name.length);
+    }
+
+    /**
+     * Compares the two names in the content archive by the unsigned value of each
+     * UTF-8 byte.
+     *
+     * @param offset      The offset of the first name
+     * @param length      The length of the first name
+     * @param otherOffset The offset of the second name
+     * @param otherLength The length of the second name
+     * @return A negative integer, zero, or a positive integer as the first name is
+     *         less than, equal to, or greater than the second name
+     */
+    private int compareName(int offset, int length, int otherOffset, int otherLength) {
+
+        final int commonLength = Math.min(length, otherLength);
+
+        for (int i = 0; i < commonLength; i++) {
+            final int comparison = Byte.compareUnsigned(this.archiveBuffer.get(offset + i),
+                    this.archiveBuffer.get(otherOffset + i));
+
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+
+        return Integer.compare(length, otherLength);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.compiler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.thinkit.common.base.precondition.Preconditions;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * The class that packs the compiled contents into a content archive read by the
+ * {@link ContentArchive} .
+ *
+ * <p>
+ * Each compiled content is written by the {@link BinaryContentWriter} and
+ * stored with its content name, and the directory of the content archive is
+ * sorted by the UTF-8 bytes of the content names.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(staticName = "from")
+@NoArgsConstructor(access = AccessLevel.PRIVATE, force = true)
+public final class ContentArchiveWriter {
+
+    /**
+     * The compiled contents associated with each content name
+     */
+    private final Map<String, CompiledContent> compiledContents;
+
+    /**
+     * Writes the content archive to the output stream passed as an argument. The
+     * output stream is not closed.
+     *
+     * @param outputStream The output stream
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument,
+     *                                  or if the compiled contents are
+     *                                  {@code null}
+     * @exception IllegalStateException If the content archive cannot be written
+     */
+    public void write(@NonNull OutputStream outputStream) {
+        try {
+            outputStream.write(this.toByteArray());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the compiled contents packed in the content archive format.
+     *
+     * @return The bytes of the content archive
+     *
+     * @exception NullPointerException  If the compiled contents are {@code null}
+     * @exception IllegalStateException If the content archive exceeds the maximum
+     *                                  size
+     */
+    public byte[] toByteArray() {
+        Preconditions.requireNonNull(this.compiledContents, "The compiled contents must not be null.");
+
+        final int entryCount = this.compiledContents.size();
+        final byte[][] names = new byte[entryCount][];
+        final byte[][] contents = new byte[entryCount][];
+
+        int index = 0;
+        for (final Entry<String, CompiledContent> compiledContent : this.compiledContents.entrySet()) {
+            names[index] = compiledContent.getKey().getBytes(StandardCharsets.UTF_8);
+            contents[index] = BinaryContentWriter.from(compiledContent.getValue()).toByteArray();
+            index++;
+        }
+
+        final Integer[] order = new Integer[entryCount];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, (first, second) -> Arrays.compareUnsigned(names[first], names[second]));
+
+        long size = ContentArchive.HEADER_SIZE + (long) entryCount * ContentArchive.ENTRY_SIZE;
+
+        for (int i = 0; i < entryCount; i++) {
+            size += names[i].length + contents[i].length;
+        }
+
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("The content archive exceeds the maximum size.");
+        }
+
+        final ByteBuffer archive = ByteBuffer.allocate((int) size).putInt(ContentArchive.MAGIC)
+                .putShort(ContentArchive.VERSION).putShort((short) 0).putInt(entryCount);
+
+        int nameOffset = ContentArchive.HEADER_SIZE + entryCount * ContentArchive.ENTRY_SIZE;
+        int contentOffset = nameOffset + Arrays.stream(names).mapToInt(name -> name.length).sum();
+
+        for (final int entry : order) {
+            archive.putInt(nameOffset).putInt(names[entry].length).putInt(contentOffset)
+                    .putInt(contents[entry].length);
+            nameOffset += names[entry].length;
+            contentOffset += contents[entry].length;
+        }
+
+        for (final int entry : order) {
+            archive.put(names[entry]);
+        }
+
+        for (final int entry : order) {
+            archive.put(contents[entry]);
+        }
+
+        return archive.array();
+    }
+}
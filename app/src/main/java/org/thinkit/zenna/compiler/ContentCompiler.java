@@ -0,0 +1,136 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.compiler;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.thinkit.common.base.precondition.Preconditions;
+import org.thinkit.zenna.exception.IllegalContentStateException;
+import org.thinkit.zenna.key.ConditionNodeKey;
+import org.thinkit.zenna.key.MetaNodeKey;
+import org.thinkit.zenna.key.SelectionNodeKey;
+import org.thinkit.zenna.util.ContentNodeResolver;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * The class that defines the content compiling process.
+ *
+ * <p>
+ * In order to create an instance of this {@link ContentCompiler} class, use the
+ * {@link #from(Map)} method and pass the content map loaded by
+ * {@link org.thinkit.zenna.loader.ContentLoader} as an initialization argument.
+ * After that, simply call the {@link #compile()} method to get the
+ * {@link CompiledContent} that can be shared between any number of
+ * evaluations.
+ *
+ * <p>
+ * The compiling process is performed only once for each loaded content, so any
+ * work that does not depend on the conditions given at evaluation time should
+ * be done here rather than in the evaluation process. The selection nodes are
+ * compiled into {@link AttributeColumns} , and the compiled content does not
+ * hold the content map itself.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(staticName = "from")
+@NoArgsConstructor(access = AccessLevel.PRIVATE, force = true)
+public final class ContentCompiler implements Compiler {
+
+    /**
+     * The map containing the items defined in the content file
+     */
+    private final Map<String, Object> content;
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Compiles the content map specified when creating an instance of this class.
+     *
+     * @return The compiled content
+     *
+     * @exception NullPointerException         If the content map is {@code null}
+     * @exception IllegalContentStateException If the result type is not defined in
+     *                                         the meta node of the content, or if
+     *                                         the selection is not defined in the
+     *                                         content
+     */
+    @Override
+    public CompiledContent compile() {
+        Preconditions.requireNonNull(this.content, "The content map must not be null.");
+        final String resultType = this.getResultType(this.content);
+        final ConditionIndex conditionIndex = ConditionIndex.from(this.content);
+
+        final AttributeColumns attributeColumns = AttributeColumns.from(this.content);
+
+        return new CompiledContent(resultType, attributeColumns, SelectionIndex.from(attributeColumns, conditionIndex),
+                conditionIndex, this.getWeight(this.content));
+    }
+
+    /**
+     * Returns the fully qualified name of the result type defined in the meta node
+     * of the content.
+     *
+     * @param content The map containing the items defined in the content file
+     * @return The fully qualified name of the result type
+     *
+     * @exception NullPointerException         If {@code null} is passed as an
+     *                                         argument
+     * @exception IllegalContentStateException If the result type is not defined in
+     *                                         the meta node of the content
+     */
+    private String getResultType(@NonNull Map<String, Object> content) {
+
+        final Map<String, Object> metaMap = ContentNodeResolver.getNodeMap(content, MetaNodeKey.META);
+
+        if (metaMap == null || StringUtils.isEmpty(ContentNodeResolver.getString(metaMap, MetaNodeKey.RESULT_TYPE))) {
+            throw new IllegalContentStateException(
+                    "Failed to detect the result type from the meta node of the content file.");
+        }
+
+        return ContentNodeResolver.getString(metaMap, MetaNodeKey.RESULT_TYPE);
+    }
+
+    /**
+     * Returns the relative weight of the content, which is the number of nodes
+     * defined in the content.
+     *
+     * @param content The map containing the items defined in the content file
+     * @return The relative weight of the content
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private int getWeight(@NonNull Map<String, Object> content) {
+
+        final List<Map<String, Object>> selectionNodes = ContentNodeResolver.getNodeList(content,
+                SelectionNodeKey.SELECTION_NODES);
+        final List<Map<String, Object>> conditionNodes = ContentNodeResolver.getNodeList(content,
+                ConditionNodeKey.CONDITION_NODES);
+
+        return 1 + (selectionNodes == null ? 0 : selectionNodes.size())
+                + (conditionNodes == null ? 0 : conditionNodes.size());
+    }
+}
@@ -0,0 +1,395 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.compiler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import org.apache.commons.lang3.StringUtils;
+import org.thinkit.common.base.precondition.Preconditions;
+import org.thinkit.zenna.exception.ContentParsingException;
+import org.thinkit.zenna.exception.IllegalContentStateException;
+import org.thinkit.zenna.key.ConditionNodeKey;
+import org.thinkit.zenna.key.MetaNodeKey;
+import org.thinkit.zenna.key.SelectionNodeKey;
+import org.thinkit.zenna.util.JsonConverter;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * The class that compiles the content file read from the input stream without
+ * loading it into a map.
+ *
+ * <p>
+ * The {@link ContentCompiler} compiles the map returned by
+ * {@link org.thinkit.zenna.loader.ContentLoader} , which holds the whole
+ * content file as a string and then as a tree of maps before the content is
+ * compiled. This compiler reads the tokens of the content file from the input
+ * stream in one pass instead, and stores the attributes of each selection node
+ * directly in the {@link AttributeColumns} and the conditions of each condition
+ * node directly in the {@link ConditionIndex} . Therefore, neither the string
+ * of the whole content file nor the map of each selection node or condition
+ * node is created.
+ *
+ * <p>
+ * The compiled content is the same as the one compiled by the
+ * {@link ContentCompiler} from the same content file. The input stream is
+ * closed when the compilation is completed.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(staticName = "from")
+@NoArgsConstructor(access = AccessLevel.PRIVATE, force = true)
+public final class ContentStreamCompiler implements Compiler {
+
+    /**
+     * The input stream of content
+     */
+    private final InputStream contentStream;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @exception NullPointerException         If the input stream of content is
+     *                                         {@code null}
+     * @exception ContentParsingException      If there is a syntax error in the
+     *                                         content file
+     * @exception IllegalContentStateException If the content file does not have
+     *                                         the result type or the selection
+     *                                         nodes
+     */
+    @Override
+    public CompiledContent compile() {
+        Preconditions.requireNonNull(this.contentStream, "The content stream must not be null.");
+
+        try (JsonParser parser = JsonConverter.createParser(this.contentStream)) {
+            return this.compile(parser);
+        } catch (IOException e) {
+            throw new ContentParsingException(e);
+        }
+    }
+
+    /**
+     * Reads the content file from the parser passed as an argument and returns
+     * the compiled content.
+     *
+     * @param parser The parser of the content file
+     * @return The compiled content
+     *
+     * @exception NullPointerException         If {@code null} is passed as an
+     *                                         argument
+     * @exception IOException                  If the content file cannot be read
+     * @exception IllegalContentStateException If the content file does not have
+     *                                         the result type or the selection
+     *                                         nodes
+     */
+    private CompiledContent compile(@NonNull JsonParser parser) throws IOException {
+
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new ContentParsingException("The content file must be a JSON object.");
+        }
+
+        final AttributeColumns.Builder builder = AttributeColumns.builder();
+        final ConditionIndex.Builder conditionIndexBuilder = ConditionIndex.builder();
+        String resultType = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String name = parser.getCurrentName();
+            parser.nextToken();
+
+            if (MetaNodeKey.META.getName().equals(name)) {
+                resultType = this.readResultType(parser);
+            } else if (SelectionNodeKey.SELECTION_NODES.getName().equals(name)) {
+                this.readSelectionNodes(parser, builder);
+            } else if (ConditionNodeKey.CONDITION_NODES.getName().equals(name)) {
+                this.readConditionNodes(parser, conditionIndexBuilder);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (StringUtils.isEmpty(resultType)) {
+            throw new IllegalContentStateException(
+                    "Failed to detect the result type from the meta node of the content file.");
+        }
+
+        final AttributeColumns attributeColumns = builder.build();
+        final ConditionIndex conditionIndex = conditionIndexBuilder.build();
+
+        return new CompiledContent(resultType, attributeColumns, SelectionIndex.from(attributeColumns, conditionIndex),
+                conditionIndex, 1 + attributeColumns.size() + conditionIndex.size());
+    }
+
+    /**
+     * Reads the meta node at the current token of the parser and returns the
+     * result type defined in it.
+     *
+     * @param parser The parser positioned at the start of the meta node
+     * @return The result type, or {@code null} if it is not defined
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     * @exception IOException          If the content file cannot be read
+     */
+    private String readResultType(@NonNull JsonParser parser) throws IOException {
+
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+
+        String resultType = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String name = parser.getCurrentName();
+            parser.nextToken();
+
+            if (MetaNodeKey.RESULT_TYPE.getName().equals(name)) {
+                resultType = parser.getValueAsString();
+            }
+
+            parser.skipChildren();
+        }
+
+        return resultType;
+    }
+
+    /**
+     * Reads the selection nodes at the current token of the parser and adds the
+     * attributes of each selection node to the builder as a row.
+     *
+     * @param parser  The parser positioned at the start of the selection nodes
+     * @param builder The builder of the attribute columns
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     * @exception IOException          If the content file cannot be read
+     */
+    private void readSelectionNodes(@NonNull JsonParser parser, @NonNull AttributeColumns.Builder builder)
+            throws IOException {
+
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            builder.addRow();
+
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String name = parser.getCurrentName();
+
+                if (parser.nextToken() == JsonToken.START_OBJECT && SelectionNodeKey.NODE.getName().equals(name)) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        final String attribute = parser.getCurrentName();
+                        parser.nextToken();
+                        builder.set(attribute, this.readValue(parser));
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the condition nodes at the current token of the parser and adds each
+     * condition node to the builder of the condition index.
+     *
+     * @param parser  The parser positioned at the start of the condition nodes
+     * @param builder The builder of the condition index
+     *
+     * @exception NullPointerException         If {@code null} is passed as an
+     *                                         argument
+     * @exception IOException                  If the content file cannot be read
+     * @exception IllegalContentStateException If the condition nodes have an
+     *                                         unsupported operator or an illegal
+     *                                         operand
+     */
+    private void readConditionNodes(@NonNull JsonParser parser, @NonNull ConditionIndex.Builder builder)
+            throws IOException {
+
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            builder.addNode();
+
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String name = parser.getCurrentName();
+
+                if (parser.nextToken() == JsonToken.START_OBJECT && ConditionNodeKey.NODE.getName().equals(name)) {
+                    this.readConditionNode(parser, builder);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the items of the condition node at the current token of the parser
+     * and sets them to the last added condition node of the builder.
+     *
+     * @param parser  The parser positioned at the start of the condition node
+     * @param builder The builder of the condition index
+     *
+     * @exception NullPointerException         If {@code null} is passed as an
+     *                                         argument
+     * @exception IOException                  If the content file cannot be read
+     * @exception IllegalContentStateException If the condition node has an
+     *                                         unsupported operator or an illegal
+     *                                         operand
+     */
+    private void readConditionNode(@NonNull JsonParser parser, @NonNull ConditionIndex.Builder builder)
+            throws IOException {
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String name = parser.getCurrentName();
+            parser.nextToken();
+
+            if (ConditionNodeKey.CONDITION_ID.getName().equals(name)) {
+                builder.setConditionId((String) this.readValue(parser));
+            } else if (ConditionNodeKey.EXCLUDE.getName().equals(name)) {
+                builder.setExclude(this.readValue(parser));
+            } else if (ConditionNodeKey.CONDITIONS.getName().equals(name)
+                    && parser.currentToken() == JsonToken.START_ARRAY) {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    this.readCondition(parser, builder);
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Reads the condition at the current token of the parser and adds it to the
+     * last added condition node of the builder.
+     *
+     * @param parser  The parser positioned at the start of the condition
+     * @param builder The builder of the condition index
+     *
+     * @exception NullPointerException         If {@code null} is passed as an
+     *                                         argument
+     * @exception IOException                  If the content file cannot be read
+     * @exception IllegalContentStateException If the condition has an unsupported
+     *                                         operator or an illegal operand
+     */
+    private void readCondition(@NonNull JsonParser parser, @NonNull ConditionIndex.Builder builder)
+            throws IOException {
+
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+
+        String keyName = null;
+        String operator = null;
+        Object operand = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String name = parser.getCurrentName();
+            parser.nextToken();
+
+            if (ConditionNodeKey.KEY_NAME.getName().equals(name)) {
+                keyName = (String) this.readValue(parser);
+            } else if (ConditionNodeKey.OPERATOR.getName().equals(name)) {
+                operator = (String) this.readValue(parser);
+            } else if (ConditionNodeKey.OPERAND.getName().equals(name)) {
+                operand = this.readValue(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        builder.addCondition(keyName, operator, operand);
+    }
+
+    /**
+     * Reads the value at the current token of the parser. The scalar value is
+     * converted to the same type as the one in the map returned by
+     * {@link org.thinkit.zenna.loader.ContentLoader} , and the object or the array
+     * is read into a map or a list token by token.
+     *
+     * @param parser The parser positioned at the value
+     * @return The value
+     *
+     * @exception NullPointerException    If {@code null} is passed as an argument
+     * @exception IOException             If the content file cannot be read
+     * @exception ContentParsingException If the current token is not a value
+     */
+    private Object readValue(@NonNull JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return parser.getNumberValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            case START_ARRAY:
+                final List<Object> values = new ArrayList<>();
+
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    values.add(this.readValue(parser));
+                }
+
+                return values;
+            case START_OBJECT:
+                final Map<String, Object> fields = new LinkedHashMap<>();
+
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String name = parser.getCurrentName();
+                    parser.nextToken();
+                    fields.put(name, this.readValue(parser));
+                }
+
+                return fields;
+            default:
+                throw new ContentParsingException(
+                        String.format("The token '%s' is not a value.", parser.currentToken()));
+        }
+    }
+}
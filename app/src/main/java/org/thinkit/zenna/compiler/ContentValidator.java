@@ -0,0 +1,274 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.compiler;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.thinkit.common.base.precondition.Preconditions;
+import org.thinkit.zenna.exception.IllegalContentStateException;
+import org.thinkit.zenna.key.ConditionNodeKey;
+import org.thinkit.zenna.key.ContentKey;
+import org.thinkit.zenna.key.MetaNodeKey;
+import org.thinkit.zenna.key.SelectionNodeKey;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * The class that validates the structure of the content map against the keys
+ * defined in {@link MetaNodeKey} , {@link SelectionNodeKey} and
+ * {@link ConditionNodeKey} .
+ *
+ * <p>
+ * The compilers read each node of the content with a cast to the type the key
+ * expects, so a node of an unexpected type is reported only as a
+ * {@link ClassCastException} when the content is compiled, and some mistakes
+ * such as a condition without {@code "keyName"} are silently ignored. This
+ * validator checks every node in advance and reports the location of the first
+ * illegal node, which allows a content file to be rejected when it is
+ * prepared rather than when it is first used. The operators and the operands
+ * of the conditions are checked by the compilation itself.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(staticName = "from")
+@NoArgsConstructor(access = AccessLevel.PRIVATE, force = true)
+public final class ContentValidator {
+
+    /**
+     * The map containing the items defined in the content file
+     */
+    private final Map<String, Object> content;
+
+    /**
+     * Validates the structure of the content map specified when creating an
+     * instance of this class.
+     *
+     * @exception NullPointerException         If the content map is {@code null}
+     * @exception IllegalContentStateException If the content map has a missing or
+     *                                         illegal node
+     */
+    public void validate() {
+        Preconditions.requireNonNull(this.content, "The content map must not be null.");
+
+        final Map<String, Object> meta = this.requireMap(this.content.get(MetaNodeKey.META.getName()),
+                MetaNodeKey.META.getName());
+
+        if (StringUtils.isEmpty(this.getString(meta, MetaNodeKey.RESULT_TYPE, MetaNodeKey.META.getName()))) {
+            throw new IllegalContentStateException(
+                    String.format("The '%s' of '%s' must be defined.", MetaNodeKey.RESULT_TYPE.getName(),
+                            MetaNodeKey.META.getName()));
+        }
+
+        this.validateSelectionNodes(this.requireList(this.content.get(SelectionNodeKey.SELECTION_NODES.getName()),
+                SelectionNodeKey.SELECTION_NODES.getName()));
+
+        final Object conditionNodes = this.content.get(ConditionNodeKey.CONDITION_NODES.getName());
+
+        if (conditionNodes != null) {
+            this.validateConditionNodes(
+                    this.requireList(conditionNodes, ConditionNodeKey.CONDITION_NODES.getName()));
+        }
+    }
+
+    /**
+     * Validates the selection nodes passed as an argument.
+     *
+     * @param selectionNodes The selection nodes
+     *
+     * @exception NullPointerException         If {@code null} is passed as an
+     *                                         argument
+     * @exception IllegalContentStateException If the selection nodes are empty or
+     *                                         have an illegal node
+     */
+    private void validateSelectionNodes(@NonNull List<?> selectionNodes) {
+
+        if (selectionNodes.isEmpty()) {
+            throw new IllegalContentStateException(String.format("The '%s' must have at least one node.",
+                    SelectionNodeKey.SELECTION_NODES.getName()));
+        }
+
+        for (int i = 0, size = selectionNodes.size(); i < size; i++) {
+            final String location = String.format("%s[%d]", SelectionNodeKey.SELECTION_NODES.getName(), i);
+            final Map<String, Object> node = this.getNode(selectionNodes.get(i), SelectionNodeKey.NODE, location);
+
+            this.getString(node, SelectionNodeKey.CONDITION_ID, location);
+        }
+    }
+
+    /**
+     * Validates the condition nodes passed as an argument.
+     *
+     * @param conditionNodes The condition nodes
+     *
+     * @exception NullPointerException         If {@code null} is passed as an
+     *                                         argument
+     * @exception IllegalContentStateException If the condition nodes have an
+     *                                         illegal node
+     */
+    private void validateConditionNodes(@NonNull List<?> conditionNodes) {
+        for (int i = 0, size = conditionNodes.size(); i < size; i++) {
+            final String location = String.format("%s[%d]", ConditionNodeKey.CONDITION_NODES.getName(), i);
+            final Map<String, Object> node = this.getNode(conditionNodes.get(i), ConditionNodeKey.NODE, location);
+
+            if (this.getString(node, ConditionNodeKey.CONDITION_ID, location) == null) {
+                throw new IllegalContentStateException(String.format("The '%s' of '%s' must be defined.",
+                        ConditionNodeKey.CONDITION_ID.getName(), location));
+            }
+
+            final Object exclude = node.get(ConditionNodeKey.EXCLUDE.getName());
+
+            if (exclude != null && !(exclude instanceof Boolean) && !(exclude instanceof String)) {
+                throw new IllegalContentStateException(String.format("The '%s' of '%s' must be a boolean.",
+                        ConditionNodeKey.EXCLUDE.getName(), location));
+            }
+
+            final Object conditions = node.get(ConditionNodeKey.CONDITIONS.getName());
+
+            if (conditions != null) {
+                this.validateConditions(this.requireList(conditions,
+                        String.format("%s.%s", location, ConditionNodeKey.CONDITIONS.getName())), location);
+            }
+        }
+    }
+
+    /**
+     * Validates the conditions of the condition node passed as an argument.
+     *
+     * @param conditions The conditions of the condition node
+     * @param location   The location of the condition node
+     *
+     * @exception NullPointerException         If {@code null} is passed as an
+     *                                         argument
+     * @exception IllegalContentStateException If the conditions have an illegal
+     *                                         condition
+     */
+    private void validateConditions(@NonNull List<?> conditions, @NonNull String location) {
+        for (int i = 0, size = conditions.size(); i < size; i++) {
+            final String conditionLocation = String.format("%s.%s[%d]", location,
+                    ConditionNodeKey.CONDITIONS.getName(), i);
+            final Map<String, Object> condition = this.requireMap(conditions.get(i), conditionLocation);
+
+            if (StringUtils.isEmpty(this.getString(condition, ConditionNodeKey.KEY_NAME, conditionLocation))) {
+                throw new IllegalContentStateException(String.format("The '%s' of '%s' must be defined.",
+                        ConditionNodeKey.KEY_NAME.getName(), conditionLocation));
+            }
+
+            this.getString(condition, ConditionNodeKey.OPERATOR, conditionLocation);
+
+            final Object operand = condition.get(ConditionNodeKey.OPERAND.getName());
+
+            if (operand instanceof Map || operand instanceof List) {
+                throw new IllegalContentStateException(String.format("The '%s' of '%s' must be a scalar value.",
+                        ConditionNodeKey.OPERAND.getName(), conditionLocation));
+            }
+        }
+    }
+
+    /**
+     * Returns the node associated with the key passed as an argument from the
+     * element of the node list.
+     *
+     * @param element  The element of the node list
+     * @param nodeKey  The key of the node
+     * @param location The location of the element
+     * @return The node
+     *
+     * @exception NullPointerException         If {@code null} is passed as the
+     *                                         key or the location
+     * @exception IllegalContentStateException If the element or the node is not
+     *                                         an object
+     */
+    private Map<String, Object> getNode(Object element, @NonNull ContentKey nodeKey, @NonNull String location) {
+        final Map<String, Object> elementMap = this.requireMap(element, location);
+        return this.requireMap(elementMap.get(nodeKey.getName()), String.format("%s.%s", location, nodeKey.getName()));
+    }
+
+    /**
+     * Returns the string associated with the key passed as an argument from the
+     * node.
+     *
+     * @param node     The node
+     * @param key      The key of the string
+     * @param location The location of the node
+     * @return The string, or {@code null} if it is not defined
+     *
+     * @exception NullPointerException         If {@code null} is passed as an
+     *                                         argument
+     * @exception IllegalContentStateException If the value associated with the key
+     *                                         is not a string
+     */
+    private String getString(@NonNull Map<String, Object> node, @NonNull ContentKey key, @NonNull String location) {
+
+        final Object value = node.get(key.getName());
+
+        if (value != null && !(value instanceof String)) {
+            throw new IllegalContentStateException(
+                    String.format("The '%s' of '%s' must be a string.", key.getName(), location));
+        }
+
+        return (String) value;
+    }
+
+    /**
+     * Returns the value passed as an argument as a map.
+     *
+     * @param value    The value
+     * @param location The location of the value
+     * @return The map
+     *
+     * @exception NullPointerException         If {@code null} is passed as the
+     *                                         location
+     * @exception IllegalContentStateException If the value is not an object
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> requireMap(Object value, @NonNull String location) {
+
+        if (!(value instanceof Map)) {
+            throw new IllegalContentStateException(String.format("The '%s' must be an object.", location));
+        }
+
+        return (Map<String, Object>) value;
+    }
+
+    /**
+     * Returns the value passed as an argument as a list.
+     *
+     * @param value    The value
+     * @param location The location of the value
+     * @return The list
+     *
+     * @exception NullPointerException         If {@code null} is passed as the
+     *                                         location
+     * @exception IllegalContentStateException If the value is not an array
+     */
+    private List<?> requireList(Object value, @NonNull String location) {
+
+        if (!(value instanceof List)) {
+            throw new IllegalContentStateException(String.format("The '%s' must be an array.", location));
+        }
+
+        return (List<?>) value;
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.compiler;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * The class that encodes the operands of the conditions on a specific key name
+ * into dense int codes.
+ *
+ * <p>
+ * Each distinct operand is assigned a code in the order in which it is encoded
+ * when the content is compiled, so the structures of the condition nodes can be
+ * held in arrays indexed by the code. An operand that is the canonical decimal
+ * representation of a {@code long} value, such as {@code "10"} or
+ * {@code "-1"} , can also be looked up by the primitive value, so a condition
+ * value given as an integral number or the code of a catalog is matched without
+ * being converted to a string.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@ToString
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+final class OperandDictionary {
+
+    /**
+     * The code returned when an operand is not encoded
+     */
+    static final int NOT_FOUND = -1;
+
+    /**
+     * The codes associated with each operand
+     */
+    private final Map<String, Integer> codes = new HashMap<>();
+
+    /**
+     * The integral operands in ascending order
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private long[] integralOperands = new long[0];
+
+    /**
+     * The codes associated with each integral operand
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private int[] integralCodes = new int[0];
+
+    /**
+     * The constructor.
+     *
+     * @param operands         The operands in the order of their codes
+     * @param integralOperands The integral operands in ascending order
+     * @param integralCodes    The codes associated with each integral operand
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private OperandDictionary(@NonNull String[] operands, @NonNull long[] integralOperands,
+            @NonNull int[] integralCodes) {
+
+        for (int code = 0; code < operands.length; code++) {
+            this.codes.put(operands[code], code);
+        }
+
+        this.integralOperands = integralOperands;
+        this.integralCodes = integralCodes;
+    }
+
+    /**
+     * Returns the new instance of {@link OperandDictionary} holding the operands
+     * and the lookup table of integral operands passed as arguments. It is used to
+     * restore the dictionary written in the binary content file, so
+     * {@link #build()} must not be called for the returned dictionary.
+     *
+     * @param operands         The operands in the order of their codes
+     * @param integralOperands The integral operands in ascending order
+     * @param integralCodes    The codes associated with each integral operand
+     * @return The new instance of {@link OperandDictionary}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    static OperandDictionary of(@NonNull String[] operands, @NonNull long[] integralOperands,
+            @NonNull int[] integralCodes) {
+        return new OperandDictionary(operands, integralOperands, integralCodes);
+    }
+
+    /**
+     * Returns the code of the operand passed as an argument. If the operand has
+     * not been encoded yet, the new code is assigned to it.
+     *
+     * @param operand The operand
+     * @return The code of the operand
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    int encode(@NonNull String operand) {
+        return this.codes.computeIfAbsent(operand, key -> this.codes.size());
+    }
+
+    /**
+     * Builds the lookup table of integral operands after all the operands are
+     * encoded. This method must be called once before looking up integral values.
+     */
+    void build() {
+
+        final long[][] entries = new long[this.codes.size()][];
+        int count = 0;
+
+        for (final Entry<String, Integer> code : this.codes.entrySet()) {
+            final String operand = code.getKey();
+
+            if (isIntegral(operand)) {
+                entries[count++] = new long[] { Long.parseLong(operand), code.getValue() };
+            }
+        }
+
+        final long[][] integralEntries = Arrays.copyOf(entries, count);
+        Arrays.sort(integralEntries, (entry1, entry2) -> Long.compare(entry1[0], entry2[0]));
+
+        this.integralOperands = new long[count];
+        this.integralCodes = new int[count];
+
+        for (int i = 0; i < count; i++) {
+            this.integralOperands[i] = integralEntries[i][0];
+            this.integralCodes[i] = (int) integralEntries[i][1];
+        }
+    }
+
+    /**
+     * Returns the number of encoded operands.
+     *
+     * @return The number of encoded operands
+     */
+    int size() {
+        return this.codes.size();
+    }
+
+    /**
+     * Returns the encoded operands in the order of their codes.
+     *
+     * @return The encoded operands
+     */
+    String[] getOperands() {
+
+        final String[] operands = new String[this.codes.size()];
+        this.codes.forEach((operand, code) -> operands[code] = operand);
+
+        return operands;
+    }
+
+    /**
+     * Returns the code of the operand passed as an argument, or
+     * {@link #NOT_FOUND} if the operand is not encoded.
+     *
+     * @param value The value to be looked up
+     * @return The code of the operand, or {@link #NOT_FOUND}
+     */
+    int lookup(String value) {
+
+        if (value == null) {
+            return NOT_FOUND;
+        }
+
+        final Integer code = this.codes.get(value);
+        return code != null ? code : NOT_FOUND;
+    }
+
+    /**
+     * Returns the code of the integral operand equal to the value passed as an
+     * argument, or {@link #NOT_FOUND} if the operand is not encoded.
+     *
+     * @param value The integral value to be looked up
+     * @return The code of the operand, or {@link #NOT_FOUND}
+     */
+    int lookup(long value) {
+        final int index = Arrays.binarySearch(this.integralOperands, value);
+        return index >= 0 ? this.integralCodes[index] : NOT_FOUND;
+    }
+
+    /**
+     * Checks if the operand passed as an argument is the canonical decimal
+     * representation of a {@code long} value, that is, the string returned by
+     * {@link Long#toString(long)} for the value.
+     *
+     * @param operand The operand
+     * @return {@code true} if the operand is the canonical representation of a
+     *         {@code long} value, otherwise {@code false}
+     */
+    static boolean isIntegral(@NonNull String operand) {
+
+        final int length = operand.length();
+
+        if (length == 0 || length > 20) {
+            return false;
+        }
+
+        final int start = operand.charAt(0) == '-' ? 1 : 0;
+
+        if (start == length || (operand.charAt(start) == '0' && length > start + 1)
+                || (start == 1 && length == 2 && operand.charAt(1) == '0')) {
+            return false;
+        }
+
+        for (int i = start; i < length; i++) {
+            final char character = operand.charAt(i);
+
+            if (character < '0' || character > '9') {
+                return false;
+            }
+        }
+
+        try {
+            Long.parseLong(operand);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
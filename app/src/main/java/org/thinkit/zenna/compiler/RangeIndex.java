@@ -0,0 +1,375 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.compiler;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.thinkit.zenna.catalog.ConditionOperator;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * The class that indexes the operands of the range conditions on a specific
+ * key name with a specific operator.
+ *
+ * <p>
+ * The operands are sorted when the index is built, and the operands that can
+ * be parsed as a number are compared as numbers, and the other operands are
+ * compared as strings. Therefore, finding the condition nodes that are not
+ * satisfied by a value takes one binary search for each of the numeric and the
+ * string operands, regardless of the number of conditions.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@ToString
+@NoArgsConstructor(access = AccessLevel.PRIVATE, force = true)
+final class RangeIndex {
+
+    /**
+     * The operator of the conditions
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final ConditionOperator operator;
+
+    /**
+     * The numeric operands to be sorted when the index is built
+     */
+    @ToString.Exclude
+    private List<BigDecimal> numericOperandList;
+
+    /**
+     * The positions of condition nodes associated with each numeric operand to be
+     * sorted when the index is built
+     */
+    @ToString.Exclude
+    private List<Integer> numericPositionList;
+
+    /**
+     * The string operands to be sorted when the index is built
+     */
+    @ToString.Exclude
+    private List<String> textOperandList;
+
+    /**
+     * The positions of condition nodes associated with each string operand to be
+     * sorted when the index is built
+     */
+    @ToString.Exclude
+    private List<Integer> textPositionList;
+
+    /**
+     * The sorted numeric operands
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private BigDecimal[] numericOperands;
+
+    /**
+     * The positions of condition nodes associated with each sorted numeric operand
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private int[] numericPositions;
+
+    /**
+     * The sorted string operands
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private String[] textOperands;
+
+    /**
+     * The positions of condition nodes associated with each sorted string operand
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private int[] textPositions;
+
+    /**
+     * The constructor.
+     *
+     * @param operator The operator of the conditions, which is one of
+     *                 {@link ConditionOperator#LESS_THAN} ,
+     *                 {@link ConditionOperator#LESS_THAN_OR_EQUAL} ,
+     *                 {@link ConditionOperator#GREATER_THAN} and
+     *                 {@link ConditionOperator#GREATER_THAN_OR_EQUAL}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    RangeIndex(@NonNull ConditionOperator operator) {
+        this.operator = operator;
+        this.numericOperandList = new ArrayList<>();
+        this.numericPositionList = new ArrayList<>();
+        this.textOperandList = new ArrayList<>();
+        this.textPositionList = new ArrayList<>();
+    }
+
+    /**
+     * The constructor.
+     *
+     * @param operator         The operator of the conditions
+     * @param numericOperands  The sorted numeric operands
+     * @param numericPositions The positions of condition nodes associated with
+     *                         each sorted numeric operand
+     * @param textOperands     The sorted string operands
+     * @param textPositions    The positions of condition nodes associated with
+     *                         each sorted string operand
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private RangeIndex(@NonNull ConditionOperator operator, @NonNull BigDecimal[] numericOperands,
+            @NonNull int[] numericPositions, @NonNull String[] textOperands, @NonNull int[] textPositions) {
+        this.operator = operator;
+        this.numericOperands = numericOperands;
+        this.numericPositions = numericPositions;
+        this.textOperands = textOperands;
+        this.textPositions = textPositions;
+    }
+
+    /**
+     * Returns the new instance of {@link RangeIndex} holding the sorted operands
+     * passed as arguments as they are. It is used to restore the range index
+     * written in the binary content file, so {@link #build()} must not be called
+     * for the returned index.
+     *
+     * @param operator         The operator of the conditions
+     * @param numericOperands  The sorted numeric operands
+     * @param numericPositions The positions of condition nodes associated with
+     *                         each sorted numeric operand
+     * @param textOperands     The sorted string operands
+     * @param textPositions    The positions of condition nodes associated with
+     *                         each sorted string operand
+     * @return The new instance of {@link RangeIndex}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    static RangeIndex of(@NonNull ConditionOperator operator, @NonNull BigDecimal[] numericOperands,
+            @NonNull int[] numericPositions, @NonNull String[] textOperands, @NonNull int[] textPositions) {
+        return new RangeIndex(operator, numericOperands, numericPositions, textOperands, textPositions);
+    }
+
+    /**
+     * Parses the value passed as an argument as a number.
+     *
+     * @param value The value
+     * @return The parsed number, or {@code null} if the value is not a number
+     */
+    static BigDecimal toNumber(Object value) {
+
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            return new BigDecimal(value.toString());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Adds the condition of the condition node at the position passed as an
+     * argument to this index. The operand is parsed as a number only once here.
+     *
+     * @param position The position of condition node
+     * @param operand  The operand of the condition
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    void add(int position, @NonNull Object operand) {
+
+        final BigDecimal numericOperand = toNumber(operand);
+
+        if (numericOperand != null) {
+            this.numericOperandList.add(numericOperand);
+            this.numericPositionList.add(position);
+        } else {
+            this.textOperandList.add(String.valueOf(operand));
+            this.textPositionList.add(position);
+        }
+    }
+
+    /**
+     * Sorts the operands added to this index. This method must be called once
+     * after all the conditions are added.
+     */
+    void build() {
+
+        final int[] numericOrder = this.sort(this.numericOperandList);
+        this.numericOperands = IntStream.of(numericOrder).mapToObj(this.numericOperandList::get)
+                .toArray(BigDecimal[]::new);
+        this.numericPositions = IntStream.of(numericOrder).map(this.numericPositionList::get).toArray();
+
+        final int[] textOrder = this.sort(this.textOperandList);
+        this.textOperands = IntStream.of(textOrder).mapToObj(this.textOperandList::get).toArray(String[]::new);
+        this.textPositions = IntStream.of(textOrder).map(this.textPositionList::get).toArray();
+
+        this.numericOperandList = null;
+        this.numericPositionList = null;
+        this.textOperandList = null;
+        this.textPositionList = null;
+    }
+
+    /**
+     * Adds the positions of the condition nodes that are not satisfied by the value
+     * passed as an argument to {@code unsatisfiedNodes} .
+     *
+     * @param value            The value given to the key name
+     * @param numericValue     The value parsed as a number, or {@code null} if the
+     *                         value is not a number
+     * @param unsatisfiedNodes The positions of unsatisfied condition nodes
+     *
+     * @exception NullPointerException If {@code unsatisfiedNodes} is {@code null}
+     */
+    void collectUnsatisfiedNodes(String value, BigDecimal numericValue, @NonNull BitSet unsatisfiedNodes) {
+        this.collectUnsatisfiedNodes(this.numericOperands, this.numericPositions, numericValue, unsatisfiedNodes);
+        this.collectUnsatisfiedNodes(this.textOperands, this.textPositions, value, unsatisfiedNodes);
+    }
+
+    /**
+     * Adds the positions of the condition nodes whose sorted operands are not
+     * satisfied by the value passed as an argument to {@code unsatisfiedNodes} .
+     * If the value is {@code null} , none of the operands are satisfied.
+     *
+     * @param <T>              The type of operand
+     * @param operands         The sorted operands
+     * @param positions        The positions of condition nodes associated with each
+     *                         operand
+     * @param value            The value given to the key name
+     * @param unsatisfiedNodes The positions of unsatisfied condition nodes
+     *
+     * @exception NullPointerException If {@code operands} , {@code positions} or
+     *                                 {@code unsatisfiedNodes} is {@code null}
+     */
+    private <T extends Comparable<? super T>> void collectUnsatisfiedNodes(@NonNull T[] operands,
+            @NonNull int[] positions, T value, @NonNull BitSet unsatisfiedNodes) {
+
+        if (operands.length == 0) {
+            return;
+        }
+
+        if (value == null) {
+            this.set(positions, 0, positions.length, unsatisfiedNodes);
+            return;
+        }
+
+        switch (this.operator) {
+            case LESS_THAN:
+                this.set(positions, 0, this.upperBound(operands, value), unsatisfiedNodes);
+                break;
+            case LESS_THAN_OR_EQUAL:
+                this.set(positions, 0, this.lowerBound(operands, value), unsatisfiedNodes);
+                break;
+            case GREATER_THAN:
+                this.set(positions, this.lowerBound(operands, value), positions.length, unsatisfiedNodes);
+                break;
+            case GREATER_THAN_OR_EQUAL:
+                this.set(positions, this.upperBound(operands, value), positions.length, unsatisfiedNodes);
+                break;
+            default:
+                throw new IllegalStateException(String.format("The operator '%s' is not a range operator.",
+                        this.operator.getTag()));
+        }
+    }
+
+    /**
+     * Returns the index of the first operand that is not less than the value.
+     *
+     * @param <T>      The type of operand
+     * @param operands The sorted operands
+     * @param value    The value
+     * @return The index of the first operand that is not less than the value
+     */
+    private <T extends Comparable<? super T>> int lowerBound(T[] operands, T value) {
+
+        int low = 0;
+        int high = operands.length;
+
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+
+            if (operands[middle].compareTo(value) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Returns the index of the first operand that is greater than the value.
+     *
+     * @param <T>      The type of operand
+     * @param operands The sorted operands
+     * @param value    The value
+     * @return The index of the first operand that is greater than the value
+     */
+    private <T extends Comparable<? super T>> int upperBound(T[] operands, T value) {
+
+        int low = 0;
+        int high = operands.length;
+
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+
+            if (operands[middle].compareTo(value) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Sets the positions in the range passed as arguments to
+     * {@code unsatisfiedNodes} .
+     *
+     * @param positions        The positions of condition nodes
+     * @param from             The index of the first position (inclusive)
+     * @param to               The index of the last position (exclusive)
+     * @param unsatisfiedNodes The positions of unsatisfied condition nodes
+     */
+    private void set(int[] positions, int from, int to, BitSet unsatisfiedNodes) {
+        for (int i = from; i < to; i++) {
+            unsatisfiedNodes.set(positions[i]);
+        }
+    }
+
+    /**
+     * Returns the indexes of the operands in ascending order of the operands.
+     *
+     * @param <T>      The type of operand
+     * @param operands The operands
+     * @return The indexes of the operands in ascending order
+     */
+    private <T extends Comparable<? super T>> int[] sort(List<T> operands) {
+        return IntStream.range(0, operands.size()).boxed()
+                .sorted(Comparator.comparing(operands::get)).mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.compiler;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.thinkit.zenna.exception.IllegalContentStateException;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * The class that indexes the selection nodes defined in the content file by
+ * condition node.
+ *
+ * <p>
+ * Each selection node is identified by its position in
+ * {@code "selectionNodes"} of the content file, which is its row in
+ * {@link AttributeColumns} , and each condition node is compiled into a bitset
+ * over the positions of the selection nodes that have its condition id. The
+ * selection nodes are grouped by the codes of condition id held in the
+ * attribute columns, so building the index does not read the selection nodes
+ * again. The selection nodes to be returned are computed from the
+ * satisfied condition nodes with word-level bitset operations as follows.
+ *
+ * <ol>
+ * <li>The selection nodes that have no condition id, and the selection nodes
+ * whose condition id is associated only with exclusion nodes are selected by
+ * default.</li>
+ * <li>The selection nodes of each satisfied condition node whose
+ * {@code "exclude"} is {@code false} are added.</li>
+ * <li>The selection nodes of each satisfied condition node whose
+ * {@code "exclude"} is {@code true} are removed.</li>
+ * </ol>
+ *
+ * <p>
+ * Therefore, an exclusion always takes precedence over an inclusion, and
+ * selecting the selection nodes does not depend on the number of selection
+ * nodes but on the number of satisfied condition nodes.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@ToString
+@NoArgsConstructor(access = AccessLevel.PRIVATE, force = true)
+public final class SelectionIndex {
+
+    /**
+     * The number of selection nodes
+     */
+    private final int nodeCount;
+
+    /**
+     * The positions of selection nodes selected by default
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final BitSet defaultNodes;
+
+    /**
+     * The positions of selection nodes associated with each condition node
+     */
+    @ToString.Exclude
+    @Getter(AccessLevel.PACKAGE)
+    private final BitSet[] conditionNodeSelections;
+
+    /**
+     * The positions of condition nodes whose {@code "exclude"} is {@code true}
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final BitSet excludeNodes;
+
+    /**
+     * The constructor.
+     *
+     * @param attributeColumns The attributes of the selection nodes held in
+     *                         columns
+     * @param conditionIndex   The index of condition nodes defined in the content
+     *                         file
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private SelectionIndex(@NonNull AttributeColumns attributeColumns, @NonNull ConditionIndex conditionIndex) {
+
+        this.nodeCount = attributeColumns.size();
+        this.defaultNodes = new BitSet(this.nodeCount);
+        this.conditionNodeSelections = new BitSet[conditionIndex.size()];
+        this.excludeNodes = new BitSet(conditionIndex.size());
+
+        final BitSet[] postings = new BitSet[attributeColumns.getConditionCodeCount()];
+
+        for (int position = 0; position < this.nodeCount; position++) {
+            final int conditionCode = attributeColumns.getConditionCode(position);
+
+            if (conditionCode == AttributeColumns.NOT_FOUND) {
+                this.defaultNodes.set(position);
+            } else {
+                if (postings[conditionCode] == null) {
+                    postings[conditionCode] = new BitSet(this.nodeCount);
+                }
+
+                postings[conditionCode].set(position);
+            }
+        }
+
+        final Set<Integer> includedConditionCodes = new HashSet<>();
+        final Set<Integer> excludedConditionCodes = new HashSet<>();
+        final BitSet emptyNodes = new BitSet(0);
+
+        for (int node = 0; node < this.conditionNodeSelections.length; node++) {
+            final String conditionId = conditionIndex.getConditionId(node);
+            final int conditionCode = conditionId != null ? attributeColumns.getConditionCode(conditionId)
+                    : AttributeColumns.NOT_FOUND;
+
+            if (conditionCode == AttributeColumns.NOT_FOUND) {
+                this.conditionNodeSelections[node] = emptyNodes;
+            } else {
+                this.conditionNodeSelections[node] = postings[conditionCode];
+            }
+
+            if (conditionIndex.isExclude(node)) {
+                this.excludeNodes.set(node);
+                excludedConditionCodes.add(conditionCode);
+            } else {
+                includedConditionCodes.add(conditionCode);
+            }
+        }
+
+        excludedConditionCodes.removeAll(includedConditionCodes);
+        excludedConditionCodes.forEach(conditionCode -> {
+            if (conditionCode != AttributeColumns.NOT_FOUND) {
+                this.defaultNodes.or(postings[conditionCode]);
+            }
+        });
+    }
+
+    /**
+     * The constructor.
+     *
+     * @param nodeCount               The number of selection nodes
+     * @param defaultNodes            The positions of selection nodes selected by
+     *                                default
+     * @param conditionNodeSelections The positions of selection nodes associated
+     *                                with each condition node
+     * @param excludeNodes            The positions of condition nodes whose
+     *                                {@code "exclude"} is {@code true}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private SelectionIndex(int nodeCount, @NonNull BitSet defaultNodes, @NonNull BitSet[] conditionNodeSelections,
+            @NonNull BitSet excludeNodes) {
+        this.nodeCount = nodeCount;
+        this.defaultNodes = defaultNodes;
+        this.conditionNodeSelections = conditionNodeSelections;
+        this.excludeNodes = excludeNodes;
+    }
+
+    /**
+     * Returns the new instance of {@link SelectionIndex} holding the structures
+     * passed as arguments as they are. It is used to restore the selection index
+     * written in the binary content file without grouping the selection nodes
+     * again.
+     *
+     * @param nodeCount               The number of selection nodes
+     * @param defaultNodes            The positions of selection nodes selected by
+     *                                default
+     * @param conditionNodeSelections The positions of selection nodes associated
+     *                                with each condition node
+     * @param excludeNodes            The positions of condition nodes whose
+     *                                {@code "exclude"} is {@code true}
+     * @return The new instance of {@link SelectionIndex}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    static SelectionIndex of(int nodeCount, @NonNull BitSet defaultNodes, @NonNull BitSet[] conditionNodeSelections,
+            @NonNull BitSet excludeNodes) {
+        return new SelectionIndex(nodeCount, defaultNodes, conditionNodeSelections, excludeNodes);
+    }
+
+    /**
+     * Returns the new instance of {@link SelectionIndex} based on the selection
+     * nodes defined in the content passed as an argument.
+     *
+     * @param content        The map containing the items defined in the content
+     *                       file
+     * @param conditionIndex The index of condition nodes defined in the content
+     *                       file
+     * @return The new instance of {@link SelectionIndex}
+     *
+     * @exception NullPointerException         If {@code null} is passed as an
+     *                                         argument
+     * @exception IllegalContentStateException If the selection is not defined in
+     *                                         the content file
+     */
+    public static SelectionIndex from(@NonNull Map<String, Object> content, @NonNull ConditionIndex conditionIndex) {
+        return from(AttributeColumns.from(content), conditionIndex);
+    }
+
+    /**
+     * Returns the new instance of {@link SelectionIndex} based on the selection
+     * nodes held in the attribute columns passed as an argument.
+     *
+     * @param attributeColumns The attributes of the selection nodes held in
+     *                         columns
+     * @param conditionIndex   The index of condition nodes defined in the content
+     *                         file
+     * @return The new instance of {@link SelectionIndex}
+     *
+     * @exception NullPointerException         If {@code null} is passed as an
+     *                                         argument
+     * @exception IllegalContentStateException If the selection is not defined in
+     *                                         the content file
+     */
+    public static SelectionIndex from(@NonNull AttributeColumns attributeColumns,
+            @NonNull ConditionIndex conditionIndex) {
+
+        if (attributeColumns.size() == 0) {
+            throw new IllegalContentStateException(
+                    "Failed to detect the selection node from the content file. At least one set of selections must be defined.");
+        }
+
+        return new SelectionIndex(attributeColumns, conditionIndex);
+    }
+
+    /**
+     * Returns the number of selection nodes.
+     *
+     * @return The number of selection nodes
+     */
+    public int size() {
+        return this.nodeCount;
+    }
+
+    /**
+     * Returns the positions of the selection nodes selected by the satisfied
+     * condition nodes passed as an argument. The returned positions are in the
+     * order defined in the content file.
+     *
+     * @param satisfiedNodes The positions of the satisfied condition nodes returned
+     *                       by {@link ConditionIndex#match(Map)}
+     * @return The positions of the selected selection nodes
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public int[] select(@NonNull BitSet satisfiedNodes) {
+        return this.selectNodes(satisfiedNodes).stream().toArray();
+    }
+
+    /**
+     * Returns the positions of the selection nodes selected by the satisfied
+     * condition nodes passed as an argument as a bitset. The selected selection
+     * nodes can be visited lazily in the order defined in the content file with
+     * {@link BitSet#nextSetBit(int)} or {@link BitSet#stream()} .
+     *
+     * @param satisfiedNodes The positions of the satisfied condition nodes returned
+     *                       by {@link ConditionIndex#match(Map)}
+     * @return The positions of the selected selection nodes
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public BitSet selectNodes(@NonNull BitSet satisfiedNodes) {
+
+        final BitSet includeNodes = (BitSet) satisfiedNodes.clone();
+        includeNodes.andNot(this.excludeNodes);
+
+        final BitSet excludeNodes = (BitSet) satisfiedNodes.clone();
+        excludeNodes.and(this.excludeNodes);
+
+        final BitSet selectedNodes = (BitSet) this.defaultNodes.clone();
+
+        for (int node = includeNodes.nextSetBit(0); node >= 0
+                && node < this.conditionNodeSelections.length; node = includeNodes.nextSetBit(node + 1)) {
+            selectedNodes.or(this.conditionNodeSelections[node]);
+        }
+
+        for (int node = excludeNodes.nextSetBit(0); node >= 0; node = excludeNodes.nextSetBit(node + 1)) {
+            selectedNodes.andNot(this.conditionNodeSelections[node]);
+        }
+
+        return selectedNodes;
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * The package that manages objects for compiling loaded content into the form
+ * used for evaluation.
+ */
+package org.thinkit.zenna.compiler;
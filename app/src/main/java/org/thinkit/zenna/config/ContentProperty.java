@@ -99,6 +99,17 @@ public final class ContentProperty {
         return MapperSuffix.from(this.getProperty(ContentPropertyKey.MAPPER_SUFFIX)).getProperty();
     }
 
+    /**
+     * Retrieves the directory of the file system holding the contents from the
+     * property file and returns it as a string. If {@code "contentDirectory"} is
+     * not set in the property file, an empty string will be returned.
+     *
+     * @return The content directory set in the property file
+     */
+    public String getContentDirectory() {
+        return this.getProperty(ContentPropertyKey.CONTENT_DIRECTORY).trim();
+    }
+
     /**
      * Searches for the property with the specified key in this property list. If
      * the key is not found in this property list, the default property list, and
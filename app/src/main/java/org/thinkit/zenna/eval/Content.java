@@ -16,9 +16,17 @@ package org.thinkit.zenna.eval;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
+
+import org.thinkit.zenna.compiler.AttributeColumns;
+import org.thinkit.zenna.compiler.ConditionIndex;
+import org.thinkit.zenna.compiler.ConditionTuple;
+import org.thinkit.zenna.compiler.SelectionIndex;
 
 import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
@@ -52,6 +60,11 @@ final class Content implements Serializable {
      */
     private ContentSelection contentSelection;
 
+    /**
+     * The index of content selection nodes
+     */
+    private SelectionIndex selectionIndex;
+
     /**
      * The content condition nodes
      */
@@ -60,36 +73,48 @@ final class Content implements Serializable {
     /**
      * The constructor.
      *
-     * @param content    The map containing the items defined in the content file
-     * @param attributes The set containing the attribute names defined in the
-     *                   selected nodes of the content file
-     * @param conditions The map containing condition data to be checked against the
-     *                   conditions defined in the content file
+     * @param attributeColumns The attributes of the selection nodes held in
+     *                         columns
+     * @param selectionIndex   The index of selection nodes defined in the content
+     *                         file
+     * @param conditionIndex   The index of condition nodes defined in the content
+     *                         file
+     * @param attributes       The set containing the attribute names defined in
+     *                         the selected nodes of the content file
+     * @param conditionTuple   The tuple holding condition data to be checked
+     *                         against the conditions defined in the content file
      *
      * @exception NullPointerException If {@code null} is passed as an argument
      */
-    private Content(@NonNull Map<String, Object> content, @NonNull Set<String> attributes,
-            @NonNull Map<String, String> conditions) {
-        this.contentSelection = ContentSelection.from(content, attributes);
-        this.contentCondition = ContentCondition.from(content, conditions);
+    private Content(@NonNull AttributeColumns attributeColumns, @NonNull SelectionIndex selectionIndex,
+            @NonNull ConditionIndex conditionIndex, @NonNull Set<String> attributes,
+            @NonNull ConditionTuple conditionTuple) {
+        this.contentSelection = ContentSelection.from(attributeColumns, attributes);
+        this.selectionIndex = selectionIndex;
+        this.contentCondition = ContentCondition.from(conditionIndex, conditionTuple);
     }
 
     /**
      * Returns the new instance of {@link Content} based on the arguments.
      *
-     * @param content    The map containing the items defined in the content file
-     * @param attributes The set containing the attribute names defined in the
-     *                   selected nodes of the content file
-     * @param conditions The map containing condition data to be checked against the
-     *                   conditions defined in the content file
+     * @param attributeColumns The attributes of the selection nodes held in
+     *                         columns
+     * @param selectionIndex   The index of selection nodes defined in the content
+     *                         file
+     * @param conditionIndex   The index of condition nodes defined in the content
+     *                         file
+     * @param attributes       The set containing the attribute names defined in
+     *                         the selected nodes of the content file
+     * @param conditionTuple   The tuple holding condition data to be checked
+     *                         against the conditions defined in the content file
      * @return The new instance of {@link Content}
      *
-     *
      * @exception NullPointerException If {@code null} is passed as an argument
      */
-    protected static Content from(@NonNull Map<String, Object> content, @NonNull Set<String> attributes,
-            @NonNull Map<String, String> conditions) {
-        return new Content(content, attributes, conditions);
+    protected static Content from(@NonNull AttributeColumns attributeColumns,
+            @NonNull SelectionIndex selectionIndex, @NonNull ConditionIndex conditionIndex,
+            @NonNull Set<String> attributes, @NonNull ConditionTuple conditionTuple) {
+        return new Content(attributeColumns, selectionIndex, conditionIndex, attributes, conditionTuple);
     }
 
     /**
@@ -99,14 +124,73 @@ final class Content implements Serializable {
      */
     protected List<Map<String, Object>> filter() {
 
-        final List<Map<String, Object>> filtredContent = new ArrayList<>();
+        final int[] positions = this.contentCondition.select(this.selectionIndex);
+        final List<Map<String, Object>> filtredContent = new ArrayList<>(positions.length);
 
-        while (this.contentSelection.hasNext()) {
-            if (this.contentSelection.isSelectable(this.contentCondition)) {
-                filtredContent.add(this.contentSelection.getSelection());
-            }
+        for (final int position : positions) {
+            filtredContent.add(this.contentSelection.getSelection(position));
         }
 
         return filtredContent;
     }
+
+    /**
+     * Filters content based on the specified conditions lazily. The selected items
+     * are mapped to the Map structure one at a time when the returned stream is
+     * consumed, in the order defined in the content file.
+     *
+     * @return The stream of filtered content
+     */
+    protected Stream<Map<String, Object>> stream() {
+        return this.contentCondition.selectNodes(this.selectionIndex).stream()
+                .mapToObj(this.contentSelection::getSelection);
+    }
+
+    /**
+     * Returns the first item of the content filtered based on the specified
+     * conditions. Only the first selected item is mapped to the Map structure.
+     *
+     * @return The first item of the filtered content, or {@link Optional#empty()}
+     *         if no item is selected
+     */
+    protected Optional<Map<String, Object>> first() {
+
+        final int position = this.contentCondition.selectNodes(this.selectionIndex).nextSetBit(0);
+
+        if (position < 0) {
+            return Optional.empty();
+        }
+
+        return Optional.of(this.contentSelection.getSelection(position));
+    }
+
+    /**
+     * Returns the positions of the items selected based on the specified
+     * conditions. No item is mapped to the Map structure.
+     *
+     * @return The positions of the selected items
+     */
+    protected BitSet rows() {
+        return this.contentCondition.selectNodes(this.selectionIndex);
+    }
+
+    /**
+     * Checks if any item is selected based on the specified conditions. No item is
+     * mapped to the Map structure.
+     *
+     * @return {@code true} if any item is selected, otherwise {@code false}
+     */
+    protected boolean exists() {
+        return !this.contentCondition.selectNodes(this.selectionIndex).isEmpty();
+    }
+
+    /**
+     * Returns the number of items selected based on the specified conditions. No
+     * item is mapped to the Map structure.
+     *
+     * @return The number of selected items
+     */
+    protected int count() {
+        return this.contentCondition.selectNodes(this.selectionIndex).cardinality();
+    }
 }
@@ -14,13 +14,23 @@
 
 package org.thinkit.zenna.eval;
 
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import org.thinkit.common.base.precondition.Preconditions;
 import org.thinkit.common.base.precondition.exception.PreconditionFailedException;
+import org.thinkit.zenna.compiler.AttributeColumns;
+import org.thinkit.zenna.compiler.CompiledContent;
+import org.thinkit.zenna.compiler.ConditionIndex;
+import org.thinkit.zenna.compiler.ConditionTuple;
+import org.thinkit.zenna.compiler.SelectionIndex;
+import org.thinkit.zenna.exception.IllegalContentStateException;
 
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -60,7 +70,13 @@ import lombok.ToString;
  * {@link Set} object representing the key name of the item to be retrieved,
  * call the {@link ContentEvaluatorBuilder#attributes(Set)} method. To set a
  * {@link Map} object that represents the conditions of an arbitrary item, call
- * {@link ContentEvaluatorBuilder#conditions(Map)} to set it. After setting the
+ * {@link ContentEvaluatorBuilder#conditions(Map)} to set it, or call
+ * {@link ContentEvaluatorBuilder#conditionTuple(ConditionTuple)} to set the
+ * conditions held in the fixed layout instead. If the content has
+ * already been compiled, call
+ * {@link ContentEvaluatorBuilder#compiledContent(CompiledContent)} instead of
+ * {@link ContentEvaluatorBuilder#content(Map)} so that the indexes built when
+ * compiling the content are reused. After setting the
  * data required for the evaluation process, call the
  * {@link ContentEvaluatorBuilder#build()} method and execute the
  * {@link #evaluate()} method. The content data evaluated based on the specified
@@ -91,6 +107,11 @@ public final class ContentEvaluator implements Evaluator {
      */
     private Map<String, Object> content;
 
+    /**
+     * The compiled content
+     */
+    private CompiledContent compiledContent;
+
     /**
      * The attributes of content
      */
@@ -102,6 +123,12 @@ public final class ContentEvaluator implements Evaluator {
     @Builder.Default
     private Map<String, String> conditions = new HashMap<>(0);
 
+    /**
+     * The conditions of content held in the fixed layout, used instead of the
+     * condition map if it is set
+     */
+    private ConditionTuple conditionTuple;
+
     /**
      * {@inheritDoc}
      *
@@ -121,15 +148,185 @@ public final class ContentEvaluator implements Evaluator {
      *
      * @return The filtered content list
      *
-     * @exception PreconditionFailedException If {@code content} is {@code null} or
-     *                                        empty, or if {@code attributes} is
-     *                                        {@code null} or empty
+     * @exception PreconditionFailedException If neither {@code compiledContent} nor
+     *                                        {@code content} is set, or if
+     *                                        {@code content} is empty, or if
+     *                                        {@code attributes} is {@code null} or
+     *                                        empty
      * @exception NullPointerException        If {@code conditions} is {@code null}
      */
     @Override
     public List<Map<String, Object>> evaluate() {
-        this.checkPreconditions();
-        return Content.from(content, attributes, conditions).filter();
+        return this.createContent().filter();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The conditions are evaluated when this method is called, but the selected
+     * items are mapped to the Map structure one at a time when the returned stream
+     * is consumed. Therefore, the caller that aggregates the items or stops early
+     * never holds the whole filtered content.
+     *
+     * @return The stream of filtered content
+     *
+     * @exception PreconditionFailedException If neither {@code compiledContent} nor
+     *                                        {@code content} is set, or if
+     *                                        {@code content} is empty, or if
+     *                                        {@code attributes} is {@code null} or
+     *                                        empty
+     * @exception NullPointerException        If {@code conditions} is {@code null}
+     */
+    @Override
+    public Stream<Map<String, Object>> evaluateStream() {
+        return this.createContent().stream();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @exception PreconditionFailedException If neither {@code compiledContent} nor
+     *                                        {@code content} is set, or if
+     *                                        {@code content} is empty, or if
+     *                                        {@code attributes} is {@code null} or
+     *                                        empty
+     * @exception NullPointerException        If {@code conditions} is {@code null}
+     */
+    @Override
+    public Optional<Map<String, Object>> evaluateFirst() {
+        return this.createContent().first();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The row of each item is its position in {@code "selectionNodes"} of the
+     * content file, which is also the row of
+     * {@link org.thinkit.zenna.compiler.AttributeColumns} held in the compiled
+     * content. The attributes are not used to select the rows, so
+     * {@code attributes} may not be set.
+     *
+     * @exception PreconditionFailedException If neither {@code compiledContent} nor
+     *                                        {@code content} is set, or if
+     *                                        {@code content} is empty
+     * @exception NullPointerException        If {@code conditions} is {@code null}
+     */
+    @Override
+    public BitSet evaluateRows() {
+        return this.createContent(false).rows();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The attributes are not used to check the existence, so {@code attributes}
+     * may not be set.
+     *
+     * @exception PreconditionFailedException If neither {@code compiledContent} nor
+     *                                        {@code content} is set, or if
+     *                                        {@code content} is empty
+     * @exception NullPointerException        If {@code conditions} is {@code null}
+     */
+    @Override
+    public boolean exists() {
+        return this.createContent(false).exists();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The attributes are not used to count the items, so {@code attributes} may
+     * not be set.
+     *
+     * @exception PreconditionFailedException If neither {@code compiledContent} nor
+     *                                        {@code content} is set, or if
+     *                                        {@code content} is empty
+     * @exception NullPointerException        If {@code conditions} is {@code null}
+     */
+    @Override
+    public int count() {
+        return this.createContent(false).count();
+    }
+
+    /**
+     * Returns the content to be evaluated after checking the preconditions.
+     *
+     * @return The content to be evaluated
+     */
+    private Content createContent() {
+        return this.createContent(true);
+    }
+
+    /**
+     * Returns the content to be evaluated after checking the preconditions.
+     *
+     * @param requiresAttributes {@code true} if the attributes are required to
+     *                           evaluate the content, otherwise {@code false}
+     * @return The content to be evaluated
+     */
+    private Content createContent(boolean requiresAttributes) {
+
+        this.checkPreconditions(requiresAttributes);
+        final ConditionIndex conditionIndex = this.getConditionIndex();
+        final AttributeColumns attributeColumns = this.getAttributeColumns();
+
+        return Content.from(attributeColumns, this.getSelectionIndex(attributeColumns, conditionIndex),
+                conditionIndex, this.attributes != null ? this.attributes : Collections.emptySet(),
+                this.getConditionTuple());
+    }
+
+    /**
+     * Returns the tuple holding the conditions of content. If the condition tuple
+     * is not set, the tuple is created from the condition map.
+     *
+     * @return The tuple holding the conditions of content
+     */
+    private ConditionTuple getConditionTuple() {
+        return this.conditionTuple != null ? this.conditionTuple : ConditionTuple.from(this.conditions);
+    }
+
+    /**
+     * Returns the attributes of the selection nodes defined in the content file
+     * held in columns. If the compiled content is not set, the columns are built
+     * from the content map.
+     *
+     * @return The attributes of the selection nodes held in columns
+     */
+    private AttributeColumns getAttributeColumns() {
+        return this.compiledContent != null ? this.compiledContent.getAttributeColumns()
+                : AttributeColumns.from(this.content);
+    }
+
+    /**
+     * Returns the index of selection nodes defined in the content file. If the
+     * compiled content is not set, the index is built from the attribute columns.
+     *
+     * @param attributeColumns The attributes of the selection nodes held in
+     *                         columns
+     * @param conditionIndex   The index of condition nodes
+     * @return The index of selection nodes
+     *
+     * @exception IllegalContentStateException If the selection is not defined in
+     *                                         the content file
+     */
+    private SelectionIndex getSelectionIndex(AttributeColumns attributeColumns, ConditionIndex conditionIndex) {
+        return this.compiledContent != null ? this.compiledContent.getSelectionIndex()
+                : SelectionIndex.from(attributeColumns, conditionIndex);
+    }
+
+    /**
+     * Returns the index of condition nodes defined in the content file. If the
+     * compiled content is not set, the index is built from the content map.
+     *
+     * @return The index of condition nodes
+     */
+    private ConditionIndex getConditionIndex() {
+        return this.compiledContent != null ? this.compiledContent.getConditionIndex()
+                : ConditionIndex.from(this.content);
     }
 
     /**
@@ -141,12 +338,23 @@ public final class ContentEvaluator implements Evaluator {
      * be empty because the conditions may not be specified, but {@code null} is not
      * allowed. An exception will always be thrown at runtime if the preconditions
      * are not met.
+     *
+     * @param requiresAttributes {@code true} if the attributes are required to
+     *                           evaluate the content, otherwise {@code false}
      */
-    private void checkPreconditions() {
-        Preconditions.requireNonEmpty(this.content,
-                String.format("The content map must not be null or empty. The content map = %s", this.content));
-        Preconditions.requireNonEmpty(this.attributes,
-                String.format("The attribute set must not be null or empty. The attribute set = %s", this.attributes));
-        Preconditions.requireNonNull(this.conditions, "The condition map must not be null.");
+    private void checkPreconditions(boolean requiresAttributes) {
+        if (this.compiledContent == null) {
+            Preconditions.requireNonEmpty(this.content,
+                    String.format("The content map must not be null or empty. The content map = %s", this.content));
+        }
+
+        if (requiresAttributes) {
+            Preconditions.requireNonEmpty(this.attributes, String
+                    .format("The attribute set must not be null or empty. The attribute set = %s", this.attributes));
+        }
+
+        if (this.conditionTuple == null) {
+            Preconditions.requireNonNull(this.conditions, "The condition map must not be null.");
+        }
     }
 }
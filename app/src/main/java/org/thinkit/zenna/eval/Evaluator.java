@@ -14,8 +14,11 @@
 
 package org.thinkit.zenna.eval;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * The interface that abstracts the evaluator.
@@ -31,4 +34,83 @@ public interface Evaluator {
      * @return The object obtained by the evaluation process
      */
     public List<Map<String, Object>> evaluate();
+
+    /**
+     * Evaluate and return the obtained objects as a lazy stream. Each object is
+     * obtained only when the stream is consumed, so the whole result is never held
+     * at the same time.
+     *
+     * <p>
+     * The default implementation returns the stream of the list returned by
+     * {@link #evaluate()} , so the whole result is obtained at once.
+     *
+     * @return The stream of objects obtained by the evaluation process
+     */
+    public default Stream<Map<String, Object>> evaluateStream() {
+        return this.evaluate().stream();
+    }
+
+    /**
+     * Evaluate and return the first object obtained. The objects after the first
+     * one are never obtained.
+     *
+     * <p>
+     * The default implementation returns the first object of the stream returned
+     * by {@link #evaluateStream()} .
+     *
+     * @return The first object obtained by the evaluation process, or
+     *         {@link Optional#empty()} if no object is obtained
+     */
+    public default Optional<Map<String, Object>> evaluateFirst() {
+        return this.evaluateStream().findFirst();
+    }
+
+    /**
+     * Evaluate and return the rows of the objects obtained. The row of an object
+     * is its position in the evaluated content, and the rows are visited in the
+     * order of the content with {@link BitSet#nextSetBit(int)} . No object is
+     * actually obtained.
+     *
+     * <p>
+     * The rows of the evaluated content cannot be known from the objects returned
+     * by {@link #evaluate()} , so the default implementation throws
+     * {@link UnsupportedOperationException} .
+     *
+     * @return The rows of the objects obtained by the evaluation process
+     *
+     * @exception UnsupportedOperationException If the evaluator does not support
+     *                                          evaluating the rows
+     */
+    public default BitSet evaluateRows() {
+        throw new UnsupportedOperationException("The evaluator does not support evaluating the rows.");
+    }
+
+    /**
+     * Evaluate and check if any object is obtained. No object is actually
+     * obtained.
+     *
+     * <p>
+     * The default implementation checks the first object returned by
+     * {@link #evaluateFirst()} .
+     *
+     * @return {@code true} if any object is obtained by the evaluation process,
+     *         otherwise {@code false}
+     */
+    public default boolean exists() {
+        return this.evaluateFirst().isPresent();
+    }
+
+    /**
+     * Evaluate and return the number of objects obtained. No object is actually
+     * obtained.
+     *
+     * <p>
+     * The default implementation returns the size of the list returned by
+     * {@link #evaluate()} .
+     *
+     * @return The number of objects obtained by the evaluation process
+     */
+    public default int count() {
+        return this.evaluate().size();
+    }
 }
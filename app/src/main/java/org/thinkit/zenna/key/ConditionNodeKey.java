@@ -42,6 +42,11 @@ public enum ConditionNodeKey implements ContentKey {
      */
     CONDITION_ID(KeyName.conditionId),
 
+    /**
+     * {@code "exclude"}
+     */
+    EXCLUDE(KeyName.exclude),
+
     /**
      * {@code "conditions"}
      */
@@ -71,7 +76,7 @@ public enum ConditionNodeKey implements ContentKey {
      * The inner enum that manages key name
      */
     private enum KeyName {
-        conditionNodes, node, conditionId, conditions, keyName, operator, operand;
+        conditionNodes, node, conditionId, exclude, conditions, keyName, operator, operand;
     }
 
     @Override
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.mapper;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+import org.thinkit.api.catalog.BiCatalog;
+import org.thinkit.api.catalog.Catalog;
+import org.thinkit.zenna.annotation.Condition;
+import org.thinkit.zenna.compiler.ConditionTuple;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * The class that represents a field of the content object used as a condition.
+ *
+ * <p>
+ * The key name of the condition, the method handle of the getter of the field
+ * and the type of the condition value are resolved only once when an instance
+ * of this class is created, so extracting the condition value from a content
+ * object does not require any annotation lookup or reflective access.
+ *
+ * <p>
+ * The value of a field declared as {@code int} , {@code long} , {@code short}
+ * or {@code byte} and the code of a field declared as {@link Catalog} or
+ * {@link BiCatalog} are extracted as integral values without being converted to
+ * strings. The value of any other field is extracted as its string
+ * representation.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor(access = AccessLevel.PRIVATE, force = true)
+final class ConditionField {
+
+    /**
+     * The key name of the condition
+     */
+    @Getter
+    private final String key;
+
+    /**
+     * The getter of the field defined in the content object
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final MethodHandle getter;
+
+    /**
+     * The type of the condition value extracted from the field
+     */
+    private final ValueType valueType;
+
+    /**
+     * The enum that represents the type of the condition value extracted from a
+     * field.
+     */
+    private enum ValueType {
+
+        /**
+         * The string representation of the value
+         */
+        STRING,
+
+        /**
+         * The integral value of a primitive field
+         */
+        INTEGRAL,
+
+        /**
+         * The code of {@link Catalog}
+         */
+        CATALOG,
+
+        /**
+         * The code of {@link BiCatalog}
+         */
+        BI_CATALOG;
+    }
+
+    /**
+     * The constructor.
+     *
+     * @param field The field defined in the content object
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private ConditionField(@NonNull Field field) {
+        field.setAccessible(true);
+        this.key = this.getConditionKey(field);
+        this.valueType = this.getValueType(field.getType());
+
+        try {
+            this.getter = MethodHandles.lookup().unreflectGetter(field).asType(MethodType.methodType(
+                    this.valueType == ValueType.INTEGRAL ? long.class : Object.class, Object.class));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the new instance of {@link ConditionField} based on the field passed
+     * as an argument.
+     *
+     * @param field The field defined in the content object
+     * @return The new instance of {@link ConditionField}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    static ConditionField from(@NonNull Field field) {
+        return new ConditionField(field);
+    }
+
+    /**
+     * Extracts the value from the field of the content object passed as an
+     * argument and sets it to the position of the condition tuple passed as an
+     * argument.
+     *
+     * @param contentObject  The content object
+     * @param conditionTuple The condition tuple
+     * @param position       The position of the condition in the tuple
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @exception IllegalStateException If the value cannot be extracted from the
+     *                                  field
+     */
+    void extract(@NonNull Object contentObject, @NonNull ConditionTuple conditionTuple, int position) {
+        try {
+            switch (this.valueType) {
+                case INTEGRAL:
+                    conditionTuple.set(position, (long) this.getter.invokeExact(contentObject));
+                    break;
+                case CATALOG:
+                    conditionTuple.set(position,
+                            ((Catalog<?>) (Object) this.getter.invokeExact(contentObject)).getCode());
+                    break;
+                case BI_CATALOG:
+                    conditionTuple.set(position,
+                            ((BiCatalog<?, ?>) (Object) this.getter.invokeExact(contentObject)).getCode());
+                    break;
+                default:
+                    conditionTuple.set(position, String.valueOf((Object) this.getter.invokeExact(contentObject)));
+            }
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the type of the condition value extracted from the field of the type
+     * passed as an argument.
+     *
+     * @param fieldType The type of the field
+     * @return The type of the condition value
+     */
+    private ValueType getValueType(@NonNull Class<?> fieldType) {
+
+        if (fieldType == int.class || fieldType == long.class || fieldType == short.class
+                || fieldType == byte.class) {
+            return ValueType.INTEGRAL;
+        } else if (fieldType.equals(Catalog.class)) {
+            return ValueType.CATALOG;
+        } else if (fieldType.equals(BiCatalog.class)) {
+            return ValueType.BI_CATALOG;
+        }
+
+        return ValueType.STRING;
+    }
+
+    /**
+     * Extracts and returns the name of the key to the condition from the field
+     * defined in the content object.
+     *
+     * <p>
+     * Basically, the variable name of the field defined in the conten object is
+     * returned as the key name of the condition, and if the {@link Condition}
+     * annotation is specified for the field, the alias name specified in the
+     * annotation is returned as the key name.
+     *
+     * @param field The field defined in the content object
+     * @return The key name extracted from the field of content object
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private String getConditionKey(@NonNull final Field field) {
+
+        final Condition conditionAnnotation = field.getAnnotation(Condition.class);
+
+        if (conditionAnnotation != null) {
+            return conditionAnnotation.value();
+        }
+
+        return field.getName();
+    }
+}
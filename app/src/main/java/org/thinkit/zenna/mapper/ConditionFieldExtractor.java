@@ -0,0 +1,146 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.mapper;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.thinkit.zenna.compiler.ConditionLayout;
+import org.thinkit.zenna.compiler.ConditionTuple;
+import org.thinkit.zenna.entity.ContentEntity;
+import org.thinkit.zenna.spi.ConditionExtractor;
+import org.thinkit.zenna.util.FieldResolver;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * The class that extracts the conditions from the fields of a content mapper
+ * into a {@link ConditionTuple} .
+ *
+ * <p>
+ * The extractor is created only once for each content mapper. The condition
+ * fields, the layout of their key names and the position in the layout of each
+ * field are resolved when the extractor is created, so extracting the
+ * conditions is a loop over the precomputed fields that writes each value
+ * directly into the tuple.
+ *
+ * <p>
+ * This extractor is used when the {@link ConditionExtractor} generated by the
+ * annotation processor does not exist for the content mapper.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@ToString
+@NoArgsConstructor(access = AccessLevel.PRIVATE, force = true)
+final class ConditionFieldExtractor<T extends ContentEntity> implements ConditionExtractor<Mapper<T>> {
+
+    /**
+     * The layout of the conditions
+     */
+    private final ConditionLayout layout;
+
+    /**
+     * The condition fields
+     */
+    private final ConditionField[] conditionFields;
+
+    /**
+     * The position in the layout of each condition field
+     */
+    private final int[] positions;
+
+    /**
+     * The constructor
+     *
+     * @param conditionFields The condition fields
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private ConditionFieldExtractor(@NonNull List<ConditionField> conditionFields) {
+
+        final String[] keys = new String[conditionFields.size()];
+
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = conditionFields.get(i).getKey();
+        }
+
+        this.layout = ConditionLayout.of(keys);
+        this.conditionFields = conditionFields.toArray(new ConditionField[0]);
+        this.positions = new int[keys.length];
+
+        for (int i = 0; i < keys.length; i++) {
+            this.positions[i] = this.layout.getPosition(keys[i]);
+        }
+    }
+
+    /**
+     * Returns the new instance of {@link ConditionFieldExtractor} for the content
+     * mapper passed as an argument. The instance fields declared in the content
+     * mapper except the static and synthetic fields are used as the conditions.
+     *
+     * @param contentObject The class of content mapper
+     * @return The new instance of {@link ConditionFieldExtractor}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    static <T extends ContentEntity> ConditionFieldExtractor<T> of(@NonNull Class<?> contentObject) {
+
+        final List<ConditionField> conditionFields = new ArrayList<>();
+
+        for (final Field field : contentObject.getDeclaredFields()) {
+            if (!FieldResolver.isStatic(field) && !field.isSynthetic()) {
+                conditionFields.add(ConditionField.from(field));
+            }
+        }
+
+        return new ConditionFieldExtractor<>(conditionFields);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The content name is resolved from the content mapper by
+     * {@link ContentObject} , so this method always returns {@code null} .
+     */
+    @Override
+    public String getContentName() {
+        return null;
+    }
+
+    @Override
+    public ConditionLayout getLayout() {
+        return this.layout;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @exception IllegalStateException If the value cannot be extracted from the
+     *                                  field
+     */
+    @Override
+    public void extract(@NonNull Mapper<T> mapper, @NonNull ConditionTuple conditionTuple) {
+        for (int i = 0; i < this.conditionFields.length; i++) {
+            this.conditionFields[i].extract(mapper, conditionTuple, this.positions[i]);
+        }
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.mapper;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.thinkit.zenna.compiler.AttributeColumns;
+import org.thinkit.zenna.entity.ContentEntity;
+import org.thinkit.zenna.spi.EntityFactory;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * The class that creates a new result entity by passing the attributes of a
+ * selected item to a constructor of the result type.
+ *
+ * <p>
+ * The binder is used for the result types whose fields cannot be assigned
+ * after construction, such as records and immutable classes with a
+ * constructor annotated with {@link java.beans.ConstructorProperties} . The
+ * constructor is resolved as a {@link MethodHandle} that reads each argument
+ * directly from the {@link AttributeColumns} when the binder is created, and
+ * the attribute passed as each argument is resolved in advance. Since the
+ * result entity is fully initialized by the constructor, the entity can be
+ * cached and shared safely across threads.
+ *
+ * <p>
+ * The argument of a primitive parameter is read with the typed getter such as
+ * {@link AttributeColumns#getInt(int, int)} , so neither an argument array nor a
+ * boxed value is allocated for each row.
+ *
+ * <p>
+ * The argument whose attribute name is {@code null} is not bound, and the
+ * default value of the parameter type is passed to it instead. It is used to
+ * create the result entity holding only the attributes of a {@link Projection}
+ * .
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@ToString
+@NoArgsConstructor(access = AccessLevel.PRIVATE, force = true)
+final class ConstructorBinder<T extends ContentEntity> implements EntityFactory<T> {
+
+    /**
+     * The type of constructor handle reading the arguments from the attribute
+     * columns
+     */
+    private static final MethodType COLUMNS_CONSTRUCTOR_TYPE = MethodType.methodType(Object.class,
+            AttributeColumns.class, int[].class, int.class);
+
+    /**
+     * The parameter types of the getters of attribute columns
+     */
+    private static final Class<?>[] COLUMN_GETTER_PARAMETERS = { int.class, int.class };
+
+    /**
+     * The handle of the constructor reading the arguments from the attribute
+     * columns
+     */
+    @ToString.Exclude
+    private final MethodHandle columnsConstructor;
+
+    /**
+     * The attribute names passed as each argument of the constructor
+     */
+    private final String[] attributes;
+
+    /**
+     * The set of attribute names
+     */
+    @ToString.Exclude
+    private final Set<String> attributeSet;
+
+    /**
+     * The indexes of the attribute passed as each argument in the set of attribute
+     * names
+     */
+    @ToString.Exclude
+    private final int[] attributeIndexes;
+
+    /**
+     * The constructor.
+     *
+     * @param constructor The constructor of the result type
+     * @param attributes  The attribute names passed as each argument of the
+     *                    constructor, or {@code null} for the argument that is not
+     *                    bound
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the number of attribute names is
+     *                                     different from the number of parameters
+     *                                     of the constructor
+     * @exception IllegalStateException    If the handle of the constructor cannot
+     *                                     be created
+     */
+    private ConstructorBinder(@NonNull Constructor<?> constructor, @NonNull List<String> attributes) {
+
+        if (constructor.getParameterCount() != attributes.size()) {
+            throw new IllegalArgumentException(String.format(
+                    "The constructor of '%s' must have %d parameters.", constructor.getName(), attributes.size()));
+        }
+
+        final Set<String> attributeSet = new LinkedHashSet<>(attributes);
+        attributeSet.remove(null);
+
+        this.attributes = attributes.toArray(new String[attributes.size()]);
+        this.attributeSet = Collections.unmodifiableSet(attributeSet);
+        this.attributeIndexes = new int[attributes.size()];
+
+        final List<String> attributeList = new ArrayList<>(attributeSet);
+        final Class<?>[] parameterTypes = constructor.getParameterTypes();
+
+        for (int i = 0; i < this.attributeIndexes.length; i++) {
+            this.attributeIndexes[i] = attributeList.indexOf(attributes.get(i));
+        }
+
+        try {
+            this.columnsConstructor = this.createColumnsConstructor(
+                    MethodHandles.lookup().unreflectConstructor(constructor), parameterTypes);
+        } catch (IllegalAccessException | NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the new instance of {@link ConstructorBinder} for the constructor
+     * passed as an argument.
+     *
+     * @param <T>         The type of result entity
+     * @param constructor The accessible constructor of the result type
+     * @param attributes  The attribute names passed as each argument of the
+     *                    constructor, or {@code null} for the argument that is not
+     *                    bound
+     * @return The new instance of {@link ConstructorBinder}
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the number of attribute names is
+     *                                     different from the number of parameters
+     *                                     of the constructor
+     * @exception IllegalStateException    If the handle of the constructor cannot
+     *                                     be created
+     */
+    public static <T extends ContentEntity> ConstructorBinder<T> of(@NonNull Constructor<?> constructor,
+            @NonNull List<String> attributes) {
+        return new ConstructorBinder<>(constructor, attributes);
+    }
+
+    @Override
+    public Set<String> getAttributes() {
+        return this.attributeSet;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @exception IllegalStateException If an attribute cannot be passed to the
+     *                                  constructor
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T create(@NonNull AttributeColumns attributeColumns, @NonNull int[] columns, int row) {
+        try {
+            return (T) (Object) this.columnsConstructor.invokeExact(attributeColumns, columns, row);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Creates the handle of the constructor that reads each argument from the
+     * attribute columns. The handle of each argument reads the column of the
+     * attribute at the row, or returns the default value of the parameter type if
+     * the argument is not bound, and is folded into the constructor handle from
+     * the last argument to the first.
+     *
+     * @param constructor    The handle of the constructor
+     * @param parameterTypes The parameter types of the constructor
+     * @return The handle of the constructor reading the arguments from the
+     *         attribute columns
+     *
+     * @exception IllegalAccessException If a getter of the attribute columns
+     *                                   cannot be accessed
+     * @exception NoSuchMethodException  If a getter of the attribute columns does
+     *                                   not exist
+     */
+    private MethodHandle createColumnsConstructor(MethodHandle constructor, Class<?>[] parameterTypes)
+            throws IllegalAccessException, NoSuchMethodException {
+
+        MethodHandle handle = MethodHandles.dropArguments(constructor.asType(constructor.type().changeReturnType(
+                Object.class)), parameterTypes.length, COLUMNS_CONSTRUCTOR_TYPE.parameterList());
+
+        for (int i = parameterTypes.length - 1; i >= 0; i--) {
+            handle = MethodHandles.foldArguments(handle, i, this.createArgument(parameterTypes[i], i));
+        }
+
+        return handle;
+    }
+
+    /**
+     * Creates the handle that reads the argument at the index passed as an
+     * argument from the attribute columns. The typed getter is used for the
+     * parameter of {@code int} , {@code long} , {@code double} and
+     * {@code boolean} , so the argument of those types is never boxed.
+     *
+     * @param parameterType The parameter type of the argument
+     * @param index         The index of the argument
+     * @return The handle taking the attribute columns, the columns of the
+     *         attributes and the row, and returning the argument
+     *
+     * @exception IllegalAccessException If a getter of the attribute columns
+     *                                   cannot be accessed
+     * @exception NoSuchMethodException  If a getter of the attribute columns does
+     *                                   not exist
+     */
+    private MethodHandle createArgument(Class<?> parameterType, int index)
+            throws IllegalAccessException, NoSuchMethodException {
+
+        if (this.attributeIndexes[index] < 0) {
+            return MethodHandles.dropArguments(MethodHandles.zero(parameterType), 0,
+                    COLUMNS_CONSTRUCTOR_TYPE.parameterList());
+        }
+
+        final MethodHandle getter = this.getColumnGetter(parameterType);
+        final MethodHandle column = MethodHandles.insertArguments(MethodHandles.arrayElementGetter(int[].class), 1,
+                this.attributeIndexes[index]);
+
+        return MethodHandles.filterArguments(getter, 1, column).asType(MethodType.methodType(parameterType,
+                COLUMNS_CONSTRUCTOR_TYPE.parameterList()));
+    }
+
+    /**
+     * Returns the handle of the getter of attribute columns for the parameter type
+     * passed as an argument. The typed getter is returned for the parameter type
+     * of {@code int} , {@code long} , {@code double} and {@code boolean} ,
+     * otherwise {@link AttributeColumns#getObject(int, int)} is returned.
+     *
+     * @param parameterType The parameter type
+     * @return The handle of the getter taking the attribute columns, the column and
+     *         the row
+     *
+     * @exception IllegalAccessException If the getter cannot be accessed
+     * @exception NoSuchMethodException  If the getter does not exist
+     */
+    private MethodHandle getColumnGetter(Class<?> parameterType)
+            throws IllegalAccessException, NoSuchMethodException {
+
+        final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+        if (parameterType == int.class) {
+            return lookup.findVirtual(AttributeColumns.class, "getInt",
+                    MethodType.methodType(int.class, COLUMN_GETTER_PARAMETERS));
+        } else if (parameterType == long.class) {
+            return lookup.findVirtual(AttributeColumns.class, "getLong",
+                    MethodType.methodType(long.class, COLUMN_GETTER_PARAMETERS));
+        } else if (parameterType == double.class) {
+            return lookup.findVirtual(AttributeColumns.class, "getDouble",
+                    MethodType.methodType(double.class, COLUMN_GETTER_PARAMETERS));
+        } else if (parameterType == boolean.class) {
+            return lookup.findVirtual(AttributeColumns.class, "getBoolean",
+                    MethodType.methodType(boolean.class, COLUMN_GETTER_PARAMETERS));
+        }
+
+        return lookup.findVirtual(AttributeColumns.class, "getObject",
+                MethodType.methodType(Object.class, COLUMN_GETTER_PARAMETERS));
+    }
+}
@@ -14,17 +14,20 @@
 
 package org.thinkit.zenna.mapper;
 
-import java.io.InputStream;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import org.thinkit.zenna.annotation.Cacheable;
+import org.thinkit.zenna.compiler.AttributeColumns;
+import org.thinkit.zenna.compiler.CompiledContent;
+import org.thinkit.zenna.compiler.ConditionTuple;
 import org.thinkit.zenna.entity.ContentEntity;
 import org.thinkit.zenna.eval.ContentEvaluator;
 import org.thinkit.zenna.exception.ContentNotFoundException;
-import org.thinkit.zenna.key.MetaNodeKey;
-import org.thinkit.zenna.loader.ContentLoader;
-import org.thinkit.zenna.util.ContentNodeResolver;
+import org.thinkit.zenna.registry.ContentRegistry;
 
 import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
@@ -57,6 +60,44 @@ import lombok.ToString;
  * this generic will be mapped to each item in the content file and will be the
  * returned type when the {@link #scan} method is executed.
  *
+ * <p>
+ * The {@link #scanStream()} method and the {@link #scanIterator()} method
+ * perform the same mapping process as the {@link #scan} method, but each
+ * result entity is created only when the stream or the iterator is consumed.
+ * They are suitable for aggregating large results or for stopping early. The
+ * {@link #scanFirst()} method creates only the first result entity, and the
+ * {@link #exists()} method and the {@link #count()} method create no result
+ * entity at all. The {@link #scan(Consumer)} method reuses a single result
+ * entity for every selected item within a call if the result entity is
+ * mutable, so iterating the whole content does not allocate any object for
+ * each item.
+ *
+ * <p>
+ * The {@link #scan(Projection)} method and the {@link #scan(Class)} method
+ * read only the attributes requested by the caller, either as the attributes
+ * of a {@link Projection} or as the fields of a smaller projection type. The
+ * columns of the other attributes are never read nor copied.
+ *
+ * <p>
+ * The result entities are created directly from the attribute columns of the
+ * compiled content, so the numeric and boolean attributes are bound to the
+ * primitive fields of the result entity without boxing.
+ *
+ * <p>
+ * The content file is loaded and compiled only the first time it is scanned,
+ * and the compiled content is held in the {@link ContentRegistry} returned by
+ * {@link ContentRegistry#getDefault()} . Therefore, creating a new mapper
+ * instance for each scan does not cause the content file to be read again.
+ *
+ * <p>
+ * If the {@link Cacheable} annotation is given to the content class, the
+ * result of the scan is also cached for each combination of condition values,
+ * and the cached result is returned as an unmodifiable list until the content
+ * file is loaded again. The result of the projection is not cached. Since the
+ * cached entities are shared by every scan including
+ * {@link #scan(Consumer)} , the result type of the cacheable content class
+ * must be immutable.
+ *
  * @author Kato Shinya
  * @since 1.0.0
  */
@@ -65,80 +106,191 @@ import lombok.ToString;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public abstract class ContentMapper<R extends ContentEntity> implements Mapper<R> {
 
-    /**
-     * The cache of content
-     */
-    private Map<String, Object> cachedContent;
-
     @Override
     public final List<R> scan() {
 
         final ContentObject<R> contentObject = ContentObject.from(this);
-        final Map<String, Object> rawContent = this.getRawContent(contentObject);
-        final ResultType<R> resultType = this.getResultType(rawContent);
+        final CompiledContent compiledContent = this.getCompiledContent(contentObject);
+        final ConditionTuple conditionTuple = contentObject.getConditions(this);
+        final ResultCache<R> resultCache = contentObject.getResultCache(compiledContent);
 
-        return resultType.createResultEntities(
-                this.evaluateContent(rawContent, resultType.getAttributes(), contentObject.getConditions()));
+        if (resultCache == null) {
+            return this.createResultEntities(contentObject, compiledContent, conditionTuple);
+        }
+
+        return resultCache.get(conditionTuple,
+                () -> this.createResultEntities(contentObject, compiledContent, conditionTuple));
     }
 
-    /**
-     * Returns the content data defined in the content file. This method does not
-     * evaluate and filter the content based on the conditions.
-     *
-     * @param contentObject The object mapped to content
-     * @return The raw content
-     *
-     * @exception NullPointerException     If {@code null} is passed as an argument
-     * @exception ContentNotFoundException If the specified content file does not
-     *                                     exist
-     */
-    private Map<String, Object> getRawContent(@NonNull final ContentObject<R> contentObject) {
+    @Override
+    public final List<R> scan(@NonNull final Projection projection) {
+
+        final ContentObject<R> contentObject = ContentObject.from(this);
+        final CompiledContent compiledContent = this.getCompiledContent(contentObject);
+        final ResultType<R> resultType = contentObject.getResultType(compiledContent.getResultType())
+                .project(projection);
+
+        return resultType.createResultEntities(compiledContent.getAttributeColumns(),
+                this.evaluateRows(compiledContent, contentObject.getConditions(this)));
+    }
+
+    @Override
+    public final <P extends ContentEntity> List<P> scan(@NonNull final Class<P> projectionType) {
+
+        final ContentObject<R> contentObject = ContentObject.from(this);
+        final CompiledContent compiledContent = this.getCompiledContent(contentObject);
+
+        return ResultType.from(projectionType).createResultEntities(compiledContent.getAttributeColumns(),
+                this.evaluateRows(compiledContent, contentObject.getConditions(this)));
+    }
+
+    @Override
+    public final Stream<R> scanStream() {
 
-        if (this.cachedContent != null) {
-            return this.cachedContent;
+        final ContentObject<R> contentObject = ContentObject.from(this);
+        final CompiledContent compiledContent = this.getCompiledContent(contentObject);
+        final ConditionTuple conditionTuple = contentObject.getConditions(this);
+        final ResultCache<R> resultCache = contentObject.getResultCache(compiledContent);
+
+        if (resultCache != null) {
+            return resultCache
+                    .get(conditionTuple,
+                            () -> this.createResultEntities(contentObject, compiledContent, conditionTuple))
+                    .stream();
         }
 
-        final String contentName = contentObject.getContentName();
-        final InputStream contentStream = contentObject.getResourceAsStream(contentName);
+        final ResultType<R> resultType = contentObject.getResultType(compiledContent.getResultType());
+        final AttributeColumns attributeColumns = compiledContent.getAttributeColumns();
+        final int[] columns = resultType.getColumns(attributeColumns);
+
+        return this.evaluateRows(compiledContent, conditionTuple).stream()
+                .mapToObj(row -> resultType.createResultEntity(attributeColumns, columns, row));
+    }
 
-        if (contentStream == null) {
-            throw new ContentNotFoundException(
-                    String.format("The content '%s' was not found from resources.", contentName));
+    @Override
+    public final void scan(@NonNull final Consumer<? super R> consumer) {
+
+        final ContentObject<R> contentObject = ContentObject.from(this);
+        final CompiledContent compiledContent = this.getCompiledContent(contentObject);
+        final ConditionTuple conditionTuple = contentObject.getConditions(this);
+        final ResultCache<R> resultCache = contentObject.getResultCache(compiledContent);
+
+        if (resultCache != null) {
+            resultCache
+                    .get(conditionTuple,
+                            () -> this.createResultEntities(contentObject, compiledContent, conditionTuple))
+                    .forEach(consumer);
+            return;
+        }
+
+        final ResultType<R> resultType = contentObject.getResultType(compiledContent.getResultType());
+        final AttributeColumns attributeColumns = compiledContent.getAttributeColumns();
+        final int[] columns = resultType.getColumns(attributeColumns);
+        final BitSet rows = this.evaluateRows(compiledContent, conditionTuple);
+
+        R resultEntity = null;
+
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+            resultEntity = resultType.bindResultEntity(resultEntity, attributeColumns, columns, row);
+            consumer.accept(resultEntity);
+        }
+    }
+
+    @Override
+    public final Optional<R> scanFirst() {
+
+        final ContentObject<R> contentObject = ContentObject.from(this);
+        final CompiledContent compiledContent = this.getCompiledContent(contentObject);
+        final ConditionTuple conditionTuple = contentObject.getConditions(this);
+        final ResultCache<R> resultCache = contentObject.getResultCache(compiledContent);
+
+        if (resultCache != null) {
+            return resultCache
+                    .get(conditionTuple,
+                            () -> this.createResultEntities(contentObject, compiledContent, conditionTuple))
+                    .stream().findFirst();
         }
 
-        return ContentLoader.from(contentStream).load();
+        final int row = this.evaluateRows(compiledContent, conditionTuple).nextSetBit(0);
+
+        if (row < 0) {
+            return Optional.empty();
+        }
+
+        final ResultType<R> resultType = contentObject.getResultType(compiledContent.getResultType());
+        final AttributeColumns attributeColumns = compiledContent.getAttributeColumns();
+
+        return Optional.of(
+                resultType.createResultEntity(attributeColumns, resultType.getColumns(attributeColumns), row));
+    }
+
+    @Override
+    public final boolean exists() {
+        final ContentObject<R> contentObject = ContentObject.from(this);
+        return ContentEvaluator.builder().compiledContent(this.getCompiledContent(contentObject))
+                .conditionTuple(contentObject.getConditions(this)).build().exists();
+    }
+
+    @Override
+    public final int count() {
+        final ContentObject<R> contentObject = ContentObject.from(this);
+        return ContentEvaluator.builder().compiledContent(this.getCompiledContent(contentObject))
+                .conditionTuple(contentObject.getConditions(this)).build().count();
     }
 
     /**
-     * Returns a result type that represents a content entity based on the value of
-     * {@code "resultType"} specified in the content file.
+     * Evaluates the compiled content based on the conditions and returns the list
+     * of result entities.
      *
-     * @param rawContent The map containing the items defined in the content file
-     * @return The object of result type
+     * @param contentObject   The object mapped to content
+     * @param compiledContent The compiled content
+     * @param conditionTuple  The tuple holding condition data to be checked
+     *                        against the conditions defined in the content file
+     * @return The list of result entities
      *
      * @exception NullPointerException If {@code null} is passed as an argument
      */
-    private ResultType<R> getResultType(@NonNull final Map<String, Object> rawContent) {
-        final Map<String, Object> metaMap = ContentNodeResolver.getNodeMap(rawContent, MetaNodeKey.META);
-        return ResultType.from(ContentNodeResolver.getString(metaMap, MetaNodeKey.RESULT_TYPE));
+    private List<R> createResultEntities(@NonNull final ContentObject<R> contentObject,
+            @NonNull final CompiledContent compiledContent, @NonNull final ConditionTuple conditionTuple) {
+
+        final ResultType<R> resultType = contentObject.getResultType(compiledContent.getResultType());
+
+        return resultType.createResultEntities(compiledContent.getAttributeColumns(),
+                this.evaluateRows(compiledContent, conditionTuple));
+    }
+
+    /**
+     * Returns the compiled content mapped to the content object from the default
+     * {@link ContentRegistry} . If the content is not held in the registry yet, the
+     * content file is loaded and compiled.
+     *
+     * @param contentObject The object mapped to content
+     * @return The compiled content
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception ContentNotFoundException If the specified content file does not
+     *                                     exist
+     */
+    private CompiledContent getCompiledContent(@NonNull final ContentObject<R> contentObject) {
+        final String contentName = contentObject.getContentName();
+        return ContentRegistry.getDefault().get(contentName, contentObject.getClassLoader(),
+                contentObject::compileContent);
     }
 
     /**
-     * Returns the content data evaluated based on the specified conditions as a
-     * list structure.
+     * Returns the rows of the attribute columns selected based on the specified
+     * conditions.
      *
-     * @param rawContent The map containing the items defined in the content file
-     * @param attributes The set containing the attribute names defined in the
-     *                   selected nodes of the content file
-     * @param conditions The map containing condition data to be checked against the
-     *                   conditions defined in the content file
-     * @return The evaluated content list
+     * @param compiledContent The compiled content
+     * @param conditionTuple  The tuple holding condition data to be checked
+     *                        against the conditions defined in the content file
+     * @return The rows of the selected items
      *
      * @exception NullPointerException If {@code null} is passed as an argument
      */
-    private List<Map<String, Object>> evaluateContent(@NonNull final Map<String, Object> rawContent,
-            @NonNull final Set<String> attributes, @NonNull final Map<String, String> conditions) {
-        return ContentEvaluator.builder().content(rawContent).attributes(attributes).conditions(conditions).build()
-                .evaluate();
+    private BitSet evaluateRows(@NonNull final CompiledContent compiledContent,
+            @NonNull final ConditionTuple conditionTuple) {
+        return ContentEvaluator.builder().compiledContent(compiledContent).conditionTuple(conditionTuple).build()
+                .evaluateRows();
     }
 }
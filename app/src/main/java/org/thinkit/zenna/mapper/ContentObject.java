@@ -14,92 +14,227 @@
 
 package org.thinkit.zenna.mapper;
 
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.Serializable;
 import java.lang.reflect.Field;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
-import org.thinkit.api.catalog.BiCatalog;
-import org.thinkit.api.catalog.Catalog;
-import org.thinkit.zenna.annotation.Condition;
+import org.thinkit.zenna.annotation.Cacheable;
 import org.thinkit.zenna.annotation.Content;
 import org.thinkit.zenna.catalog.ContentExtension;
 import org.thinkit.zenna.catalog.ContentRoot;
 import org.thinkit.zenna.catalog.MapperSuffix;
 import org.thinkit.zenna.catalog.PropertyFileName;
+import org.thinkit.zenna.compiler.BinaryContentCompiler;
+import org.thinkit.zenna.compiler.CompiledContent;
+import org.thinkit.zenna.compiler.ConditionLayout;
+import org.thinkit.zenna.compiler.ConditionTuple;
+import org.thinkit.zenna.compiler.ContentArchive;
+import org.thinkit.zenna.compiler.ContentStreamCompiler;
 import org.thinkit.zenna.config.ContentProperty;
 import org.thinkit.zenna.entity.ContentEntity;
+import org.thinkit.zenna.exception.ContentNotFoundException;
+import org.thinkit.zenna.exception.ContentParsingException;
+import org.thinkit.zenna.exception.IllegalContentStateException;
+import org.thinkit.zenna.exception.ResultTypeNotFoundException;
+import org.thinkit.zenna.registry.ContentRegistry;
+import org.thinkit.zenna.spi.ConditionExtractor;
+import org.thinkit.zenna.spi.GeneratedClasses;
+import org.thinkit.zenna.util.MappedFileResolver;
 
 import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
 /**
  * The class that represents an object mapped to a content.
  *
+ * <p>
+ * Everything that can be known from the class of the content object, such as
+ * the content name, the values of the content property file and the fields used
+ * as conditions, is resolved only once for each class when the class is first
+ * mapped, and shared by every instance of the class. Use {@link #from(Mapper)}
+ * to get the object associated with the class of a content mapper.
+ *
+ * <p>
+ * The conditions are extracted into a {@link ConditionTuple} with the fixed
+ * layout of the class. If the {@link ConditionExtractor} generated by the
+ * annotation processor exists for the class of the content mapper, the
+ * conditions are extracted by the generated class, otherwise they are extracted
+ * by the {@link ConditionFieldExtractor} .
+ *
  * @author Kato Shinya
  * @since 1.0.0
  */
 @ToString
 @EqualsAndHashCode
-@NoArgsConstructor(access = AccessLevel.PRIVATE)
-final class ContentObject<T extends ContentEntity> implements Serializable {
+@NoArgsConstructor(access = AccessLevel.PRIVATE, force = true)
+final class ContentObject<T extends ContentEntity> {
 
     /**
-     * The serial version UID
+     * The format of content path
      */
-    private static final long serialVersionUID = -4141481108885397138L;
+    private static final String FORMAT_CONTENT_PATH = "%s%s.%s";
 
     /**
-     * The format of content path
+     * The separator of the content name
      */
-    private static final String FORMAT_CONTENT_PATH = "%s%s.%s";
+    private static final String CONTENT_NAME_SEPARATOR = "/";
+
+    /**
+     * The name of content archive
+     */
+    private static final String CONTENT_ARCHIVE_NAME = "contents";
+
+    /**
+     * The content archives in the file system associated with the path of each
+     * archive file
+     */
+    private static final Map<Path, FileSystemArchive> FILE_SYSTEM_ARCHIVES = new ConcurrentHashMap<>();
+
+    /**
+     * The content archives in the class path associated with each class loader
+     */
+    private static final Map<ClassLoader, Optional<ContentArchive>> CLASS_PATH_ARCHIVES = Collections
+            .synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * The content objects associated with each class of content mapper
+     */
+    private static final ClassValue<ContentObject<?>> CONTENT_OBJECTS = new ClassValue<>() {
+
+        @Override
+        protected ContentObject<?> computeValue(Class<?> type) {
+            return new ContentObject<>(type);
+        }
+    };
 
     /**
      * The content object associated with a specific content file
      */
-    private Class<?> contentObject;
+    private final Class<?> contentObject;
+
+    /**
+     * The content name
+     */
+    private final String contentName;
+
+    /**
+     * The directory of the file system holding the contents, or {@code null} if
+     * the contents are read only from the class path
+     */
+    private final Path contentDirectory;
+
+    /**
+     * The condition extractor
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final ConditionExtractor<Mapper<T>> conditionExtractor;
+
+    /**
+     * The layout of the conditions
+     */
+    private final ConditionLayout conditionLayout;
+
+    /**
+     * The condition tuple reused by each thread scanning the content
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final ThreadLocal<ConditionTuple> conditionTuples;
 
     /**
-     * The mapper
+     * The annotation enabling the result cache, or {@code null} if the result is
+     * not cached
      */
-    private Mapper<T> mapper;
+    private final Cacheable cacheable;
 
     /**
-     * The property of content
+     * The result type resolved last
      */
-    private ContentProperty contentProperty;
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private volatile ResultType<T> resultType;
+
+    /**
+     * The result cache bound to the compiled content resolved last
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private volatile ResultCache<T> resultCache;
 
     /**
      * The constructor
      *
-     * @param contentMapper The content mapper object
+     * @param contentObject The class of content mapper
      *
      * @exception NullPointerException If {@code null} is passed as an argument
      */
-    private ContentObject(@NonNull final Mapper<T> contentMapper) {
-        this.mapper = contentMapper;
-        this.contentObject = contentMapper.getClass();
-        this.contentProperty = ContentProperty.from(contentObject, PropertyFileName.DEFAULT.getTag());
+    private ContentObject(@NonNull final Class<?> contentObject) {
+        this(contentObject, null);
+    }
+
+    /**
+     * The constructor. If the content directory passed as an argument is not
+     * {@code null} , it is used instead of {@code "contentDirectory"} set in
+     * {@code "content.properties"} .
+     *
+     * @param contentObject    The class of content mapper
+     * @param contentDirectory The directory of the file system holding the
+     *                         contents, or {@code null}
+     *
+     * @exception NullPointerException If {@code contentObject} is {@code null}
+     */
+    ContentObject(@NonNull final Class<?> contentObject, final Path contentDirectory) {
+        this.contentObject = contentObject;
+        this.conditionExtractor = this.createConditionExtractor();
+        this.conditionLayout = this.conditionExtractor.getLayout();
+        this.conditionTuples = ThreadLocal.withInitial(this.conditionLayout::newTuple);
+
+        final ContentProperty contentProperty = ContentProperty.from(contentObject,
+                PropertyFileName.DEFAULT.getTag());
+        this.contentName = this.createContentName(contentProperty);
+        this.contentDirectory = contentDirectory != null ? contentDirectory
+                : this.getContentDirectory(contentProperty);
+        this.cacheable = contentObject.getAnnotation(Cacheable.class);
     }
 
     /**
-     * Returns the new instance of {@link ContentObject} based on the content mapper
-     * object passed as an argument.
+     * Returns the instance of {@link ContentObject} associated with the class of
+     * the content mapper object passed as an argument. The same instance is
+     * returned for every content mapper object of the same class.
      *
      * @param <T>    The type of result type mapped to the content mapper
      * @param mapper The content mapper
-     * @return The new instance of {@link ContentObject}
+     * @return The instance of {@link ContentObject}
      *
      * @exception NullPointerException If {@code null} is passed as an argument
      */
+    @SuppressWarnings("unchecked")
     public static <T extends ContentEntity> ContentObject<T> from(@NonNull final Mapper<T> contentMapper) {
-        return new ContentObject<>(contentMapper);
+        return (ContentObject<T>) CONTENT_OBJECTS.get(contentMapper.getClass());
     }
 
     /**
@@ -129,11 +264,117 @@ final class ContentObject<T extends ContentEntity> implements Serializable {
     }
 
     /**
-     * Returns an input stream for reading the specified resource.
+     * Returns the class loader of the content object. The content file mapped to
+     * the content object is searched by this class loader.
+     *
+     * @return The class loader of the content object
+     */
+    public ClassLoader getClassLoader() {
+        return this.contentObject.getClassLoader();
+    }
+
+    /**
+     * Loads the content file associated with the content name of this content
+     * object and returns the compiled content. This method does not evaluate and
+     * filter the content based on the conditions.
+     *
+     * <p>
+     * If {@code "contentDirectory"} is set in {@code "content.properties"} ,
+     * {@link ContentRoot#FILE_SYSTEM} of the directory is searched completely
+     * first, and then {@link ContentRoot#DEFAULT} of the class path. In each root,
+     * the binary content file packed into the content archive
+     * {@code "contents.zpack"} is preferred, then the binary content file whose
+     * extension is {@link ContentExtension#ZDB} , and then the content file whose
+     * extension is {@link ContentExtension#JSON} . Therefore, a content file put in
+     * the content directory always takes precedence over the content files in the
+     * class path, whatever their formats are. The binary content files are restored
+     * without parsing the content file.
+     *
+     * @return The compiled content
+     *
+     * @exception ContentNotFoundException If the content file does not exist
+     * @exception ContentParsingException  If the content file is broken
+     * @exception IllegalStateException    If the content file cannot be read
+     */
+    public CompiledContent compileContent() {
+
+        for (final ContentRoot contentRoot : this.getContentRoots()) {
+            final ByteBuffer archivedContent = this.getArchivedContent(this.contentName, contentRoot);
+
+            if (archivedContent != null) {
+                return BinaryContentCompiler.from(archivedContent).compile();
+            }
+
+            final ByteBuffer binaryContent = this.getResourceAsBuffer(this.contentName, ContentExtension.ZDB,
+                    contentRoot);
+
+            if (binaryContent != null) {
+                return BinaryContentCompiler.from(binaryContent).compile();
+            }
+
+            final InputStream contentStream = this.getResourceAsStream(this.contentName, ContentExtension.JSON,
+                    contentRoot);
+
+            if (contentStream != null) {
+                return ContentStreamCompiler.from(contentStream).compile();
+            }
+        }
+
+        throw new ContentNotFoundException(
+                String.format("The content '%s' was not found from resources.", this.contentName));
+    }
+
+    /**
+     * Returns an input stream for reading the specified resource. The content
+     * directory is searched before the class path, and in each of them the binary
+     * content file whose extension is {@link ContentExtension#ZDB} is preferred if
+     * it exists, otherwise the content file whose extension is
+     * {@link ContentExtension#JSON} is read.
      *
      * <p>
      * The search order is described in the documentation for
-     * {@link #getResource(String)} .
+     * {@link #compileContent()} , except that the content archive is not searched.
+     *
+     * @param name The resource name
+     *
+     * @return An input stream for reading the resource; {@code null} if the
+     *         resource could not be found, the resource is in a package that is not
+     *         opened unconditionally, or access to the resource is denied by the
+     *         security manager.
+     *
+     * @exception NullPointerException  If {@code name} is {@code null}
+     * @exception IllegalStateException If the content file in the content
+     *                                  directory cannot be mapped into memory
+     */
+    public InputStream getResourceAsStream(@NonNull final String name) {
+
+        for (final ContentRoot contentRoot : this.getContentRoots()) {
+            final InputStream binaryStream = this.getResourceAsStream(name, ContentExtension.ZDB, contentRoot);
+
+            if (binaryStream != null) {
+                return binaryStream;
+            }
+
+            final InputStream contentStream = this.getResourceAsStream(name, ContentExtension.JSON, contentRoot);
+
+            if (contentStream != null) {
+                return contentStream;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns an input stream for reading the specified resource with the
+     * extension passed as an argument from the content root passed as an argument.
+     *
+     * <p>
+     * The content file under {@link ContentRoot#FILE_SYSTEM} of the content
+     * directory is mapped into memory and the returned input stream reads the
+     * mapped buffer, so the content file is never copied onto the heap as a whole.
+     * The content file under {@link ContentRoot#DEFAULT} is searched from the class
+     * path.
      *
      * <p>
      * Resources in named modules are subject to the encapsulation rules specified
@@ -143,18 +384,137 @@ final class ContentObject<T extends ContentEntity> implements Serializable {
      * packages of named modules when the package is {@link Module#isOpen(String)
      * opened} unconditionally.
      *
-     * @param name The resource name
+     * @param name        The resource name
+     * @param extension   The extension of the content file
+     * @param contentRoot The content root
      *
      * @return An input stream for reading the resource; {@code null} if the
      *         resource could not be found, the resource is in a package that is not
      *         opened unconditionally, or access to the resource is denied by the
      *         security manager.
      *
-     * @exception NullPointerException If {@code name} is {@code null}
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @exception IllegalStateException If the content file in the content
+     *                                  directory cannot be mapped into memory
      */
-    public InputStream getResourceAsStream(@NonNull final String name) {
-        return this.contentObject.getClassLoader().getResourceAsStream(
-                String.format(FORMAT_CONTENT_PATH, ContentRoot.DEFAULT.getTag(), name, ContentExtension.JSON.getTag()));
+    public InputStream getResourceAsStream(@NonNull final String name, @NonNull final ContentExtension extension,
+            @NonNull final ContentRoot contentRoot) {
+
+        if (contentRoot == ContentRoot.FILE_SYSTEM) {
+            final Path contentPath = this.getContentPath(name, extension);
+            return contentPath != null ? MappedFileResolver.open(contentPath) : null;
+        }
+
+        return this.getClassLoader().getResourceAsStream(
+                String.format(FORMAT_CONTENT_PATH, ContentRoot.DEFAULT.getTag(), name, extension.getTag()));
+    }
+
+    /**
+     * Returns the buffer holding the specified resource with the extension passed
+     * as an argument from the content root passed as an argument.
+     *
+     * <p>
+     * The content file under {@link ContentRoot#FILE_SYSTEM} of the content
+     * directory, or in a directory of the class path, is mapped into memory, so
+     * the content file is never copied onto the heap. The content file in a jar
+     * file is mapped only if it is stored without compression, otherwise it is
+     * read onto the heap instead.
+     *
+     * @param name        The resource name
+     * @param extension   The extension of the content file
+     * @param contentRoot The content root
+     * @return The buffer holding the resource, or {@code null} if the resource
+     *         could not be found
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @exception IllegalStateException If the content file cannot be read
+     */
+    public ByteBuffer getResourceAsBuffer(@NonNull final String name, @NonNull final ContentExtension extension,
+            @NonNull final ContentRoot contentRoot) {
+
+        if (contentRoot == ContentRoot.FILE_SYSTEM) {
+            final Path contentPath = this.getContentPath(name, extension);
+            return contentPath != null ? MappedFileResolver.map(contentPath) : null;
+        }
+
+        final URL contentUrl = this.getClassLoader().getResource(
+                String.format(FORMAT_CONTENT_PATH, ContentRoot.DEFAULT.getTag(), name, extension.getTag()));
+
+        return contentUrl != null ? readResource(contentUrl) : null;
+    }
+
+    /**
+     * Returns the binary content file packed into the content archive
+     * {@code "contents.zpack"} of the content root passed as an argument with the
+     * content name passed as an argument.
+     *
+     * <p>
+     * The content archive under {@link ContentRoot#FILE_SYSTEM} is searched from
+     * {@code "contentDirectory"} set in {@code "content.properties"} , and the
+     * content archive under {@link ContentRoot#DEFAULT} is searched from the class
+     * path. Each content archive is opened only once and shared by every content
+     * object, except that the content archive in the file system is opened again
+     * when its file is replaced, that is, when the last modified time or the size
+     * of the file is changed. When the content archive in the file system is
+     * opened again or removed, the contents loaded from the previous archive file
+     * are discarded from the default {@link ContentRegistry} , so they are loaded
+     * from the new archive file the next time they are requested. Since the
+     * replacement is detected only when a content is looked up in the archive,
+     * call {@link ContentRegistry#invalidateAll()} after replacing the archive
+     * file to reload the contents held in the registry at once.
+     *
+     * <p>
+     * The content archive in the file system must be replaced atomically, for
+     * example by writing the new archive to a temporary file in the same directory
+     * and moving it over the old one. The archive file is mapped into memory, so
+     * overwriting or truncating it in place can make the contents read from the
+     * mapping broken or fail the access to them with an internal error of the
+     * virtual machine.
+     *
+     * <p>
+     * The content archive in the file system, or in a
+     * directory of the class path, is mapped into memory. The content archive in a
+     * jar file is mapped from the region of the jar file holding it if it is
+     * stored without compression, as the Gradle plugin does, otherwise it is read
+     * onto the heap at once instead of reading each content file from the jar
+     * file. The content is packed with the path relative to the root of the
+     * content archive, so the leading slash of the content name is ignored.
+     *
+     * @param name        The content name
+     * @param contentRoot The content root
+     * @return The buffer holding the binary content file, or {@code null} if the
+     *         content archive of the content root does not have the content
+     *
+     * @exception NullPointerException    If {@code null} is passed as an argument
+     * @exception ContentParsingException If the content archive is broken
+     * @exception IllegalStateException   If the content archive cannot be read
+     */
+    public ByteBuffer getArchivedContent(@NonNull final String name, @NonNull final ContentRoot contentRoot) {
+
+        final String archivedName = name.startsWith(CONTENT_NAME_SEPARATOR) ? name.substring(1) : name;
+
+        if (contentRoot == ContentRoot.FILE_SYSTEM) {
+            if (this.contentDirectory == null) {
+                return null;
+            }
+
+            final FileSystemArchive fileSystemArchive = openContentArchive(this.contentDirectory);
+
+            if (fileSystemArchive == null) {
+                return null;
+            }
+
+            final ByteBuffer archivedContent = fileSystemArchive.getContentArchive().find(archivedName);
+
+            if (archivedContent != null) {
+                fileSystemArchive.addLoadedContent(name, this.getClassLoader());
+            }
+
+            return archivedContent;
+        }
+
+        return CLASS_PATH_ARCHIVES.computeIfAbsent(this.getClassLoader(), ContentObject::openContentArchive)
+                .map(contentArchive -> contentArchive.find(archivedName)).orElse(null);
     }
 
     /**
@@ -182,6 +542,175 @@ final class ContentObject<T extends ContentEntity> implements Serializable {
         return Arrays.asList(this.contentObject.getDeclaredFields());
     }
 
+    /**
+     * Returns the content archive under {@link ContentRoot#FILE_SYSTEM} of the
+     * content directory passed as an argument. The content archive opened before
+     * is returned as long as the last modified time and the size of its file are
+     * not changed, otherwise the file is opened again. The contents loaded from
+     * the previous archive file are discarded from the default
+     * {@link ContentRegistry} when the file is opened again or removed.
+     *
+     * @param contentDirectory The content directory
+     * @return The content archive, or {@code null} if it does not exist
+     *
+     * @exception NullPointerException    If {@code null} is passed as an argument
+     * @exception ContentParsingException If the content archive is broken
+     * @exception IllegalStateException   If the content archive cannot be mapped
+     *                                    into memory
+     */
+    private static FileSystemArchive openContentArchive(@NonNull final Path contentDirectory) {
+
+        final Path archivePath = contentDirectory.resolve(String.format(FORMAT_CONTENT_PATH,
+                ContentRoot.FILE_SYSTEM.getTag(), CONTENT_ARCHIVE_NAME, ContentExtension.ZPACK.getTag()));
+        final BasicFileAttributes attributes;
+
+        try {
+            attributes = Files.readAttributes(archivePath, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            closeContentArchive(archivePath);
+            return null;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        if (!attributes.isRegularFile()) {
+            closeContentArchive(archivePath);
+            return null;
+        }
+
+        return FILE_SYSTEM_ARCHIVES.compute(archivePath, (path, archive) -> {
+            if (archive != null && archive.isCurrent(attributes)) {
+                return archive;
+            }
+
+            final FileSystemArchive reopenedArchive = FileSystemArchive.open(path, attributes);
+
+            if (archive != null) {
+                archive.invalidateLoadedContents();
+            }
+
+            return reopenedArchive;
+        });
+    }
+
+    /**
+     * Forgets the content archive in the file system at the path passed as an
+     * argument after its file is removed, and discards the contents loaded from
+     * it from the default {@link ContentRegistry} .
+     *
+     * @param archivePath The path of the archive file
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private static void closeContentArchive(@NonNull final Path archivePath) {
+
+        final FileSystemArchive archive = FILE_SYSTEM_ARCHIVES.remove(archivePath);
+
+        if (archive != null) {
+            archive.invalidateLoadedContents();
+        }
+    }
+
+    /**
+     * Opens the content archive under {@link ContentRoot#DEFAULT} of the class
+     * path of the class loader passed as an argument.
+     *
+     * @param classLoader The class loader
+     * @return The content archive, or {@link Optional#empty()} if it does not
+     *         exist
+     *
+     * @exception NullPointerException    If {@code null} is passed as an argument
+     * @exception ContentParsingException If the content archive is broken
+     * @exception IllegalStateException   If the content archive cannot be read
+     */
+    private static Optional<ContentArchive> openContentArchive(@NonNull final ClassLoader classLoader) {
+
+        final URL archiveUrl = classLoader.getResource(String.format(FORMAT_CONTENT_PATH,
+                ContentRoot.DEFAULT.getTag(), CONTENT_ARCHIVE_NAME, ContentExtension.ZPACK.getTag()));
+
+        if (archiveUrl == null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(ContentArchive.from(readResource(archiveUrl)));
+    }
+
+    /**
+     * Reads the resource of the URL passed as an argument into a buffer. The
+     * resource in a directory of the class path is mapped into memory, and the
+     * resource stored without compression in a jar file is mapped from the region
+     * of the jar file holding it. Any other resource, such as the compressed
+     * resource or the resource in a nested jar file, is read onto the heap.
+     *
+     * @param resourceUrl The URL of the resource
+     * @return The buffer holding the resource
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @exception IllegalStateException If the resource cannot be read
+     */
+    private static ByteBuffer readResource(@NonNull final URL resourceUrl) {
+        try {
+            if ("file".equals(resourceUrl.getProtocol())) {
+                return MappedFileResolver.map(Paths.get(resourceUrl.toURI()));
+            }
+
+            if ("jar".equals(resourceUrl.getProtocol())) {
+                final JarURLConnection connection = (JarURLConnection) resourceUrl.openConnection();
+                final URL jarFileUrl = connection.getJarFileURL();
+
+                if ("file".equals(jarFileUrl.getProtocol())) {
+                    final ByteBuffer storedEntry = MappedFileResolver.mapStoredEntry(Paths.get(jarFileUrl.toURI()),
+                            connection.getEntryName());
+
+                    if (storedEntry != null) {
+                        return storedEntry;
+                    }
+                }
+            }
+
+            try (InputStream resourceStream = resourceUrl.openStream()) {
+                return ByteBuffer.wrap(resourceStream.readAllBytes());
+            }
+        } catch (IOException | URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the content roots to be searched for the content files in the order
+     * of precedence. {@link ContentRoot#FILE_SYSTEM} is searched only if
+     * {@code "contentDirectory"} is set in {@code "content.properties"} .
+     *
+     * @return The content roots in the order of precedence
+     */
+    private List<ContentRoot> getContentRoots() {
+        return this.contentDirectory != null ? List.of(ContentRoot.FILE_SYSTEM, ContentRoot.DEFAULT)
+                : List.of(ContentRoot.DEFAULT);
+    }
+
+    /**
+     * Returns the path of the content file with the extension passed as an
+     * argument under {@link ContentRoot#FILE_SYSTEM} of the content directory.
+     *
+     * @param name      The resource name
+     * @param extension The extension of the content file
+     * @return The path of the content file, or {@code null} if the content
+     *         directory is not set or the content file does not exist
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private Path getContentPath(@NonNull final String name, @NonNull final ContentExtension extension) {
+
+        if (this.contentDirectory == null) {
+            return null;
+        }
+
+        final Path contentPath = this.contentDirectory.resolve(
+                String.format(FORMAT_CONTENT_PATH, ContentRoot.FILE_SYSTEM.getTag(), name, extension.getTag()));
+
+        return Files.isRegularFile(contentPath) ? contentPath : null;
+    }
+
     /**
      * Returns the content file name.
      *
@@ -197,47 +726,169 @@ final class ContentObject<T extends ContentEntity> implements Serializable {
      * content file name.
      *
      * @return The content file name
+     */
+    public String getContentName() {
+        return this.contentName;
+    }
+
+    /**
+     * Extracts the conditions from the fields defined in the mapped content object
+     * into the tuple with the fixed layout of the content object, and returns the
+     * tuple.
+     *
+     * <p>
+     * The tuple is owned by the current thread and reused by the next call on the
+     * same thread, so it is valid only until the scan using it completes. Use
+     * {@link ConditionTuple#copy()} to keep the conditions beyond the scan.
+     *
+     * @param mapper The content mapper whose fields are extracted
+     * @return The tuple holding the conditions extracted from content objects
      *
      * @exception NullPointerException If {@code null} is passed as an argument
      */
-    public String getContentName() {
+    public ConditionTuple getConditions(@NonNull final Mapper<T> mapper) {
+
+        final ConditionTuple conditionTuple = this.conditionTuples.get();
+        conditionTuple.clear();
+        this.conditionExtractor.extract(mapper, conditionTuple);
+
+        return conditionTuple;
+    }
+
+    /**
+     * Returns the result type associated with the fully qualified class name
+     * passed as an argument. The result type is resolved with the class loader of
+     * the content object, and the resolved result type is reused as long as the
+     * same class name is requested.
+     *
+     * @param className The fully qualified name of the result type
+     * @return The result type
+     *
+     * @exception NullPointerException        If {@code null} is passed as an
+     *                                        argument
+     * @exception ResultTypeNotFoundException If the result type is not found
+     */
+    public ResultType<T> getResultType(@NonNull final String className) {
+
+        ResultType<T> resultType = this.resultType;
+
+        if (resultType == null || !resultType.getName().equals(className)) {
+            resultType = ResultType.from(className, this.getClassLoader());
+            this.resultType = resultType;
+        }
+
+        return resultType;
+    }
+
+    /**
+     * Returns the result cache bound to the compiled content passed as an argument
+     * if the {@link Cacheable} annotation is given to the content object. If the
+     * compiled content differs from the one the current result cache is bound to,
+     * which means the content was loaded again, the current result cache is
+     * discarded and a new result cache is created.
+     *
+     * <p>
+     * The cached entities are shared by every scan with the same conditions, so
+     * only the result type whose entities are immutable can be cached.
+     *
+     * @param compiledContent The compiled content
+     * @return The result cache if the {@link Cacheable} annotation is given to the
+     *         content object, otherwise {@code null}
+     *
+     * @exception NullPointerException         If {@code null} is passed as an
+     *                                          argument
+     * @exception IllegalContentStateException If the entities of the result type
+     *                                          are mutable
+     */
+    public ResultCache<T> getResultCache(@NonNull final CompiledContent compiledContent) {
+
+        if (this.cacheable == null) {
+            return null;
+        }
+
+        ResultCache<T> resultCache = this.resultCache;
+
+        if (resultCache == null || !resultCache.isBoundTo(compiledContent)) {
+
+            final ResultType<T> resultType = this.getResultType(compiledContent.getResultType());
+
+            if (!resultType.isImmutable()) {
+                throw new IllegalContentStateException(String.format(
+                        "The result type '%s' of the cacheable content '%s' must be immutable.",
+                        resultType.getName(), this.contentObject.getName()));
+            }
+
+            resultCache = ResultCache.from(compiledContent, this.cacheable.maximumSize());
+            this.resultCache = resultCache;
+        }
+
+        return resultCache;
+    }
+
+    /**
+     * Creates the content file name based on the content property.
+     *
+     * @param contentProperty The property of content
+     * @return The content file name
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private String createContentName(@NonNull final ContentProperty contentProperty) {
+
+        if (this.conditionExtractor != null && this.conditionExtractor.getContentName() != null) {
+            return this.getFullContentName(contentProperty, this.conditionExtractor.getContentName());
+        }
 
         final Content contentAnnotation = this.getContentAnnotation();
 
         if (contentAnnotation != null) {
-            return this.getFullContentName(contentAnnotation.value());
+            return this.getFullContentName(contentProperty, contentAnnotation.value());
         }
 
         final String className = this.getSimpleName();
 
-        if (this.isEndWithMapperSuffix()) {
-            return this.getFullContentName(className.substring(0, className.indexOf(MapperSuffix.DEFAULT.getTag())));
+        if (this.isEndWithMapperSuffix(contentProperty)) {
+            return this.getFullContentName(contentProperty,
+                    className.substring(0, className.indexOf(MapperSuffix.DEFAULT.getTag())));
         }
 
-        return this.getFullContentName(className);
+        return this.getFullContentName(contentProperty, className);
     }
 
     /**
-     * Extracts the conditions from the fields defined in the content file and the
-     * mapped content object, converts them to Map structure, and returns them.
+     * Returns the condition extractor of the content object. If the
+     * {@link ConditionExtractor} generated by the annotation processor exists, the
+     * generated extractor is returned, otherwise the
+     * {@link ConditionFieldExtractor} for the content object is returned.
      *
-     * @return Map structure conditions extracted from content objects
+     * @return The condition extractor
      */
-    public Map<String, String> getConditions() {
+    @SuppressWarnings("unchecked")
+    private ConditionExtractor<Mapper<T>> createConditionExtractor() {
 
-        final Map<String, String> conditions = new HashMap<>(0);
+        final ConditionExtractor<Mapper<T>> conditionExtractor = GeneratedClasses.newInstance(this.contentObject,
+                ConditionExtractor.SUFFIX, ConditionExtractor.class);
 
-        this.getDeclaredFields().forEach(field -> {
-            field.setAccessible(true);
+        if (conditionExtractor != null) {
+            return conditionExtractor;
+        }
 
-            try {
-                conditions.put(this.getConditionKey(field), this.getConditionValue(field));
-            } catch (IllegalArgumentException | IllegalAccessException e) {
-                throw new IllegalStateException(e);
-            }
-        });
+        return ConditionFieldExtractor.of(this.contentObject);
+    }
 
-        return conditions;
+    /**
+     * Returns the directory set in {@code "contentDirectory"} of
+     * {@code "content.properties"} as a path, or {@code null} if it is not set.
+     *
+     * @param contentProperty The property of content
+     * @return The directory of the file system holding the contents, or
+     *         {@code null} if it is not set
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private Path getContentDirectory(@NonNull ContentProperty contentProperty) {
+        final String contentDirectory = contentProperty.getContentDirectory();
+        return contentDirectory.isEmpty() ? null : Paths.get(contentDirectory);
     }
 
     /**
@@ -247,15 +898,16 @@ final class ContentObject<T extends ContentEntity> implements Serializable {
      * {@code "contentPackage"} , the content name passed as an argument will be
      * used as the full name.
      *
-     * @param contentName The content name
+     * @param contentProperty The property of content
+     * @param contentName     The content name
      * @return The content name including package name
      *
      * @exception NullPointerException If {@code null} is passed as an argument
      */
-    private String getFullContentName(@NonNull String contentName) {
+    private String getFullContentName(@NonNull ContentProperty contentProperty, @NonNull String contentName) {
 
         final StringBuilder fullContentName = new StringBuilder();
-        fullContentName.append(this.contentProperty.getContentPackage());
+        fullContentName.append(contentProperty.getContentPackage());
         fullContentName.append(contentName);
 
         return fullContentName.toString();
@@ -268,70 +920,109 @@ final class ContentObject<T extends ContentEntity> implements Serializable {
      * is set to a value, the set value will also be used as the suffix of the
      * content object. object suffix. This check process is case-sensitive.
      *
+     * @param contentProperty The property of content
      * @return {@code true} If the content object name ends with a suffix
      *         {@code "Mapper"} or the value set to {@code "mapperSuffix"} in
      *         {@code "content.properties"} , otherwise {@code false}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
      */
-    private boolean isEndWithMapperSuffix() {
+    private boolean isEndWithMapperSuffix(@NonNull ContentProperty contentProperty) {
         final String className = this.getSimpleName();
         return className.endsWith(MapperSuffix.DEFAULT.getTag())
-                || className.endsWith(this.contentProperty.getMapperSuffix());
+                || className.endsWith(contentProperty.getMapperSuffix());
     }
 
     /**
-     * Extracts and returns the name of the key to the condition from the field
-     * defined in the content object.
-     *
-     * <p>
-     * Basically, the variable name of the field defined in the conten object is
-     * returned as the key name of the condition, and if the {@link Condition}
-     * annotation is specified for the field, the alias name specified in the
-     * annotation is returned as the key name.
-     *
-     * @param field The field defined in the content object
-     * @return The key name extracted from the field of content object
-     *
-     * @exception NullPointerException If {@code null} is passed as an argument
+     * The class that holds the content archive in the file system with the last
+     * modified time and the size of its file when it was opened, and the contents
+     * loaded from it.
      */
-    private String getConditionKey(@NonNull final Field field) {
+    @ToString
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    private static final class FileSystemArchive {
 
-        final Condition conditionAnnotation = field.getAnnotation(Condition.class);
+        /**
+         * The last modified time of the archive file
+         */
+        private final FileTime lastModifiedTime;
 
-        if (conditionAnnotation != null) {
-            return conditionAnnotation.value();
-        }
+        /**
+         * The size of the archive file
+         */
+        private final long size;
 
-        return field.getName();
-    }
+        /**
+         * The content archive
+         */
+        @Getter
+        private final ContentArchive contentArchive;
 
-    /**
-     * Extracts and returns the value from the field defined in the content object.
-     *
-     * @param field The field defined in the content object
-     * @return The value extracted from the field of content object
-     *
-     * @exception NullPointerException     If {@code null} is passed as an argument
-     * @exception IllegalArgumentException If the specified object is not an
-     *                                     instance of the class or interface
-     *                                     declaring the underlying field (or a
-     *                                     subclass or implementor thereof)
-     * @exception IllegalAccessException   If this {@code Field} object is enforcing
-     *                                     Java language access control and the
-     *                                     underlying field is inaccessible
-     */
-    private String getConditionValue(@NonNull final Field field)
-            throws IllegalArgumentException, IllegalAccessException {
+        /**
+         * The names of the contents loaded from the content archive associated with
+         * the class loader used to find them
+         */
+        @ToString.Exclude
+        private final Map<ClassLoader, Set<String>> loadedContents = Collections
+                .synchronizedMap(new WeakHashMap<>());
+
+        /**
+         * Opens the content archive of the file at the path passed as an argument.
+         *
+         * @param archivePath The path of the archive file
+         * @param attributes  The attributes of the archive file
+         * @return The opened content archive
+         *
+         * @exception NullPointerException    If {@code null} is passed as an
+         *                                    argument
+         * @exception ContentParsingException If the content archive is broken
+         * @exception IllegalStateException   If the content archive cannot be
+         *                                    mapped into memory
+         */
+        static FileSystemArchive open(@NonNull final Path archivePath, @NonNull final BasicFileAttributes attributes) {
+            return new FileSystemArchive(attributes.lastModifiedTime(), attributes.size(),
+                    ContentArchive.from(MappedFileResolver.map(archivePath)));
+        }
 
-        final Class<?> fieldType = field.getType();
+        /**
+         * Checks if the archive file still has the attributes it had when it was
+         * opened.
+         *
+         * @param attributes The current attributes of the archive file
+         * @return {@code true} if the archive file is not replaced, otherwise
+         *         {@code false}
+         *
+         * @exception NullPointerException If {@code null} is passed as an argument
+         */
+        boolean isCurrent(@NonNull final BasicFileAttributes attributes) {
+            return this.lastModifiedTime.equals(attributes.lastModifiedTime()) && this.size == attributes.size();
+        }
 
-        if (fieldType.equals(Catalog.class)) {
-            final Catalog<?> catalog = (Catalog<?>) field.get(this.mapper);
-            return String.valueOf(catalog.getCode());
-        } else if (fieldType.equals(BiCatalog.class)) {
-            final BiCatalog<?, ?> biCatalog = (BiCatalog<?, ?>) field.get(this.mapper);
-            return String.valueOf(biCatalog.getCode());
+        /**
+         * Records that the content passed as an argument is loaded from the content
+         * archive with the class loader passed as an argument.
+         *
+         * @param contentName The content name
+         * @param classLoader The class loader used to find the content
+         *
+         * @exception NullPointerException If {@code null} is passed as an argument
+         */
+        void addLoadedContent(@NonNull final String contentName, @NonNull final ClassLoader classLoader) {
+            this.loadedContents.computeIfAbsent(classLoader, key -> ConcurrentHashMap.newKeySet()).add(contentName);
         }
 
-        return String.valueOf(field.get(this.mapper));
+        /**
+         * Discards the contents loaded from the content archive from the default
+         * {@link ContentRegistry} .
+         */
+        void invalidateLoadedContents() {
+
+            final ContentRegistry contentRegistry = ContentRegistry.getDefault();
+
+            synchronized (this.loadedContents) {
+                this.loadedContents.forEach((classLoader, contentNames) -> contentNames
+                        .forEach(contentName -> contentRegistry.invalidate(contentName, classLoader)));
+            }
+        }
     }
 }
@@ -0,0 +1,321 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.mapper;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.thinkit.zenna.compiler.AttributeColumns;
+import org.thinkit.zenna.compiler.ColumnType;
+import org.thinkit.zenna.entity.ContentEntity;
+import org.thinkit.zenna.spi.EntityFactory;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * The class that binds the attributes of a selected item to a new result
+ * entity.
+ *
+ * <p>
+ * The binder is created only once for each result type. The constructor and
+ * the fields of the result type are resolved as {@link MethodHandle} objects
+ * adapted to a common type when the binder is created, and the attribute bound
+ * to each field is resolved in advance. Therefore, binding an entity is a loop
+ * over the precomputed slots without any reflective lookup.
+ *
+ * <p>
+ * The fields declared as {@code int} , {@code long} , {@code double} or
+ * {@code boolean} are also resolved as setters of the primitive type. When an
+ * entity is bound from {@link AttributeColumns} , the value of such a field is
+ * read from the primitive column and set without boxing.
+ *
+ * <p>
+ * This binder is used when the {@link EntityFactory} generated by the
+ * annotation processor does not exist for the result type.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@ToString
+@NoArgsConstructor(access = AccessLevel.PRIVATE, force = true)
+final class EntityBinder<T extends ContentEntity> implements EntityFactory<T> {
+
+    /**
+     * The type of constructor handle
+     */
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+    /**
+     * The type of setter handle
+     */
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * The name of the result type
+     */
+    private final String resultTypeName;
+
+    /**
+     * The handle of the public no-argument constructor, or {@code null} if the
+     * result type does not have it
+     */
+    @ToString.Exclude
+    private final MethodHandle constructor;
+
+    /**
+     * The handles of the field setters
+     */
+    @ToString.Exclude
+    private final MethodHandle[] setters;
+
+    /**
+     * The handles of the primitive field setters, or {@code null} for the fields
+     * that are not primitive
+     */
+    @ToString.Exclude
+    private final MethodHandle[] primitiveSetters;
+
+    /**
+     * The primitive types of each field, or {@link ColumnType#OBJECT} for the
+     * fields that are not primitive
+     */
+    @ToString.Exclude
+    private final ColumnType[] fieldTypes;
+
+    /**
+     * The attribute names bound to each setter
+     */
+    private final String[] attributes;
+
+    /**
+     * The indexes of the attribute bound to each setter in the set of attribute
+     * names
+     */
+    @ToString.Exclude
+    private final int[] attributeIndexes;
+
+    /**
+     * The set of attribute names
+     */
+    @ToString.Exclude
+    private final Set<String> attributeSet;
+
+    /**
+     * The constructor.
+     *
+     * @param resultType The class of the result type
+     * @param fields     The attribute names associated with each accessible field
+     *                   of the result type
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @exception IllegalStateException If the handle of a field cannot be created
+     */
+    private EntityBinder(@NonNull Class<?> resultType, @NonNull Map<Field, String> fields) {
+
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        this.resultTypeName = resultType.getName();
+        this.constructor = this.getConstructor(lookup, resultType);
+        this.setters = new MethodHandle[fields.size()];
+        this.primitiveSetters = new MethodHandle[fields.size()];
+        this.fieldTypes = new ColumnType[fields.size()];
+        this.attributes = new String[fields.size()];
+        this.attributeIndexes = new int[fields.size()];
+        this.attributeSet = Collections.unmodifiableSet(new LinkedHashSet<>(fields.values()));
+
+        final List<String> attributeList = new ArrayList<>(this.attributeSet);
+        int slot = 0;
+
+        try {
+            for (final Entry<Field, String> field : fields.entrySet()) {
+                final MethodHandle setter = lookup.unreflectSetter(field.getKey());
+                this.setters[slot] = setter.asType(SETTER_TYPE);
+                this.fieldTypes[slot] = this.getFieldType(field.getKey().getType());
+
+                if (this.fieldTypes[slot] != ColumnType.OBJECT) {
+                    this.primitiveSetters[slot] = setter
+                            .asType(MethodType.methodType(void.class, Object.class, field.getKey().getType()));
+                }
+
+                this.attributes[slot] = field.getValue();
+                this.attributeIndexes[slot] = attributeList.indexOf(field.getValue());
+                slot++;
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the new instance of {@link EntityBinder} for the result type passed
+     * as an argument.
+     *
+     * @param <T>        The type of result entity
+     * @param resultType The class of the result type
+     * @param fields     The attribute names associated with each accessible field
+     *                   of the result type
+     * @return The new instance of {@link EntityBinder}
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @exception IllegalStateException If the handle of a field cannot be created
+     */
+    public static <T extends ContentEntity> EntityBinder<T> of(@NonNull Class<?> resultType,
+            @NonNull Map<Field, String> fields) {
+        return new EntityBinder<>(resultType, fields);
+    }
+
+    @Override
+    public Set<String> getAttributes() {
+        return this.attributeSet;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The value of a primitive field is read from the attribute columns with the
+     * typed getter and set through the primitive setter, so binding the entity
+     * does not box the value.
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @exception IllegalStateException If the result type does not have a public
+     *                                  no-argument constructor, or if an attribute
+     *                                  cannot be bound to the field
+     */
+    @Override
+    public T create(@NonNull AttributeColumns attributeColumns, @NonNull int[] columns, int row) {
+        return this.bind(null, attributeColumns, columns, row);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Every field of the entity passed as an argument is overwritten with the
+     * attribute at the row, so the entity can be reused for each row without any
+     * allocation.
+     *
+     * @exception NullPointerException  If {@code attributeColumns} or
+     *                                  {@code columns} is {@code null}
+     * @exception IllegalStateException If the result type does not have a public
+     *                                  no-argument constructor, or if an attribute
+     *                                  cannot be bound to the field
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T bind(T entity, @NonNull AttributeColumns attributeColumns, @NonNull int[] columns, int row) {
+
+        if (entity == null) {
+            this.checkConstructor();
+        }
+
+        try {
+            final Object resultEntity = entity != null ? entity : (Object) this.constructor.invokeExact();
+
+            for (int slot = 0; slot < this.setters.length; slot++) {
+                final int column = columns[this.attributeIndexes[slot]];
+
+                switch (this.fieldTypes[slot]) {
+                    case INT:
+                        this.primitiveSetters[slot].invokeExact(resultEntity, attributeColumns.getInt(column, row));
+                        break;
+                    case LONG:
+                        this.primitiveSetters[slot].invokeExact(resultEntity, attributeColumns.getLong(column, row));
+                        break;
+                    case DOUBLE:
+                        this.primitiveSetters[slot].invokeExact(resultEntity, attributeColumns.getDouble(column, row));
+                        break;
+                    case BOOLEAN:
+                        this.primitiveSetters[slot].invokeExact(resultEntity,
+                                attributeColumns.getBoolean(column, row));
+                        break;
+                    default:
+                        this.setters[slot].invokeExact(resultEntity, attributeColumns.getObject(column, row));
+                }
+            }
+
+            return (T) resultEntity;
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Checks if the result type has a public no-argument constructor.
+     *
+     * @exception IllegalStateException If the result type does not have a public
+     *                                  no-argument constructor
+     */
+    private void checkConstructor() {
+        if (this.constructor == null) {
+            throw new IllegalStateException(String
+                    .format("The result type '%s' must have a public no-argument constructor.", this.resultTypeName));
+        }
+    }
+
+    /**
+     * Returns the primitive type of the field type passed as an argument.
+     *
+     * @param fieldType The type of field
+     * @return The primitive type of the field, or {@link ColumnType#OBJECT} if the
+     *         field is not primitive
+     */
+    private ColumnType getFieldType(Class<?> fieldType) {
+
+        if (fieldType == int.class) {
+            return ColumnType.INT;
+        } else if (fieldType == long.class) {
+            return ColumnType.LONG;
+        } else if (fieldType == double.class) {
+            return ColumnType.DOUBLE;
+        } else if (fieldType == boolean.class) {
+            return ColumnType.BOOLEAN;
+        }
+
+        return ColumnType.OBJECT;
+    }
+
+    /**
+     * Returns the handle of the public no-argument constructor of the result type,
+     * or {@code null} if the result type does not have it.
+     *
+     * @param lookup     The lookup object
+     * @param resultType The class of the result type
+     * @return The handle of the public no-argument constructor
+     */
+    private MethodHandle getConstructor(MethodHandles.Lookup lookup, Class<?> resultType) {
+        try {
+            final Constructor<?> constructor = resultType.getConstructor();
+            return lookup.unreflectConstructor(constructor).asType(CONSTRUCTOR_TYPE);
+        } catch (NoSuchMethodException | SecurityException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
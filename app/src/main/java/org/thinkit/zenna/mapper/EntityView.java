@@ -0,0 +1,192 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.mapper;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Objects;
+
+import org.thinkit.zenna.compiler.AttributeColumns;
+
+import lombok.NonNull;
+
+/**
+ * The class that handles the method calls on a lazy view of a selected item
+ * created by {@link EntityViewFactory} .
+ *
+ * <p>
+ * The view holds the row of the selected item in the attribute columns, and
+ * reads the attribute only when the getter method associated with it is
+ * called.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+final class EntityView implements InvocationHandler {
+
+    /**
+     * The factory that created this view
+     */
+    private final EntityViewFactory<?> factory;
+
+    /**
+     * The attribute columns of the compiled content
+     */
+    private final AttributeColumns attributeColumns;
+
+    /**
+     * The columns of each attribute
+     */
+    private final int[] columns;
+
+    /**
+     * The row of the selected item
+     */
+    private final int row;
+
+    /**
+     * The constructor.
+     *
+     * @param factory          The factory that created this view
+     * @param attributeColumns The attribute columns of the compiled content
+     * @param columns          The columns of each attribute
+     * @param row              The row of the selected item
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    EntityView(@NonNull EntityViewFactory<?> factory, @NonNull AttributeColumns attributeColumns,
+            @NonNull int[] columns, int row) {
+        this.factory = factory;
+        this.attributeColumns = attributeColumns;
+        this.columns = columns;
+        this.row = row;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+        final Integer slot = this.factory.getSlot(method);
+
+        if (slot != null) {
+            return this.getValue(slot);
+        }
+
+        final MethodHandle defaultMethod = this.factory.getDefaultMethod(method);
+
+        if (defaultMethod != null) {
+            return defaultMethod.bindTo(proxy).invokeWithArguments(args != null ? args : new Object[0]);
+        }
+
+        if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+                case "equals":
+                    return this.equals(args[0]);
+                case "hashCode":
+                    return this.hashCode();
+                case "toString":
+                    return this.toString();
+                default:
+                    break;
+            }
+        }
+
+        throw new UnsupportedOperationException(
+                String.format("The method '%s' is not supported by the entity view.", method));
+    }
+
+    /**
+     * Returns the value of the attribute read by the slot passed as an argument.
+     *
+     * @param slot The slot
+     * @return The value of the attribute
+     *
+     * @exception NullPointerException If the slot returns a primitive value and
+     *                                 the attribute does not exist
+     * @exception ClassCastException   If the value cannot be converted to the
+     *                                 primitive return type
+     */
+    private Object getValue(int slot) throws Throwable {
+        final MethodHandle converter = this.factory.getConverter(slot);
+        return converter != null ? (Object) converter.invokeExact(this.getAttribute(slot)) : this.getAttribute(slot);
+    }
+
+    /**
+     * Returns the attribute read by the slot passed as an argument as it is.
+     *
+     * @param slot The slot
+     * @return The attribute, or {@code null} if the attribute does not exist
+     */
+    private Object getAttribute(int slot) {
+        return this.attributeColumns.getObject(this.columns[this.factory.getAttributeIndex(slot)], this.row);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The view is equal to the other view of the same result type whose
+     * attributes are all equal.
+     */
+    @Override
+    public boolean equals(Object object) {
+
+        if (object == null || !Proxy.isProxyClass(object.getClass())) {
+            return false;
+        }
+
+        final InvocationHandler handler = Proxy.getInvocationHandler(object);
+
+        if (!(handler instanceof EntityView) || ((EntityView) handler).factory != this.factory) {
+            return false;
+        }
+
+        final EntityView other = (EntityView) handler;
+
+        for (int slot = 0, size = this.factory.size(); slot < size; slot++) {
+            if (!Objects.equals(this.getAttribute(slot), other.getAttribute(slot))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+
+        int hashCode = 1;
+
+        for (int slot = 0, size = this.factory.size(); slot < size; slot++) {
+            hashCode = 31 * hashCode + Objects.hashCode(this.getAttribute(slot));
+        }
+
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+
+        final StringBuilder string = new StringBuilder(this.factory.getResultTypeName()).append('(');
+
+        for (int slot = 0, size = this.factory.size(); slot < size; slot++) {
+            string.append(slot == 0 ? "" : ", ").append(this.factory.getAttribute(slot)).append('=')
+                    .append(this.getAttribute(slot));
+        }
+
+        return string.append(')').toString();
+    }
+}
@@ -0,0 +1,373 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.mapper;
+
+import java.beans.Introspector;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.thinkit.zenna.annotation.Attribute;
+import org.thinkit.zenna.compiler.AttributeColumns;
+import org.thinkit.zenna.entity.ContentEntity;
+import org.thinkit.zenna.spi.EntityFactory;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * The class that creates a lazy view of a selected item for the result type
+ * declared as an interface.
+ *
+ * <p>
+ * The view is a proxy of the result type that holds only the row of the
+ * selected item in the attribute columns of the compiled content. The
+ * attribute associated with each getter method is read from the attribute
+ * columns only when the getter is called, so creating a view does not depend
+ * on the number of attributes of the result type. The attribute name of a
+ * getter method is the value of the {@link Attribute} annotation if it is
+ * given, otherwise the property name of the getter method such as
+ * {@code "code"} for {@code getCode()} .
+ *
+ * <p>
+ * The proxy class, the attribute of each getter method and the conversion of
+ * the primitive return types are resolved only once when the factory is
+ * created. The default methods of the result type are invoked on the view, and
+ * {@code equals} , {@code hashCode} and {@code toString} are based on the
+ * attributes of the view.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@ToString
+@NoArgsConstructor(access = AccessLevel.PRIVATE, force = true)
+final class EntityViewFactory<T extends ContentEntity> implements EntityFactory<T> {
+
+    /**
+     * The type of the constructor handle of the proxy class
+     */
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, InvocationHandler.class);
+
+    /**
+     * The type of the converter handle
+     */
+    private static final MethodType CONVERTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /**
+     * The result type
+     */
+    private final Class<?> resultType;
+
+    /**
+     * The handle of the constructor of the proxy class
+     */
+    @ToString.Exclude
+    private final MethodHandle constructor;
+
+    /**
+     * The slots associated with each getter method
+     */
+    @ToString.Exclude
+    private final Map<Method, Integer> slots;
+
+    /**
+     * The attribute names read by each slot
+     */
+    private final String[] attributes;
+
+    /**
+     * The handles that convert the value of each slot to the primitive return
+     * type, or {@code null} for the slots returning an object
+     */
+    @ToString.Exclude
+    private final MethodHandle[] converters;
+
+    /**
+     * The handles of the default methods of the result type
+     */
+    @ToString.Exclude
+    private final Map<Method, MethodHandle> defaultMethods;
+
+    /**
+     * The set of attribute names
+     */
+    @ToString.Exclude
+    private final Set<String> attributeSet;
+
+    /**
+     * The indexes of the attribute read by each slot in the set of attribute names
+     */
+    @ToString.Exclude
+    private final int[] attributeIndexes;
+
+    /**
+     * The constructor.
+     *
+     * @param resultType The interface of the result type
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the result type is not an interface
+     * @exception IllegalStateException    If the proxy class or the default methods
+     *                                     of the result type cannot be accessed
+     */
+    private EntityViewFactory(@NonNull Class<?> resultType) {
+
+        if (!resultType.isInterface()) {
+            throw new IllegalArgumentException(
+                    String.format("The result type '%s' must be an interface.", resultType.getName()));
+        }
+
+        this.resultType = resultType;
+        this.slots = new HashMap<>();
+        this.defaultMethods = new HashMap<>();
+
+        final List<String> attributeList = new ArrayList<>();
+        final List<MethodHandle> converterList = new ArrayList<>();
+
+        try {
+            for (final Method method : resultType.getMethods()) {
+                if (Modifier.isStatic(method.getModifiers())) {
+                    continue;
+                }
+
+                if (method.isDefault()) {
+                    this.defaultMethods.put(method,
+                            MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup())
+                                    .unreflectSpecial(method, method.getDeclaringClass()));
+                } else if (this.isGetter(method)) {
+                    this.slots.put(method, attributeList.size());
+                    attributeList.add(this.getAttribute(method));
+                    converterList.add(this.getConverter(method.getReturnType()));
+                }
+            }
+
+            final Object prototype = Proxy.newProxyInstance(resultType.getClassLoader(), new Class<?>[] { resultType },
+                    (proxy, method, args) -> null);
+            final Constructor<?> constructor = prototype.getClass().getConstructor(InvocationHandler.class);
+            constructor.setAccessible(true);
+            this.constructor = MethodHandles.lookup().unreflectConstructor(constructor).asType(CONSTRUCTOR_TYPE);
+        } catch (IllegalAccessException | NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+
+        this.attributes = attributeList.toArray(new String[attributeList.size()]);
+        this.converters = converterList.toArray(new MethodHandle[converterList.size()]);
+        this.attributeSet = Collections.unmodifiableSet(new LinkedHashSet<>(attributeList));
+        this.attributeIndexes = new int[this.attributes.length];
+
+        final List<String> attributeSetList = List.copyOf(this.attributeSet);
+
+        for (int slot = 0; slot < this.attributes.length; slot++) {
+            this.attributeIndexes[slot] = attributeSetList.indexOf(this.attributes[slot]);
+        }
+    }
+
+    /**
+     * Returns the new instance of {@link EntityViewFactory} for the result type
+     * passed as an argument.
+     *
+     * @param <T>        The type of result entity
+     * @param resultType The interface of the result type
+     * @return The new instance of {@link EntityViewFactory}
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the result type is not an interface
+     * @exception IllegalStateException    If the proxy class or the default methods
+     *                                     of the result type cannot be accessed
+     */
+    public static <T extends ContentEntity> EntityViewFactory<T> of(@NonNull Class<?> resultType) {
+        return new EntityViewFactory<>(resultType);
+    }
+
+    @Override
+    public Set<String> getAttributes() {
+        return this.attributeSet;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The returned view holds only the row of the selected item, and reads the
+     * attributes from the attribute columns when the getter methods are called.
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    @Override
+    public T create(@NonNull AttributeColumns attributeColumns, @NonNull int[] columns, int row) {
+        return this.newView(new EntityView(this, attributeColumns, columns, row));
+    }
+
+    /**
+     * Returns the name of the result type.
+     *
+     * @return The name of the result type
+     */
+    String getResultTypeName() {
+        return this.resultType.getSimpleName();
+    }
+
+    /**
+     * Returns the number of slots.
+     *
+     * @return The number of slots
+     */
+    int size() {
+        return this.attributes.length;
+    }
+
+    /**
+     * Returns the slot of the getter method passed as an argument.
+     *
+     * @param method The method
+     * @return The slot of the getter method, or {@code null} if the method is not
+     *         a getter method
+     */
+    Integer getSlot(Method method) {
+        return this.slots.get(method);
+    }
+
+    /**
+     * Returns the attribute name read by the slot passed as an argument.
+     *
+     * @param slot The slot
+     * @return The attribute name
+     */
+    String getAttribute(int slot) {
+        return this.attributes[slot];
+    }
+
+    /**
+     * Returns the index of the attribute read by the slot passed as an argument in
+     * the set of attribute names.
+     *
+     * @param slot The slot
+     * @return The index of the attribute
+     */
+    int getAttributeIndex(int slot) {
+        return this.attributeIndexes[slot];
+    }
+
+    /**
+     * Returns the handle that converts the value of the slot passed as an argument
+     * to the primitive return type.
+     *
+     * @param slot The slot
+     * @return The handle that converts the value, or {@code null} if the slot
+     *         returns an object
+     */
+    MethodHandle getConverter(int slot) {
+        return this.converters[slot];
+    }
+
+    /**
+     * Returns the handle of the default method passed as an argument.
+     *
+     * @param method The method
+     * @return The handle of the default method, or {@code null} if the method is
+     *         not a default method of the result type
+     */
+    MethodHandle getDefaultMethod(Method method) {
+        return this.defaultMethods.get(method);
+    }
+
+    /**
+     * Returns the new proxy of the result type backed by the view passed as an
+     * argument.
+     *
+     * @param entityView The view
+     * @return The new proxy of the result type
+     *
+     * @exception IllegalStateException If the proxy cannot be created
+     */
+    @SuppressWarnings("unchecked")
+    private T newView(EntityView entityView) {
+        try {
+            return (T) (Object) this.constructor.invokeExact((InvocationHandler) entityView);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Checks if the method passed as an argument is a getter method, which is an
+     * abstract method that has no parameters and returns a value.
+     *
+     * @param method The method
+     * @return {@code true} if the method is a getter method, otherwise
+     *         {@code false}
+     */
+    private boolean isGetter(Method method) {
+        return method.getParameterCount() == 0 && method.getReturnType() != void.class;
+    }
+
+    /**
+     * Returns the attribute name of the getter method passed as an argument.
+     *
+     * @param method The getter method
+     * @return The value of the {@link Attribute} annotation if it is given to the
+     *         method, otherwise the property name of the method
+     */
+    private String getAttribute(Method method) {
+
+        if (method.isAnnotationPresent(Attribute.class)) {
+            return method.getAnnotation(Attribute.class).value();
+        }
+
+        final String name = method.getName();
+
+        if (name.length() > 3 && name.startsWith("get")) {
+            return Introspector.decapitalize(name.substring(3));
+        } else if (name.length() > 2 && name.startsWith("is") && method.getReturnType() == boolean.class) {
+            return Introspector.decapitalize(name.substring(2));
+        }
+
+        return name;
+    }
+
+    /**
+     * Returns the handle that converts a value to the return type passed as an
+     * argument in the same way as unboxing, and boxes it again.
+     *
+     * @param returnType The return type
+     * @return The handle that converts a value, or {@code null} if the return type
+     *         is not primitive
+     */
+    private MethodHandle getConverter(Class<?> returnType) {
+
+        if (!returnType.isPrimitive()) {
+            return null;
+        }
+
+        return MethodHandles.identity(Object.class).asType(MethodType.methodType(returnType, Object.class))
+                .asType(CONVERTER_TYPE);
+    }
+}
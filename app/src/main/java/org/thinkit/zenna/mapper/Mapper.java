@@ -14,10 +14,16 @@
 
 package org.thinkit.zenna.mapper;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.thinkit.zenna.entity.ContentEntity;
 
+import lombok.NonNull;
+
 /**
  * An interface that abstracts mapping.
  *
@@ -34,4 +40,155 @@ public interface Mapper<R extends ContentEntity> {
      * @return Entity list containing the items retrieved from the specified content
      */
     public List<R> scan();
+
+    /**
+     * Performs the mapping process between the content class and the content file,
+     * and returns the Entity list containing only the attributes of the projection
+     * retrieved from the specified content. The other fields of each Entity are
+     * left with their default values, and the attributes that are not included in
+     * the projection are never read from the content.
+     *
+     * <p>
+     * The default implementation throws {@link UnsupportedOperationException} ,
+     * since the attributes cannot be left unread once {@link #scan()} binds them.
+     *
+     * @param projection The projection of the attributes to retrieve
+     * @return Entity list containing the attributes of the projection retrieved
+     *         from the specified content
+     *
+     * @exception NullPointerException          If {@code null} is passed as an
+     *                                          argument
+     * @exception IllegalArgumentException      If the projection has an attribute
+     *                                          that the Entity does not have
+     * @exception UnsupportedOperationException If the mapper does not support
+     *                                          projections
+     */
+    public default List<R> scan(Projection projection) {
+        throw new UnsupportedOperationException("The mapper does not support projections.");
+    }
+
+    /**
+     * Performs the mapping process between the content class and the content file,
+     * and returns the list of the projection type containing the items retrieved
+     * from the specified content. The projection type is usually a smaller class
+     * than the Entity, and only the attributes of the projection type are read
+     * from the content.
+     *
+     * <p>
+     * The default implementation throws {@link UnsupportedOperationException} ,
+     * since the Entity returned by {@link #scan()} cannot be converted into the
+     * projection type.
+     *
+     * @param <P>            The projection type
+     * @param projectionType The class of the projection type
+     * @return The list of the projection type containing the items retrieved from
+     *         the specified content
+     *
+     * @exception NullPointerException          If {@code null} is passed as an
+     *                                          argument
+     * @exception UnsupportedOperationException If the mapper does not support
+     *                                          projections
+     */
+    public default <P extends ContentEntity> List<P> scan(Class<P> projectionType) {
+        throw new UnsupportedOperationException("The mapper does not support projections.");
+    }
+
+    /**
+     * Performs the mapping process between the content class and the content file,
+     * and returns the lazy stream of Entity containing the items retrieved from the
+     * specified content. Each Entity is created only when the stream is consumed,
+     * so the caller that aggregates the items or stops early never holds the whole
+     * result.
+     *
+     * <p>
+     * The default implementation returns the stream of the list returned by
+     * {@link #scan()} , so every Entity is created at once.
+     *
+     * @return The stream of Entity containing the items retrieved from the
+     *         specified content
+     */
+    public default Stream<R> scanStream() {
+        return this.scan().stream();
+    }
+
+    /**
+     * Performs the mapping process between the content class and the content file,
+     * and returns the lazy iterator of Entity containing the items retrieved from
+     * the specified content. Each Entity is created only when the iterator is
+     * advanced.
+     *
+     * @return The iterator of Entity containing the items retrieved from the
+     *         specified content
+     */
+    public default Iterator<R> scanIterator() {
+        return this.scanStream().iterator();
+    }
+
+    /**
+     * Performs the mapping process between the content class and the content file,
+     * and passes each Entity containing the items retrieved from the specified
+     * content to the consumer in order.
+     *
+     * <p>
+     * If the Entity is mutable, a single Entity instance is reused for every item
+     * within a call, and its fields are overwritten before it is passed to the
+     * consumer. Therefore, the consumer must not hold the passed Entity beyond
+     * the call of the consumer, and should copy the values it needs.
+     *
+     * <p>
+     * The default implementation passes each Entity of the stream returned by
+     * {@link #scanStream()} to the consumer.
+     *
+     * @param consumer The consumer of each Entity
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public default void scan(@NonNull final Consumer<? super R> consumer) {
+        this.scanStream().forEachOrdered(consumer);
+    }
+
+    /**
+     * Performs the mapping process between the content class and the content file,
+     * and returns the first Entity containing the items retrieved from the
+     * specified content. Only the first Entity is created.
+     *
+     * <p>
+     * The default implementation returns the first Entity of the stream returned
+     * by {@link #scanStream()} .
+     *
+     * @return The first Entity containing the items retrieved from the specified
+     *         content, or {@link Optional#empty()} if no item is retrieved
+     */
+    public default Optional<R> scanFirst() {
+        return this.scanStream().findFirst();
+    }
+
+    /**
+     * Checks if any item is retrieved from the specified content. No Entity is
+     * created.
+     *
+     * <p>
+     * The default implementation checks the first Entity returned by
+     * {@link #scanFirst()} .
+     *
+     * @return {@code true} if any item is retrieved from the specified content,
+     *         otherwise {@code false}
+     */
+    public default boolean exists() {
+        return this.scanFirst().isPresent();
+    }
+
+    /**
+     * Returns the number of items retrieved from the specified content. No Entity
+     * is created.
+     *
+     * <p>
+     * The default implementation returns the size of the list returned by
+     * {@link #scan()} .
+     *
+     * @return The number of items retrieved from the specified content
+     */
+    public default int count() {
+        return this.scan().size();
+    }
 }
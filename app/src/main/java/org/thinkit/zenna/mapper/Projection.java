@@ -0,0 +1,116 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.mapper;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * The class that represents the attributes of the result entity requested by
+ * the caller of {@link Mapper#scan(Projection)} .
+ *
+ * <p>
+ * Only the attributes included in the projection are read from the compiled
+ * content and bound to the result entity, and the other fields of the result
+ * entity are left with their default values.
+ *
+ * <pre>
+ * final List&lt;ResultEntity&gt; results = mapper.scan(Projection.of("code", "label"));
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor(access = AccessLevel.PRIVATE, force = true)
+public final class Projection {
+
+    /**
+     * The set of attribute names
+     */
+    private final Set<String> attributes;
+
+    /**
+     * The constructor.
+     *
+     * @param attributes The attribute names
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If no attribute name is passed
+     */
+    private Projection(@NonNull Collection<String> attributes) {
+
+        if (attributes.isEmpty()) {
+            throw new IllegalArgumentException("The projection must have at least one attribute.");
+        }
+
+        final Set<String> attributeSet = new LinkedHashSet<>(attributes.size());
+
+        for (final String attribute : attributes) {
+            attributeSet.add(Objects.requireNonNull(attribute));
+        }
+
+        this.attributes = Collections.unmodifiableSet(attributeSet);
+    }
+
+    /**
+     * Returns the new instance of {@link Projection} based on the attribute names
+     * passed as arguments.
+     *
+     * @param attributes The attribute names
+     * @return The new instance of {@link Projection}
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If no attribute name is passed
+     */
+    public static Projection of(@NonNull String... attributes) {
+        return new Projection(Arrays.asList(attributes));
+    }
+
+    /**
+     * Returns the new instance of {@link Projection} based on the attribute names
+     * passed as an argument.
+     *
+     * @param attributes The attribute names
+     * @return The new instance of {@link Projection}
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If no attribute name is passed
+     */
+    public static Projection of(@NonNull Collection<String> attributes) {
+        return new Projection(attributes);
+    }
+
+    /**
+     * Returns the set of attribute names in the order passed when the projection
+     * was created.
+     *
+     * @return The set of attribute names
+     */
+    public Set<String> getAttributes() {
+        return this.attributes;
+    }
+}
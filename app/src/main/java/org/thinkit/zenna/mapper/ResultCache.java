@@ -0,0 +1,149 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.mapper;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import org.thinkit.zenna.compiler.CompiledContent;
+import org.thinkit.zenna.compiler.ConditionTuple;
+import org.thinkit.zenna.entity.ContentEntity;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * The class that caches the results of content retrieval for each combination
+ * of condition values.
+ *
+ * <p>
+ * The cache is bound to a specific compiled content, so the cached results are
+ * never returned for the content loaded again. The number of cached results is
+ * bounded, and the result least recently used is evicted first.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@ToString
+@NoArgsConstructor(access = AccessLevel.PRIVATE, force = true)
+final class ResultCache<T extends ContentEntity> {
+
+    /**
+     * The compiled content to which the cache is bound
+     */
+    @ToString.Exclude
+    private final CompiledContent compiledContent;
+
+    /**
+     * The results associated with each condition tuple
+     */
+    @ToString.Exclude
+    private final Cache<ConditionTuple, List<T>> results;
+
+    /**
+     * The constructor.
+     *
+     * @param compiledContent The compiled content to which the cache is bound
+     * @param maximumSize     The maximum number of cached results
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private ResultCache(@NonNull CompiledContent compiledContent, long maximumSize) {
+        this.compiledContent = compiledContent;
+        this.results = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    /**
+     * Returns the new instance of {@link ResultCache} bound to the compiled
+     * content passed as an argument.
+     *
+     * @param <T>             The type of result entity
+     * @param compiledContent The compiled content to which the cache is bound
+     * @param maximumSize     The maximum number of cached results
+     * @return The new instance of {@link ResultCache}
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If {@code maximumSize} is negative
+     */
+    public static <T extends ContentEntity> ResultCache<T> from(@NonNull CompiledContent compiledContent,
+            long maximumSize) {
+        return new ResultCache<>(compiledContent, maximumSize);
+    }
+
+    /**
+     * Checks if this cache is bound to the compiled content passed as an argument.
+     *
+     * @param compiledContent The compiled content
+     * @return {@code true} if this cache is bound to the compiled content,
+     *         otherwise {@code false}
+     */
+    public boolean isBoundTo(CompiledContent compiledContent) {
+        return this.compiledContent == compiledContent;
+    }
+
+    /**
+     * Returns the cached result associated with the conditions passed as an
+     * argument. If the result is not cached, the result returned by
+     * {@code resultSupplier} is cached as an unmodifiable list and returned.
+     *
+     * <p>
+     * The result is loaded atomically, so {@code resultSupplier} is called only
+     * once for the same conditions even if the result is requested by multiple
+     * threads at the same time, and the other threads wait for the result to be
+     * loaded. The copy of the condition tuple is used as the key of the cache, so
+     * the tuple can be reused after calling this method.
+     *
+     * @param conditionTuple The tuple holding condition data
+     * @param resultSupplier The supplier that evaluates the content
+     * @return The unmodifiable result list
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public List<T> get(@NonNull ConditionTuple conditionTuple, @NonNull Supplier<List<T>> resultSupplier) {
+
+        final List<T> cachedResult = this.results.getIfPresent(conditionTuple);
+
+        if (cachedResult != null) {
+            return cachedResult;
+        }
+
+        try {
+            return this.results.get(conditionTuple.copy(),
+                    () -> Collections.unmodifiableList(resultSupplier.get()));
+        } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Returns the number of cached results.
+     *
+     * @return The number of cached results
+     */
+    public long size() {
+        return this.results.size();
+    }
+}
@@ -14,20 +14,27 @@
 
 package org.thinkit.zenna.mapper;
 
-import java.io.Serializable;
+import java.beans.ConstructorProperties;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashSet;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.thinkit.zenna.annotation.Attribute;
+import org.thinkit.zenna.compiler.AttributeColumns;
 import org.thinkit.zenna.entity.ContentEntity;
 import org.thinkit.zenna.exception.ResultTypeNotFoundException;
+import org.thinkit.zenna.spi.EntityFactory;
+import org.thinkit.zenna.spi.GeneratedClasses;
 import org.thinkit.zenna.util.FieldResolver;
 
 import lombok.AccessLevel;
@@ -39,121 +46,595 @@ import lombok.ToString;
 /**
  * The class that represents the type of the result of content retrieval.
  *
+ * <p>
+ * The attributes and the {@link EntityFactory} of the result type are resolved
+ * only once for each class when the class is first used as a result type, and
+ * shared by every content that uses the class as a result type. The
+ * {@link EntityFactory} generated by the annotation processor is used if it
+ * exists. Otherwise, the {@link EntityViewFactory} is used if the result type
+ * is an interface, the {@link ConstructorBinder} is used if the result type is
+ * a record or has a constructor annotated with {@link ConstructorProperties} ,
+ * and the {@link EntityBinder} is used for the other result types.
+ *
+ * <p>
+ * The result type projected to the attributes of a {@link Projection} is
+ * created by {@link #project(Projection)} and reused for the same projection.
+ * The projected result type binds only the attributes of the projection, so
+ * the columns of the other attributes are never read.
+ *
  * @author Kato Shinya
  * @since 1.0.0
  */
 @ToString
 @EqualsAndHashCode
-@NoArgsConstructor(access = AccessLevel.PRIVATE)
-final class ResultType<T extends ContentEntity> implements Serializable {
+@NoArgsConstructor(access = AccessLevel.PRIVATE, force = true)
+final class ResultType<T extends ContentEntity> {
+
+    /**
+     * The result types associated with each class of content entity
+     */
+    private static final ClassValue<ResultType<?>> RESULT_TYPES = new ClassValue<>() {
+
+        @Override
+        protected ResultType<?> computeValue(Class<?> type) {
+            return new ResultType<>(type);
+        }
+    };
 
     /**
-     * The serial version UID
+     * The method returning the record components of a class, or {@code null} if
+     * the runtime does not support records
      */
-    private static final long serialVersionUID = -3664581429594247412L;
+    private static final Method GET_RECORD_COMPONENTS = findMethod("java.lang.Class", "getRecordComponents");
+
+    /**
+     * The method returning the name of a record component, or {@code null} if the
+     * runtime does not support records
+     */
+    private static final Method GET_COMPONENT_NAME = findMethod("java.lang.reflect.RecordComponent", "getName");
+
+    /**
+     * The method returning the type of a record component, or {@code null} if the
+     * runtime does not support records
+     */
+    private static final Method GET_COMPONENT_TYPE = findMethod("java.lang.reflect.RecordComponent", "getType");
 
     /**
      * The result type
      */
-    private Class<?> resultType;
+    private final Class<?> resultType;
+
+    /**
+     * The set of attribute names
+     */
+    private final Set<String> attributes;
 
     /**
-     * The cache of attibutes
+     * The factory of result entity
      */
-    private Set<String> cachedAttirbutes;
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final EntityFactory<T> entityFactory;
+
+    /**
+     * The result types projected to each projection
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final Map<Projection, ResultType<T>> projections = new ConcurrentHashMap<>();
 
     /**
      * The constructor
      *
-     * @param className The fully qualified name of the desired class
+     * @param resultType The class of the result type
      *
      * @exception NullPointerException If {@code null} is passed as an argument
      */
-    private ResultType(@NonNull String className) {
+    private ResultType(@NonNull Class<?> resultType) {
+        this(resultType, null);
+    }
+
+    /**
+     * The constructor
+     *
+     * @param resultType    The class of the result type
+     * @param entityFactory The factory of result entity, or {@code null} to
+     *                      resolve it from the result type
+     *
+     * @exception NullPointerException If {@code resultType} is {@code null}
+     */
+    private ResultType(@NonNull Class<?> resultType, EntityFactory<T> entityFactory) {
+        this.resultType = resultType;
+        this.entityFactory = entityFactory != null ? entityFactory : this.createEntityFactory(resultType);
+        this.attributes = this.entityFactory.getAttributes();
+    }
+
+    /**
+     * Returns the instance of {@code ResultType} based on {@code className} passed
+     * as an argument. The class is loaded with the class loader that loaded this
+     * class.
+     *
+     * @param className The fully qualified name of the desired class
+     * @return The instance of {@code ResultType}
+     *
+     * @exception NullPointerException        If {@code null} is passed as an
+     *                                        argument
+     * @exception ResultTypeNotFoundException If the class is not found
+     */
+    public static <T extends ContentEntity> ResultType<T> from(@NonNull String className) {
+        return from(className, ResultType.class.getClassLoader());
+    }
+
+    /**
+     * Returns the instance of {@code ResultType} based on {@code className} passed
+     * as an argument. The class is loaded with {@code classLoader} .
+     *
+     * @param className   The fully qualified name of the desired class
+     * @param classLoader The class loader used to load the class
+     * @return The instance of {@code ResultType}
+     *
+     * @exception NullPointerException        If {@code null} is passed as an
+     *                                        argument
+     * @exception ResultTypeNotFoundException If the class is not found
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends ContentEntity> ResultType<T> from(@NonNull String className,
+            @NonNull ClassLoader classLoader) {
         try {
-            this.resultType = Class.forName(className);
+            return (ResultType<T>) RESULT_TYPES.get(Class.forName(className, true, classLoader));
         } catch (ClassNotFoundException e) {
             throw new ResultTypeNotFoundException(e);
         }
     }
 
     /**
-     * Returns the new instance of {@code ResultType} based on {@code className}
-     * passed as an argument.
+     * Returns the instance of {@code ResultType} based on the class passed as an
+     * argument.
      *
-     * @param className The fully qualified name of the desired class
-     * @return The new instance of {@code ResultType}
+     * @param resultType The class of the result type
+     * @return The instance of {@code ResultType}
      *
      * @exception NullPointerException If {@code null} is passed as an argument
      */
-    public static <T extends ContentEntity> ResultType<T> from(@NonNull String className) {
-        return new ResultType<>(className);
+    @SuppressWarnings("unchecked")
+    public static <T extends ContentEntity> ResultType<T> from(@NonNull Class<T> resultType) {
+        return (ResultType<T>) RESULT_TYPES.get(resultType);
     }
 
     /**
-     * Returns a set of attribute names for the content.
+     * Returns the result type that binds only the attributes of the projection
+     * passed as an argument. The other fields of the result entity are left with
+     * their default values. The returned result type is reused for the same
+     * projection.
      *
-     * <p>
-     * On the second and subsequent method calls, the cached attribute set will be
-     * returned.
+     * @param projection The projection
+     * @return The result type projected to the attributes of the projection
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the projection has an attribute that
+     *                                     the result type does not have
+     */
+    public ResultType<T> project(@NonNull Projection projection) {
+
+        final ResultType<T> resultType = this.projections.get(projection);
+
+        if (resultType != null) {
+            return resultType;
+        }
+
+        for (final String attribute : projection.getAttributes()) {
+            if (!this.attributes.contains(attribute)) {
+                throw new IllegalArgumentException(String.format("The attribute '%s' is not defined in '%s'.",
+                        attribute, this.resultType.getName()));
+            }
+        }
+
+        return this.projections.computeIfAbsent(projection, key -> new ResultType<>(this.resultType,
+                this.createProjectionFactory(this.resultType, key.getAttributes())));
+    }
+
+    /**
+     * Returns the fully qualified name of the result type.
+     *
+     * @return The fully qualified name of the result type
+     */
+    public String getName() {
+        return this.resultType.getName();
+    }
+
+    /**
+     * Checks if the entities of the result type are immutable. The result type is
+     * regarded as immutable if it is an interface bound as a lazy view, or if every
+     * non-static field declared in the result type and its super classes is final,
+     * such as a record or a value type bound with the constructor.
+     *
+     * @return {@code true} if the entities of the result type are immutable,
+     *         otherwise {@code false}
+     */
+    public boolean isImmutable() {
+
+        if (this.resultType.isInterface()) {
+            return true;
+        }
+
+        for (Class<?> type = this.resultType; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (final Field field : type.getDeclaredFields()) {
+                if (!FieldResolver.isStatic(field) && !FieldResolver.isFinal(field)) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns a set of attribute names for the content.
      *
      * @return The set of attribute names
      */
     public Set<String> getAttributes() {
+        return this.attributes;
+    }
+
+    /**
+     * Returns the columns of each attribute of the result type in the attribute
+     * columns passed as an argument. The returned columns are passed to
+     * {@link #createResultEntity(AttributeColumns, int[], int)} .
+     *
+     * @param attributeColumns The attribute columns of the compiled content
+     * @return The columns of each attribute
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public int[] getColumns(@NonNull final AttributeColumns attributeColumns) {
+        return attributeColumns.getColumns(this.attributes);
+    }
+
+    /**
+     * Returns the list of content entity object created from the rows of the
+     * attribute columns passed as arguments, in the order of the rows.
+     *
+     * @param attributeColumns The attribute columns of the compiled content
+     * @param rows             The rows of the selected items
+     * @return The list of content entity object
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @exception IllegalStateException If the content entity object cannot be
+     *                                  generated
+     */
+    public List<T> createResultEntities(@NonNull final AttributeColumns attributeColumns,
+            @NonNull final BitSet rows) {
 
-        if (this.cachedAttirbutes != null) {
-            return this.cachedAttirbutes;
+        final int[] columns = this.getColumns(attributeColumns);
+        final List<T> resultEntities = new ArrayList<>(rows.cardinality());
+
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+            resultEntities.add(this.createResultEntity(attributeColumns, columns, row));
         }
 
-        final Set<String> attributes = new HashSet<>();
+        return resultEntities;
+    }
 
-        Arrays.asList(this.resultType.getDeclaredFields()).forEach(field -> {
-            field.setAccessible(true);
+    /**
+     * Returns the content entity object created from the row of the attribute
+     * columns passed as arguments.
+     *
+     * @param attributeColumns The attribute columns of the compiled content
+     * @param columns          The columns of each attribute returned by
+     *                         {@link #getColumns(AttributeColumns)}
+     * @param row              The row of the selected item
+     * @return The content entity object
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @exception IllegalStateException If the content entity object cannot be
+     *                                  generated
+     */
+    public T createResultEntity(@NonNull final AttributeColumns attributeColumns, @NonNull final int[] columns,
+            final int row) {
+        try {
+            return this.entityFactory.create(attributeColumns, columns, row);
+        } catch (ClassCastException | NullPointerException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 
-            if (!FieldResolver.isStatic(field)) {
-                attributes.add(this.getAttribute(field));
+    /**
+     * Binds the row of the attribute columns passed as arguments to the content
+     * entity object passed as an argument, and returns the bound content entity
+     * object. The content entity object is reused if the factory of result entity
+     * supports it, otherwise the new content entity object is returned.
+     *
+     * @param resultEntity     The content entity object to be reused, or
+     *                         {@code null} to create the new one
+     * @param attributeColumns The attribute columns of the compiled content
+     * @param columns          The columns of each attribute returned by
+     *                         {@link #getColumns(AttributeColumns)}
+     * @param row              The row of the selected item
+     * @return The bound content entity object
+     *
+     * @exception NullPointerException  If {@code attributeColumns} or
+     *                                  {@code columns} is {@code null}
+     * @exception IllegalStateException If the content entity object cannot be
+     *                                  bound
+     */
+    public T bindResultEntity(final T resultEntity, @NonNull final AttributeColumns attributeColumns,
+            @NonNull final int[] columns, final int row) {
+        try {
+            return this.entityFactory.bind(resultEntity, attributeColumns, columns, row);
+        } catch (ClassCastException | NullPointerException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the factory of result entity. If the {@link EntityFactory} generated
+     * by the annotation processor exists for the result type, the generated
+     * factory is returned. Otherwise, the {@link EntityViewFactory} is returned if
+     * the result type is an interface, the {@link ConstructorBinder} is returned
+     * if the result type has a constructor to bind, and the {@link EntityBinder}
+     * is returned if it does not.
+     *
+     * @param resultType The class of the result type
+     * @return The factory of result entity
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    @SuppressWarnings("unchecked")
+    private EntityFactory<T> createEntityFactory(@NonNull Class<?> resultType) {
+
+        final EntityFactory<T> entityFactory = GeneratedClasses.newInstance(resultType, EntityFactory.SUFFIX,
+                EntityFactory.class);
+
+        if (entityFactory != null) {
+            return entityFactory;
+        }
+
+        if (resultType.isInterface()) {
+            return EntityViewFactory.of(resultType);
+        }
+
+        final Map<Field, String> fields = this.createFields(resultType);
+        final Constructor<?> constructor = this.getBindingConstructor(resultType);
+
+        if (constructor != null) {
+            return ConstructorBinder.of(constructor, this.getArguments(constructor, fields));
+        }
+
+        return EntityBinder.of(resultType, fields);
+    }
+
+    /**
+     * Returns the factory of result entity that binds only the attributes passed
+     * as an argument. The factory of result entity of this result type is returned
+     * as it is if the result type is an interface, since the
+     * {@link EntityViewFactory} reads each attribute only when it is accessed.
+     * Otherwise, the {@link ConstructorBinder} that passes the default value to
+     * the other arguments is returned if the result type has a constructor to
+     * bind, and the {@link EntityBinder} that sets only the fields of the
+     * attributes is returned if it does not. The factory generated by the
+     * annotation processor is not used since it binds every attribute.
+     *
+     * @param resultType The class of the result type
+     * @param attributes The attribute names to bind
+     * @return The factory of result entity that binds only the attributes
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private EntityFactory<T> createProjectionFactory(@NonNull Class<?> resultType,
+            @NonNull Set<String> attributes) {
+
+        if (resultType.isInterface()) {
+            return this.entityFactory;
+        }
+
+        final Map<Field, String> fields = this.createFields(resultType);
+        final Constructor<?> constructor = this.getBindingConstructor(resultType);
+
+        if (constructor != null) {
+            final List<String> arguments = new ArrayList<>(this.getArguments(constructor, fields));
+            arguments.replaceAll(argument -> attributes.contains(argument) ? argument : null);
+            return ConstructorBinder.of(constructor, arguments);
+        }
+
+        final Map<Field, String> projectedFields = new LinkedHashMap<>();
+
+        fields.forEach((field, attribute) -> {
+            if (attributes.contains(attribute)) {
+                projectedFields.put(field, attribute);
             }
         });
 
-        this.cachedAttirbutes = attributes;
+        return EntityBinder.of(resultType, projectedFields);
+    }
+
+    /**
+     * Returns the constructor to which the attributes are passed as arguments, or
+     * {@code null} if the result type does not have it. The canonical constructor
+     * is returned if the result type is a record, otherwise the constructor
+     * annotated with {@link ConstructorProperties} is returned. The returned
+     * constructor is made accessible.
+     *
+     * @param resultType The class of the result type
+     * @return The constructor to which the attributes are passed as arguments
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @exception IllegalStateException If the record components cannot be read
+     */
+    private Constructor<?> getBindingConstructor(@NonNull Class<?> resultType) {
+
+        final Object[] recordComponents = this.getRecordComponents(resultType);
+
+        if (recordComponents != null) {
+            final Class<?>[] parameterTypes = new Class<?>[recordComponents.length];
+
+            for (int i = 0; i < parameterTypes.length; i++) {
+                parameterTypes[i] = (Class<?>) invoke(GET_COMPONENT_TYPE, recordComponents[i]);
+            }
 
-        return attributes;
+            try {
+                final Constructor<?> constructor = resultType.getDeclaredConstructor(parameterTypes);
+                constructor.setAccessible(true);
+                return constructor;
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+
+        for (final Constructor<?> constructor : resultType.getDeclaredConstructors()) {
+            if (constructor.isAnnotationPresent(ConstructorProperties.class)) {
+                constructor.setAccessible(true);
+                return constructor;
+            }
+        }
+
+        return null;
     }
 
     /**
-     * Returns the list of content entity object dynamically generated from the data
-     * defined in the content file.
+     * Returns the attribute names passed as each argument of the constructor.
      *
-     * @param contents The content object
-     * @return The list of content entity object
+     * <p>
+     * Each property name set in the {@link ConstructorProperties} annotation of
+     * the constructor, or each name of the record components in the declaration
+     * order if the constructor is the canonical constructor of a record, is
+     * resolved to the attribute name associated with the field of the same name,
+     * or is used as the attribute name if such a field does not exist.
      *
-     * @exception NullPointerException If {@code null} is passed as an argument
+     * @param constructor The constructor of the result type
+     * @param fields      The attribute names associated with each non-static field
+     *                    of the result type
+     * @return The attribute names passed as each argument of the constructor
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @exception IllegalStateException If the record components cannot be read
      */
-    public List<T> createResultEntities(@NonNull final List<Map<String, Object>> contents) {
+    private List<String> getArguments(@NonNull Constructor<?> constructor, @NonNull Map<Field, String> fields) {
 
-        final List<T> resultEntities = new ArrayList<>();
+        final Map<String, String> attributes = new LinkedHashMap<>();
+        fields.forEach((field, attribute) -> attributes.put(field.getName(), attribute));
+
+        final String[] properties = this.getProperties(constructor);
+        final List<String> arguments = new ArrayList<>(properties.length);
+
+        for (final String property : properties) {
+            arguments.add(attributes.getOrDefault(property, property));
+        }
 
+        return arguments;
+    }
+
+    /**
+     * Returns the property names passed as each argument of the constructor. The
+     * property names set in the {@link ConstructorProperties} annotation are
+     * returned if the constructor has it, otherwise the names of the record
+     * components are returned.
+     *
+     * @param constructor The constructor of the result type
+     * @return The property names passed as each argument of the constructor
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @exception IllegalStateException If the record components cannot be read
+     */
+    private String[] getProperties(@NonNull Constructor<?> constructor) {
+
+        final ConstructorProperties constructorProperties = constructor.getAnnotation(ConstructorProperties.class);
+
+        if (constructorProperties != null) {
+            return constructorProperties.value();
+        }
+
+        final Object[] recordComponents = this.getRecordComponents(constructor.getDeclaringClass());
+        final String[] properties = new String[recordComponents.length];
+
+        for (int i = 0; i < properties.length; i++) {
+            properties[i] = (String) invoke(GET_COMPONENT_NAME, recordComponents[i]);
+        }
+
+        return properties;
+    }
+
+    /**
+     * Returns the record components of the result type in the declaration order,
+     * or {@code null} if the result type is not a record. The record components are
+     * read by {@code Class#getRecordComponents()} called reflectively, so this
+     * class does not depend on the reflection API for records at compile time.
+     *
+     * @param resultType The class of the result type
+     * @return The record components of the result type, or {@code null} if the
+     *         result type is not a record
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @exception IllegalStateException If the record components cannot be read
+     */
+    private Object[] getRecordComponents(@NonNull Class<?> resultType) {
+
+        if (GET_RECORD_COMPONENTS == null) {
+            return null;
+        }
+
+        return (Object[]) invoke(GET_RECORD_COMPONENTS, resultType);
+    }
+
+    /**
+     * Returns the public method without parameters declared by the class passed
+     * as an argument, or {@code null} if the class or the method does not exist
+     * in the runtime.
+     *
+     * @param className  The fully qualified name of the class
+     * @param methodName The name of the method
+     * @return The method, or {@code null} if it does not exist
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private static Method findMethod(@NonNull String className, @NonNull String methodName) {
         try {
-            for (final Map<String, Object> content : contents) {
-                final T resultEntity = this.getResultEntity();
-                final List<Field> fields = Arrays.asList(resultEntity.getClass().getDeclaredFields());
+            return Class.forName(className).getMethod(methodName);
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            return null;
+        }
+    }
 
-                for (final Field field : fields) {
-                    field.setAccessible(true);
+    /**
+     * Invokes the method without parameters on the target passed as an argument
+     * and returns the result.
+     *
+     * @param method The method
+     * @param target The target of the invocation
+     * @return The result of the invocation
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @exception IllegalStateException If the method cannot be invoked
+     */
+    private static Object invoke(@NonNull Method method, @NonNull Object target) {
+        try {
+            return method.invoke(target);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 
-                    if (!FieldResolver.isStatic(field)) {
-                        field.set(resultEntity, content.get(this.getAttribute(field)));
-                    }
-                }
+    /**
+     * Returns the attribute names associated with each non-static field of the
+     * result type. Each field is made accessible.
+     *
+     * @param resultType The class of the result type
+     * @return The attribute names associated with each field
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private Map<Field, String> createFields(@NonNull Class<?> resultType) {
 
-                resultEntities.add(resultEntity);
+        final Map<Field, String> fields = new LinkedHashMap<>();
+
+        for (final Field field : resultType.getDeclaredFields()) {
+            if (!FieldResolver.isStatic(field)) {
+                field.setAccessible(true);
+                fields.put(field, this.getAttribute(field));
             }
-        } catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException
-                | SecurityException | NoSuchMethodException e) {
-            throw new IllegalStateException(e);
         }
 
-        return resultEntities;
+        return Collections.unmodifiableMap(fields);
     }
 
     /**
@@ -178,42 +659,4 @@ final class ResultType<T extends ContentEntity> implements Serializable {
 
         return field.getName();
     }
-
-    /**
-     * Generates and returns a new instance of the class object generated from the
-     * package name defined in {@code "resultType"} of the content file.
-     *
-     * @return The new instance of the class object generated from the package name
-     *         defined in {@code "resultType"} of the content file
-     *
-     * @throws InstantiationException    If the class that declares the underlying
-     *                                   constructor represents an abstract class
-     * @throws IllegalAccessException    If {@code Constructor} object is enforcing
-     *                                   Java language access control and the
-     *                                   underlying constructor is inaccessible
-     * @throws IllegalArgumentException  If the number of actual and formal
-     *                                   parameters differ; if an unwrapping
-     *                                   conversion for primitive arguments fails;
-     *                                   or if, after possible unwrapping, a
-     *                                   parameter value cannot be converted to the
-     *                                   corresponding formal parameter type by a
-     *                                   method invocation conversion; if this
-     *                                   constructor pertains to an enum type
-     * @throws InvocationTargetException If the underlying constructor throws an
-     *                                   exception
-     * @throws NoSuchMethodException     If a matching method is not found
-     * @throws SecurityException         If a security manager is present and the
-     *                                   caller's class loader is not the same as or
-     *                                   an ancestor of the class loader for the
-     *                                   current class and invocation of
-     *                                   {@link SecurityManager#checkPackageAccess
-     *                                   s.checkPackageAccess()} denies access to
-     *                                   the package of this class
-     */
-    @SuppressWarnings("unchecked")
-    private T getResultEntity() throws InstantiationException, IllegalAccessException, IllegalArgumentException,
-            InvocationTargetException, NoSuchMethodException, SecurityException {
-        final Constructor<?> constructor = this.resultType.getConstructor();
-        return (T) constructor.newInstance();
-    }
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.registry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.thinkit.zenna.compiler.CompiledContent;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * The class that coordinates concurrent loading of the same content.
+ *
+ * <p>
+ * When several threads request the same content that is not loaded yet, only
+ * the first thread actually loads the content and the other threads join the
+ * loading in flight. Every thread that joined the loading receives the same
+ * result, and if the loading fails, every thread receives the same failure.
+ * Once the loading is finished, whether it succeeded or failed, the loading is
+ * forgotten, so a failed loading is attempted again on the next request.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@ToString
+final class ContentLoadingCoordinator {
+
+    /**
+     * The loadings in flight
+     */
+    private final ConcurrentMap<RegistryKey, CompletableFuture<CompiledContent>> loadings = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the future of the loading associated with the key. If no loading is
+     * in flight for the key, a new loading is started with {@code contentLoader}
+     * on {@code executor} , otherwise the loading in flight is returned.
+     *
+     * @param key           The key of content
+     * @param contentLoader The supplier that loads the content
+     * @param executor      The executor that runs a new loading
+     * @return The future of the loading associated with the key
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    CompletableFuture<CompiledContent> load(@NonNull RegistryKey key, @NonNull Supplier<CompiledContent> contentLoader,
+            @NonNull Executor executor) {
+
+        final CompletableFuture<CompiledContent> loading = new CompletableFuture<>();
+        final CompletableFuture<CompiledContent> loadingInFlight = this.loadings.putIfAbsent(key, loading);
+
+        if (loadingInFlight != null) {
+            return loadingInFlight;
+        }
+
+        try {
+            executor.execute(() -> this.complete(key, loading, contentLoader));
+        } catch (RuntimeException e) {
+            this.loadings.remove(key, loading);
+            loading.completeExceptionally(e);
+        }
+
+        return loading;
+    }
+
+    /**
+     * Returns the number of loadings in flight.
+     *
+     * @return The number of loadings in flight
+     */
+    int size() {
+        return this.loadings.size();
+    }
+
+    /**
+     * Runs the loading and completes the future with its result.
+     *
+     * @param key           The key of content
+     * @param loading       The future of the loading
+     * @param contentLoader The supplier that loads the content
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private void complete(@NonNull RegistryKey key, @NonNull CompletableFuture<CompiledContent> loading,
+            @NonNull Supplier<CompiledContent> contentLoader) {
+        try {
+            final CompiledContent content = contentLoader.get();
+            this.loadings.remove(key, loading);
+            loading.complete(content);
+        } catch (Throwable e) {
+            this.loadings.remove(key, loading);
+            loading.completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.registry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.thinkit.zenna.compiler.CompiledContent;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * The class that manages compiled content shared across the process.
+ *
+ * <p>
+ * The compiled content is held for each pair of the content name and the class
+ * loader used to find the content, so the content file is read, parsed and
+ * compiled only once no matter how many mapper instances are created. The
+ * registry is thread-safe and can be used from any number of threads at the
+ * same time, and the same content requested by several threads at the same
+ * time is loaded only once.
+ *
+ * <p>
+ * The number of content held in the registry is bounded. By default, up to
+ * {@code 1000} contents are held, and the least recently used content is
+ * evicted when the bound is exceeded. The bound can be changed by creating a
+ * new registry with {@link #builder()} and setting it with
+ * {@link #setDefault(ContentRegistry)} . The following settings are supported.
+ *
+ * <ul>
+ * <li>{@code maximumSize} : The maximum number of contents held in the
+ * registry. If it is not positive, the default size {@code 1000} is used.</li>
+ * <li>{@code maximumWeight} : The maximum total weight of contents held in the
+ * registry, where the weight of each content is given by
+ * {@link CompiledContent#getWeight()} . If it is positive, it is used instead
+ * of {@code maximumSize} .</li>
+ * <li>{@code idleTime} : The time after which content that has not been
+ * accessed is evicted. If it is {@code null} , content is never evicted based
+ * on time.</li>
+ * </ul>
+ *
+ * <p>
+ * {@link org.thinkit.zenna.mapper.ContentMapper} uses the registry returned by
+ * {@link #getDefault()} when scanning content.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@ToString
+public final class ContentRegistry {
+
+    /**
+     * The default maximum number of contents
+     */
+    private static final long DEFAULT_MAXIMUM_SIZE = 1000L;
+
+    /**
+     * The registry used by default
+     */
+    private static volatile ContentRegistry defaultRegistry = ContentRegistry.builder().build();
+
+    /**
+     * The cache of compiled content
+     */
+    @ToString.Exclude
+    private final Cache<RegistryKey, CompiledContent> cache;
+
+    /**
+     * The coordinator of concurrent loading
+     */
+    @ToString.Exclude
+    private final ContentLoadingCoordinator coordinator = new ContentLoadingCoordinator();
+
+    /**
+     * The maximum number of contents
+     */
+    private final long maximumSize;
+
+    /**
+     * The maximum total weight of contents
+     */
+    private final long maximumWeight;
+
+    /**
+     * The time after which content that has not been accessed is evicted
+     */
+    private final Duration idleTime;
+
+    /**
+     * The constructor.
+     *
+     * @param maximumSize   The maximum number of contents
+     * @param maximumWeight The maximum total weight of contents
+     * @param idleTime      The time after which content that has not been
+     *                      accessed is evicted
+     */
+    @Builder
+    private ContentRegistry(long maximumSize, long maximumWeight, Duration idleTime) {
+        this.maximumSize = maximumSize > 0 ? maximumSize : DEFAULT_MAXIMUM_SIZE;
+        this.maximumWeight = maximumWeight;
+        this.idleTime = idleTime;
+        this.cache = this.createCache();
+    }
+
+    /**
+     * Returns the registry used by default.
+     *
+     * @return The registry used by default
+     */
+    public static ContentRegistry getDefault() {
+        return defaultRegistry;
+    }
+
+    /**
+     * Sets the registry used by default. The content held in the previous default
+     * registry is not moved to the new registry.
+     *
+     * @param registry The registry to be used by default
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public static void setDefault(@NonNull ContentRegistry registry) {
+        defaultRegistry = registry;
+    }
+
+    /**
+     * Returns the compiled content associated with the content name and the class
+     * loader. If the content is not held in this registry, the content is obtained
+     * from {@code contentLoader} and held in this registry before being returned.
+     *
+     * <p>
+     * When several threads request the same content at the same time, only one of
+     * them calls {@code contentLoader} and the others wait for its result. Any
+     * runtime exception thrown by {@code contentLoader} is rethrown as is to every
+     * waiting thread, and nothing is held in this registry in that case.
+     *
+     * @param contentName   The content name
+     * @param classLoader   The class loader used to find the content
+     * @param contentLoader The supplier that loads and compiles the content
+     * @return The compiled content
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public CompiledContent get(@NonNull String contentName, @NonNull ClassLoader classLoader,
+            @NonNull Supplier<CompiledContent> contentLoader) {
+
+        final RegistryKey key = RegistryKey.of(contentName, classLoader);
+        final CompiledContent content = this.cache.getIfPresent(key);
+
+        if (content != null) {
+            return content;
+        }
+
+        try {
+            return this.load(key, contentLoader, Runnable::run).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the future of the compiled content associated with the content name
+     * and the class loader. If the content is held in this registry, the returned
+     * future is already completed. Otherwise, the content is obtained from
+     * {@code contentLoader} on {@code executor} and held in this registry before
+     * the returned future is completed.
+     *
+     * <p>
+     * When several threads request the same content at the same time, only one of
+     * them calls {@code contentLoader} and the others receive the future of that
+     * loading without blocking. If {@code contentLoader} throws an exception, every
+     * returned future is completed exceptionally with that exception, and nothing
+     * is held in this registry in that case.
+     *
+     * @param contentName   The content name
+     * @param classLoader   The class loader used to find the content
+     * @param contentLoader The supplier that loads and compiles the content
+     * @param executor      The executor that runs the loading
+     * @return The future of the compiled content
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public CompletableFuture<CompiledContent> getAsync(@NonNull String contentName, @NonNull ClassLoader classLoader,
+            @NonNull Supplier<CompiledContent> contentLoader, @NonNull Executor executor) {
+
+        final RegistryKey key = RegistryKey.of(contentName, classLoader);
+        final CompiledContent content = this.cache.getIfPresent(key);
+
+        if (content != null) {
+            return CompletableFuture.completedFuture(content);
+        }
+
+        return this.load(key, contentLoader, executor);
+    }
+
+    /**
+     * Returns the compiled content associated with the content name and the class
+     * loader, or {@code null} if the content is not held in this registry.
+     *
+     * @param contentName The content name
+     * @param classLoader The class loader used to find the content
+     * @return The compiled content, or {@code null} if the content is not held in
+     *         this registry
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public CompiledContent getIfPresent(@NonNull String contentName, @NonNull ClassLoader classLoader) {
+        return this.cache.getIfPresent(RegistryKey.of(contentName, classLoader));
+    }
+
+    /**
+     * Discards the compiled content associated with the content name and the class
+     * loader. The content will be loaded again the next time it is requested.
+     *
+     * @param contentName The content name
+     * @param classLoader The class loader used to find the content
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public void invalidate(@NonNull String contentName, @NonNull ClassLoader classLoader) {
+        this.cache.invalidate(RegistryKey.of(contentName, classLoader));
+    }
+
+    /**
+     * Discards all compiled content held in this registry.
+     */
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+    }
+
+    /**
+     * Returns the approximate number of contents held in this registry.
+     *
+     * @return The approximate number of contents held in this registry
+     */
+    public long size() {
+        return this.cache.size();
+    }
+
+    /**
+     * Loads the content associated with the key through the loading coordinator
+     * and holds the loaded content in this registry. The content is held before
+     * the loading is finished, so a thread that misses both the registry and the
+     * loading in flight always finds the content when checking the registry again.
+     *
+     * @param key           The key of content
+     * @param contentLoader The supplier that loads and compiles the content
+     * @param executor      The executor that runs the loading
+     * @return The future of the compiled content
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private CompletableFuture<CompiledContent> load(@NonNull RegistryKey key,
+            @NonNull Supplier<CompiledContent> contentLoader, @NonNull Executor executor) {
+        return this.coordinator.load(key, () -> {
+            final CompiledContent cachedContent = this.cache.getIfPresent(key);
+
+            if (cachedContent != null) {
+                return cachedContent;
+            }
+
+            final CompiledContent content = contentLoader.get();
+            this.cache.put(key, content);
+
+            return content;
+        }, executor);
+    }
+
+    /**
+     * Creates the cache of compiled content based on the settings of this
+     * registry.
+     *
+     * @return The cache of compiled content
+     */
+    private Cache<RegistryKey, CompiledContent> createCache() {
+
+        final CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder();
+
+        if (this.idleTime != null) {
+            cacheBuilder.expireAfterAccess(this.idleTime.toNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        if (this.maximumWeight > 0) {
+            return cacheBuilder.maximumWeight(this.maximumWeight)
+                    .weigher((RegistryKey key, CompiledContent content) -> content.getWeight()).build();
+        }
+
+        return cacheBuilder.maximumSize(this.maximumSize).build();
+    }
+}
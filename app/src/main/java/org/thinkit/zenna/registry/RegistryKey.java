@@ -0,0 +1,125 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.registry;
+
+import java.lang.ref.WeakReference;
+
+import lombok.NonNull;
+
+/**
+ * The class that represents the key of content held in {@link ContentRegistry}
+ * .
+ *
+ * <p>
+ * The key consists of the content name and the class loader used to find the
+ * content. The class loader is held weakly so that the registry never prevents
+ * the class loader from being unloaded, and the key of an unloaded class loader
+ * is never equal to any other key.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+final class RegistryKey {
+
+    /**
+     * The content name
+     */
+    private final String contentName;
+
+    /**
+     * The class loader used to find the content
+     */
+    private final WeakReference<ClassLoader> classLoader;
+
+    /**
+     * The hash code
+     */
+    private final int hashCode;
+
+    /**
+     * The constructor.
+     *
+     * @param contentName The content name
+     * @param classLoader The class loader used to find the content
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private RegistryKey(@NonNull String contentName, @NonNull ClassLoader classLoader) {
+        this.contentName = contentName;
+        this.classLoader = new WeakReference<>(classLoader);
+        this.hashCode = 31 * contentName.hashCode() + System.identityHashCode(classLoader);
+    }
+
+    /**
+     * Returns the new instance of {@link RegistryKey} based on the arguments.
+     *
+     * @param contentName The content name
+     * @param classLoader The class loader used to find the content
+     * @return The new instance of {@link RegistryKey}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    static RegistryKey of(@NonNull String contentName, @NonNull ClassLoader classLoader) {
+        return new RegistryKey(contentName, classLoader);
+    }
+
+    /**
+     * Returns the content name.
+     *
+     * @return The content name
+     */
+    String getContentName() {
+        return this.contentName;
+    }
+
+    /**
+     * Returns the class loader used to find the content, or {@code null} if the
+     * class loader has already been unloaded.
+     *
+     * @return The class loader used to find the content
+     */
+    ClassLoader getClassLoader() {
+        return this.classLoader.get();
+    }
+
+    @Override
+    public boolean equals(Object object) {
+
+        if (this == object) {
+            return true;
+        }
+
+        if (!(object instanceof RegistryKey)) {
+            return false;
+        }
+
+        final RegistryKey other = (RegistryKey) object;
+        final ClassLoader classLoader = this.classLoader.get();
+
+        return classLoader != null && this.hashCode == other.hashCode && this.contentName.equals(other.contentName)
+                && classLoader == other.classLoader.get();
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RegistryKey(contentName=%s, classLoader=%s)", this.contentName,
+                this.classLoader.get());
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * The package that manages objects for sharing compiled content between
+ * mappers across the process.
+ */
+package org.thinkit.zenna.registry;
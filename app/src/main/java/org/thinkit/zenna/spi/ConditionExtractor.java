@@ -0,0 +1,70 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.spi;
+
+import org.thinkit.zenna.compiler.ConditionLayout;
+import org.thinkit.zenna.compiler.ConditionTuple;
+import org.thinkit.zenna.mapper.Mapper;
+
+/**
+ * The interface that extracts the conditions from a content mapper without
+ * reflection. The conditions are written into a {@link ConditionTuple} with the
+ * fixed layout returned by {@link #getLayout()} .
+ *
+ * <p>
+ * The implementation of this interface is generated for each content mapper by
+ * the annotation processor of Zenna DB in the same package as the content
+ * mapper. The name of the generated class is the name of the content mapper
+ * followed by {@link #SUFFIX} . When the generated class exists, it is used
+ * instead of the reflective extraction.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public interface ConditionExtractor<M extends Mapper<?>> {
+
+    /**
+     * The suffix of the generated class name
+     */
+    public static final String SUFFIX = "_ZennaMapper";
+
+    /**
+     * Returns the content name specified in the {@code Content} annotation given
+     * to the content mapper, or {@code null} if the annotation is not given.
+     *
+     * @return The content name specified in the annotation, or {@code null}
+     */
+    public String getContentName();
+
+    /**
+     * Returns the fixed layout of the conditions extracted from the content
+     * mapper.
+     *
+     * @return The layout of the conditions
+     */
+    public ConditionLayout getLayout();
+
+    /**
+     * Extracts the conditions from the fields of the content mapper passed as an
+     * argument and writes them into the tuple passed as an argument. The tuple
+     * must have the layout returned by {@link #getLayout()} .
+     *
+     * @param mapper         The content mapper
+     * @param conditionTuple The tuple into which the conditions are written
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public void extract(M mapper, ConditionTuple conditionTuple);
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.spi;
+
+import java.util.Set;
+
+import org.thinkit.zenna.compiler.AttributeColumns;
+import org.thinkit.zenna.entity.ContentEntity;
+
+/**
+ * The interface that creates a result entity from a selected item without
+ * reflection.
+ *
+ * <p>
+ * The implementation of this interface is generated for each content entity by
+ * the annotation processor of Zenna DB in the same package as the content
+ * entity. The name of the generated class is the name of the content entity
+ * followed by {@link #SUFFIX} . When the generated class exists, it is used
+ * instead of the reflective binding.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public interface EntityFactory<T extends ContentEntity> {
+
+    /**
+     * The suffix of the generated class name
+     */
+    public static final String SUFFIX = "_ZennaBinder";
+
+    /**
+     * Returns the set of attribute names bound to the content entity.
+     *
+     * @return The set of attribute names
+     */
+    public Set<String> getAttributes();
+
+    /**
+     * Creates the new content entity and binds the attributes at the row of the
+     * attribute columns passed as arguments to it.
+     *
+     * <p>
+     * The {@code columns} holds the column of each attribute returned by
+     * {@link #getAttributes()} in its iteration order, as returned by
+     * {@link AttributeColumns#getColumns(java.util.Collection)} . The
+     * implementation should read the primitive columns with the typed getters such
+     * as {@link AttributeColumns#getInt(int, int)} so that the attributes are not
+     * boxed.
+     *
+     * @param attributeColumns The attribute columns of the compiled content
+     * @param columns          The columns of each attribute
+     * @param row              The row of the selected item
+     * @return The new content entity
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public T create(AttributeColumns attributeColumns, int[] columns, int row);
+
+    /**
+     * Binds the attributes at the row of the attribute columns passed as arguments
+     * to the content entity passed as an argument, and returns the bound content
+     * entity. The content entity returned by the previous call can be passed again
+     * to reuse it for the next row.
+     *
+     * <p>
+     * The default implementation does not reuse the content entity and returns the
+     * new content entity created by
+     * {@link #create(AttributeColumns, int[], int)} , so the implementation for a
+     * mutable content entity should override this method to overwrite its
+     * attributes.
+     *
+     * @param entity           The content entity to be reused, or {@code null} to
+     *                         create the new content entity
+     * @param attributeColumns The attribute columns of the compiled content
+     * @param columns          The columns of each attribute
+     * @param row              The row of the selected item
+     * @return The bound content entity
+     *
+     * @exception NullPointerException If {@code attributeColumns} or
+     *                                 {@code columns} is {@code null}
+     */
+    public default T bind(T entity, AttributeColumns attributeColumns, int[] columns, int row) {
+        return this.create(attributeColumns, columns, row);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.spi;
+
+import java.lang.reflect.InvocationTargetException;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+/**
+ * Provides operations to find the classes generated by the annotation processor
+ * of Zenna DB.
+ *
+ * <p>
+ * The generated class is placed in the same package as the target class, and
+ * its simple name is the binary simple name of the target class, in which the
+ * separators of nested classes are replaced with {@code "_"} , followed by the
+ * suffix of each kind of generated class.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class GeneratedClasses {
+
+    /**
+     * Returns the fully qualified name of the class generated for the target class
+     * with the suffix passed as an argument.
+     *
+     * @param target The target class
+     * @param suffix The suffix of the generated class name
+     * @return The fully qualified name of the generated class
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public static String getName(@NonNull Class<?> target, @NonNull String suffix) {
+        return target.getName().replace('$', '_') + suffix;
+    }
+
+    /**
+     * Returns the new instance of the class generated for the target class with
+     * the suffix passed as an argument. The generated class is loaded with the
+     * class loader of the target class. If the generated class does not exist, or
+     * if it does not implement the expected type, {@code null} is returned.
+     *
+     * @param <T>    The expected type of the generated class
+     * @param target The target class
+     * @param suffix The suffix of the generated class name
+     * @param type   The expected type of the generated class
+     * @return The new instance of the generated class, or {@code null} if the
+     *         generated class does not exist
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @exception IllegalStateException If the generated class cannot be
+     *                                  instantiated
+     */
+    public static <T> T newInstance(@NonNull Class<?> target, @NonNull String suffix, @NonNull Class<T> type) {
+
+        final Class<?> generatedClass;
+
+        try {
+            generatedClass = Class.forName(getName(target, suffix), true, target.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+
+        if (!type.isAssignableFrom(generatedClass)) {
+            return null;
+        }
+
+        try {
+            return type.cast(generatedClass.getConstructor().newInstance());
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException
+                | NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
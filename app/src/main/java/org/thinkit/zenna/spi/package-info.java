@@ -0,0 +1,5 @@
+/**
+ * The package that manages the interfaces implemented by the classes generated
+ * by the annotation processor of Zenna DB, and the objects for finding them.
+ */
+package org.thinkit.zenna.spi;
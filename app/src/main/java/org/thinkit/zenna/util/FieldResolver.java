@@ -41,4 +41,18 @@ public final class FieldResolver {
     public static boolean isStatic(@NonNull Field field) {
         return Modifier.isStatic(field.getModifiers());
     }
+
+    /**
+     * Ckeck if the {@code field} passed as an argument is a final field.
+     *
+     * @param field The field
+     * @return {@code true} if the field is final, otherwise {@code false}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     *
+     * @since 1.1.0
+     */
+    public static boolean isFinal(@NonNull Field field) {
+        return Modifier.isFinal(field.getModifiers());
+    }
 }
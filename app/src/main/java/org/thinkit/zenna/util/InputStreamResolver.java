@@ -14,10 +14,10 @@
 
 package org.thinkit.zenna.util;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 
 import lombok.AccessLevel;
@@ -34,7 +34,13 @@ import lombok.NonNull;
 public final class InputStreamResolver {
 
     /**
-     * Converts the input stream passed as argument to a string.
+     * The size of the buffer to read characters
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Converts the input stream passed as argument to a string. The line
+     * separators in the input stream are kept as they are.
      *
      * @param inputStream The input stream to be converted
      * @return The string obtained from the input stream
@@ -45,11 +51,11 @@ public final class InputStreamResolver {
 
         final StringBuilder sequence = new StringBuilder();
 
-        try (BufferedReader bufferedReader = new BufferedReader(
-                new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-            String line;
-            while ((line = bufferedReader.readLine()) != null) {
-                sequence.append(line);
+        try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+            final char[] buffer = new char[BUFFER_SIZE];
+            int length;
+            while ((length = reader.read(buffer)) != -1) {
+                sequence.append(buffer, 0, length);
             }
         } catch (IOException e) {
             e.printStackTrace();
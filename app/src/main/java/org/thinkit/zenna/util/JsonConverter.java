@@ -14,9 +14,12 @@
 
 package org.thinkit.zenna.util;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.MapperFeature;
@@ -66,6 +69,41 @@ public final class JsonConverter {
         });
     }
 
+    /**
+     * Converts the object passed as an argument to a JSON string.
+     *
+     * @param object The object to be converted
+     * @return The JSON string
+     *
+     * @exception NullPointerException    If {@code null} was passed as an argument
+     * @exception ContentParsingException If the object cannot be converted
+     */
+    public static String toJsonString(@NonNull final Object object) {
+        try {
+            return mapper.writeValueAsString(object);
+        } catch (JsonProcessingException e) {
+            throw new ContentParsingException(e);
+        }
+    }
+
+    /**
+     * Returns the parser that reads the JSON tokens from the input stream passed
+     * as an argument. The input stream is closed when the parser is closed.
+     *
+     * @param inputStream The input stream of JSON
+     * @return The parser of JSON
+     *
+     * @exception NullPointerException    If {@code null} was passed as an argument
+     * @exception ContentParsingException If the parser cannot be created
+     */
+    public static JsonParser createParser(@NonNull final InputStream inputStream) {
+        try {
+            return mapper.createParser(inputStream);
+        } catch (IOException e) {
+            throw new ContentParsingException(e);
+        }
+    }
+
     /**
      * Converts the object specified as an argument to an arbitrary structure.
      *
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.util;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.ZipEntry;
+
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+/**
+ * Provides operations on files mapped into memory.
+ *
+ * <p>
+ * The file is mapped with {@link FileChannel#map} in read-only mode, so the
+ * contents of the file are read through the page cache of the operating system
+ * shared by every process mapping the same file, and are never copied onto the
+ * heap as a whole. The mapping remains valid after the channel is closed until
+ * the returned buffer is garbage collected.
+ *
+ * <p>
+ * An entry of a zip file, such as a jar file, can also be mapped if it is
+ * stored without compression. The entry is found from the central directory at
+ * the end of the zip file, and only the region of the zip file holding the data
+ * of the entry is mapped.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class MappedFileResolver {
+
+    /**
+     * The signature of the end of central directory record
+     */
+    private static final int END_HEADER_SIGNATURE = 0x06054B50;
+
+    /**
+     * The size of the end of central directory record without the comment
+     */
+    private static final int END_HEADER_SIZE = 22;
+
+    /**
+     * The maximum size of the comment of the zip file
+     */
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+
+    /**
+     * The signature of the central directory file header
+     */
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014B50;
+
+    /**
+     * The size of the central directory file header without the variable fields
+     */
+    private static final int CENTRAL_HEADER_SIZE = 46;
+
+    /**
+     * The signature of the local file header
+     */
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034B50;
+
+    /**
+     * The size of the local file header without the variable fields
+     */
+    private static final int LOCAL_HEADER_SIZE = 30;
+
+    /**
+     * The value of a 32-bit field of the zip file replaced by the field of the
+     * ZIP64 extension
+     */
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+
+    /**
+     * Maps the whole file passed as an argument into memory in read-only mode.
+     *
+     * @param path The path of the file
+     * @return The read-only buffer mapped to the file
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the file is larger than
+     *                                     {@link Integer#MAX_VALUE} bytes
+     * @exception IllegalStateException    If the file cannot be mapped
+     */
+    public static ByteBuffer map(@NonNull final Path path) {
+        try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return fileChannel.map(MapMode.READ_ONLY, 0, fileChannel.size());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Maps the whole file passed as an argument into memory and returns the input
+     * stream reading the mapped buffer.
+     *
+     * @param path The path of the file
+     * @return The input stream reading the mapped buffer
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the file is larger than
+     *                                     {@link Integer#MAX_VALUE} bytes
+     * @exception IllegalStateException    If the file cannot be mapped
+     */
+    public static InputStream open(@NonNull final Path path) {
+        return new ByteBufferBackedInputStream(map(path));
+    }
+
+    /**
+     * Maps the data of the entry of the zip file passed as arguments into memory
+     * in read-only mode. Only the entry stored without compression can be mapped,
+     * and the zip file that needs the ZIP64 extension to locate the entry is not
+     * supported.
+     *
+     * @param path      The path of the zip file
+     * @param entryName The name of the entry
+     * @return The read-only buffer mapped to the data of the entry, or
+     *         {@code null} if the entry does not exist or cannot be mapped
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @exception IllegalStateException If the zip file cannot be read
+     */
+    public static ByteBuffer mapStoredEntry(@NonNull final Path path, @NonNull final String entryName) {
+        try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final ByteBuffer centralDirectory = readCentralDirectory(fileChannel);
+
+            if (centralDirectory == null) {
+                return null;
+            }
+
+            final byte[] name = entryName.getBytes(StandardCharsets.UTF_8);
+
+            while (centralDirectory.remaining() >= CENTRAL_HEADER_SIZE) {
+                final int position = centralDirectory.position();
+
+                if (centralDirectory.getInt(position) != CENTRAL_HEADER_SIGNATURE) {
+                    return null;
+                }
+
+                final int nameLength = Short.toUnsignedInt(centralDirectory.getShort(position + 28));
+                final int extraLength = Short.toUnsignedInt(centralDirectory.getShort(position + 30));
+                final int commentLength = Short.toUnsignedInt(centralDirectory.getShort(position + 32));
+
+                if (matches(centralDirectory, position + CENTRAL_HEADER_SIZE, nameLength, name)) {
+                    final int method = Short.toUnsignedInt(centralDirectory.getShort(position + 10));
+                    final long compressedSize = Integer.toUnsignedLong(centralDirectory.getInt(position + 20));
+                    final long size = Integer.toUnsignedLong(centralDirectory.getInt(position + 24));
+                    final long localHeaderOffset = Integer.toUnsignedLong(centralDirectory.getInt(position + 42));
+
+                    if (method != ZipEntry.STORED || compressedSize != size || size == ZIP64_MAGIC
+                            || localHeaderOffset == ZIP64_MAGIC) {
+                        return null;
+                    }
+
+                    return mapEntryData(fileChannel, localHeaderOffset, size);
+                }
+
+                centralDirectory.position(position + CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength);
+            }
+
+            return null;
+        } catch (IOException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Reads the central directory of the zip file. The end of central directory
+     * record is searched backward from the end of the zip file, since it is
+     * followed by the comment of variable length.
+     *
+     * @param fileChannel The channel of the zip file
+     * @return The buffer holding the central directory, or {@code null} if the
+     *         central directory is not found
+     *
+     * @exception IOException If the zip file cannot be read
+     */
+    private static ByteBuffer readCentralDirectory(@NonNull final FileChannel fileChannel) throws IOException {
+
+        final long fileSize = fileChannel.size();
+        final int tailSize = (int) Math.min(fileSize, END_HEADER_SIZE + MAX_COMMENT_SIZE);
+        final ByteBuffer tail = read(fileChannel, fileSize - tailSize, tailSize);
+
+        for (int position = tailSize - END_HEADER_SIZE; position >= 0; position--) {
+            if (tail.getInt(position) == END_HEADER_SIGNATURE) {
+                final long size = Integer.toUnsignedLong(tail.getInt(position + 12));
+                final long offset = Integer.toUnsignedLong(tail.getInt(position + 16));
+
+                if (offset == ZIP64_MAGIC || offset + size > fileSize) {
+                    return null;
+                }
+
+                return read(fileChannel, offset, (int) size);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Maps the data of the entry whose local file header is at the offset passed
+     * as an argument.
+     *
+     * @param fileChannel       The channel of the zip file
+     * @param localHeaderOffset The offset of the local file header
+     * @param size              The size of the data
+     * @return The read-only buffer mapped to the data, or {@code null} if the
+     *         local file header is broken
+     *
+     * @exception IOException If the zip file cannot be read
+     */
+    private static ByteBuffer mapEntryData(@NonNull final FileChannel fileChannel, long localHeaderOffset,
+            long size) throws IOException {
+
+        final ByteBuffer localHeader = read(fileChannel, localHeaderOffset, LOCAL_HEADER_SIZE);
+
+        if (localHeader.getInt(0) != LOCAL_HEADER_SIGNATURE) {
+            return null;
+        }
+
+        final long dataOffset = localHeaderOffset + LOCAL_HEADER_SIZE + Short.toUnsignedInt(localHeader.getShort(26))
+                + Short.toUnsignedInt(localHeader.getShort(28));
+
+        if (dataOffset + size > fileChannel.size()) {
+            return null;
+        }
+
+        return fileChannel.map(MapMode.READ_ONLY, dataOffset, size);
+    }
+
+    /**
+     * Reads the region of the file passed as arguments into the little endian
+     * buffer on the heap.
+     *
+     * @param fileChannel The channel of the file
+     * @param offset      The offset of the region
+     * @param length      The length of the region
+     * @return The buffer holding the region
+     *
+     * @exception IOException If the region cannot be read
+     */
+    private static ByteBuffer read(@NonNull final FileChannel fileChannel, long offset, int length)
+            throws IOException {
+
+        final ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+
+        while (buffer.hasRemaining()) {
+            if (fileChannel.read(buffer, offset + buffer.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+
+        return buffer.flip();
+    }
+
+    /**
+     * Checks if the name at the position of the buffer passed as an argument is
+     * equal to the name passed as an argument.
+     *
+     * @param buffer   The buffer
+     * @param position The position of the name in the buffer
+     * @param length   The length of the name in the buffer
+     * @param name     The UTF-8 bytes of the name
+     * @return {@code true} if the names are equal, otherwise {@code false}
+     */
+    private static boolean matches(@NonNull final ByteBuffer buffer, int position, int length,
+            @NonNull final byte[] name) {
+
+        if (length != name.length) {
+            return false;
+        }
+
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(position + i) != name[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The class that manages test case of {@link ConditionOperator} .
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public final class ConditionOperatorTest {
+
+    /**
+     * The expected catalog definition
+     */
+    private static final Map<Integer, String> EXPECTED_DEFINITION = new HashMap<>() {
+
+        /**
+         * The serial version UID
+         */
+        private static final long serialVersionUID = -4117420916306356571L;
+
+        {
+            put(0, "=");
+            put(1, "!=");
+            put(2, "<");
+            put(3, "<=");
+            put(4, ">");
+            put(5, ">=");
+            put(6, "in");
+            put(7, "between");
+            put(8, "prefix");
+        }
+    };
+
+    @Test
+    void testExpectedDefinition() {
+
+        final List<ConditionOperator> conditionOperators = Arrays.asList(ConditionOperator.values());
+
+        for (int i = 0, size = conditionOperators.size(); i < size; i++) {
+            assertEquals(i, conditionOperators.get(i).getCode());
+            assertEquals(EXPECTED_DEFINITION.get(i), conditionOperators.get(i).getTag());
+        }
+    }
+}
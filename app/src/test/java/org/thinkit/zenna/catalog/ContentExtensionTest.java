@@ -43,6 +43,8 @@ public final class ContentExtensionTest {
 
         {
             put(0, "json");
+            put(1, "zdb");
+            put(2, "zpack");
         }
     };
 
@@ -44,6 +44,7 @@ public final class ContentPropertyKeyTest {
         {
             put(0, "contentPackage");
             put(1, "mapperSuffix");
+            put(2, "contentDirectory");
         }
     };
 
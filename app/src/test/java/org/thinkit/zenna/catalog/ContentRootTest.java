@@ -43,6 +43,7 @@ public final class ContentRootTest {
 
         {
             put(0, "zenna/");
+            put(1, "zenna/");
         }
     };
 
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The class that manages test case of {@link AttributeColumns} .
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public final class AttributeColumnsTest {
+
+    /**
+     * Returns the content map containing the selection nodes with the attributes
+     * passed as an argument.
+     *
+     * @param nodes The attributes of each selection node
+     * @return The content map
+     */
+    @SafeVarargs
+    private static Map<String, Object> content(final Map<String, Object>... nodes) {
+
+        final List<Map<String, Object>> selectionNodes = new ArrayList<>();
+
+        for (final Map<String, Object> node : nodes) {
+            selectionNodes.add(Map.of("node", node));
+        }
+
+        return Map.of("selectionNodes", selectionNodes);
+    }
+
+    /**
+     * Returns the attribute map containing the attribute passed as arguments.
+     *
+     * @param attribute The attribute name
+     * @param value     The value of the attribute
+     * @return The attribute map
+     */
+    private static Map<String, Object> node(final String attribute, final Object value) {
+        final Map<String, Object> node = new HashMap<>();
+        node.put(attribute, value);
+        return node;
+    }
+
+    /**
+     * The nested class for {@link AttributeColumns#from(Map)} method.
+     */
+    @Nested
+    class TestFrom {
+
+        @Test
+        void testWhenSelectionNodesAreDefined() {
+
+            final AttributeColumns sut = AttributeColumns.from(content(Map.of("a", 1, "b", "x"), Map.of("a", 2)));
+
+            assertEquals(2, sut.size());
+            assertEquals(2, sut.getColumnCount());
+        }
+
+        @Test
+        void testWhenSelectionNodesAreNotDefined() {
+
+            final AttributeColumns sut = AttributeColumns.from(Map.of());
+
+            assertEquals(0, sut.size());
+            assertEquals(0, sut.getColumnCount());
+        }
+    }
+
+    /**
+     * The nested class for {@link AttributeColumns#getConditionCode(int)} method.
+     */
+    @Nested
+    class TestGetConditionCode {
+
+        @Test
+        void testWhenConditionIdsAreDefined() {
+
+            final AttributeColumns sut = AttributeColumns.from(content(Map.of("conditionId", "1"),
+                    Map.of("conditionId", ""), Map.of("conditionId", "0"), Map.of("conditionId", "1"), Map.of()));
+
+            assertEquals(2, sut.getConditionCodeCount());
+            assertEquals(sut.getConditionCode("1"), sut.getConditionCode(0));
+            assertEquals(AttributeColumns.NOT_FOUND, sut.getConditionCode(1));
+            assertEquals(sut.getConditionCode("0"), sut.getConditionCode(2));
+            assertEquals(sut.getConditionCode(0), sut.getConditionCode(3));
+            assertEquals(AttributeColumns.NOT_FOUND, sut.getConditionCode(4));
+            assertEquals(AttributeColumns.NOT_FOUND, sut.getConditionCode("2"));
+        }
+    }
+
+    /**
+     * The nested class for {@link AttributeColumns#getType(int)} method.
+     */
+    @Nested
+    class TestGetType {
+
+        @Test
+        void testWhenValuesHaveSameWrapperClass() {
+
+            final AttributeColumns sut = AttributeColumns.from(content(
+                    Map.of("int", 1, "long", 1L, "double", 1.5d, "boolean", true, "string", "a"),
+                    Map.of("int", 2, "long", 2L, "double", 2.5d, "boolean", false, "string", "b")));
+
+            assertEquals(ColumnType.INT, sut.getType(sut.getColumn("int")));
+            assertEquals(ColumnType.LONG, sut.getType(sut.getColumn("long")));
+            assertEquals(ColumnType.DOUBLE, sut.getType(sut.getColumn("double")));
+            assertEquals(ColumnType.BOOLEAN, sut.getType(sut.getColumn("boolean")));
+            assertEquals(ColumnType.OBJECT, sut.getType(sut.getColumn("string")));
+        }
+
+        @Test
+        void testWhenValuesHaveDifferentWrapperClasses() {
+
+            final AttributeColumns sut = AttributeColumns.from(content(Map.of("a", 1), Map.of("a", 1L)));
+
+            assertEquals(ColumnType.OBJECT, sut.getType(sut.getColumn("a")));
+        }
+
+        @Test
+        void testWhenSomeValuesDoNotExist() {
+
+            final AttributeColumns sut = AttributeColumns.from(content(node("a", null), Map.of("a", 1), Map.of()));
+
+            assertEquals(ColumnType.INT, sut.getType(sut.getColumn("a")));
+            assertTrue(sut.isNull(sut.getColumn("a"), 0));
+            assertFalse(sut.isNull(sut.getColumn("a"), 1));
+            assertTrue(sut.isNull(sut.getColumn("a"), 2));
+        }
+    }
+
+    /**
+     * The nested class for {@link AttributeColumns#getColumns(java.util.Collection)}
+     * method.
+     */
+    @Nested
+    class TestGetColumns {
+
+        @Test
+        void testWhenAttributesAreGiven() {
+
+            final AttributeColumns sut = AttributeColumns.from(content(Map.of("a", 1, "b", 2)));
+
+            assertArrayEquals(new int[] { sut.getColumn("b"), AttributeColumns.NOT_FOUND, sut.getColumn("a") },
+                    sut.getColumns(List.of("b", "c", "a")));
+        }
+    }
+
+    /**
+     * The nested class for {@link AttributeColumns#getObject(int, int)} method.
+     */
+    @Nested
+    class TestGetObject {
+
+        @Test
+        void testWhenColumnIsPrimitive() {
+
+            final AttributeColumns sut = AttributeColumns.from(content(Map.of("a", 1), node("a", null)));
+
+            assertEquals(Integer.valueOf(1), sut.getObject(sut.getColumn("a"), 0));
+            assertNull(sut.getObject(sut.getColumn("a"), 1));
+        }
+
+        @Test
+        void testWhenStringsAreEqual() {
+
+            final AttributeColumns sut = AttributeColumns
+                    .from(content(Map.of("a", new String("value")), Map.of("a", new String("value"))));
+
+            assertSame(sut.getObject(sut.getColumn("a"), 0), sut.getObject(sut.getColumn("a"), 1));
+        }
+
+        @Test
+        void testWhenColumnIsNotFound() {
+            assertNull(AttributeColumns.from(content(Map.of("a", 1))).getObject(AttributeColumns.NOT_FOUND, 0));
+        }
+    }
+
+    /**
+     * The nested class for the typed getters.
+     */
+    @Nested
+    class TestGetPrimitive {
+
+        @Test
+        void testWhenColumnTypeIsSame() {
+
+            final AttributeColumns sut = AttributeColumns
+                    .from(content(Map.of("int", 1, "long", 2L, "double", 3.5d, "boolean", true)));
+
+            assertEquals(1, sut.getInt(sut.getColumn("int"), 0));
+            assertEquals(2L, sut.getLong(sut.getColumn("long"), 0));
+            assertEquals(3.5d, sut.getDouble(sut.getColumn("double"), 0));
+            assertTrue(sut.getBoolean(sut.getColumn("boolean"), 0));
+        }
+
+        @Test
+        void testWhenValueIsWidened() {
+
+            final AttributeColumns sut = AttributeColumns.from(content(Map.of("int", 1, "long", 2L, "mixed", 3),
+                    Map.of("int", 4, "long", 5L, "mixed", 6L)));
+
+            assertEquals(1L, sut.getLong(sut.getColumn("int"), 0));
+            assertEquals(5.0d, sut.getDouble(sut.getColumn("long"), 1));
+            assertEquals(3L, sut.getLong(sut.getColumn("mixed"), 0));
+            assertEquals(6L, sut.getLong(sut.getColumn("mixed"), 1));
+        }
+
+        @Test
+        void testWhenValueCannotBeConverted() {
+
+            final AttributeColumns sut = AttributeColumns.from(content(Map.of("long", 1L, "string", "a")));
+
+            assertThrows(ClassCastException.class, () -> sut.getInt(sut.getColumn("long"), 0));
+            assertThrows(ClassCastException.class, () -> sut.getBoolean(sut.getColumn("string"), 0));
+        }
+
+        @Test
+        void testWhenValueDoesNotExist() {
+
+            final AttributeColumns sut = AttributeColumns.from(content(node("a", null)));
+
+            assertThrows(NullPointerException.class, () -> sut.getInt(sut.getColumn("a"), 0));
+            assertThrows(NullPointerException.class, () -> sut.getLong(AttributeColumns.NOT_FOUND, 0));
+        }
+    }
+}
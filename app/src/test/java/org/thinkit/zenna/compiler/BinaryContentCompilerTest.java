@@ -0,0 +1,193 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.thinkit.zenna.eval.ContentEvaluator;
+import org.thinkit.zenna.exception.ContentParsingException;
+
+/**
+ * The class that manages test case of {@link BinaryContentCompiler} .
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public final class BinaryContentCompilerTest {
+
+    /**
+     * The content file for testing
+     */
+    private static final String CONTENT = String.join("\n", "{",
+            "  \"meta\": {\"resultType\": \"org.thinkit.zenna.mapper.ConcreteContentEntity\"},",
+            "  \"selectionNodes\": [",
+            "    {\"node\": {\"conditionId\": \"0\", \"test1\": \"success1\", \"count\": 1, \"flag\": true}},",
+            "    {\"node\": {\"conditionId\": \"1\", \"test1\": null, \"count\": 2, \"rate\": 0.5,",
+            "      \"tags\": [\"a\", {\"k\": [1, null]}], \"big\": 123456789012345678901234567890}},",
+            "    {\"node\": {\"conditionId\": \"\", \"test1\": \"success1\", \"count\": 3000000000, \"flag\": false}}",
+            "  ],",
+            "  \"conditionNodes\": [",
+            "    {\"node\": {\"conditionId\": \"0\", \"exclude\": false,",
+            "      \"conditions\": [{\"keyName\": \"key\", \"operator\": \"=\", \"operand\": \"0\"}]}},",
+            "    {\"node\": {\"conditionId\": \"1\", \"exclude\": false,",
+            "      \"conditions\": [{\"keyName\": \"number\", \"operator\": \">=\", \"operand\": \"10\"}]}},",
+            "    {\"node\": {\"conditionId\": \"0\", \"exclude\": true,",
+            "      \"conditions\": [{\"keyName\": \"key\", \"operator\": \"!=\", \"operand\": \"2\"},",
+            "        {\"keyName\": \"name\", \"operator\": \"prefix\", \"operand\": \"ab\"}]}},",
+            "    {\"node\": {\"conditionId\": \"1\", \"exclude\": false,",
+            "      \"conditions\": [{\"keyName\": \"number\", \"operator\": \"between\", \"operand\": \"1.5,5\"},",
+            "        {\"keyName\": \"code\", \"operator\": \"in\", \"operand\": \"x,y\"},",
+            "        {\"keyName\": \"name\", \"operator\": \"<\", \"operand\": \"m\"}]}}",
+            "  ]",
+            "}");
+
+    /**
+     * The nested class for {@link BinaryContentCompiler#compile()} method.
+     */
+    @Nested
+    class TestCompile {
+
+        @Test
+        void testWhenBinaryContentIsWritten() {
+
+            final CompiledContent expected = ContentStreamCompiler
+                    .from(new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8))).compile();
+            final CompiledContent actual = BinaryContentCompiler
+                    .from(ByteBuffer.wrap(BinaryContentWriter.from(expected).toByteArray())).compile();
+
+            assertEquals(expected.getResultType(), actual.getResultType());
+            assertEquals(expected.getWeight(), actual.getWeight());
+            assertEquals(expected.getSelectionIndex().size(), actual.getSelectionIndex().size());
+            assertEquals(expected.getConditionIndex().size(), actual.getConditionIndex().size());
+
+            final AttributeColumns expectedColumns = expected.getAttributeColumns();
+            final AttributeColumns actualColumns = actual.getAttributeColumns();
+
+            assertEquals(expectedColumns.size(), actualColumns.size());
+            assertEquals(expectedColumns.getColumnCount(), actualColumns.getColumnCount());
+
+            for (int column = 0; column < actualColumns.getColumnCount(); column++) {
+                assertEquals(expectedColumns.getAttribute(column), actualColumns.getAttribute(column));
+                assertEquals(expectedColumns.getType(column), actualColumns.getType(column));
+                assertEquals(column, actualColumns.getColumn(actualColumns.getAttribute(column)));
+
+                for (int row = 0; row < actualColumns.size(); row++) {
+                    assertEquals(expectedColumns.isNull(column, row), actualColumns.isNull(column, row));
+                    assertEquals(expectedColumns.getObject(column, row), actualColumns.getObject(column, row));
+                }
+            }
+
+            for (int row = 0; row < actualColumns.size(); row++) {
+                assertEquals(expectedColumns.getConditionCode(row), actualColumns.getConditionCode(row));
+            }
+
+            assertEquals(expectedColumns.getConditionCode("1"), actualColumns.getConditionCode("1"));
+        }
+
+        @Test
+        void testWhenBinaryContentIsEvaluated() {
+
+            final CompiledContent compiledContent = ContentStreamCompiler
+                    .from(new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8))).compile();
+            final byte[] bytes = BinaryContentWriter.from(compiledContent).toByteArray();
+            final ByteBuffer directBuffer = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+            final CompiledContent sut = BinaryContentCompiler.from(directBuffer).compile();
+
+            for (final Map<String, String> conditions : List.of(Map.of("key", "0", "number", "1"),
+                    Map.of("key", "1", "number", "10"), Map.of("key", "2", "name", "abc"),
+                    Map.of("number", "3", "code", "y", "name", "a"), Map.of("number", "x", "code", "z", "name", "z"),
+                    Map.<String, String>of())) {
+                assertEquals(
+                        ContentEvaluator.builder().compiledContent(compiledContent).conditions(conditions).build()
+                                .evaluateRows(),
+                        ContentEvaluator.builder().compiledContent(sut).conditions(conditions).build()
+                                .evaluateRows());
+            }
+        }
+
+        @Test
+        void testWhenBinaryContentIsReadFromStream() {
+
+            final byte[] bytes = BinaryContentWriter.from(ContentStreamCompiler
+                    .from(new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8))).compile())
+                    .toByteArray();
+
+            assertEquals("org.thinkit.zenna.mapper.ConcreteContentEntity",
+                    BinaryContentCompiler.from(new ByteArrayInputStream(bytes)).compile().getResultType());
+        }
+
+        @Test
+        void testWhenContentIsNotBinaryContent() {
+            assertThrows(ContentParsingException.class, () -> BinaryContentCompiler
+                    .from(ByteBuffer.wrap(CONTENT.getBytes(StandardCharsets.UTF_8))).compile());
+            assertThrows(ContentParsingException.class,
+                    () -> BinaryContentCompiler.from(ByteBuffer.allocate(4)).compile());
+        }
+
+        @Test
+        void testWhenFormatVersionIsNotSupported() {
+
+            final byte[] bytes = this.createBytes();
+            bytes[5] = 1;
+
+            final ContentParsingException exception = assertThrows(ContentParsingException.class,
+                    () -> BinaryContentCompiler.from(ByteBuffer.wrap(bytes)).compile());
+
+            assertEquals("The format version '1' of the binary content file is not supported.",
+                    exception.getMessage());
+        }
+
+        @Test
+        void testWhenBodyIsBroken() {
+
+            final byte[] bytes = this.createBytes();
+            bytes[bytes.length - 1] ^= 1;
+
+            assertThrows(ContentParsingException.class,
+                    () -> BinaryContentCompiler.from(ByteBuffer.wrap(bytes)).compile());
+        }
+
+        @Test
+        void testWhenBodyIsTruncated() {
+
+            final byte[] bytes = this.createBytes();
+
+            assertThrows(ContentParsingException.class,
+                    () -> BinaryContentCompiler.from(ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length - 1)))
+                            .compile());
+        }
+
+        /**
+         * Returns the bytes of the binary content file for testing.
+         *
+         * @return The bytes of the binary content file
+         */
+        private byte[] createBytes() {
+            return BinaryContentWriter.from(ContentStreamCompiler
+                    .from(new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8))).compile())
+                    .toByteArray();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The class that manages test case of {@link BinaryContentWriter} .
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public final class BinaryContentWriterTest {
+
+    /**
+     * The compiled content for testing
+     */
+    private static final CompiledContent COMPILED_CONTENT = ContentCompiler.from(Map.of("meta",
+            Map.of("resultType", "org.thinkit.zenna.mapper.ConcreteContentEntity"), "selectionNodes",
+            List.of(Map.of("node", Map.of("conditionId", "", "test1", "success1"))), "conditionNodes", List.of()))
+            .compile();
+
+    /**
+     * The nested class for {@link BinaryContentWriter#toByteArray()} method.
+     */
+    @Nested
+    class TestToByteArray {
+
+        @Test
+        void testWhenCompiledContentIsWritten() {
+
+            final ByteBuffer sut = ByteBuffer.wrap(BinaryContentWriter.from(COMPILED_CONTENT).toByteArray());
+
+            assertEquals(0x5A444200, sut.getInt());
+            assertEquals(2, sut.getShort());
+            assertEquals(0, sut.getShort());
+
+            final int bodyLength = sut.getInt();
+            final int checksum = sut.getInt();
+
+            assertEquals(sut.remaining(), bodyLength);
+
+            final CRC32 expectedChecksum = new CRC32();
+            expectedChecksum.update(sut);
+
+            assertEquals((int) expectedChecksum.getValue(), checksum);
+        }
+
+        @Test
+        void testWhenCompiledContentIsNull() {
+            assertThrows(NullPointerException.class, () -> BinaryContentWriter.from(null).toByteArray());
+        }
+
+        @Test
+        void testWhenAttributeValueIsNotSupported() {
+
+            final CompiledContent compiledContent = ContentCompiler.from(Map.of("meta",
+                    Map.of("resultType", "org.thinkit.zenna.mapper.ConcreteContentEntity"), "selectionNodes",
+                    List.of(Map.of("node", Map.of("conditionId", "", "test1", new StringBuilder("success1")))),
+                    "conditionNodes", List.of())).compile();
+
+            assertThrows(IllegalStateException.class, () -> BinaryContentWriter.from(compiledContent).toByteArray());
+        }
+    }
+
+    /**
+     * The nested class for {@link BinaryContentWriter#write(java.io.OutputStream)}
+     * method.
+     */
+    @Nested
+    class TestWrite {
+
+        @Test
+        void testWhenOutputStreamIsPassed() {
+
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            BinaryContentWriter.from(COMPILED_CONTENT).write(outputStream);
+
+            assertArrayEquals(BinaryContentWriter.from(COMPILED_CONTENT).toByteArray(), outputStream.toByteArray());
+        }
+    }
+}
@@ -0,0 +1,452 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.thinkit.zenna.exception.IllegalContentStateException;
+
+/**
+ * The class that manages test case of {@link ConditionIndex} .
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public final class ConditionIndexTest {
+
+    /**
+     * Returns the content map containing the condition nodes passed as an
+     * argument.
+     *
+     * @param conditionNodes The condition nodes
+     * @return The content map
+     */
+    @SafeVarargs
+    private static Map<String, Object> content(final Map<String, Object>... conditionNodes) {
+
+        final List<Map<String, Object>> conditionNodeList = new ArrayList<>(conditionNodes.length);
+
+        for (final Map<String, Object> conditionNode : conditionNodes) {
+            conditionNodeList.add(conditionNode);
+        }
+
+        return Map.of("conditionNodes", conditionNodeList);
+    }
+
+    /**
+     * Returns the condition node with the condition id and the conditions passed as
+     * arguments. Each condition is given as a pair of key name and operand.
+     *
+     * @param conditionId The condition id
+     * @param conditions  The pairs of key name and operand
+     * @return The condition node
+     */
+    private static Map<String, Object> node(final String conditionId, final String... conditions) {
+
+        final List<Map<String, Object>> conditionList = new ArrayList<>();
+
+        for (int i = 0; i < conditions.length; i += 2) {
+            conditionList.add(Map.of("keyName", conditions[i], "operator", "=", "operand", conditions[i + 1]));
+        }
+
+        return Map.of("node", Map.of("conditionId", conditionId, "exclude", false, "conditions", conditionList));
+    }
+
+    /**
+     * Returns the condition node with the condition id and the conditions passed as
+     * arguments.
+     *
+     * @param conditionId The condition id
+     * @param conditions  The conditions
+     * @return The condition node
+     */
+    @SafeVarargs
+    private static Map<String, Object> nodeOf(final String conditionId, final Map<String, Object>... conditions) {
+
+        final List<Map<String, Object>> conditionList = new ArrayList<>(conditions.length);
+
+        for (final Map<String, Object> condition : conditions) {
+            conditionList.add(condition);
+        }
+
+        return Map.of("node", Map.of("conditionId", conditionId, "exclude", false, "conditions", conditionList));
+    }
+
+    /**
+     * Returns the condition with the key name, the operator and the operand passed
+     * as arguments.
+     *
+     * @param keyName  The key name
+     * @param operator The operator
+     * @param operand  The operand
+     * @return The condition
+     */
+    private static Map<String, Object> condition(final String keyName, final String operator, final Object operand) {
+        return Map.of("keyName", keyName, "operator", operator, "operand", operand);
+    }
+
+    /**
+     * Returns the condition tuple holding the integral value passed as an argument
+     * for the key name.
+     *
+     * @param keyName The key name
+     * @param value   The integral value
+     * @return The condition tuple
+     */
+    private static ConditionTuple integral(final String keyName, final long value) {
+        final ConditionTuple conditionTuple = ConditionLayout.of(keyName).newTuple();
+        conditionTuple.set(0, value);
+        return conditionTuple;
+    }
+
+    /**
+     * The nested class for {@link ConditionIndex#match(Map)} method.
+     */
+    @Nested
+    class TestMatch {
+
+        @Test
+        void testWhenConditionIsGiven() {
+
+            final ConditionIndex sut = ConditionIndex.from(content(node("0", "key", "0"), node("1", "key", "1")));
+            final BitSet satisfiedNodes = sut.match(Map.of("key", "1"));
+
+            assertFalse(sut.isSatisfied(satisfiedNodes, "0"));
+            assertTrue(sut.isSatisfied(satisfiedNodes, "1"));
+        }
+
+        @Test
+        void testWhenConditionIsNotGiven() {
+
+            final ConditionIndex sut = ConditionIndex.from(content(node("0", "key", "0"), node("1", "key", "1")));
+            final BitSet satisfiedNodes = sut.match(Map.of("anotherKey", "1"));
+
+            assertTrue(sut.isSatisfied(satisfiedNodes, "0"));
+            assertTrue(sut.isSatisfied(satisfiedNodes, "1"));
+        }
+
+        @Test
+        void testWhenConditionTupleIsGiven() {
+
+            final ConditionIndex sut = ConditionIndex.from(content(node("0", "key", "0"), node("1", "key", "1")));
+            final ConditionTuple conditionTuple = ConditionLayout.of("anotherKey", "key").newTuple();
+            conditionTuple.set(1, "0");
+
+            final BitSet satisfiedNodes = sut.match(conditionTuple);
+
+            assertTrue(sut.isSatisfied(satisfiedNodes, "0"));
+            assertFalse(sut.isSatisfied(satisfiedNodes, "1"));
+        }
+
+        @Test
+        void testWhenConditionTupleHasNoValue() {
+
+            final ConditionIndex sut = ConditionIndex.from(content(node("0", "key", "0"), node("1", "key", "1")));
+            final BitSet satisfiedNodes = sut.match(ConditionLayout.of("key").newTuple());
+
+            assertTrue(sut.isSatisfied(satisfiedNodes, "0"));
+            assertTrue(sut.isSatisfied(satisfiedNodes, "1"));
+        }
+
+        @Test
+        void testWhenNodeHasSeveralKeys() {
+
+            final ConditionIndex sut = ConditionIndex
+                    .from(content(node("0", "key1", "a", "key2", "b"), node("1", "key1", "a", "key2", "c")));
+            final BitSet satisfiedNodes = sut.match(Map.of("key1", "a", "key2", "c"));
+
+            assertFalse(sut.isSatisfied(satisfiedNodes, "0"));
+            assertTrue(sut.isSatisfied(satisfiedNodes, "1"));
+        }
+
+        @Test
+        void testWhenNodeHasConflictingOperands() {
+
+            final ConditionIndex sut = ConditionIndex.from(content(node("0", "key", "a", "key", "b")));
+
+            assertFalse(sut.isSatisfied(sut.match(Map.of("key", "a")), "0"));
+            assertFalse(sut.isSatisfied(sut.match(Map.of("key", "b")), "0"));
+            assertTrue(sut.isSatisfied(sut.match(Map.of()), "0"));
+        }
+
+        @Test
+        void testWhenNodeHasNoCondition() {
+
+            final ConditionIndex sut = ConditionIndex.from(content(node("0")));
+
+            assertTrue(sut.isSatisfied(sut.match(Map.of("key", "a")), "0"));
+        }
+
+        @Test
+        void testWhenConditionIdIsShared() {
+
+            final ConditionIndex sut = ConditionIndex.from(content(node("0", "key", "a"), node("0", "key", "b")));
+
+            assertTrue(sut.isSatisfied(sut.match(Map.of("key", "b")), "0"));
+            assertFalse(sut.isSatisfied(sut.match(Map.of("key", "c")), "0"));
+        }
+
+        @Test
+        void testWhenConditionIdIsUnknown() {
+
+            final ConditionIndex sut = ConditionIndex.from(content(node("0", "key", "a")));
+
+            assertFalse(sut.isSatisfied(sut.match(Map.of()), "1"));
+        }
+
+        @Test
+        void testWhenConditionNodesAreNotDefined() {
+
+            final ConditionIndex sut = ConditionIndex.from(Map.of());
+
+            assertEquals(0, sut.size());
+            assertFalse(sut.isSatisfied(sut.match(Map.of("key", "a")), "0"));
+        }
+    }
+
+    /**
+     * The nested class for {@link ConditionIndex#match(Map)} method with operators.
+     */
+    @Nested
+    class TestMatchWithOperator {
+
+        @Test
+        void testWhenOperatorIsNotEqual() {
+
+            final ConditionIndex sut = ConditionIndex.from(content(nodeOf("0", condition("key", "!=", "a"))));
+
+            assertFalse(sut.isSatisfied(sut.match(Map.of("key", "a")), "0"));
+            assertTrue(sut.isSatisfied(sut.match(Map.of("key", "b")), "0"));
+        }
+
+        @Test
+        void testWhenOperatorIsLessThan() {
+
+            final ConditionIndex sut = ConditionIndex.from(content(nodeOf("0", condition("key", "<", 10)),
+                    nodeOf("1", condition("key", "<=", "10"))));
+
+            assertTrue(sut.isSatisfied(sut.match(Map.of("key", "9.5")), "0"));
+            assertFalse(sut.isSatisfied(sut.match(Map.of("key", "10")), "0"));
+            assertTrue(sut.isSatisfied(sut.match(Map.of("key", "10.0")), "1"));
+            assertFalse(sut.isSatisfied(sut.match(Map.of("key", "11")), "1"));
+        }
+
+        @Test
+        void testWhenOperatorIsGreaterThan() {
+
+            final ConditionIndex sut = ConditionIndex.from(content(nodeOf("0", condition("key", ">", "10")),
+                    nodeOf("1", condition("key", ">=", 10))));
+
+            assertTrue(sut.isSatisfied(sut.match(Map.of("key", "11")), "0"));
+            assertFalse(sut.isSatisfied(sut.match(Map.of("key", "10")), "0"));
+            assertTrue(sut.isSatisfied(sut.match(Map.of("key", "10")), "1"));
+            assertFalse(sut.isSatisfied(sut.match(Map.of("key", "9")), "1"));
+        }
+
+        @Test
+        void testWhenIntegralValueIsGiven() {
+
+            final ConditionIndex sut = ConditionIndex.from(content(nodeOf("0", condition("key", "=", "10")),
+                    nodeOf("1", condition("key", "=", "010")), nodeOf("2", condition("key", "in", List.of(9, 10))),
+                    nodeOf("3", condition("key", "!=", 10)), nodeOf("4", condition("key", ">", 9))));
+
+            final BitSet satisfiedNodes = sut.match(integral("key", 10L));
+
+            assertTrue(sut.isSatisfied(satisfiedNodes, "0"));
+            assertFalse(sut.isSatisfied(satisfiedNodes, "1"));
+            assertTrue(sut.isSatisfied(satisfiedNodes, "2"));
+            assertFalse(sut.isSatisfied(satisfiedNodes, "3"));
+            assertTrue(sut.isSatisfied(satisfiedNodes, "4"));
+            assertEquals(satisfiedNodes, sut.match(Map.of("key", "10")));
+        }
+
+        @Test
+        void testWhenIntegralValueIsNotEncoded() {
+
+            final ConditionIndex sut = ConditionIndex.from(content(nodeOf("0", condition("key", "=", "a")),
+                    nodeOf("1", condition("key", "!=", "a"))));
+
+            final BitSet satisfiedNodes = sut.match(integral("key", -1L));
+
+            assertFalse(sut.isSatisfied(satisfiedNodes, "0"));
+            assertTrue(sut.isSatisfied(satisfiedNodes, "1"));
+        }
+
+        @Test
+        void testWhenNumericOperandIsComparedWithString() {
+
+            final ConditionIndex sut = ConditionIndex.from(content(nodeOf("0", condition("key", ">", "10"))));
+
+            assertFalse(sut.isSatisfied(sut.match(Map.of("key", "abc")), "0"));
+        }
+
+        @Test
+        void testWhenStringOperandIsCompared() {
+
+            final ConditionIndex sut = ConditionIndex.from(content(nodeOf("0", condition("key", "<", "m"))));
+
+            assertTrue(sut.isSatisfied(sut.match(Map.of("key", "apple")), "0"));
+            assertFalse(sut.isSatisfied(sut.match(Map.of("key", "orange")), "0"));
+        }
+
+        @Test
+        void testWhenOperatorIsIn() {
+
+            final ConditionIndex sut = ConditionIndex.from(content(nodeOf("0", condition("key", "in", List.of("a", "b"))),
+                    nodeOf("1", condition("key", "in", "b, c"))));
+            final BitSet satisfiedNodes = sut.match(Map.of("key", "b"));
+
+            assertTrue(sut.isSatisfied(satisfiedNodes, "0"));
+            assertTrue(sut.isSatisfied(satisfiedNodes, "1"));
+            assertFalse(sut.isSatisfied(sut.match(Map.of("key", "c")), "0"));
+            assertTrue(sut.isSatisfied(sut.match(Map.of("key", "c")), "1"));
+        }
+
+        @Test
+        void testWhenOperatorIsInAndEqual() {
+
+            final ConditionIndex sut = ConditionIndex.from(
+                    content(nodeOf("0", condition("key", "in", List.of("a", "b")), condition("key", "=", "b"))));
+
+            assertFalse(sut.isSatisfied(sut.match(Map.of("key", "a")), "0"));
+            assertTrue(sut.isSatisfied(sut.match(Map.of("key", "b")), "0"));
+        }
+
+        @Test
+        void testWhenOperatorIsBetween() {
+
+            final ConditionIndex sut = ConditionIndex
+                    .from(content(nodeOf("0", condition("key", "between", List.of(1, 5)))));
+
+            assertFalse(sut.isSatisfied(sut.match(Map.of("key", "0")), "0"));
+            assertTrue(sut.isSatisfied(sut.match(Map.of("key", "1")), "0"));
+            assertTrue(sut.isSatisfied(sut.match(Map.of("key", "5")), "0"));
+            assertFalse(sut.isSatisfied(sut.match(Map.of("key", "5.1")), "0"));
+        }
+
+        @Test
+        void testWhenOperandOfBetweenIsNotPair() {
+            assertThrows(IllegalContentStateException.class,
+                    () -> ConditionIndex.from(content(nodeOf("0", condition("key", "between", List.of(1))))));
+        }
+
+        @Test
+        void testWhenOperatorIsPrefix() {
+
+            final ConditionIndex sut = ConditionIndex.from(content(nodeOf("0", condition("key", "prefix", "ab")),
+                    nodeOf("1", condition("key", "prefix", "a"), condition("key", "prefix", "abc"))));
+            final BitSet satisfiedNodes = sut.match(Map.of("key", "abd"));
+
+            assertTrue(sut.isSatisfied(satisfiedNodes, "0"));
+            assertFalse(sut.isSatisfied(satisfiedNodes, "1"));
+            assertTrue(sut.isSatisfied(sut.match(Map.of("key", "abcd")), "1"));
+            assertFalse(sut.isSatisfied(sut.match(Map.of("key", "b")), "0"));
+        }
+
+        @Test
+        void testWhenOperatorsAreCombined() {
+
+            final ConditionIndex sut = ConditionIndex.from(content(
+                    nodeOf("0", condition("key", ">=", 10), condition("key", "!=", "15"), condition("key", "<", 20))));
+
+            assertTrue(sut.isSatisfied(sut.match(Map.of("key", "12")), "0"));
+            assertFalse(sut.isSatisfied(sut.match(Map.of("key", "15")), "0"));
+            assertFalse(sut.isSatisfied(sut.match(Map.of("key", "20")), "0"));
+        }
+
+        @Test
+        void testWhenManyRangeConditionsAreDefined() {
+
+            final List<Map<String, Object>> conditionNodes = new ArrayList<>();
+
+            for (int i = 0; i < 10000; i++) {
+                conditionNodes.add(nodeOf(String.valueOf(i), condition("key", "<=", i)));
+            }
+
+            final ConditionIndex sut = ConditionIndex.from(Map.of("conditionNodes", conditionNodes));
+            final BitSet satisfiedNodes = sut.match(Map.of("key", "5000"));
+
+            assertEquals(5000, satisfiedNodes.cardinality());
+            assertEquals(5000, satisfiedNodes.nextSetBit(0));
+        }
+
+        @Test
+        void testWhenOperatorIsNotSupported() {
+            assertThrows(IllegalContentStateException.class,
+                    () -> ConditionIndex.from(content(nodeOf("0", condition("key", "like", "a")))));
+        }
+    }
+
+    /**
+     * The nested class for {@link ConditionIndex#builder()} method.
+     */
+    @Nested
+    class TestBuilder {
+
+        @Test
+        void testWhenNodesAreAdded() {
+
+            final ConditionIndex sut = ConditionIndex.builder().addNode().setConditionId("0")
+                    .addCondition("key", null, "a").addCondition("key", "in", List.of("a", "b")).addNode()
+                    .setConditionId("1").setExclude("true").addCondition("key", "prefix", "b")
+                    .addCondition(null, "like", "ignored").addNode().setConditionId("2").setExclude(true).build();
+
+            assertEquals(3, sut.size());
+            assertEquals("1", sut.getConditionId(1));
+            assertFalse(sut.isExclude(0));
+            assertTrue(sut.isExclude(1));
+            assertTrue(sut.isExclude(2));
+            assertEquals(BitSet.valueOf(new long[] { 0b101 }), sut.match(Map.of("key", "a")));
+            assertEquals(BitSet.valueOf(new long[] { 0b110 }), sut.match(Map.of("key", "b")));
+        }
+
+        @Test
+        void testWhenNodesAreSameAsContent() {
+
+            final ConditionIndex expected = ConditionIndex.from(content(nodeOf("0", condition("key", "!=", "a"),
+                    condition("key", "between", List.of(1, 5))), node("1", "key", "3")));
+            final ConditionIndex actual = ConditionIndex.builder().addNode().setConditionId("0")
+                    .addCondition("key", "!=", "a").addCondition("key", "between", List.of(1, 5)).addNode()
+                    .setConditionId("1").addCondition("key", "=", "3").build();
+
+            for (final String value : List.of("a", "0", "3", "5", "6")) {
+                assertEquals(expected.match(Map.of("key", value)), actual.match(Map.of("key", value)));
+            }
+        }
+
+        @Test
+        void testWhenNoNodeIsAdded() {
+            assertEquals(0, ConditionIndex.builder().build().size());
+            assertThrows(IllegalStateException.class, () -> ConditionIndex.builder().setConditionId("0"));
+            assertThrows(IllegalStateException.class, () -> ConditionIndex.builder().addCondition("key", "=", "a"));
+        }
+
+        @Test
+        void testWhenOperatorIsNotSupported() {
+            assertThrows(IllegalContentStateException.class,
+                    () -> ConditionIndex.builder().addNode().addCondition("key", "like", "a"));
+        }
+    }
+}
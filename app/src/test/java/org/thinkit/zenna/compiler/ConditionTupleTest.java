@@ -0,0 +1,137 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The class that manages test case of {@link ConditionTuple} .
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public final class ConditionTupleTest {
+
+    /**
+     * The nested class for {@link ConditionLayout#of(String...)} method.
+     */
+    @Nested
+    class TestLayout {
+
+        @Test
+        void testWhenKeysAreDuplicated() {
+
+            final ConditionLayout sut = ConditionLayout.of("key1", "key2", "key1");
+
+            assertEquals(2, sut.size());
+            assertEquals(0, sut.getPosition("key1"));
+            assertEquals(1, sut.getPosition("key2"));
+            assertEquals(-1, sut.getPosition("key3"));
+        }
+    }
+
+    /**
+     * The nested class for {@link ConditionTuple#from(Map)} method.
+     */
+    @Nested
+    class TestFrom {
+
+        @Test
+        void testWhenMapIsConverted() {
+
+            final Map<String, String> conditions = new LinkedHashMap<>();
+            conditions.put("key1", "a");
+            conditions.put("key2", "b");
+
+            final ConditionTuple sut = ConditionTuple.from(conditions);
+
+            assertEquals(2, sut.size());
+            assertEquals("key1", sut.getKey(0));
+            assertEquals("a", sut.getValue(0));
+            assertEquals(conditions, sut.toMap());
+        }
+
+        @Test
+        void testWhenMapIsNull() {
+            assertThrows(NullPointerException.class, () -> ConditionTuple.from(null));
+        }
+    }
+
+    /**
+     * The nested class for the values of {@link ConditionTuple} .
+     */
+    @Nested
+    class TestValues {
+
+        @Test
+        void testWhenTuplesHaveSameValues() {
+
+            final ConditionLayout layout = ConditionLayout.of("key1", "key2");
+            final ConditionTuple tuple1 = layout.newTuple();
+            final ConditionTuple tuple2 = layout.newTuple();
+            tuple1.set(0, "a");
+            tuple2.set(0, "a");
+
+            assertEquals(tuple1, tuple2);
+            assertEquals(tuple1.hashCode(), tuple2.hashCode());
+
+            tuple2.set(1, "b");
+
+            assertNotEquals(tuple1, tuple2);
+        }
+
+        @Test
+        void testWhenValueIsIntegral() {
+
+            final ConditionTuple sut = ConditionLayout.of("key").newTuple();
+            sut.set(0, 10L);
+
+            assertTrue(sut.isIntegral(0));
+            assertEquals(10L, sut.getIntegralValue(0));
+            assertEquals("10", sut.getValue(0));
+            assertEquals(sut, sut.copy());
+
+            sut.set(0, "10");
+
+            assertFalse(sut.isIntegral(0));
+            assertEquals("10", sut.getValue(0));
+        }
+
+        @Test
+        void testWhenTupleIsCopiedAndCleared() {
+
+            final ConditionTuple sut = ConditionLayout.of("key").newTuple();
+            sut.set(0, "a");
+
+            final ConditionTuple copy = sut.copy();
+            sut.clear();
+
+            assertNull(sut.getValue(0));
+            assertEquals("a", copy.getValue(0));
+            assertEquals(Map.of(), sut.toMap());
+        }
+    }
+}
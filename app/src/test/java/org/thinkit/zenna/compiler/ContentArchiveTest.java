@@ -0,0 +1,189 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.thinkit.zenna.exception.ContentParsingException;
+
+/**
+ * The class that manages test case of {@link ContentArchive} .
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public final class ContentArchiveTest {
+
+    /**
+     * The content names for testing, which are not sorted
+     */
+    private static final List<String> CONTENT_NAMES = List.of("org/thinkit/zenna/B", "org/thinkit/zenna/\u30c6",
+            "org/thinkit/zenna/A", "org/thinkit/zenna/AB", "org/thinkit/zenna/a");
+
+    /**
+     * The nested class for {@link ContentArchive#find(String)} method.
+     */
+    @Nested
+    class TestFind {
+
+        @Test
+        void testWhenContentIsPacked() {
+
+            final ContentArchive sut = ContentArchive.from(ByteBuffer.wrap(createArchive()));
+
+            assertEquals(CONTENT_NAMES.size(), sut.size());
+
+            for (final String contentName : CONTENT_NAMES) {
+                final AttributeColumns attributeColumns = BinaryContentCompiler.from(sut.find(contentName)).compile()
+                        .getAttributeColumns();
+                assertEquals(contentName, attributeColumns.getObject(attributeColumns.getColumn("test1"), 0));
+            }
+        }
+
+        @Test
+        void testWhenContentIsNotPacked() {
+
+            final ContentArchive sut = ContentArchive.from(ByteBuffer.wrap(createArchive()));
+
+            assertNull(sut.find("org/thinkit/zenna/C"));
+            assertNull(sut.find("org/thinkit/zenna/"));
+            assertNull(sut.find("org/thinkit/zenna/ABC"));
+            assertNull(sut.find(""));
+        }
+
+        @Test
+        void testWhenArchiveIsDirectBuffer() {
+
+            final byte[] archive = createArchive();
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(archive.length + 1);
+            buffer.put((byte) 0).put(archive).position(1);
+
+            final ByteBuffer archivedContent = ContentArchive.from(buffer).find("org/thinkit/zenna/AB");
+            final AttributeColumns attributeColumns = BinaryContentCompiler.from(archivedContent).compile()
+                    .getAttributeColumns();
+
+            assertTrue(archivedContent.isReadOnly());
+            assertEquals("org/thinkit/zenna/AB", attributeColumns.getObject(attributeColumns.getColumn("test1"), 0));
+        }
+
+        @Test
+        void testWhenArchiveIsEmpty() {
+
+            final ContentArchive sut = ContentArchive.from(ByteBuffer.wrap(ContentArchiveWriter.from(Map.of())
+                    .toByteArray()));
+
+            assertEquals(0, sut.size());
+            assertNull(sut.find("org/thinkit/zenna/A"));
+        }
+
+        @Test
+        void testWhenContentNameIsNull() {
+            final ContentArchive sut = ContentArchive.from(ByteBuffer.wrap(createArchive()));
+            assertThrows(NullPointerException.class, () -> sut.find(null));
+        }
+    }
+
+    /**
+     * The nested class for {@link ContentArchive#from(ByteBuffer)} method.
+     */
+    @Nested
+    class TestFrom {
+
+        @Test
+        void testWhenFileIsNotArchive() {
+
+            final ContentParsingException exception = assertThrows(ContentParsingException.class,
+                    () -> ContentArchive.from(ByteBuffer.wrap(new byte[ContentArchive.HEADER_SIZE])));
+
+            assertEquals("The file is not a content archive.", exception.getMessage());
+        }
+
+        @Test
+        void testWhenVersionIsNotSupported() {
+
+            final byte[] archive = createArchive();
+            archive[5] = 2;
+
+            final ContentParsingException exception = assertThrows(ContentParsingException.class,
+                    () -> ContentArchive.from(ByteBuffer.wrap(archive)));
+
+            assertEquals("The format version '2' of the content archive is not supported.", exception.getMessage());
+        }
+
+        @Test
+        void testWhenArchiveIsTruncated() {
+
+            final byte[] archive = createArchive();
+
+            for (final int length : new int[] { 4, ContentArchive.HEADER_SIZE + 4, archive.length - 1 }) {
+                final ContentParsingException exception = assertThrows(ContentParsingException.class,
+                        () -> ContentArchive.from(ByteBuffer.wrap(Arrays.copyOf(archive, length))));
+
+                assertEquals("The content archive is broken.", exception.getMessage());
+            }
+        }
+
+        @Test
+        void testWhenDirectoryIsNotSorted() {
+
+            final ByteBuffer archive = ByteBuffer.wrap(createArchive());
+            final int first = ContentArchive.HEADER_SIZE;
+            final int second = first + ContentArchive.ENTRY_SIZE;
+
+            for (int i = 0; i < ContentArchive.ENTRY_SIZE; i += 4) {
+                final int entry = archive.getInt(first + i);
+                archive.putInt(first + i, archive.getInt(second + i));
+                archive.putInt(second + i, entry);
+            }
+
+            assertThrows(ContentParsingException.class, () -> ContentArchive.from(archive));
+        }
+
+        @Test
+        void testWhenBufferIsNull() {
+            assertThrows(NullPointerException.class, () -> ContentArchive.from(null));
+        }
+    }
+
+    /**
+     * Returns the content archive packing the contents whose {@code "test1"} is
+     * the content name.
+     *
+     * @return The bytes of the content archive
+     */
+    private static byte[] createArchive() {
+
+        final Map<String, CompiledContent> compiledContents = new LinkedHashMap<>();
+
+        for (final String contentName : CONTENT_NAMES) {
+            compiledContents.put(contentName, ContentCompiler.from(Map.of("meta",
+                    Map.of("resultType", "org.thinkit.zenna.mapper.ConcreteContentEntity"), "selectionNodes",
+                    List.of(Map.of("node", Map.of("conditionId", "", "test1", contentName))))).compile());
+        }
+
+        return ContentArchiveWriter.from(compiledContents).toByteArray();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The class that manages test case of {@link ContentArchiveWriter} .
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public final class ContentArchiveWriterTest {
+
+    /**
+     * The compiled content for testing
+     */
+    private static final CompiledContent COMPILED_CONTENT = ContentCompiler.from(Map.of("meta",
+            Map.of("resultType", "org.thinkit.zenna.mapper.ConcreteContentEntity"), "selectionNodes",
+            List.of(Map.of("node", Map.of("conditionId", "", "test1", "success1"))), "conditionNodes", List.of()))
+            .compile();
+
+    /**
+     * The nested class for {@link ContentArchiveWriter#toByteArray()} method.
+     */
+    @Nested
+    class TestToByteArray {
+
+        @Test
+        void testWhenCompiledContentsAreWritten() {
+
+            final byte[] binaryContent = BinaryContentWriter.from(COMPILED_CONTENT).toByteArray();
+            final ByteBuffer sut = ByteBuffer.wrap(ContentArchiveWriter
+                    .from(Map.of("org/thinkit/zenna/B", COMPILED_CONTENT, "org/thinkit/zenna/A", COMPILED_CONTENT))
+                    .toByteArray());
+
+            assertEquals(0x5A504B00, sut.getInt());
+            assertEquals(1, sut.getShort());
+            assertEquals(0, sut.getShort());
+            assertEquals(2, sut.getInt());
+
+            final int namesOffset = ContentArchive.HEADER_SIZE + 2 * ContentArchive.ENTRY_SIZE;
+            final int contentsOffset = namesOffset + 2 * "org/thinkit/zenna/A".length();
+
+            assertArrayEquals(new int[] { namesOffset, 19, contentsOffset, binaryContent.length },
+                    new int[] { sut.getInt(), sut.getInt(), sut.getInt(), sut.getInt() });
+            assertArrayEquals(new int[] { namesOffset + 19, 19, contentsOffset + binaryContent.length,
+                    binaryContent.length }, new int[] { sut.getInt(), sut.getInt(), sut.getInt(), sut.getInt() });
+
+            final byte[] names = new byte[2 * 19];
+            sut.get(names);
+
+            assertEquals("org/thinkit/zenna/Aorg/thinkit/zenna/B", new String(names, StandardCharsets.UTF_8));
+            assertEquals(2 * binaryContent.length, sut.remaining());
+        }
+
+        @Test
+        void testWhenCompiledContentsAreNull() {
+            assertThrows(NullPointerException.class, () -> ContentArchiveWriter.from(null).toByteArray());
+        }
+    }
+
+    /**
+     * The nested class for {@link ContentArchiveWriter#write(java.io.OutputStream)}
+     * method.
+     */
+    @Nested
+    class TestWrite {
+
+        @Test
+        void testWhenOutputStreamIsPassed() {
+
+            final ContentArchiveWriter sut = ContentArchiveWriter.from(Map.of("org/thinkit/zenna/A", COMPILED_CONTENT));
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            sut.write(outputStream);
+
+            assertArrayEquals(sut.toByteArray(), outputStream.toByteArray());
+        }
+    }
+}
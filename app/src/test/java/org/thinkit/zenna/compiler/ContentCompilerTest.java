@@ -0,0 +1,73 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.thinkit.zenna.exception.IllegalContentStateException;
+
+/**
+ * The class that manages test case of {@link ContentCompiler} .
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public final class ContentCompilerTest {
+
+    /**
+     * The nested class for {@link ContentCompiler#compile()} method.
+     */
+    @Nested
+    class TestCompile {
+
+        @Test
+        void testWhenContentHasResultType() {
+
+            final Map<String, Object> content = Map.of("meta",
+                    Map.of("resultType", "org.thinkit.zenna.mapper.ConcreteContentEntity"), "selectionNodes",
+                    List.of(Map.of("node", Map.of("conditionId", ""))), "conditionNodes", List.of());
+
+            final CompiledContent compiledContent = ContentCompiler.from(content).compile();
+
+            assertEquals("org.thinkit.zenna.mapper.ConcreteContentEntity", compiledContent.getResultType());
+            assertEquals(2, compiledContent.getWeight());
+            assertEquals(1, compiledContent.getSelectionIndex().size());
+        }
+
+        @Test
+        void testWhenContentHasNoSelectionNodes() {
+            assertThrows(IllegalContentStateException.class, () -> ContentCompiler
+                    .from(Map.of("meta", Map.of("resultType", "org.thinkit.zenna.mapper.ConcreteContentEntity")))
+                    .compile());
+        }
+
+        @Test
+        void testWhenContentHasNoResultType() {
+            assertThrows(IllegalContentStateException.class,
+                    () -> ContentCompiler.from(Map.of("meta", Map.of())).compile());
+        }
+
+        @Test
+        void testWhenContentHasNoMeta() {
+            assertThrows(IllegalContentStateException.class, () -> ContentCompiler.from(Map.of()).compile());
+        }
+    }
+}
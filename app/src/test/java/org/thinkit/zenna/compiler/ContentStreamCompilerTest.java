@@ -0,0 +1,220 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.thinkit.zenna.exception.ContentParsingException;
+import org.thinkit.zenna.exception.IllegalContentStateException;
+import org.thinkit.zenna.loader.ContentLoader;
+
+/**
+ * The class that manages test case of {@link ContentStreamCompiler} .
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public final class ContentStreamCompilerTest {
+
+    /**
+     * The content file for testing
+     */
+    private static final String CONTENT = String.join("\n", "{",
+            "  \"meta\": {\"author\": \"Kato Shinya\",",
+            "    \"resultType\": \"org.thinkit.zenna.mapper.ConcreteContentEntity\"},",
+            "  \"selectionNodes\": [",
+            "    {\"node\": {\"conditionId\": \"0\", \"test1\": \"line1\\nline2\", \"count\": 1, \"flag\": true}},",
+            "    {\"node\": {\"conditionId\": \"\", \"test1\": null, \"count\": 2, \"rate\": 0.5, \"tags\": [\"a\"]}},",
+            "    {\"node\": {\"conditionId\": \"0\", \"count\": 3000000000}}",
+            "  ],",
+            "  \"conditionNodes\": [{\"node\": {\"conditionId\": \"0\", \"exclude\": false, \"conditions\": []}}],",
+            "  \"unknown\": {\"nested\": [1, 2, 3]}",
+            "}");
+
+    /**
+     * The content file having various condition nodes for testing
+     */
+    private static final String CONDITION_CONTENT = String.join("\n", "{",
+            "  \"meta\": {\"resultType\": \"org.thinkit.zenna.mapper.ConcreteContentEntity\"},",
+            "  \"selectionNodes\": [",
+            "    {\"node\": {\"conditionId\": \"0\", \"nested\": {\"values\": [1, {\"rate\": 0.5}], \"empty\": {}}}}",
+            "  ],",
+            "  \"conditionNodes\": [",
+            "    {\"node\": {\"conditionId\": \"0\", \"exclude\": \"true\", \"conditions\": [",
+            "      {\"keyName\": \"name\", \"operand\": \"a\"},",
+            "      {\"keyName\": \"name\", \"operator\": \"in\", \"operand\": [\"a\", \"b\"]},",
+            "      {\"operator\": \"unknown\", \"operand\": \"ignored\"}]}},",
+            "    {\"unknown\": [{}], \"node\": {\"conditionId\": \"1\", \"conditions\": [",
+            "      {\"keyName\": \"count\", \"operator\": \"between\", \"operand\": [1, 10]},",
+            "      {\"keyName\": \"name\", \"operator\": \"prefix\", \"operand\": \"ab\"},",
+            "      {\"keyName\": \"name\", \"operator\": \"!=\", \"operand\": \"abc\"}]}},",
+            "    {\"node\": {\"conditionId\": \"2\", \"exclude\": true}}",
+            "  ]",
+            "}");
+
+    /**
+     * The nested class for {@link ContentStreamCompiler#compile()} method.
+     */
+    @Nested
+    class TestCompile {
+
+        @Test
+        void testWhenContentIsSameAsLoadedContent() {
+
+            final CompiledContent expected = ContentCompiler.from(ContentLoader.from(toStream(CONTENT)).load())
+                    .compile();
+            final CompiledContent actual = ContentStreamCompiler.from(toStream(CONTENT)).compile();
+
+            assertEquals(expected.getResultType(), actual.getResultType());
+            assertEquals(expected.getWeight(), actual.getWeight());
+            assertEquals(5, actual.getWeight());
+
+            final AttributeColumns expectedColumns = expected.getAttributeColumns();
+            final AttributeColumns actualColumns = actual.getAttributeColumns();
+
+            assertEquals(expectedColumns.size(), actualColumns.size());
+            assertEquals(expectedColumns.getColumnCount(), actualColumns.getColumnCount());
+
+            for (int column = 0; column < actualColumns.getColumnCount(); column++) {
+                assertEquals(expectedColumns.getAttribute(column), actualColumns.getAttribute(column));
+                assertEquals(expectedColumns.getType(column), actualColumns.getType(column));
+
+                for (int row = 0; row < actualColumns.size(); row++) {
+                    assertEquals(expectedColumns.getObject(column, row), actualColumns.getObject(column, row));
+                }
+            }
+
+            for (int row = 0; row < actualColumns.size(); row++) {
+                assertEquals(expectedColumns.getConditionCode(row), actualColumns.getConditionCode(row));
+            }
+        }
+
+        @Test
+        void testWhenConditionNodesAreSameAsLoadedContent() {
+
+            final CompiledContent expected = ContentCompiler
+                    .from(ContentLoader.from(toStream(CONDITION_CONTENT)).load()).compile();
+            final CompiledContent actual = ContentStreamCompiler.from(toStream(CONDITION_CONTENT)).compile();
+
+            assertEquals(expected.getWeight(), actual.getWeight());
+            assertEquals(5, actual.getWeight());
+
+            final ConditionIndex expectedIndex = expected.getConditionIndex();
+            final ConditionIndex actualIndex = actual.getConditionIndex();
+
+            assertEquals(expectedIndex.size(), actualIndex.size());
+
+            for (int position = 0; position < actualIndex.size(); position++) {
+                assertEquals(expectedIndex.getConditionId(position), actualIndex.getConditionId(position));
+                assertEquals(expectedIndex.isExclude(position), actualIndex.isExclude(position));
+            }
+
+            for (final Map<String, String> conditions : List.of(Map.<String, String>of(), Map.of("name", "a"),
+                    Map.of("name", "b"), Map.of("name", "abd", "count", "5"), Map.of("name", "abc", "count", "5"),
+                    Map.of("name", "abd", "count", "11"))) {
+                assertEquals(expectedIndex.match(conditions), actualIndex.match(conditions));
+            }
+
+            assertEquals(BitSet.valueOf(new long[] { 0b101 }), actualIndex.match(Map.of("name", "a")));
+            assertEquals(BitSet.valueOf(new long[] { 0b100 }), actualIndex.match(Map.of("name", "b")));
+            assertEquals(BitSet.valueOf(new long[] { 0b110 }), actualIndex.match(Map.of("name", "abd", "count", "5")));
+        }
+
+        @Test
+        void testWhenSelectionNodeHasNestedValues() {
+
+            final AttributeColumns sut = ContentStreamCompiler.from(toStream(CONDITION_CONTENT)).compile()
+                    .getAttributeColumns();
+            final AttributeColumns expected = ContentCompiler
+                    .from(ContentLoader.from(toStream(CONDITION_CONTENT)).load()).compile().getAttributeColumns();
+
+            final Object nested = sut.getObject(sut.getColumn("nested"), 0);
+
+            assertEquals(Map.of("values", List.of(1, Map.of("rate", 0.5)), "empty", Map.of()), nested);
+            assertEquals(expected.getObject(expected.getColumn("nested"), 0), nested);
+        }
+
+        @Test
+        void testWhenConditionNodeHasUnsupportedOperator() {
+            assertThrows(IllegalContentStateException.class, () -> ContentStreamCompiler.from(toStream(String.join("",
+                    "{\"meta\": {\"resultType\": \"org.thinkit.zenna.mapper.ConcreteContentEntity\"},",
+                    "\"selectionNodes\": [{\"node\": {}}], \"conditionNodes\": [{\"node\": {\"conditionId\": \"0\",",
+                    "\"conditions\": [{\"keyName\": \"name\", \"operator\": \"unknown\", \"operand\": \"a\"}]}}]}")))
+                    .compile());
+        }
+
+        @Test
+        void testWhenValuesHaveVariousTypes() {
+
+            final AttributeColumns sut = ContentStreamCompiler.from(toStream(CONTENT)).compile()
+                    .getAttributeColumns();
+
+            assertEquals("line1\nline2", sut.getObject(sut.getColumn("test1"), 0));
+            assertNull(sut.getObject(sut.getColumn("test1"), 1));
+            assertEquals(ColumnType.OBJECT, sut.getType(sut.getColumn("count")));
+            assertEquals(3000000000L, sut.getObject(sut.getColumn("count"), 2));
+            assertEquals(List.of("a"), sut.getObject(sut.getColumn("tags"), 1));
+            assertEquals(ColumnType.BOOLEAN, sut.getType(sut.getColumn("flag")));
+        }
+
+        @Test
+        void testWhenContentHasNoSelectionNodes() {
+            assertThrows(IllegalContentStateException.class, () -> ContentStreamCompiler
+                    .from(toStream("{\"meta\": {\"resultType\": \"org.thinkit.zenna.mapper.ConcreteContentEntity\"}}"))
+                    .compile());
+        }
+
+        @Test
+        void testWhenContentHasNoResultType() {
+            assertThrows(IllegalContentStateException.class,
+                    () -> ContentStreamCompiler.from(toStream("{\"meta\": {}}")).compile());
+            assertThrows(IllegalContentStateException.class,
+                    () -> ContentStreamCompiler.from(toStream("{}")).compile());
+        }
+
+        @Test
+        void testWhenContentIsNotJson() {
+            assertThrows(ContentParsingException.class,
+                    () -> ContentStreamCompiler.from(toStream("{\"meta\": ")).compile());
+            assertThrows(ContentParsingException.class, () -> ContentStreamCompiler.from(toStream("[]")).compile());
+        }
+
+        @Test
+        void testWhenContentStreamIsNull() {
+            assertThrows(NullPointerException.class, () -> ContentStreamCompiler.from(null).compile());
+        }
+    }
+
+    /**
+     * Returns the input stream of the content passed as an argument.
+     *
+     * @param content The content
+     * @return The input stream of the content
+     */
+    private static InputStream toStream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
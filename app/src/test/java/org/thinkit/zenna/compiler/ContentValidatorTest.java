@@ -0,0 +1,180 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.thinkit.zenna.exception.IllegalContentStateException;
+import org.thinkit.zenna.util.JsonConverter;
+
+/**
+ * The class that manages test case of {@link ContentValidator} .
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public final class ContentValidatorTest {
+
+    /**
+     * The meta node for testing
+     */
+    private static final String META = "\"meta\": {\"resultType\": \"org.thinkit.zenna.mapper.ConcreteContentEntity\"}";
+
+    /**
+     * The selection nodes for testing
+     */
+    private static final String SELECTION_NODES = "\"selectionNodes\": [{\"node\": {\"conditionId\": \"0\"}}]";
+
+    /**
+     * The nested class for {@link ContentValidator#validate()} method.
+     */
+    @Nested
+    class TestValidate {
+
+        @Test
+        void testWhenContentIsLegal() {
+            assertDoesNotThrow(() -> ContentValidator.from(toContent(META, SELECTION_NODES,
+                    "\"conditionNodes\": [{\"node\": {\"conditionId\": \"0\", \"exclude\": false, \"conditions\": "
+                            + "[{\"keyName\": \"key\", \"operator\": \"in\", \"operand\": \"a,b\"}]}}]"))
+                    .validate());
+        }
+
+        @Test
+        void testWhenContentDoesNotHaveConditionNodes() {
+            assertDoesNotThrow(() -> ContentValidator.from(toContent(META, SELECTION_NODES)).validate());
+        }
+
+        @Test
+        void testWhenMetaIsNotObject() {
+            assertIllegalContent("The 'meta' must be an object.", "\"meta\": []", SELECTION_NODES);
+        }
+
+        @Test
+        void testWhenMetaDoesNotHaveResultType() {
+            assertIllegalContent("The 'resultType' of 'meta' must be defined.", "\"meta\": {}", SELECTION_NODES);
+        }
+
+        @Test
+        void testWhenResultTypeIsNotString() {
+            assertIllegalContent("The 'resultType' of 'meta' must be a string.",
+                    "\"meta\": {\"resultType\": 1}", SELECTION_NODES);
+        }
+
+        @Test
+        void testWhenSelectionNodesAreNotArray() {
+            assertIllegalContent("The 'selectionNodes' must be an array.", META, "\"selectionNodes\": {}");
+        }
+
+        @Test
+        void testWhenSelectionNodesAreEmpty() {
+            assertIllegalContent("The 'selectionNodes' must have at least one node.", META, "\"selectionNodes\": []");
+        }
+
+        @Test
+        void testWhenSelectionNodeIsNotObject() {
+            assertIllegalContent("The 'selectionNodes[0]' must be an object.", META, "\"selectionNodes\": [1]");
+        }
+
+        @Test
+        void testWhenSelectionNodeDoesNotHaveNode() {
+            assertIllegalContent("The 'selectionNodes[1].node' must be an object.",
+                    META, "\"selectionNodes\": [{\"node\": {}}, {}]");
+        }
+
+        @Test
+        void testWhenConditionIdOfSelectionNodeIsNotString() {
+            assertIllegalContent("The 'conditionId' of 'selectionNodes[0]' must be a string.",
+                    META, "\"selectionNodes\": [{\"node\": {\"conditionId\": 0}}]");
+        }
+
+        @Test
+        void testWhenConditionNodesAreNotArray() {
+            assertIllegalContent("The 'conditionNodes' must be an array.",
+                    META, SELECTION_NODES, "\"conditionNodes\": {}");
+        }
+
+        @Test
+        void testWhenConditionNodeDoesNotHaveConditionId() {
+            assertIllegalContent("The 'conditionId' of 'conditionNodes[0]' must be defined.",
+                    META, SELECTION_NODES, "\"conditionNodes\": [{\"node\": {}}]");
+        }
+
+        @Test
+        void testWhenExcludeIsNotBoolean() {
+            assertIllegalContent("The 'exclude' of 'conditionNodes[0]' must be a boolean.",
+                    META, SELECTION_NODES,
+                    "\"conditionNodes\": [{\"node\": {\"conditionId\": \"0\", \"exclude\": 1}}]");
+        }
+
+        @Test
+        void testWhenConditionsAreNotArray() {
+            assertIllegalContent("The 'conditionNodes[0].conditions' must be an array.",
+                    META, SELECTION_NODES,
+                    "\"conditionNodes\": [{\"node\": {\"conditionId\": \"0\", \"conditions\": {}}}]");
+        }
+
+        @Test
+        void testWhenConditionDoesNotHaveKeyName() {
+            assertIllegalContent("The 'keyName' of 'conditionNodes[0].conditions[0]' must be defined.",
+                    META, SELECTION_NODES,
+                    "\"conditionNodes\": [{\"node\": {\"conditionId\": \"0\", "
+                            + "\"conditions\": [{\"operand\": \"0\"}]}}]");
+        }
+
+        @Test
+        void testWhenOperandIsNotScalar() {
+            assertIllegalContent("The 'operand' of 'conditionNodes[0].conditions[0]' must be a scalar value.",
+                    META, SELECTION_NODES,
+                    "\"conditionNodes\": [{\"node\": {\"conditionId\": \"0\", "
+                            + "\"conditions\": [{\"keyName\": \"key\", \"operand\": [\"0\"]}]}}]");
+        }
+
+        @Test
+        void testWhenContentIsNull() {
+            assertThrows(NullPointerException.class, () -> ContentValidator.from(null).validate());
+        }
+    }
+
+    /**
+     * Asserts that the content consisting of the nodes passed as arguments is
+     * rejected with the expected message.
+     *
+     * @param expectedMessage The expected message
+     * @param nodes           The nodes of the content
+     */
+    private static void assertIllegalContent(String expectedMessage, String... nodes) {
+
+        final IllegalContentStateException exception = assertThrows(IllegalContentStateException.class,
+                () -> ContentValidator.from(toContent(nodes)).validate());
+
+        assertEquals(expectedMessage, exception.getMessage());
+    }
+
+    /**
+     * Returns the content map consisting of the nodes passed as arguments.
+     *
+     * @param nodes The nodes of the content
+     * @return The content map
+     */
+    private static Map<String, Object> toContent(String... nodes) {
+        return JsonConverter.toLinkedHashMap(String.format("{%s}", String.join(",", nodes)));
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The class that manages test case of {@link OperandDictionary} .
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public final class OperandDictionaryTest {
+
+    /**
+     * The nested class for {@link OperandDictionary#lookup(long)} method.
+     */
+    @Nested
+    class TestLookup {
+
+        @Test
+        void testWhenOperandsAreEncoded() {
+
+            final OperandDictionary sut = new OperandDictionary();
+            final int code1 = sut.encode("a");
+            final int code2 = sut.encode("-5");
+            final int code3 = sut.encode("100");
+            sut.encode("a");
+            sut.build();
+
+            assertEquals(3, sut.size());
+            assertEquals(code1, sut.lookup("a"));
+            assertEquals(code2, sut.lookup(-5L));
+            assertEquals(code3, sut.lookup(100L));
+            assertEquals(code3, sut.lookup("100"));
+            assertEquals(OperandDictionary.NOT_FOUND, sut.lookup(0L));
+            assertEquals(OperandDictionary.NOT_FOUND, sut.lookup((String) null));
+        }
+    }
+
+    /**
+     * The nested class for {@link OperandDictionary#isIntegral(String)} method.
+     */
+    @Nested
+    class TestIsIntegral {
+
+        @Test
+        void testWhenOperandIsCanonical() {
+            assertTrue(OperandDictionary.isIntegral("0"));
+            assertTrue(OperandDictionary.isIntegral("-1"));
+            assertTrue(OperandDictionary.isIntegral("9223372036854775807"));
+            assertTrue(OperandDictionary.isIntegral("-9223372036854775808"));
+        }
+
+        @Test
+        void testWhenOperandIsNotCanonical() {
+            assertFalse(OperandDictionary.isIntegral(""));
+            assertFalse(OperandDictionary.isIntegral("-"));
+            assertFalse(OperandDictionary.isIntegral("-0"));
+            assertFalse(OperandDictionary.isIntegral("010"));
+            assertFalse(OperandDictionary.isIntegral("+1"));
+            assertFalse(OperandDictionary.isIntegral("1.0"));
+            assertFalse(OperandDictionary.isIntegral("9223372036854775808"));
+        }
+    }
+}
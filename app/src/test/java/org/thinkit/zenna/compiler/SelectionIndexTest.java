@@ -0,0 +1,184 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.thinkit.zenna.exception.IllegalContentStateException;
+
+/**
+ * The class that manages test case of {@link SelectionIndex} .
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public final class SelectionIndexTest {
+
+    /**
+     * Returns the content map containing the selection nodes with the condition
+     * ids passed as an argument and a condition node for each of the condition ids
+     * {@code "0"} and {@code "1"} . The condition node {@code "0"} requires
+     * {@code "key"} to be {@code "a"} , and the condition node {@code "1"} requires
+     * {@code "key"} to be {@code "b"} .
+     *
+     * @param conditionIds The condition ids of selection nodes
+     * @return The content map
+     */
+    private static Map<String, Object> content(final String... conditionIds) {
+        return content(List.of(conditionNode("0", "a", false), conditionNode("1", "b", false)), conditionIds);
+    }
+
+    /**
+     * Returns the content map containing the condition nodes and the selection
+     * nodes with the condition ids passed as arguments.
+     *
+     * @param conditionNodes The condition nodes
+     * @param conditionIds   The condition ids of selection nodes
+     * @return The content map
+     */
+    private static Map<String, Object> content(final List<Map<String, Object>> conditionNodes,
+            final String... conditionIds) {
+
+        final List<Map<String, Object>> selectionNodes = new ArrayList<>();
+
+        for (final String conditionId : conditionIds) {
+            final Map<String, Object> node = new HashMap<>();
+            node.put("conditionId", conditionId);
+            selectionNodes.add(Map.of("node", node));
+        }
+
+        return Map.of("selectionNodes", selectionNodes, "conditionNodes", conditionNodes);
+    }
+
+    /**
+     * Returns the condition node that requires {@code "key"} to be the operand
+     * passed as an argument.
+     *
+     * @param conditionId The condition id
+     * @param operand     The operand
+     * @param exclude     {@code true} if the condition node is an exclusion node
+     * @return The condition node
+     */
+    private static Map<String, Object> conditionNode(final String conditionId, final String operand,
+            final boolean exclude) {
+        return Map.of("node", Map.of("conditionId", conditionId, "exclude", exclude, "conditions",
+                List.of(Map.of("keyName", "key", "operator", "=", "operand", operand))));
+    }
+
+    /**
+     * Returns the positions of selection nodes selected by the conditions passed as
+     * an argument.
+     *
+     * @param content    The content map
+     * @param conditions The conditions
+     * @return The positions of selected selection nodes
+     */
+    private static int[] select(final Map<String, Object> content, final Map<String, String> conditions) {
+        final ConditionIndex conditionIndex = ConditionIndex.from(content);
+        return SelectionIndex.from(content, conditionIndex).select(conditionIndex.match(conditions));
+    }
+
+    /**
+     * The nested class for {@link SelectionIndex#from(Map, ConditionIndex)} method.
+     */
+    @Nested
+    class TestFrom {
+
+        @Test
+        void testWhenSelectionNodesAreDefined() {
+            final Map<String, Object> content = content("0", "1", "");
+            assertEquals(3, SelectionIndex.from(content, ConditionIndex.from(content)).size());
+        }
+
+        @Test
+        void testWhenSelectionNodesAreNotDefined() {
+            assertThrows(IllegalContentStateException.class,
+                    () -> SelectionIndex.from(Map.of(), ConditionIndex.from(Map.of())));
+        }
+
+        @Test
+        void testWhenAttributeColumnsAreGiven() {
+
+            final Map<String, Object> content = content("0", "1", "", "1");
+            final ConditionIndex conditionIndex = ConditionIndex.from(content);
+            final SelectionIndex sut = SelectionIndex.from(AttributeColumns.from(content), conditionIndex);
+
+            assertEquals(4, sut.size());
+            assertArrayEquals(new int[] { 1, 2, 3 }, sut.select(conditionIndex.match(Map.of("key", "b"))));
+        }
+    }
+
+    /**
+     * The nested class for {@link SelectionIndex#select(java.util.BitSet)} method.
+     */
+    @Nested
+    class TestSelect {
+
+        @Test
+        void testWhenConditionIsSatisfied() {
+            assertArrayEquals(new int[] { 0, 2 }, select(content("0", "1", "0"), Map.of("key", "a")));
+            assertArrayEquals(new int[] { 1 }, select(content("0", "1", "0"), Map.of("key", "b")));
+        }
+
+        @Test
+        void testWhenConditionIsNotSatisfied() {
+            assertArrayEquals(new int[] {}, select(content("0", "1"), Map.of("key", "c")));
+        }
+
+        @Test
+        void testWhenConditionIsNotGiven() {
+            assertArrayEquals(new int[] { 0, 1, 2 }, select(content("1", "0", "1"), Map.of()));
+        }
+
+        @Test
+        void testWhenSelectionNodesHaveNoConditionId() {
+            assertArrayEquals(new int[] { 0, 1, 3 }, select(content("", null, "1", "0"), Map.of("key", "a")));
+        }
+
+        @Test
+        void testWhenConditionIdIsUnknown() {
+            assertArrayEquals(new int[] { 1 }, select(content("2", ""), Map.of()));
+        }
+
+        @Test
+        void testWhenExclusionNodeIsSatisfied() {
+
+            final Map<String, Object> content = content(List.of(conditionNode("0", "a", true)), "0", "", "0");
+
+            assertArrayEquals(new int[] { 1 }, select(content, Map.of("key", "a")));
+            assertArrayEquals(new int[] { 0, 1, 2 }, select(content, Map.of("key", "b")));
+        }
+
+        @Test
+        void testWhenExclusionTakesPrecedence() {
+
+            final Map<String, Object> content = content(
+                    List.of(conditionNode("0", "a", false), conditionNode("0", "a", true), conditionNode("1", "a", false)),
+                    "0", "1");
+
+            assertArrayEquals(new int[] { 1 }, select(content, Map.of("key", "a")));
+            assertArrayEquals(new int[] {}, select(content, Map.of("key", "b")));
+        }
+    }
+}
@@ -47,6 +47,11 @@ public final class ContentPropertyTest {
      */
     private static final String EMPTY_PROPERTY_NAME = "emptyProperty.properties";
 
+    /**
+     * The property file name with the content directory
+     */
+    private static final String CONTENT_DIRECTORY_PROPERTY_NAME = "contentDirectoryProperty.properties";
+
     /**
      * The nested class for {@link ContentProperty#getContentPackage()} method.
      */
@@ -127,6 +132,31 @@ public final class ContentPropertyTest {
         }
     }
 
+    /**
+     * The nested class for {@link ContentProperty#getContentDirectory()} method.
+     */
+    @Nested
+    class TestGetContentDirectory {
+
+        @Test
+        void testWhenAttributeHasContentDirectory() {
+
+            final ContentProperty contentProperty = ContentProperty.from(ConcreteContentMapper.newInstance().getClass(),
+                    CONTENT_DIRECTORY_PROPERTY_NAME);
+
+            assertEquals("/var/lib/zenna", contentProperty.getContentDirectory());
+        }
+
+        @Test
+        void testWhenPropertyHasNotContentDirectoryAttribute() {
+
+            final ContentProperty contentProperty = ContentProperty.from(ConcreteContentMapper.newInstance().getClass(),
+                    PropertyFileName.DEFAULT.getTag());
+
+            assertEquals("", contentProperty.getContentDirectory());
+        }
+    }
+
     /**
      * The nested class for {@link ContentProperty#getProperty(ContentPropertyKey)}
      * method.
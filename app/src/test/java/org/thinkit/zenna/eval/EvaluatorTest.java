@@ -0,0 +1,76 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.eval;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The class that manages test case of the default methods of
+ * {@link Evaluator} .
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public final class EvaluatorTest {
+
+    /**
+     * The evaluator implementing only {@link Evaluator#evaluate()}
+     */
+    private static final Evaluator EVALUATOR = () -> List.of(Map.of("test1", "success1"),
+            Map.of("test1", "success2"));
+
+    /**
+     * The evaluator obtaining no object
+     */
+    private static final Evaluator EMPTY_EVALUATOR = List::of;
+
+    @Test
+    void testEvaluateStream() {
+        assertEquals(List.of("success1", "success2"),
+                EVALUATOR.evaluateStream().map(object -> object.get("test1")).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testEvaluateFirst() {
+        assertEquals(Map.of("test1", "success1"), EVALUATOR.evaluateFirst().orElseThrow());
+        assertTrue(EMPTY_EVALUATOR.evaluateFirst().isEmpty());
+    }
+
+    @Test
+    void testEvaluateRows() {
+        assertThrows(UnsupportedOperationException.class, EVALUATOR::evaluateRows);
+    }
+
+    @Test
+    void testExists() {
+        assertTrue(EVALUATOR.exists());
+        assertFalse(EMPTY_EVALUATOR.exists());
+    }
+
+    @Test
+    void testCount() {
+        assertEquals(2, EVALUATOR.count());
+        assertEquals(0, EMPTY_EVALUATOR.count());
+    }
+}
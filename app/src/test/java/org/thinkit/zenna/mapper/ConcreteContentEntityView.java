@@ -0,0 +1,66 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.mapper;
+
+import org.thinkit.zenna.annotation.Attribute;
+import org.thinkit.zenna.entity.ContentEntity;
+
+/**
+ * The concrete entity interface that extends {@link ContentEntity} for testing
+ * of lazy entity views.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public interface ConcreteContentEntityView extends ContentEntity {
+
+    /**
+     * Returns the test count.
+     *
+     * @return The test count
+     */
+    public int getTestCount();
+
+    /**
+     * Returns the test flag.
+     *
+     * @return The test flag
+     */
+    public boolean isTestFlag();
+
+    /**
+     * Returns the test double count.
+     *
+     * @return The test double count
+     */
+    public double getTestDoubleCount();
+
+    /**
+     * Returns the test string.
+     *
+     * @return The test string
+     */
+    @Attribute("testString")
+    public String getLabel();
+
+    /**
+     * Returns the test string in upper case.
+     *
+     * @return The test string in upper case
+     */
+    public default String getUpperLabel() {
+        return this.getLabel().toUpperCase();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.mapper;
+
+import java.beans.ConstructorProperties;
+import java.io.Serializable;
+
+import org.thinkit.zenna.annotation.Attribute;
+import org.thinkit.zenna.entity.ContentEntity;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * The concrete immutable entity class that implements {@link ContentEntity} for
+ * testing.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class ConcreteImmutableContentEntity implements ContentEntity, Serializable {
+
+    /**
+     * The serial version UID
+     */
+    private static final long serialVersionUID = -3125580392213170245L;
+
+    /**
+     * The test field 1.
+     */
+    @Attribute("test1")
+    private final String anotherName1;
+
+    /**
+     * The test field 2.
+     */
+    private final String test2;
+
+    /**
+     * The constructor
+     *
+     * @param anotherName1 The test field 1
+     * @param test2        The test field 2
+     */
+    @ConstructorProperties({ "anotherName1", "test2" })
+    public ConcreteImmutableContentEntity(String anotherName1, String test2) {
+        this.anotherName1 = anotherName1;
+        this.test2 = test2;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.thinkit.zenna.entity.ContentEntity;
+
+/**
+ * The class that loads the record content entity for testing.
+ *
+ * <p>
+ * The record is compiled when it is loaded, since records are not available at
+ * the language level of this project. The record has two components of the same
+ * type, and the attribute name of the second component is set by the
+ * {@link org.thinkit.zenna.annotation.Attribute} annotation.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+final class ConcreteRecordContentEntity {
+
+    /**
+     * The binary name of the record
+     */
+    static final String CLASS_NAME = "test.CodeRecord";
+
+    /**
+     * The source of the record
+     */
+    private static final String SOURCE = String.join("\n", "package test;",
+            "import org.thinkit.zenna.annotation.Attribute;", "import org.thinkit.zenna.entity.ContentEntity;",
+            "public record CodeRecord(String code, @Attribute(\"title\") String name) implements ContentEntity {",
+            "}");
+
+    /**
+     * The constructor
+     */
+    private ConcreteRecordContentEntity() {
+    }
+
+    /**
+     * Compiles the record in the directory and returns the class of the record.
+     * The test is skipped if the runtime does not support records.
+     *
+     * @param <T>       The type of the record
+     * @param directory The working directory
+     * @return The class of the record
+     *
+     * @throws Exception If the record cannot be compiled or loaded
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends ContentEntity> Class<T> load(Path directory) throws Exception {
+        assumeTrue(Runtime.version().feature() >= 16, "Records are not supported by the runtime");
+
+        final Path sources = Files.createDirectories(directory.resolve("sources/test"));
+        final Path classes = Files.createDirectories(directory.resolve("classes"));
+        final String source = Files.writeString(sources.resolve("CodeRecord.java"), SOURCE, StandardCharsets.UTF_8)
+                .toString();
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertEquals(0, compiler.run(null, null, null, "-d", classes.toString(), "-classpath", getClassPath(),
+                "-proc:none", source));
+
+        final URLClassLoader classLoader = new URLClassLoader(new URL[] { classes.toUri().toURL() },
+                ConcreteRecordContentEntity.class.getClassLoader());
+
+        return (Class<T>) classLoader.loadClass(CLASS_NAME);
+    }
+
+    /**
+     * Returns the class path holding the classes referred by the record.
+     *
+     * @return The class path
+     *
+     * @throws URISyntaxException If the location of the classes is invalid
+     */
+    private static String getClassPath() throws URISyntaxException {
+        return Paths.get(ContentEntity.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+                .toString();
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.thinkit.zenna.compiler.AttributeColumns;
+import org.thinkit.zenna.entity.ContentEntity;
+
+import lombok.Getter;
+
+/**
+ * The class that manages test case of {@link ConstructorBinder} .
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public final class ConstructorBinderTest {
+
+    /**
+     * The entity class with a primitive constructor parameter for testing.
+     */
+    @Getter
+    static final class EntityWithPrimitive implements ContentEntity {
+
+        /**
+         * The count
+         */
+        private final int count;
+
+        /**
+         * The constructor
+         *
+         * @param count The count
+         */
+        EntityWithPrimitive(int count) {
+            this.count = count;
+        }
+    }
+
+    /**
+     * The nested class for {@link ConstructorBinder#of(java.lang.reflect.Constructor, List)}
+     * method.
+     */
+    @Nested
+    class TestOf {
+
+        @Test
+        void testWhenNumberOfAttributesIsDifferent() throws Exception {
+            assertThrows(IllegalArgumentException.class,
+                    () -> ConstructorBinder.of(EntityWithPrimitive.class.getDeclaredConstructor(int.class), List.of()));
+        }
+    }
+
+    /**
+     * The nested class for {@link ConstructorBinder#getAttributes()} method.
+     */
+    @Nested
+    class TestGetAttributes {
+
+        @Test
+        void testWhenAttributesAreGiven() throws Exception {
+
+            final ConstructorBinder<ConcreteImmutableContentEntity> sut = ConstructorBinder.of(
+                    ConcreteImmutableContentEntity.class.getConstructor(String.class, String.class),
+                    List.of("test1", "test2"));
+
+            assertEquals(Set.of("test1", "test2"), sut.getAttributes());
+        }
+    }
+
+    /**
+     * The nested class for
+     * {@link ConstructorBinder#create(AttributeColumns, int[], int)} method.
+     */
+    @Nested
+    class TestCreate {
+
+        @Test
+        void testWhenAttributesArePassed() throws Exception {
+
+            final ConstructorBinder<ConcreteImmutableContentEntity> sut = ConstructorBinder.of(
+                    ConcreteImmutableContentEntity.class.getConstructor(String.class, String.class),
+                    List.of("test1", "test2"));
+            final AttributeColumns attributeColumns = AttributeColumns.from(Map.of("selectionNodes",
+                    List.of(Map.of("node", Map.of("test1", "success1", "test2", "success2")))));
+
+            final int[] columns = attributeColumns.getColumns(sut.getAttributes());
+            final ConcreteImmutableContentEntity result = sut.create(attributeColumns, columns, 0);
+
+            assertEquals("success1", result.getAnotherName1());
+            assertEquals("success2", result.getTest2());
+            assertNotSame(result, sut.create(attributeColumns, columns, 0));
+        }
+
+        @Test
+        void testWhenAttributeIsMissing() throws Exception {
+
+            final ConstructorBinder<ConcreteImmutableContentEntity> sut = ConstructorBinder.of(
+                    ConcreteImmutableContentEntity.class.getConstructor(String.class, String.class),
+                    List.of("test1", "test2"));
+            final AttributeColumns attributeColumns = AttributeColumns
+                    .from(Map.of("selectionNodes", List.of(Map.of("node", Map.of("test1", "success1")))));
+
+            final ConcreteImmutableContentEntity result = sut.create(attributeColumns,
+                    attributeColumns.getColumns(sut.getAttributes()), 0);
+
+            assertEquals("success1", result.getAnotherName1());
+            assertNull(result.getTest2());
+        }
+
+        @Test
+        void testWhenPrimitiveAttributeIsPassed() throws Exception {
+
+            final ConstructorBinder<EntityWithPrimitive> sut = ConstructorBinder
+                    .of(EntityWithPrimitive.class.getDeclaredConstructor(int.class), List.of("count"));
+            final AttributeColumns attributeColumns = AttributeColumns
+                    .from(Map.of("selectionNodes", List.of(Map.of("node", Map.of("count", 3)))));
+
+            final int[] columns = attributeColumns.getColumns(sut.getAttributes());
+
+            assertEquals(3, sut.create(attributeColumns, columns, 0).getCount());
+        }
+
+        @Test
+        void testWhenAttributeTypeIsIllegal() throws Exception {
+
+            final ConstructorBinder<EntityWithPrimitive> sut = ConstructorBinder
+                    .of(EntityWithPrimitive.class.getDeclaredConstructor(int.class), List.of("count"));
+            final AttributeColumns attributeColumns = AttributeColumns.from(Map.of("selectionNodes",
+                    List.of(Map.of("node", Map.of("count", "three")), Map.of("node", Map.of("other", 1)))));
+
+            final int[] columns = attributeColumns.getColumns(sut.getAttributes());
+
+            assertThrows(IllegalStateException.class, () -> sut.create(attributeColumns, columns, 0));
+            assertThrows(IllegalStateException.class, () -> sut.create(attributeColumns, columns, 1));
+        }
+
+        @Test
+        void testWhenAttributeIsNotBound() throws Exception {
+
+            final ConstructorBinder<EntityWithPrimitive> sut = ConstructorBinder
+                    .of(EntityWithPrimitive.class.getDeclaredConstructor(int.class), Arrays.asList((String) null));
+            final AttributeColumns attributeColumns = AttributeColumns
+                    .from(Map.of("selectionNodes", List.of(Map.of("node", Map.of("count", 3)))));
+
+            final int[] columns = attributeColumns.getColumns(sut.getAttributes());
+
+            assertEquals(Set.of(), sut.getAttributes());
+            assertEquals(0, sut.create(attributeColumns, columns, 0).getCount());
+        }
+
+        @Test
+        void testWhenResultTypeIsRecord(@TempDir Path directory) throws Exception {
+
+            final Class<ContentEntity> recordType = ConcreteRecordContentEntity.load(directory);
+            final ConstructorBinder<ContentEntity> sut = ConstructorBinder
+                    .of(recordType.getDeclaredConstructor(String.class, String.class), List.of("code", "title"));
+            final AttributeColumns attributeColumns = AttributeColumns.from(Map.of("selectionNodes",
+                    List.of(Map.of("node", Map.of("code", "success1", "title", "success2")))));
+
+            final int[] columns = attributeColumns.getColumns(sut.getAttributes());
+
+            assertEquals("CodeRecord[code=success1, name=success2]",
+                    sut.create(attributeColumns, columns, 0).toString());
+        }
+    }
+}
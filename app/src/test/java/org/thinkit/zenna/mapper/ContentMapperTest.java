@@ -15,13 +15,25 @@
 package org.thinkit.zenna.mapper;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
+import org.thinkit.zenna.compiler.CompiledContent;
+import org.thinkit.zenna.compiler.ContentCompiler;
+import org.thinkit.zenna.exception.IllegalContentStateException;
+import org.thinkit.zenna.registry.ContentRegistry;
 
 /**
  * The class that manages test cases for {@link ContentMapper} .
@@ -71,6 +83,32 @@ public final class ContentMapperTest {
         }
     }
 
+    @Test
+    void testWhenBinaryContentExists() {
+
+        final ConcreteBinaryContentMapper sut = ConcreteBinaryContentMapper.newInstance();
+        sut.setVariableName("1");
+
+        final List<ConcreteContentEntity> results = sut.scan();
+
+        assertEquals(1, results.size());
+        assertEquals("binary3", results.get(0).getTest1());
+        assertEquals("binary4", results.get(0).getTest2());
+    }
+
+    @Test
+    void testWhenArchivedContentExists() {
+
+        final ConcreteArchivedContentMapper sut = ConcreteArchivedContentMapper.newInstance();
+        sut.setVariableName("0");
+
+        final List<ConcreteContentEntity> results = sut.scan();
+
+        assertEquals(1, results.size());
+        assertEquals("archive1", results.get(0).getTest1());
+        assertEquals("archive2", results.get(0).getTest2());
+    }
+
     @Test
     void testWhenContentHasAnnotations() {
 
@@ -113,4 +151,278 @@ public final class ContentMapperTest {
         assertEquals(1.0, result.getTestDoubleCount());
         assertEquals("test", result.getTestString());
     }
+
+    @Test
+    void testWhenContentIsScannedWithProjection() {
+
+        final List<ConcreteContentEntityWithPrimitives> results = ConcreteContentEntityWithPrimitivesMapper
+                .newInstance().scan(Projection.of("testCount", "testString"));
+
+        assertEquals(1, results.size());
+
+        final ConcreteContentEntityWithPrimitives result = results.get(0);
+
+        assertEquals(1, result.getTestCount());
+        assertEquals("test", result.getTestString());
+        assertEquals(0.0, result.getTestDoubleCount());
+    }
+
+    @Test
+    void testWhenContentIsScannedIntoProjectionType() {
+
+        final List<ConcreteContentProjection> results = ConcreteContentEntityWithPrimitivesMapper.newInstance()
+                .scan(ConcreteContentProjection.class);
+
+        assertEquals(1, results.size());
+        assertEquals(1, results.get(0).getTestCount());
+    }
+
+    @Test
+    void testWhenProjectionHasUndefinedAttribute() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ConcreteContentEntityWithPrimitivesMapper.newInstance().scan(Projection.of("notDefined")));
+    }
+
+    @Test
+    void testWhenResultTypeIsInterface() {
+
+        final List<ConcreteContentEntityView> results = ConcreteContentEntityViewMapper.newInstance().scan();
+
+        assertEquals(2, results.size());
+        assertEquals(1, results.get(0).getTestCount());
+        assertFalse(results.get(0).isTestFlag());
+        assertEquals(1.5, results.get(0).getTestDoubleCount());
+        assertEquals("test1", results.get(0).getLabel());
+        assertEquals(2, results.get(1).getTestCount());
+        assertTrue(results.get(1).isTestFlag());
+        assertEquals(3.0, results.get(1).getTestDoubleCount());
+        assertEquals("TEST2", results.get(1).getUpperLabel());
+        assertEquals(results, ConcreteContentEntityViewMapper.newInstance().scan());
+    }
+
+    @Test
+    void testWhenContentIsScannedByAnotherInstance() {
+
+        final String contentName = "/org/thinkit/zenna/ConcreteContent";
+        final ClassLoader classLoader = ConcreteContentMapper.class.getClassLoader();
+
+        ConcreteContentMapper.newInstance().scan();
+        final CompiledContent compiledContent = ContentRegistry.getDefault().getIfPresent(contentName, classLoader);
+
+        final List<ConcreteContentEntity> results = ConcreteContentMapper.newInstance().scan();
+
+        assertNotNull(compiledContent);
+        assertSame(compiledContent, ContentRegistry.getDefault().getIfPresent(contentName, classLoader));
+        assertTrue(results.size() == 1);
+    }
+
+    @Test
+    void testWhenContentIsCacheable() {
+
+        final CacheableContentWithConditionsMapper sut = CacheableContentWithConditionsMapper.newInstance();
+        sut.setVariableName("0");
+
+        final List<ConcreteImmutableContentEntity> results = sut.scan();
+
+        assertSame(results, sut.scan());
+        assertEquals("success1", results.get(0).getAnotherName1());
+        assertThrows(UnsupportedOperationException.class,
+                () -> results.add(new ConcreteImmutableContentEntity("", "")));
+
+        final List<ConcreteImmutableContentEntity> consumedResults = new ArrayList<>();
+        sut.scan(consumedResults::add);
+
+        assertSame(results.get(0), consumedResults.get(0));
+
+        sut.setVariableName("1");
+
+        assertNotSame(results, sut.scan());
+        assertEquals("success3", sut.scan().get(0).getAnotherName1());
+    }
+
+    @Test
+    void testWhenCacheableContentIsLoadedAgain() {
+
+        final CacheableContentWithConditionsMapper sut = CacheableContentWithConditionsMapper.newInstance();
+        sut.setVariableName("0");
+
+        final List<ConcreteImmutableContentEntity> results = sut.scan();
+        ContentRegistry.getDefault().invalidate("/org/thinkit/zenna/ConcreteImmutableContentWithConditions",
+                CacheableContentWithConditionsMapper.class.getClassLoader());
+
+        assertNotSame(results, sut.scan());
+    }
+
+    @Test
+    void testWhenCacheableContentHasMutableResultType() {
+
+        final CacheableMutableContentMapper sut = CacheableMutableContentMapper.newInstance();
+        sut.setVariableName("0");
+
+        assertThrows(IllegalContentStateException.class, () -> sut.scan());
+        assertThrows(IllegalContentStateException.class, () -> sut.scan(entity -> {
+        }));
+    }
+
+    @Test
+    void testWhenContentIsScannedAsStream() {
+
+        final ConcreteContentWithConditionsMapper sut = ConcreteContentWithConditionsMapper.newInstance();
+        sut.setVariableName("1");
+
+        final List<ConcreteContentEntity> results = sut.scanStream().collect(Collectors.toList());
+
+        assertEquals(sut.scan(), results);
+        assertEquals("success3", results.get(0).getTest1());
+    }
+
+    @Test
+    void testWhenContentIsScannedAsIterator() {
+
+        final ConcreteContentWithConditionsMapper sut = ConcreteContentWithConditionsMapper.newInstance();
+        sut.setVariableName("0");
+
+        final Iterator<ConcreteContentEntity> results = sut.scanIterator();
+
+        assertTrue(results.hasNext());
+        assertEquals("success1", results.next().getTest1());
+        assertFalse(results.hasNext());
+    }
+
+    @Test
+    void testWhenFirstResultIsScanned() {
+
+        final ConcreteContentWithConditionsMapper sut = ConcreteContentWithConditionsMapper.newInstance();
+        sut.setVariableName("1");
+
+        assertEquals("success3", sut.scanFirst().orElseThrow().getTest1());
+
+        sut.setVariableName("2");
+
+        assertTrue(sut.scanFirst().isEmpty());
+    }
+
+    @Test
+    void testWhenContentHasSelectionWithIntegralCondition() {
+
+        final ConcreteContentWithIntegralConditionsMapper sut = ConcreteContentWithIntegralConditionsMapper
+                .newInstance();
+
+        sut.setNumber(1);
+        final List<ConcreteContentEntity> results = sut.scan();
+
+        assertEquals(1, results.size());
+        assertEquals("success3", results.get(0).getTest1());
+
+        sut.setNumber(2);
+
+        assertFalse(sut.exists());
+    }
+
+    @Test
+    void testWhenResultIsCounted() {
+
+        final ConcreteContentWithConditionsMapper sut = ConcreteContentWithConditionsMapper.newInstance();
+        sut.setVariableName("0");
+
+        assertTrue(sut.exists());
+        assertEquals(1, sut.count());
+
+        sut.setVariableName("2");
+
+        assertFalse(sut.exists());
+        assertEquals(0, sut.count());
+    }
+
+    @Test
+    void testWhenResultIsConsumed() {
+
+        final ConcreteContentWithConditionsMapper sut = ConcreteContentWithConditionsMapper.newInstance();
+        sut.setVariableName("0");
+
+        final List<String> results = new ArrayList<>();
+        sut.scan(result -> results.add(result.getTest1()));
+
+        assertEquals(sut.scan().stream().map(ConcreteContentEntity::getTest1).collect(Collectors.toList()),
+                results);
+    }
+
+    @Test
+    void testWhenResultIsConsumedWithoutAllocation() {
+
+        final int rowCount = 4096;
+        final ConcreteReusableContentMapper sut = ConcreteReusableContentMapper.newInstance();
+        final List<ConcreteContentEntityWithPrimitives> entities = new ArrayList<>();
+
+        this.registerReusableContent(sut, rowCount);
+        sut.scan(entities::add);
+
+        assertEquals(rowCount, entities.size());
+        assertSame(entities.get(0), entities.get(rowCount - 1));
+
+        final long allocatedBytes = this.getScanAllocatedBytes(sut, rowCount);
+        this.registerReusableContent(sut, rowCount * 2);
+        final long doubledAllocatedBytes = this.getScanAllocatedBytes(sut, rowCount * 2);
+
+        assertTrue(doubledAllocatedBytes - allocatedBytes <= rowCount / 4,
+                String.format("%d bytes were allocated for %d rows and %d bytes for %d rows.", allocatedBytes,
+                        rowCount, doubledAllocatedBytes, rowCount * 2));
+    }
+
+    /**
+     * Compiles the content with the rows as many as {@code rowCount} and registers
+     * it for the content mapper passed as an argument.
+     *
+     * @param mapper   The content mapper
+     * @param rowCount The number of rows
+     */
+    private void registerReusableContent(final ConcreteReusableContentMapper mapper, final int rowCount) {
+
+        final List<Map<String, Object>> selectionNodes = new ArrayList<>(rowCount);
+
+        for (int i = 0; i < rowCount; i++) {
+            selectionNodes.add(Map.of("node", Map.of("conditionId", "", "testCount", i, "testFlag", i % 2 == 0,
+                    "testDoubleCount", i * 0.5d, "testString", "test" + i)));
+        }
+
+        final ContentObject<ConcreteContentEntityWithPrimitives> contentObject = ContentObject.from(mapper);
+        ContentRegistry.getDefault().invalidate(contentObject.getContentName(), contentObject.getClassLoader());
+        ContentRegistry.getDefault().get(contentObject.getContentName(), contentObject.getClassLoader(),
+                () -> ContentCompiler.from(Map.of("meta",
+                        Map.of("resultType", ConcreteContentEntityWithPrimitives.class.getName()), "selectionNodes",
+                        selectionNodes, "conditionNodes", List.of())).compile());
+    }
+
+    /**
+     * Scans the content with the content mapper passed as an argument after
+     * warming up, and returns the fewest bytes allocated by a single scan.
+     *
+     * @param mapper   The content mapper
+     * @param rowCount The number of rows in the content
+     * @return The fewest bytes allocated by a single scan
+     */
+    private long getScanAllocatedBytes(final ConcreteReusableContentMapper mapper, final int rowCount) {
+
+        final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        final long threadId = Thread.currentThread().getId();
+        final long[] sum = new long[1];
+
+        for (int i = 0; i < 20; i++) {
+            mapper.scan(result -> sum[0] += result.getTestCount());
+        }
+
+        long scanAllocatedBytes = Long.MAX_VALUE;
+
+        for (int i = 0; i < 5; i++) {
+            final long allocatedBytes = threadMXBean.getThreadAllocatedBytes(threadId);
+            mapper.scan(result -> sum[0] += result.getTestCount());
+            scanAllocatedBytes = Math.min(scanAllocatedBytes,
+                    threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBytes);
+        }
+
+        assertEquals(25L * rowCount * (rowCount - 1) / 2, sum[0]);
+
+        return scanAllocatedBytes;
+    }
 }
@@ -0,0 +1,322 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.thinkit.api.catalog.BiCatalog;
+import org.thinkit.zenna.catalog.ConditionOperator;
+import org.thinkit.zenna.catalog.ContentRoot;
+import org.thinkit.zenna.compiler.AttributeColumns;
+import org.thinkit.zenna.compiler.CompiledContent;
+import org.thinkit.zenna.compiler.ConditionLayout;
+import org.thinkit.zenna.compiler.ConditionTuple;
+import org.thinkit.zenna.compiler.ContentArchiveWriter;
+import org.thinkit.zenna.compiler.ContentStreamCompiler;
+import org.thinkit.zenna.registry.ContentRegistry;
+
+/**
+ * The class that manages test case of {@link ContentObject} .
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public final class ContentObjectTest {
+
+    /**
+     * The nested class for {@link ContentObject#from(Mapper)} method.
+     */
+    @Nested
+    class TestFrom {
+
+        @Test
+        void testWhenMappersAreSameClass() {
+            assertSame(ContentObject.from(ConcreteContentMapper.newInstance()),
+                    ContentObject.from(ConcreteContentMapper.newInstance()));
+        }
+    }
+
+    /**
+     * The nested class for {@link ContentObject#getContentName()} method.
+     */
+    @Nested
+    class TestGetContentName {
+
+        @Test
+        void testWhenMapperHasMapperSuffix() {
+            assertEquals("/org/thinkit/zenna/ConcreteContent",
+                    ContentObject.from(ConcreteContentMapper.newInstance()).getContentName());
+        }
+
+        @Test
+        void testWhenMapperHasContentAnnotation() {
+            assertEquals("/org/thinkit/zenna/ConcreteContentForAnnotations",
+                    ContentObject.from(MapperWithAnnotations.newInstance()).getContentName());
+        }
+    }
+
+    /**
+     * The nested class for {@link ContentObject#getConditions(Mapper)} method.
+     */
+    @Nested
+    class TestGetConditions {
+
+        @Test
+        void testWhenFieldHasConditionAnnotation() {
+
+            final MapperWithAnnotations mapper = MapperWithAnnotations.newInstance();
+            mapper.setAnotherName("1");
+
+            final Map<String, String> conditions = ContentObject.from(mapper).getConditions(mapper).toMap();
+
+            assertEquals(Map.of("variableName", "1"), conditions);
+        }
+
+        @Test
+        void testWhenFieldsAreIntegral() {
+
+            final MapperWithIntegralFields mapper = new MapperWithIntegralFields();
+            final ConditionTuple conditions = ContentObject.from(mapper).getConditions(mapper);
+            final ConditionLayout layout = conditions.getLayout();
+
+            assertTrue(conditions.isIntegral(layout.getPosition("operator")));
+            assertEquals(ConditionOperator.IN.getCode(),
+                    conditions.getIntegralValue(layout.getPosition("operator")));
+            assertTrue(conditions.isIntegral(layout.getPosition("count")));
+            assertEquals(3L, conditions.getIntegralValue(layout.getPosition("count")));
+            assertFalse(conditions.isIntegral(layout.getPosition("name")));
+            assertEquals(Map.of("operator", "6", "count", "3", "name", "a"), conditions.toMap());
+        }
+
+        @Test
+        void testWhenConditionsAreExtractedTwice() {
+
+            final MapperWithAnnotations mapper = MapperWithAnnotations.newInstance();
+            final ContentObject<ConcreteContentEntityWithAttribute> sut = ContentObject.from(mapper);
+
+            mapper.setAnotherName("1");
+            final ConditionTuple first = sut.getConditions(mapper).copy();
+            mapper.setAnotherName("2");
+            final ConditionTuple second = sut.getConditions(mapper);
+
+            assertSame(first.getLayout(), second.getLayout());
+            assertEquals("1", first.getValue(0));
+            assertEquals("2", second.getValue(0));
+        }
+
+        @Test
+        void testWhenConditionsAreExtractedOnSameThread() {
+
+            final MapperWithAnnotations mapper = MapperWithAnnotations.newInstance();
+            final ContentObject<ConcreteContentEntityWithAttribute> sut = ContentObject.from(mapper);
+
+            assertSame(sut.getConditions(mapper), sut.getConditions(mapper));
+        }
+
+        @Test
+        void testWhenConditionsAreExtractedOnAnotherThread() throws Exception {
+
+            final MapperWithAnnotations mapper = MapperWithAnnotations.newInstance();
+            final ContentObject<ConcreteContentEntityWithAttribute> sut = ContentObject.from(mapper);
+            final ConditionTuple conditions = sut.getConditions(mapper);
+
+            final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+            try {
+                assertNotSame(conditions, executor.submit(() -> sut.getConditions(mapper)).get());
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * The content mapper with the fields extracted as integral conditions for
+     * testing.
+     */
+    static final class MapperWithIntegralFields extends ContentMapper<ConcreteContentEntity> {
+
+        /**
+         * The catalog condition
+         */
+        private BiCatalog<?, ?> operator = ConditionOperator.IN;
+
+        /**
+         * The long condition
+         */
+        private long count = 3L;
+
+        /**
+         * The string condition
+         */
+        private String name = "a";
+    }
+
+    /**
+     * The nested class for {@link ContentObject#getResultType(String)} method.
+     */
+    @Nested
+    class TestGetResultType {
+
+        @Test
+        void testWhenResultTypeIsRequestedTwice() {
+
+            final ContentObject<ConcreteContentEntity> sut = ContentObject.from(ConcreteContentMapper.newInstance());
+
+            assertSame(sut.getResultType(ConcreteContentEntity.class.getName()),
+                    sut.getResultType(ConcreteContentEntity.class.getName()));
+        }
+    }
+
+    /**
+     * The nested class for {@link ContentObject#compileContent()} method.
+     */
+    @Nested
+    class TestCompileContent {
+
+        @Test
+        void testWhenContentDirectoryIsNotSet() {
+
+            final CompiledContent compiledContent = new ContentObject<ConcreteContentEntity>(
+                    ConcreteBinaryContentMapper.class, null).compileContent();
+
+            assertEquals("binary3", getTest1(compiledContent, 1));
+        }
+
+        @Test
+        void testWhenContentDirectoryDoesNotHaveContent(@TempDir Path contentDirectory) {
+
+            final CompiledContent compiledContent = new ContentObject<ConcreteContentEntity>(
+                    ConcreteBinaryContentMapper.class, contentDirectory).compileContent();
+
+            assertEquals("binary3", getTest1(compiledContent, 1));
+        }
+
+        @Test
+        void testWhenContentDirectoryHasJsonAndClassPathHasBinary(@TempDir Path contentDirectory) throws IOException {
+
+            final Path contentPath = contentDirectory.resolve("zenna/org/thinkit/zenna/ConcreteBinaryContent.json");
+            Files.createDirectories(contentPath.getParent());
+
+            try (InputStream contentStream = ContentObjectTest.class
+                    .getResourceAsStream("/zenna/org/thinkit/zenna/ConcreteBinaryContent.json")) {
+                Files.copy(contentStream, contentPath);
+            }
+
+            final ContentObject<ConcreteContentEntity> sut = new ContentObject<>(ConcreteBinaryContentMapper.class,
+                    contentDirectory);
+
+            assertEquals("json3", getTest1(sut.compileContent(), 1));
+        }
+
+        @Test
+        void testWhenContentArchiveIsReplaced(@TempDir Path contentDirectory) throws IOException {
+
+            final Path archivePath = contentDirectory.resolve("zenna/contents.zpack");
+            Files.createDirectories(archivePath.getParent());
+            writeArchive(archivePath, "archive");
+
+            final ContentObject<ConcreteContentEntity> sut = new ContentObject<>(ConcreteBinaryContentMapper.class,
+                    contentDirectory);
+
+            assertEquals("archive3", getTest1(sut.compileContent(), 1));
+
+            final Path replacementPath = contentDirectory.resolve("contents.zpack.tmp");
+            writeArchive(replacementPath, "replaced");
+            Files.move(replacementPath, archivePath, StandardCopyOption.REPLACE_EXISTING);
+
+            assertEquals("replaced3", getTest1(sut.compileContent(), 1));
+        }
+
+        @Test
+        void testWhenRegisteredContentArchiveIsReplaced(@TempDir Path contentDirectory) throws IOException {
+
+            final Path archivePath = contentDirectory.resolve("zenna/contents.zpack");
+            Files.createDirectories(archivePath.getParent());
+            writeArchive(archivePath, "archive");
+
+            final ContentObject<ConcreteContentEntity> sut = new ContentObject<>(ConcreteBinaryContentMapper.class,
+                    contentDirectory);
+            final ContentRegistry registry = ContentRegistry.getDefault();
+            final String contentName = sut.getContentName();
+
+            try {
+                assertEquals("archive3",
+                        getTest1(registry.get(contentName, sut.getClassLoader(), sut::compileContent), 1));
+
+                final Path replacementPath = contentDirectory.resolve("contents.zpack.tmp");
+                writeArchive(replacementPath, "replaced");
+                Files.move(replacementPath, archivePath, StandardCopyOption.REPLACE_EXISTING);
+
+                assertNotNull(registry.getIfPresent(contentName, sut.getClassLoader()));
+                assertNull(sut.getArchivedContent("/unknown", ContentRoot.FILE_SYSTEM));
+                assertNull(registry.getIfPresent(contentName, sut.getClassLoader()));
+                assertEquals("replaced3",
+                        getTest1(registry.get(contentName, sut.getClassLoader(), sut::compileContent), 1));
+
+                Files.delete(archivePath);
+
+                assertNull(sut.getArchivedContent("/unknown", ContentRoot.FILE_SYSTEM));
+                assertNull(registry.getIfPresent(contentName, sut.getClassLoader()));
+            } finally {
+                registry.invalidate(contentName, sut.getClassLoader());
+            }
+        }
+
+        private void writeArchive(Path archivePath, String prefix) throws IOException {
+
+            final String content;
+
+            try (InputStream contentStream = ContentObjectTest.class
+                    .getResourceAsStream("/zenna/org/thinkit/zenna/ConcreteBinaryContent.json")) {
+                content = new String(contentStream.readAllBytes(), StandardCharsets.UTF_8).replace("\"json",
+                        "\"" + prefix);
+            }
+
+            final CompiledContent compiledContent = ContentStreamCompiler
+                    .from(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))).compile();
+
+            Files.write(archivePath, ContentArchiveWriter
+                    .from(Map.of("org/thinkit/zenna/ConcreteBinaryContent", compiledContent)).toByteArray());
+        }
+
+        private String getTest1(CompiledContent compiledContent, int row) {
+
+            final AttributeColumns attributeColumns = compiledContent.getAttributeColumns();
+
+            return (String) attributeColumns.getObject(attributeColumns.getColumn("test1"), row);
+        }
+    }
+}
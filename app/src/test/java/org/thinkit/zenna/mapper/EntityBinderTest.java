@@ -0,0 +1,146 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.thinkit.zenna.compiler.AttributeColumns;
+import org.thinkit.zenna.entity.ContentEntity;
+
+/**
+ * The class that manages test case of {@link EntityBinder} .
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public final class EntityBinderTest {
+
+    /**
+     * Returns the attribute names associated with each field of the class passed
+     * as an argument. Each field is made accessible.
+     *
+     * @param resultType The class of result type
+     * @return The attribute names associated with each field
+     */
+    private static Map<Field, String> fields(final Class<?> resultType) {
+
+        final Map<Field, String> fields = new LinkedHashMap<>();
+
+        for (final Field field : resultType.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                field.setAccessible(true);
+                fields.put(field, field.getName());
+            }
+        }
+
+        return fields;
+    }
+
+    /**
+     * The entity class without a public no-argument constructor for testing.
+     */
+    static final class EntityWithoutConstructor implements ContentEntity {
+
+        /**
+         * The constructor
+         *
+         * @param value The value
+         */
+        EntityWithoutConstructor(String value) {
+        }
+    }
+
+    /**
+     * The nested class for
+     * {@link EntityBinder#create(AttributeColumns, int[], int)} method.
+     */
+    @Nested
+    class TestCreate {
+
+        @Test
+        void testWhenAttributesAreBound() {
+
+            final EntityBinder<ConcreteContentEntity> sut = EntityBinder.of(ConcreteContentEntity.class,
+                    fields(ConcreteContentEntity.class));
+            final AttributeColumns attributeColumns = AttributeColumns.from(Map.of("selectionNodes",
+                    List.of(Map.of("node", Map.of("test1", "success1", "test2", "success2")))));
+            final int[] columns = attributeColumns.getColumns(sut.getAttributes());
+
+            final ConcreteContentEntity result = sut.create(attributeColumns, columns, 0);
+
+            assertEquals("success1", result.getTest1());
+            assertEquals("success2", result.getTest2());
+            assertNotSame(result, sut.create(attributeColumns, columns, 0));
+        }
+
+        @Test
+        void testWhenPrimitiveAttributesAreBound() {
+
+            final EntityBinder<ConcreteContentEntityWithPrimitives> sut = EntityBinder
+                    .of(ConcreteContentEntityWithPrimitives.class, fields(ConcreteContentEntityWithPrimitives.class));
+            final AttributeColumns attributeColumns = AttributeColumns.from(Map.of("selectionNodes",
+                    List.of(Map.of("node", Map.of("testCount", 1, "testFlag", true, "testDoubleCount", 2,
+                            "testString", "success1")),
+                            Map.of("node", Map.of("testCount", 3, "testFlag", false, "testDoubleCount", 4.5d,
+                                    "testString", "success2")))));
+            final int[] columns = attributeColumns.getColumns(sut.getAttributes());
+
+            final ConcreteContentEntityWithPrimitives first = sut.create(attributeColumns, columns, 0);
+            final ConcreteContentEntityWithPrimitives second = sut.create(attributeColumns, columns, 1);
+
+            assertEquals(1, first.getTestCount());
+            assertTrue(first.isTestFlag());
+            assertEquals(2.0, first.getTestDoubleCount());
+            assertEquals("success1", first.getTestString());
+            assertEquals(3, second.getTestCount());
+            assertEquals(4.5, second.getTestDoubleCount());
+            assertEquals("success2", second.getTestString());
+        }
+
+        @Test
+        void testWhenAttributeTypeIsIllegal() {
+
+            final EntityBinder<ConcreteContentEntityWithPrimitives> sut = EntityBinder
+                    .of(ConcreteContentEntityWithPrimitives.class, fields(ConcreteContentEntityWithPrimitives.class));
+            final AttributeColumns attributeColumns = AttributeColumns
+                    .from(Map.of("selectionNodes", List.of(Map.of("node", Map.of("testCount", 1L)))));
+
+            assertThrows(IllegalStateException.class,
+                    () -> sut.create(attributeColumns, attributeColumns.getColumns(sut.getAttributes()), 0));
+        }
+
+        @Test
+        void testWhenResultTypeHasNoPublicConstructor() {
+
+            final EntityBinder<EntityWithoutConstructor> sut = EntityBinder.of(EntityWithoutConstructor.class,
+                    Map.of());
+            final AttributeColumns attributeColumns = AttributeColumns
+                    .from(Map.of("selectionNodes", List.of(Map.of("node", Map.of()))));
+
+            assertThrows(IllegalStateException.class, () -> sut.create(attributeColumns, new int[0], 0));
+        }
+    }
+}
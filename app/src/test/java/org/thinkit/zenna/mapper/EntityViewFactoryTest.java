@@ -0,0 +1,171 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.thinkit.zenna.compiler.AttributeColumns;
+import org.thinkit.zenna.entity.ContentEntity;
+
+/**
+ * The class that manages test case of {@link EntityViewFactory} .
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public final class EntityViewFactoryTest {
+
+    /**
+     * The entity interface with a method that is not a getter for testing.
+     */
+    interface EntityWithParameter extends ContentEntity {
+
+        /**
+         * Returns the value.
+         *
+         * @param index The index
+         * @return The value
+         */
+        String getValue(int index);
+    }
+
+    /**
+     * Returns the attribute columns containing the selection nodes passed as an
+     * argument.
+     *
+     * @param nodes The attributes of each selection node
+     * @return The attribute columns
+     */
+    @SafeVarargs
+    private static AttributeColumns columns(final Map<String, Object>... nodes) {
+
+        final List<Map<String, Object>> selectionNodes = new ArrayList<>(nodes.length);
+
+        for (final Map<String, Object> node : nodes) {
+            selectionNodes.add(Map.of("node", node));
+        }
+
+        return AttributeColumns.from(Map.of("selectionNodes", selectionNodes));
+    }
+
+    /**
+     * Creates the view of the selection node passed as an argument with the
+     * factory of the result type passed as an argument.
+     *
+     * @param <T>        The type of result entity
+     * @param resultType The interface of the result type
+     * @param node       The attributes of the selection node
+     * @return The view of the selection node
+     */
+    private static <T extends ContentEntity> T create(final Class<T> resultType, final Map<String, Object> node) {
+
+        final EntityViewFactory<T> factory = EntityViewFactory.of(resultType);
+        final AttributeColumns attributeColumns = columns(node);
+
+        return factory.create(attributeColumns, attributeColumns.getColumns(factory.getAttributes()), 0);
+    }
+
+    /**
+     * The nested class for {@link EntityViewFactory#of(Class)} method.
+     */
+    @Nested
+    class TestOf {
+
+        @Test
+        void testWhenResultTypeIsNotInterface() {
+            assertThrows(IllegalArgumentException.class, () -> EntityViewFactory.of(ConcreteContentEntity.class));
+        }
+    }
+
+    /**
+     * The nested class for {@link EntityViewFactory#getAttributes()} method.
+     */
+    @Nested
+    class TestGetAttributes {
+
+        @Test
+        void testWhenGettersAreDeclared() {
+            assertEquals(Set.of("testCount", "testFlag", "testDoubleCount", "testString"),
+                    EntityViewFactory.of(ConcreteContentEntityView.class).getAttributes());
+        }
+    }
+
+    /**
+     * The nested class for
+     * {@link EntityViewFactory#create(AttributeColumns, int[], int)} method.
+     */
+    @Nested
+    class TestCreate {
+
+        @Test
+        void testWhenAttributesAreRead() {
+
+            final ConcreteContentEntityView result = create(ConcreteContentEntityView.class,
+                    Map.of("testCount", 1, "testDoubleCount", 2, "testFlag", true, "testString", "test"));
+
+            assertEquals(1, result.getTestCount());
+            assertEquals(2.0, result.getTestDoubleCount());
+            assertEquals("TEST", result.getUpperLabel());
+        }
+
+        @Test
+        void testWhenPrimitiveAttributeDoesNotExist() {
+
+            final ConcreteContentEntityView result = create(ConcreteContentEntityView.class, Map.of());
+
+            assertThrows(NullPointerException.class, () -> result.getTestCount());
+            assertTrue(result.toString().startsWith("ConcreteContentEntityView("));
+            assertTrue(result.toString().contains("testString=null"));
+        }
+
+        @Test
+        void testWhenMethodIsNotGetter() {
+
+            final EntityWithParameter result = create(EntityWithParameter.class, Map.of());
+
+            assertThrows(UnsupportedOperationException.class, () -> result.getValue(0));
+        }
+
+        @Test
+        void testWhenRowsAreDifferent() {
+
+            final EntityViewFactory<ConcreteContentEntityView> sut = EntityViewFactory
+                    .of(ConcreteContentEntityView.class);
+            final AttributeColumns attributeColumns = columns(Map.of("testCount", 1, "testString", "a"),
+                    Map.of("testCount", 2, "testString", "b"), Map.of("testCount", 1, "testString", "a"));
+            final int[] columns = attributeColumns.getColumns(sut.getAttributes());
+
+            final ConcreteContentEntityView first = sut.create(attributeColumns, columns, 0);
+            final ConcreteContentEntityView second = sut.create(attributeColumns, columns, 1);
+            final ConcreteContentEntityView third = sut.create(attributeColumns, columns, 2);
+
+            assertEquals("a", first.getLabel());
+            assertEquals(2, second.getTestCount());
+            assertNotEquals(first, second);
+            assertEquals(first, third);
+            assertEquals(first.hashCode(), third.hashCode());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The class that manages test case of the default methods of {@link Mapper} .
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public final class MapperTest {
+
+    /**
+     * The mapper implementing only {@link Mapper#scan()}
+     */
+    private static final Mapper<ConcreteContentEntity> MAPPER = () -> List.of(entityOf("success1"),
+            entityOf("success2"));
+
+    /**
+     * The mapper returning no Entity
+     */
+    private static final Mapper<ConcreteContentEntity> EMPTY_MAPPER = List::of;
+
+    @Test
+    void testScanStream() {
+        assertEquals(List.of("success1", "success2"),
+                MAPPER.scanStream().map(ConcreteContentEntity::getTest1).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testScanIterator() {
+        assertEquals("success1", MAPPER.scanIterator().next().getTest1());
+    }
+
+    @Test
+    void testScanWithConsumer() {
+
+        final List<String> results = new ArrayList<>();
+        MAPPER.scan(entity -> results.add(entity.getTest1()));
+
+        assertEquals(List.of("success1", "success2"), results);
+        assertThrows(NullPointerException.class, () -> MAPPER.scan((Consumer<Object>) null));
+    }
+
+    @Test
+    void testScanFirst() {
+        assertEquals("success1", MAPPER.scanFirst().orElseThrow().getTest1());
+        assertTrue(EMPTY_MAPPER.scanFirst().isEmpty());
+    }
+
+    @Test
+    void testExists() {
+        assertTrue(MAPPER.exists());
+        assertFalse(EMPTY_MAPPER.exists());
+    }
+
+    @Test
+    void testCount() {
+        assertEquals(2, MAPPER.count());
+        assertEquals(0, EMPTY_MAPPER.count());
+    }
+
+    @Test
+    void testScanWithProjection() {
+        assertThrows(UnsupportedOperationException.class, () -> MAPPER.scan(Projection.of("test1")));
+        assertThrows(UnsupportedOperationException.class, () -> MAPPER.scan(ConcreteContentProjection.class));
+    }
+
+    /**
+     * Returns the new Entity whose test field 1 is the value passed as an
+     * argument.
+     *
+     * @param test1 The value of the test field 1
+     * @return The new Entity
+     */
+    private static ConcreteContentEntity entityOf(String test1) {
+        final ConcreteContentEntity entity = new ConcreteContentEntity();
+        entity.setTest1(test1);
+        return entity;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The class that manages test case of {@link Projection} .
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public final class ProjectionTest {
+
+    /**
+     * The nested class for {@link Projection#of(String...)} method.
+     */
+    @Nested
+    class TestOf {
+
+        @Test
+        void testWhenAttributesArePassed() {
+
+            final Projection sut = Projection.of("code", "label", "code");
+
+            assertEquals(List.of("code", "label"), List.copyOf(sut.getAttributes()));
+            assertEquals(Projection.of(List.of("code", "label")), sut);
+        }
+
+        @Test
+        void testWhenNoAttributeIsPassed() {
+            assertThrows(IllegalArgumentException.class, () -> Projection.of());
+            assertThrows(IllegalArgumentException.class, () -> Projection.of(List.of()));
+        }
+
+        @Test
+        void testWhenNullAttributeIsPassed() {
+            assertThrows(NullPointerException.class, () -> Projection.of("code", null));
+        }
+    }
+}
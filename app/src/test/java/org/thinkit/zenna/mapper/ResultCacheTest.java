@@ -0,0 +1,135 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.thinkit.zenna.compiler.CompiledContent;
+import org.thinkit.zenna.compiler.ConditionLayout;
+import org.thinkit.zenna.compiler.ConditionTuple;
+
+/**
+ * The class that manages test case of {@link ResultCache} .
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public final class ResultCacheTest {
+
+    /**
+     * The compiled content to which the cache is bound
+     */
+    private static final CompiledContent COMPILED_CONTENT = new ContentObject<ConcreteContentEntity>(
+            ConcreteBinaryContentMapper.class, null).compileContent();
+
+    /**
+     * The nested class for {@link ResultCache#get(ConditionTuple, java.util.function.Supplier)}
+     * method.
+     */
+    @Nested
+    class TestGet {
+
+        @Test
+        void testWhenTupleIsReused() {
+
+            final ResultCache<ConcreteImmutableContentEntity> sut = ResultCache.from(COMPILED_CONTENT, 10);
+            final ConditionTuple conditionTuple = tupleOf("a");
+
+            final List<ConcreteImmutableContentEntity> result = sut.get(conditionTuple, ArrayList::new);
+            conditionTuple.set(0, "b");
+
+            assertEquals(1, sut.size());
+            assertSame(result, sut.get(tupleOf("a"), ArrayList::new));
+            assertThrows(UnsupportedOperationException.class,
+                    () -> result.add(new ConcreteImmutableContentEntity("", "")));
+        }
+
+        @Test
+        void testWhenResultIsRequestedConcurrently() throws Exception {
+
+            final ResultCache<ConcreteImmutableContentEntity> sut = ResultCache.from(COMPILED_CONTENT, 10);
+            final AtomicInteger loadCount = new AtomicInteger();
+            final CountDownLatch startLatch = new CountDownLatch(1);
+            final int threadCount = 8;
+            final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+
+            try {
+                final List<Future<List<ConcreteImmutableContentEntity>>> futures = new ArrayList<>();
+
+                for (int i = 0; i < threadCount; i++) {
+                    futures.add(executor.submit(() -> {
+                        startLatch.await();
+                        return sut.get(tupleOf("a"), () -> {
+                            loadCount.incrementAndGet();
+                            sleep();
+                            return new ArrayList<>();
+                        });
+                    }));
+                }
+
+                startLatch.countDown();
+
+                final List<ConcreteImmutableContentEntity> result = futures.get(0).get(10, TimeUnit.SECONDS);
+
+                for (final Future<List<ConcreteImmutableContentEntity>> future : futures) {
+                    assertSame(result, future.get(10, TimeUnit.SECONDS));
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            assertEquals(1, loadCount.get());
+        }
+
+        @Test
+        void testWhenSupplierThrowsException() {
+
+            final ResultCache<ConcreteImmutableContentEntity> sut = ResultCache.from(COMPILED_CONTENT, 10);
+            final ConditionTuple conditionTuple = tupleOf("a");
+
+            assertThrows(IllegalArgumentException.class, () -> sut.get(conditionTuple, () -> {
+                throw new IllegalArgumentException();
+            }));
+            assertEquals(0, sut.size());
+        }
+    }
+
+    private static ConditionTuple tupleOf(String value) {
+        final ConditionTuple conditionTuple = ConditionLayout.of("key").newTuple();
+        conditionTuple.set(0, value);
+        return conditionTuple;
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(50L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.thinkit.zenna.compiler.AttributeColumns;
+import org.thinkit.zenna.entity.ContentEntity;
+import org.thinkit.zenna.exception.ResultTypeNotFoundException;
+
+/**
+ * The class that manages test case of {@link ResultType} .
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public final class ResultTypeTest {
+
+    /**
+     * Creates the result entities of the selection node passed as an argument with
+     * the result type passed as an argument.
+     *
+     * @param <T>        The type of result entity
+     * @param resultType The result type
+     * @param node       The attributes of the selection node
+     * @return The list of result entities
+     */
+    private static <T extends ContentEntity> List<T> createResultEntities(final ResultType<T> resultType,
+            final Map<String, Object> node) {
+
+        final BitSet rows = new BitSet();
+        rows.set(0);
+
+        return resultType.createResultEntities(
+                AttributeColumns.from(Map.of("selectionNodes", List.of(Map.of("node", node)))), rows);
+    }
+
+    /**
+     * The nested class for {@link ResultType#from(String)} method.
+     */
+    @Nested
+    class TestFrom {
+
+        @Test
+        void testWhenClassNameIsSame() {
+            assertSame(ResultType.from(ConcreteContentEntity.class.getName()),
+                    ResultType.from(ConcreteContentEntity.class.getName()));
+        }
+
+        @Test
+        void testWhenClassIsNotFound() {
+            assertThrows(ResultTypeNotFoundException.class, () -> ResultType.from("org.thinkit.zenna.NotFound"));
+        }
+    }
+
+    /**
+     * The nested class for {@link ResultType#getAttributes()} method.
+     */
+    @Nested
+    class TestGetAttributes {
+
+        @Test
+        void testWhenFieldHasAttributeAnnotation() {
+
+            final ResultType<ConcreteContentEntityWithAttribute> sut = ResultType
+                    .from(ConcreteContentEntityWithAttribute.class.getName());
+
+            assertEquals(Set.of("test1", "test2"), sut.getAttributes());
+        }
+
+        @Test
+        void testWhenConstructorHasConstructorProperties() {
+
+            final ResultType<ConcreteImmutableContentEntity> sut = ResultType
+                    .from(ConcreteImmutableContentEntity.class.getName());
+
+            assertEquals(Set.of("test1", "test2"), sut.getAttributes());
+        }
+
+        @Test
+        void testWhenResultTypeIsRecord(@TempDir Path directory) throws Exception {
+
+            final Class<ContentEntity> recordType = ConcreteRecordContentEntity.load(directory);
+            final ResultType<ContentEntity> sut = ResultType.from(recordType);
+
+            assertEquals(List.of("code", "title"), new ArrayList<>(sut.getAttributes()));
+        }
+    }
+
+    /**
+     * The nested class for {@link ResultType#isImmutable()} method.
+     */
+    @Nested
+    class TestIsImmutable {
+
+        @Test
+        void testWhenResultTypeHasSetters() {
+            assertFalse(ResultType.from(ConcreteContentEntity.class).isImmutable());
+        }
+
+        @Test
+        void testWhenResultTypeHasOnlyFinalFields() {
+            assertTrue(ResultType.from(ConcreteImmutableContentEntity.class).isImmutable());
+        }
+
+        @Test
+        void testWhenResultTypeIsInterface() {
+            assertTrue(ResultType.from(ConcreteContentEntityView.class).isImmutable());
+        }
+
+        @Test
+        void testWhenResultTypeIsRecord(@TempDir Path directory) throws Exception {
+            assertTrue(ResultType.from(ConcreteRecordContentEntity.load(directory)).isImmutable());
+        }
+    }
+
+    /**
+     * The nested class for
+     * {@link ResultType#createResultEntities(AttributeColumns, BitSet)} method.
+     */
+    @Nested
+    class TestCreateResultEntities {
+
+        @Test
+        void testWhenContentHasAttributes() {
+
+            final ResultType<ConcreteContentEntityWithAttribute> sut = ResultType
+                    .from(ConcreteContentEntityWithAttribute.class.getName());
+
+            final List<ConcreteContentEntityWithAttribute> results = createResultEntities(sut,
+                    Map.of("test1", "success1", "test2", "success2"));
+
+            assertEquals(1, results.size());
+            assertEquals("success1", results.get(0).getAnotherName1());
+            assertEquals("success2", results.get(0).getAnotherName2());
+        }
+
+        @Test
+        void testWhenResultTypeIsImmutable() {
+
+            final ResultType<ConcreteImmutableContentEntity> sut = ResultType
+                    .from(ConcreteImmutableContentEntity.class.getName());
+
+            final List<ConcreteImmutableContentEntity> results = createResultEntities(sut,
+                    Map.of("test1", "success1", "test2", "success2"));
+
+            assertEquals(List.of(new ConcreteImmutableContentEntity("success1", "success2")), results);
+        }
+
+        @Test
+        void testWhenResultTypeIsRecord(@TempDir Path directory) throws Exception {
+
+            final Class<ContentEntity> recordType = ConcreteRecordContentEntity.load(directory);
+            final ResultType<ContentEntity> sut = ResultType.from(recordType);
+
+            final List<ContentEntity> results = createResultEntities(sut,
+                    Map.of("code", "success1", "title", "success2"));
+
+            assertEquals(1, results.size());
+            assertEquals("CodeRecord[code=success1, name=success2]", results.get(0).toString());
+        }
+    }
+
+    /**
+     * The nested class for {@link ResultType#project(Projection)} method.
+     */
+    @Nested
+    class TestProject {
+
+        @Test
+        void testWhenAttributesAreProjected() {
+
+            final ResultType<ConcreteContentEntityWithAttribute> sut = ResultType
+                    .from(ConcreteContentEntityWithAttribute.class).project(Projection.of("test1"));
+
+            final List<ConcreteContentEntityWithAttribute> results = createResultEntities(sut,
+                    Map.of("test1", "success1", "test2", "success2"));
+
+            assertEquals(Set.of("test1"), sut.getAttributes());
+            assertEquals("success1", results.get(0).getAnotherName1());
+            assertNull(results.get(0).getAnotherName2());
+        }
+
+        @Test
+        void testWhenResultTypeIsImmutable() {
+
+            final ResultType<ConcreteImmutableContentEntity> sut = ResultType
+                    .from(ConcreteImmutableContentEntity.class).project(Projection.of("test2"));
+
+            final List<ConcreteImmutableContentEntity> results = createResultEntities(sut,
+                    Map.of("test1", "success1", "test2", "success2"));
+
+            assertEquals(List.of(new ConcreteImmutableContentEntity(null, "success2")), results);
+        }
+
+        @Test
+        void testWhenProjectionIsSame() {
+
+            final ResultType<ConcreteContentEntity> sut = ResultType.from(ConcreteContentEntity.class);
+
+            assertSame(sut.project(Projection.of("test1")), sut.project(Projection.of("test1")));
+        }
+
+        @Test
+        void testWhenAttributeIsNotDefined() {
+
+            final ResultType<ConcreteContentEntity> sut = ResultType.from(ConcreteContentEntity.class);
+
+            assertThrows(IllegalArgumentException.class, () -> sut.project(Projection.of("notDefined")));
+        }
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.registry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.thinkit.zenna.compiler.CompiledContent;
+import org.thinkit.zenna.compiler.ContentCompiler;
+import org.thinkit.zenna.exception.ContentNotFoundException;
+
+/**
+ * The class that manages test case of {@link ContentRegistry} .
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public final class ContentRegistryTest {
+
+    /**
+     * The content name
+     */
+    private static final String CONTENT_NAME = "TestContent";
+
+    /**
+     * Returns the new compiled content for testing.
+     *
+     * @return The new compiled content
+     */
+    private static CompiledContent newCompiledContent() {
+        return ContentCompiler.from(Map.of("meta", Map.of("resultType", "org.thinkit.zenna.mapper.ConcreteContentEntity"),
+                "selectionNodes", List.of(Map.of("node", Map.of("conditionId", ""))))).compile();
+    }
+
+    /**
+     * The nested class for
+     * {@link ContentRegistry#get(String, ClassLoader, java.util.function.Supplier)}
+     * method.
+     */
+    @Nested
+    class TestGet {
+
+        @Test
+        void testWhenContentIsRequestedTwice() {
+
+            final ContentRegistry sut = ContentRegistry.builder().build();
+            final ClassLoader classLoader = this.getClass().getClassLoader();
+            final AtomicInteger loadCount = new AtomicInteger();
+
+            final CompiledContent first = sut.get(CONTENT_NAME, classLoader, () -> {
+                loadCount.incrementAndGet();
+                return newCompiledContent();
+            });
+            final CompiledContent second = sut.get(CONTENT_NAME, classLoader, () -> {
+                loadCount.incrementAndGet();
+                return newCompiledContent();
+            });
+
+            assertSame(first, second);
+            assertEquals(1, loadCount.get());
+            assertEquals(1, sut.size());
+        }
+
+        @Test
+        void testWhenClassLoaderIsDifferent() throws Exception {
+
+            final ContentRegistry sut = ContentRegistry.builder().build();
+
+            try (final URLClassLoader anotherClassLoader = new URLClassLoader(new URL[0])) {
+                final CompiledContent first = sut.get(CONTENT_NAME, this.getClass().getClassLoader(),
+                        ContentRegistryTest::newCompiledContent);
+                final CompiledContent second = sut.get(CONTENT_NAME, anotherClassLoader,
+                        ContentRegistryTest::newCompiledContent);
+
+                assertNotSame(first, second);
+                assertEquals(2, sut.size());
+            }
+        }
+
+        @Test
+        void testWhenLoaderThrowsException() {
+
+            final ContentRegistry sut = ContentRegistry.builder().build();
+            final ClassLoader classLoader = this.getClass().getClassLoader();
+
+            assertThrows(ContentNotFoundException.class, () -> sut.get(CONTENT_NAME, classLoader, () -> {
+                throw new ContentNotFoundException();
+            }));
+            assertNull(sut.getIfPresent(CONTENT_NAME, classLoader));
+        }
+
+        @Test
+        void testWhenContentIsRequestedConcurrently() throws Exception {
+
+            final int threadCount = 16;
+            final ContentRegistry sut = ContentRegistry.builder().build();
+            final ClassLoader classLoader = this.getClass().getClassLoader();
+            final AtomicInteger loadCount = new AtomicInteger();
+            final CountDownLatch startGate = new CountDownLatch(1);
+            final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+
+            try {
+                final List<Future<CompiledContent>> results = new ArrayList<>(threadCount);
+
+                for (int i = 0; i < threadCount; i++) {
+                    results.add(executor.submit(() -> {
+                        startGate.await();
+                        return sut.get(CONTENT_NAME, classLoader, () -> {
+                            loadCount.incrementAndGet();
+                            this.sleep();
+                            return newCompiledContent();
+                        });
+                    }));
+                }
+
+                startGate.countDown();
+
+                final CompiledContent expected = results.get(0).get(10, TimeUnit.SECONDS);
+
+                for (final Future<CompiledContent> result : results) {
+                    assertSame(expected, result.get(10, TimeUnit.SECONDS));
+                }
+
+                assertEquals(1, loadCount.get());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        void testWhenMaximumSizeIsExceeded() {
+
+            final ContentRegistry sut = ContentRegistry.builder().maximumSize(1).build();
+            final ClassLoader classLoader = this.getClass().getClassLoader();
+
+            sut.get(CONTENT_NAME, classLoader, ContentRegistryTest::newCompiledContent);
+            sut.get(CONTENT_NAME + "2", classLoader, ContentRegistryTest::newCompiledContent);
+
+            assertEquals(1, sut.size());
+            assertNull(sut.getIfPresent(CONTENT_NAME, classLoader));
+        }
+
+        @Test
+        void testWhenMaximumWeightIsExceeded() {
+
+            final ContentRegistry sut = ContentRegistry.builder().maximumWeight(2).build();
+            final ClassLoader classLoader = this.getClass().getClassLoader();
+
+            sut.get(CONTENT_NAME, classLoader, ContentRegistryTest::newCompiledContent);
+            sut.get(CONTENT_NAME + "2", classLoader, ContentRegistryTest::newCompiledContent);
+
+            assertEquals(1, sut.size());
+        }
+
+        /**
+         * Sleeps for a while to let the other threads join the loading.
+         */
+        private void sleep() {
+            try {
+                Thread.sleep(100L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * The nested class for
+     * {@link ContentRegistry#getAsync(String, ClassLoader, java.util.function.Supplier, java.util.concurrent.Executor)}
+     * method.
+     */
+    @Nested
+    class TestGetAsync {
+
+        @Test
+        void testWhenLoadingIsInFlight() throws Exception {
+
+            final ContentRegistry sut = ContentRegistry.builder().build();
+            final ClassLoader classLoader = this.getClass().getClassLoader();
+            final AtomicInteger loadCount = new AtomicInteger();
+            final CountDownLatch loadingGate = new CountDownLatch(1);
+            final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+            try {
+                final CompletableFuture<CompiledContent> leader = sut.getAsync(CONTENT_NAME, classLoader, () -> {
+                    loadCount.incrementAndGet();
+                    this.await(loadingGate);
+                    return newCompiledContent();
+                }, executor);
+                final CompletableFuture<CompiledContent> follower = sut.getAsync(CONTENT_NAME, classLoader, () -> {
+                    loadCount.incrementAndGet();
+                    return newCompiledContent();
+                }, executor);
+
+                assertFalse(follower.isDone());
+
+                loadingGate.countDown();
+
+                assertSame(leader.get(10, TimeUnit.SECONDS), follower.get(10, TimeUnit.SECONDS));
+                assertEquals(1, loadCount.get());
+                assertTrue(sut.getAsync(CONTENT_NAME, classLoader, ContentRegistryTest::newCompiledContent, executor)
+                        .isDone());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        void testWhenLoadingFails() throws Exception {
+
+            final ContentRegistry sut = ContentRegistry.builder().build();
+            final ClassLoader classLoader = this.getClass().getClassLoader();
+            final CountDownLatch loadingGate = new CountDownLatch(1);
+            final ContentNotFoundException failure = new ContentNotFoundException();
+            final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+            try {
+                final CompletableFuture<CompiledContent> leader = sut.getAsync(CONTENT_NAME, classLoader, () -> {
+                    this.await(loadingGate);
+                    throw failure;
+                }, executor);
+                final CompletableFuture<CompiledContent> follower = sut.getAsync(CONTENT_NAME, classLoader,
+                        ContentRegistryTest::newCompiledContent, executor);
+
+                loadingGate.countDown();
+
+                assertSame(failure, assertThrows(CompletionException.class, leader::join).getCause());
+                assertSame(failure, assertThrows(CompletionException.class, follower::join).getCause());
+                assertNull(sut.getIfPresent(CONTENT_NAME, classLoader));
+                assertNotNull(sut.get(CONTENT_NAME, classLoader, ContentRegistryTest::newCompiledContent));
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        /**
+         * Waits until the latch is released.
+         *
+         * @param latch The latch
+         */
+        private void await(CountDownLatch latch) {
+            try {
+                latch.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * The nested class for {@link ContentRegistry#invalidate(String, ClassLoader)}
+     * method.
+     */
+    @Nested
+    class TestInvalidate {
+
+        @Test
+        void testWhenContentIsInvalidated() {
+
+            final ContentRegistry sut = ContentRegistry.builder().build();
+            final ClassLoader classLoader = this.getClass().getClassLoader();
+
+            final CompiledContent first = sut.get(CONTENT_NAME, classLoader, ContentRegistryTest::newCompiledContent);
+            sut.invalidate(CONTENT_NAME, classLoader);
+            final CompiledContent second = sut.get(CONTENT_NAME, classLoader, ContentRegistryTest::newCompiledContent);
+
+            assertNotSame(first, second);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.spi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The class that manages test case of {@link GeneratedClasses} .
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+final class GeneratedClassesTest {
+
+    @Nested
+    class TestGetName {
+
+        @Test
+        void testWhenTargetIsTopLevelClass() {
+            assertEquals("org.thinkit.zenna.spi.GeneratedClassesTest_ZennaMapper",
+                    GeneratedClasses.getName(GeneratedClassesTest.class, ConditionExtractor.SUFFIX));
+        }
+
+        @Test
+        void testWhenTargetIsNestedClass() {
+            assertEquals("org.thinkit.zenna.spi.GeneratedClassesTest_TestGetName_ZennaBinder",
+                    GeneratedClasses.getName(TestGetName.class, EntityFactory.SUFFIX));
+        }
+    }
+
+    @Nested
+    class TestNewInstance {
+
+        @Test
+        void testWhenGeneratedClassDoesNotExist() {
+            assertNull(GeneratedClasses.newInstance(GeneratedClassesTest.class, EntityFactory.SUFFIX,
+                    EntityFactory.class));
+        }
+
+        @Test
+        void testWhenGeneratedClassIsNotExpectedType() {
+            assertNull(GeneratedClasses.newInstance(GeneratedClassesTest.class, "$TestNewInstance",
+                    EntityFactory.class));
+        }
+
+        @Test
+        void testWhenArgumentIsNull() {
+            assertThrows(NullPointerException.class,
+                    () -> GeneratedClasses.newInstance(null, EntityFactory.SUFFIX, EntityFactory.class));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The class that manages test case of {@link InputStreamResolver} .
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public final class InputStreamResolverTest {
+
+    /**
+     * The nested class for {@link InputStreamResolver#toString(java.io.InputStream)}
+     * method.
+     */
+    @Nested
+    class TestToString {
+
+        @Test
+        void testWhenInputStreamHasLineSeparators() {
+
+            final String content = "{\n  \"test\": \"\u30c6\u30b9\u30c8\"\r\n}\n";
+
+            assertEquals(content,
+                    InputStreamResolver.toString(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))));
+        }
+    }
+}
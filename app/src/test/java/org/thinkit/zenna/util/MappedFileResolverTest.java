@@ -0,0 +1,166 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The class that manages test case of {@link MappedFileResolver} .
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public final class MappedFileResolverTest {
+
+    /**
+     * The content of the file for testing
+     */
+    private static final String CONTENT = "{\n  \"meta\": {}\n}\n";
+
+    /**
+     * The nested class for {@link MappedFileResolver#map(Path)} method.
+     */
+    @Nested
+    class TestMap {
+
+        @Test
+        void testWhenFileExists(@TempDir Path directory) throws IOException {
+
+            final Path path = Files.writeString(directory.resolve("Content.json"), CONTENT);
+            final ByteBuffer buffer = MappedFileResolver.map(path);
+
+            assertTrue(buffer.isReadOnly());
+            assertEquals(CONTENT, StandardCharsets.UTF_8.decode(buffer).toString());
+        }
+
+        @Test
+        void testWhenFileDoesNotExist(@TempDir Path directory) {
+            assertThrows(IllegalStateException.class, () -> MappedFileResolver.map(directory.resolve("None.json")));
+        }
+    }
+
+    /**
+     * The nested class for {@link MappedFileResolver#open(Path)} method.
+     */
+    @Nested
+    class TestOpen {
+
+        @Test
+        void testWhenFileExists(@TempDir Path directory) throws IOException {
+
+            final Path path = Files.writeString(directory.resolve("Content.json"), CONTENT);
+
+            try (InputStream inputStream = MappedFileResolver.open(path)) {
+                assertEquals(CONTENT, InputStreamResolver.toString(inputStream));
+            }
+        }
+    }
+
+    /**
+     * The nested class for {@link MappedFileResolver#mapStoredEntry(Path, String)}
+     * method.
+     */
+    @Nested
+    class TestMapStoredEntry {
+
+        @Test
+        void testWhenEntryIsStored(@TempDir Path directory) throws IOException {
+
+            final ByteBuffer buffer = MappedFileResolver.mapStoredEntry(writeZip(directory), "zenna/Stored.json");
+
+            assertTrue(buffer.isReadOnly());
+            assertTrue(buffer.isDirect());
+            assertEquals(CONTENT, StandardCharsets.UTF_8.decode(buffer).toString());
+        }
+
+        @Test
+        void testWhenEntryIsCompressed(@TempDir Path directory) throws IOException {
+            assertNull(MappedFileResolver.mapStoredEntry(writeZip(directory), "zenna/Deflated.json"));
+        }
+
+        @Test
+        void testWhenEntryDoesNotExist(@TempDir Path directory) throws IOException {
+            assertNull(MappedFileResolver.mapStoredEntry(writeZip(directory), "zenna/None.json"));
+        }
+
+        @Test
+        void testWhenFileIsNotZipFile(@TempDir Path directory) throws IOException {
+
+            final Path path = Files.writeString(directory.resolve("Content.json"), CONTENT);
+
+            assertNull(MappedFileResolver.mapStoredEntry(path, "zenna/Stored.json"));
+        }
+
+        @Test
+        void testWhenFileDoesNotExist(@TempDir Path directory) {
+            assertThrows(IllegalStateException.class,
+                    () -> MappedFileResolver.mapStoredEntry(directory.resolve("None.jar"), "zenna/Stored.json"));
+        }
+
+        /**
+         * Writes the zip file holding the entry compressed and the entry stored
+         * without compression.
+         *
+         * @param directory The directory
+         * @return The path of the zip file
+         *
+         * @exception IOException If the zip file cannot be written
+         */
+        private Path writeZip(Path directory) throws IOException {
+
+            final Path path = directory.resolve("contents.jar");
+            final byte[] content = CONTENT.getBytes(StandardCharsets.UTF_8);
+
+            try (ZipOutputStream zipStream = new ZipOutputStream(Files.newOutputStream(path))) {
+                zipStream.putNextEntry(new ZipEntry("zenna/Deflated.json"));
+                zipStream.write(content);
+                zipStream.closeEntry();
+
+                final CRC32 crc = new CRC32();
+                crc.update(content);
+
+                final ZipEntry storedEntry = new ZipEntry("zenna/Stored.json");
+                storedEntry.setMethod(ZipEntry.STORED);
+                storedEntry.setSize(content.length);
+                storedEntry.setCrc(crc.getValue());
+                storedEntry.setExtra(new byte[] { (byte) 0xFE, (byte) 0xCA, 0, 0 });
+
+                zipStream.putNextEntry(storedEntry);
+                zipStream.write(content);
+                zipStream.closeEntry();
+                zipStream.setComment("The zip file for testing");
+            }
+
+            return path;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.gradle;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import javax.inject.Inject;
+
+import org.gradle.api.GradleException;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.file.FileTree;
+import org.gradle.api.file.FileVisitDetails;
+import org.gradle.api.file.RelativePath;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.SkipWhenEmpty;
+import org.gradle.api.tasks.SourceTask;
+import org.gradle.api.tasks.TaskAction;
+import org.thinkit.zenna.catalog.ContentExtension;
+import org.thinkit.zenna.compiler.BinaryContentWriter;
+import org.thinkit.zenna.compiler.CompiledContent;
+import org.thinkit.zenna.compiler.ContentArchiveWriter;
+import org.thinkit.zenna.compiler.ContentStreamCompiler;
+import org.thinkit.zenna.compiler.ContentValidator;
+import org.thinkit.zenna.exception.ContentParsingException;
+import org.thinkit.zenna.exception.IllegalContentStateException;
+import org.thinkit.zenna.loader.ContentLoader;
+
+/**
+ * The task that validates the content files and compiles them into binary
+ * content files.
+ *
+ * <p>
+ * Each content file is validated by {@link ContentValidator} and compiled by
+ * {@link ContentStreamCompiler} in the same way as at runtime, and the compiled
+ * content is written by {@link BinaryContentWriter} to the output directory
+ * with the same relative path as the content file and the extension
+ * {@code ".zdb"} . If {@link #getPack()} is {@code true} , the compiled
+ * contents are packed by {@link ContentArchiveWriter} into the single content
+ * archive {@code "zenna/contents.zpack"} in the output directory instead, so
+ * that every content is looked up from one file at runtime. All the content
+ * files are checked before the task fails, so every illegal content file is
+ * reported at once.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@CacheableTask
+public abstract class ContentCompileTask extends SourceTask {
+
+    /**
+     * The path of the content archive relative to the output directory
+     */
+    static final String CONTENT_ARCHIVE_PATH = "zenna/contents.zpack";
+
+    /**
+     * Returns the output directory of the binary content files.
+     *
+     * @return The output directory of the binary content files
+     */
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDirectory();
+
+    /**
+     * Returns whether the compiled contents are packed into the content archive
+     * instead of being written as the binary content files.
+     *
+     * @return {@code true} if the compiled contents are packed into the content
+     *         archive, otherwise {@code false}
+     */
+    @Input
+    public abstract Property<Boolean> getPack();
+
+    /**
+     * Returns the file system operations.
+     *
+     * @return The file system operations
+     */
+    @Inject
+    protected abstract FileSystemOperations getFileSystemOperations();
+
+    @Override
+    @InputFiles
+    @SkipWhenEmpty
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public FileTree getSource() {
+        return super.getSource();
+    }
+
+    /**
+     * Compiles the content files into the binary content files, or into the
+     * content archive if {@link #getPack()} is {@code true} .
+     *
+     * @exception GradleException      If any content file is illegal
+     * @exception UncheckedIOException If the content file cannot be read or the
+     *                                  output cannot be written
+     */
+    @TaskAction
+    public void compile() {
+
+        final File outputDirectory = this.getOutputDirectory().get().getAsFile();
+        this.getFileSystemOperations().delete(spec -> spec.delete(outputDirectory));
+
+        final boolean pack = this.getPack().get();
+        final Map<String, CompiledContent> compiledContents = new LinkedHashMap<>();
+        final List<String> failures = new ArrayList<>();
+
+        this.getSource().visit(details -> {
+            if (details.isDirectory()) {
+                return;
+            }
+
+            final CompiledContent compiledContent = this.compile(details, failures);
+
+            if (compiledContent == null) {
+                return;
+            }
+
+            if (pack) {
+                compiledContents.put(this.toContentName(details.getRelativePath()), compiledContent);
+            } else {
+                final RelativePath relativePath = details.getRelativePath();
+                this.write(relativePath.replaceLastName(this.toBinaryFileName(relativePath.getLastName()))
+                        .getFile(outputDirectory), BinaryContentWriter.from(compiledContent)::write);
+            }
+
+            this.getLogger().info("Compiled the content file '{}'.", details.getRelativePath().getPathString());
+        });
+
+        if (!failures.isEmpty()) {
+            throw new GradleException(String.format("Failed to compile %d content file(s).%n%s", failures.size(),
+                    String.join(System.lineSeparator(), failures)));
+        }
+
+        if (pack) {
+            this.write(new File(outputDirectory, CONTENT_ARCHIVE_PATH),
+                    ContentArchiveWriter.from(compiledContents)::write);
+        }
+    }
+
+    /**
+     * Validates and compiles the content file passed as an argument. The content
+     * file is compiled by {@link ContentStreamCompiler} , which compiles the
+     * content files at runtime, after it is validated. If the content file is
+     * illegal, the reason is added to the failures instead.
+     *
+     * @param details  The details of the content file
+     * @param failures The reasons of the illegal content files
+     * @return The compiled content, or {@code null} if the content file is illegal
+     *
+     * @exception UncheckedIOException If the content file cannot be read
+     */
+    private CompiledContent compile(FileVisitDetails details, List<String> failures) {
+        try (InputStream contentStream = details.open()) {
+            final byte[] content = contentStream.readAllBytes();
+            ContentValidator.from(ContentLoader.from(new ByteArrayInputStream(content)).load()).validate();
+            return ContentStreamCompiler.from(new ByteArrayInputStream(content)).compile();
+        } catch (ContentParsingException | IllegalContentStateException e) {
+            failures.add(String.format("%s: %s", details.getRelativePath().getPathString(), e.getMessage()));
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the file passed as an argument with the writer.
+     *
+     * @param file   The file to be written
+     * @param writer The writer of the file
+     *
+     * @exception UncheckedIOException If the file cannot be written
+     */
+    private void write(File file, Consumer<OutputStream> writer) {
+        try {
+            Files.createDirectories(file.getParentFile().toPath());
+
+            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(file.toPath()))) {
+                writer.accept(outputStream);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the content name of the content file at the relative path passed as
+     * an argument. The content name is the path relative to the root directory of
+     * the contents without the extension, as used to look up the content archive
+     * at runtime.
+     *
+     * @param relativePath The relative path of the content file
+     * @return The content name
+     */
+    private String toContentName(RelativePath relativePath) {
+        final String[] segments = relativePath.getSegments();
+        final String contentPath = String.join("/", Arrays.copyOfRange(segments, 1, segments.length));
+        return contentPath.substring(0, contentPath.length() - ContentExtension.JSON.getTag().length() - 1);
+    }
+
+    /**
+     * Returns the name of the binary content file for the content file name passed
+     * as an argument.
+     *
+     * @param contentFileName The name of the content file
+     * @return The name of the binary content file
+     */
+    private String toBinaryFileName(String contentFileName) {
+        return String.format("%s.%s",
+                contentFileName.substring(0, contentFileName.length() - ContentExtension.JSON.getTag().length() - 1),
+                ContentExtension.ZDB.getTag());
+    }
+}
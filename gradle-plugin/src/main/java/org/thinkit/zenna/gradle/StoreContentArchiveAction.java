@@ -0,0 +1,189 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.gradle;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Enumeration;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.gradle.api.Action;
+import org.gradle.api.Task;
+import org.gradle.api.tasks.bundling.AbstractArchiveTask;
+
+/**
+ * The action that stores the content archive in the archive file built by the
+ * task without compression.
+ *
+ * <p>
+ * The content archive stored without compression in a jar file is mapped into
+ * memory from the region of the jar file holding it at runtime, while the
+ * compressed content archive must be inflated onto the heap. Gradle compresses
+ * every entry of the archive file in the same way, so this action rewrites the
+ * archive file built by the task with the content archive
+ * {@value ContentCompileTask#CONTENT_ARCHIVE_PATH} stored and the other entries
+ * kept as they are. The archive file is not rewritten if it does not have the
+ * compressed content archive.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+final class StoreContentArchiveAction implements Action<Task> {
+
+    @Override
+    public void execute(Task task) {
+        this.store(((AbstractArchiveTask) task).getArchiveFile().get().getAsFile().toPath());
+    }
+
+    /**
+     * Stores the content archive in the archive file passed as an argument without
+     * compression.
+     *
+     * @param archiveFile The archive file
+     *
+     * @exception UncheckedIOException If the archive file cannot be rewritten
+     */
+    void store(Path archiveFile) {
+        try {
+            if (!this.isContentArchiveCompressed(archiveFile)) {
+                return;
+            }
+
+            final Path storedFile = Files.createTempFile(archiveFile.getParent(),
+                    archiveFile.getFileName().toString(), ".tmp");
+
+            try {
+                this.copy(archiveFile, storedFile);
+                Files.move(storedFile, archiveFile, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(storedFile);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Checks if the archive file passed as an argument has the compressed content
+     * archive.
+     *
+     * @param archiveFile The archive file
+     * @return {@code true} if the archive file has the compressed content archive,
+     *         otherwise {@code false}
+     *
+     * @exception IOException If the archive file cannot be read
+     */
+    private boolean isContentArchiveCompressed(Path archiveFile) throws IOException {
+        try (ZipFile zipFile = new ZipFile(archiveFile.toFile())) {
+            final ZipEntry contentArchive = zipFile.getEntry(ContentCompileTask.CONTENT_ARCHIVE_PATH);
+            return contentArchive != null && contentArchive.getMethod() != ZipEntry.STORED;
+        }
+    }
+
+    /**
+     * Copies the entries of the archive file passed as an argument to the target
+     * file in the same order, with the content archive stored without
+     * compression.
+     *
+     * @param archiveFile The archive file
+     * @param targetFile  The target file
+     *
+     * @exception IOException If the archive file cannot be read or the target file
+     *                        cannot be written
+     */
+    private void copy(Path archiveFile, Path targetFile) throws IOException {
+        try (ZipFile zipFile = new ZipFile(archiveFile.toFile());
+                ZipOutputStream zipStream = new ZipOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(targetFile)))) {
+
+            final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+
+            while (entries.hasMoreElements()) {
+                final ZipEntry entry = entries.nextElement();
+
+                try (InputStream entryStream = zipFile.getInputStream(entry)) {
+                    if (ContentCompileTask.CONTENT_ARCHIVE_PATH.equals(entry.getName())) {
+                        this.putStoredEntry(zipStream, entry, entryStream.readAllBytes());
+                    } else {
+                        zipStream.putNextEntry(this.copyEntry(entry));
+                        entryStream.transferTo(zipStream);
+                    }
+                }
+
+                zipStream.closeEntry();
+            }
+
+            zipStream.setComment(zipFile.getComment());
+        }
+    }
+
+    /**
+     * Puts the entry with the data passed as an argument stored without
+     * compression.
+     *
+     * @param zipStream The output stream of the target file
+     * @param entry     The entry of the archive file
+     * @param data      The data of the entry
+     *
+     * @exception IOException If the target file cannot be written
+     */
+    private void putStoredEntry(ZipOutputStream zipStream, ZipEntry entry, byte[] data) throws IOException {
+
+        final CRC32 crc = new CRC32();
+        crc.update(data);
+
+        final ZipEntry storedEntry = new ZipEntry(entry.getName());
+        storedEntry.setTime(entry.getTime());
+        storedEntry.setMethod(ZipEntry.STORED);
+        storedEntry.setSize(data.length);
+        storedEntry.setCompressedSize(data.length);
+        storedEntry.setCrc(crc.getValue());
+
+        zipStream.putNextEntry(storedEntry);
+        zipStream.write(data);
+    }
+
+    /**
+     * Returns the copy of the entry passed as an argument to be written with the
+     * same compression method.
+     *
+     * @param entry The entry of the archive file
+     * @return The copy of the entry
+     */
+    private ZipEntry copyEntry(ZipEntry entry) {
+
+        final ZipEntry copiedEntry = new ZipEntry(entry.getName());
+        copiedEntry.setTime(entry.getTime());
+        copiedEntry.setExtra(entry.getExtra());
+        copiedEntry.setComment(entry.getComment());
+        copiedEntry.setMethod(entry.getMethod());
+
+        if (entry.getMethod() == ZipEntry.STORED) {
+            copiedEntry.setSize(entry.getSize());
+            copiedEntry.setCompressedSize(entry.getCompressedSize());
+            copiedEntry.setCrc(entry.getCrc());
+        }
+
+        return copiedEntry;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.gradle;
+
+import org.gradle.api.Plugin;
+import org.gradle.api.Project;
+import org.gradle.api.plugins.BasePlugin;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.api.tasks.TaskProvider;
+import org.gradle.api.tasks.bundling.Jar;
+import org.gradle.language.jvm.tasks.ProcessResources;
+
+/**
+ * The Gradle plugin that compiles the content files of Zenna DB into binary
+ * content files during the build.
+ *
+ * <p>
+ * When this plugin is applied, the Java plugin is also applied and the
+ * {@value #COMPILE_CONTENTS_TASK_NAME} task is registered. The task reads the
+ * content files matching {@value #CONTENT_PATTERN} in the resource
+ * directories of the main source set, validates them and compiles them into
+ * the binary content files with the extension {@code ".zdb"} . The binary
+ * content files are packaged next to the original content files by the
+ * {@code processResources} task, so the content mapper reads the binary content
+ * file instead of parsing the content file at runtime. If {@code pack} of the
+ * task is set to {@code true} , the compiled contents are packed into the
+ * single content archive {@code "zenna/contents.zpack"} instead, and the
+ * content archive is stored in the jar file without compression, so that it is
+ * mapped into memory from the jar file at runtime. A content file that is not
+ * valid fails the build.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public final class ZennaPlugin implements Plugin<Project> {
+
+    /**
+     * The name of the task that compiles the content files
+     */
+    static final String COMPILE_CONTENTS_TASK_NAME = "compileZennaContents";
+
+    /**
+     * The pattern of the content files in the resource directories
+     */
+    static final String CONTENT_PATTERN = "zenna/**/*.json";
+
+    /**
+     * The output directory of the binary content files relative to the build
+     * directory
+     */
+    static final String OUTPUT_DIRECTORY = "generated/resources/zenna";
+
+    @Override
+    public void apply(Project project) {
+        project.getPluginManager().apply(JavaPlugin.class);
+
+        final SourceSet main = project.getExtensions().getByType(SourceSetContainer.class)
+                .getByName(SourceSet.MAIN_SOURCE_SET_NAME);
+
+        final TaskProvider<ContentCompileTask> compileContents = project.getTasks()
+                .register(COMPILE_CONTENTS_TASK_NAME, ContentCompileTask.class, task -> {
+                    task.setGroup(BasePlugin.BUILD_GROUP);
+                    task.setDescription("Validates the content files and compiles them into binary content files.");
+                    task.setSource(main.getResources().getSourceDirectories());
+                    task.include(CONTENT_PATTERN);
+                    task.getPack().convention(false);
+                    task.getOutputDirectory().set(project.getLayout().getBuildDirectory().dir(OUTPUT_DIRECTORY));
+                });
+
+        project.getTasks().named(main.getProcessResourcesTaskName(), ProcessResources.class,
+                task -> task.from(compileContents));
+        project.getTasks().named(main.getJarTaskName(), Jar.class,
+                task -> task.doLast(new StoreContentArchiveAction()));
+    }
+}
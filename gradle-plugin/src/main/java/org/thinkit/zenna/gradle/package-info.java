@@ -0,0 +1,5 @@
+/**
+ * The package that manages the Gradle plugin of Zenna DB that validates the
+ * content files and compiles them into binary content files at build time.
+ */
+package org.thinkit.zenna.gradle;
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.gradle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.gradle.api.GradleException;
+import org.gradle.api.Project;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.thinkit.zenna.compiler.BinaryContentCompiler;
+import org.thinkit.zenna.compiler.CompiledContent;
+import org.thinkit.zenna.compiler.ContentArchive;
+import org.thinkit.zenna.compiler.ContentStreamCompiler;
+import org.thinkit.zenna.eval.ContentEvaluator;
+
+/**
+ * The class that manages test case of {@link ContentCompileTask} .
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public final class ContentCompileTaskTest {
+
+    /**
+     * The legal content file for testing
+     */
+    private static final String LEGAL_CONTENT = String.join("\n", "{",
+            "  \"meta\": {\"resultType\": \"org.thinkit.zenna.mapper.ConcreteContentEntity\"},",
+            "  \"selectionNodes\": [{\"node\": {\"conditionId\": \"\", \"test1\": \"success1\"}}]",
+            "}");
+
+    /**
+     * The content file with conditions for testing
+     */
+    private static final String CONTENT_WITH_CONDITIONS = String.join("\n", "{",
+            "  \"meta\": {\"resultType\": \"org.thinkit.zenna.mapper.ConcreteContentEntity\"},",
+            "  \"selectionNodes\": [",
+            "    {\"node\": {\"conditionId\": \"\", \"test1\": \"default\", \"test2\": 1}},",
+            "    {\"node\": {\"conditionId\": \"0\", \"test1\": \"small\", \"test2\": 2.5}},",
+            "    {\"node\": {\"conditionId\": \"1\", \"test1\": \"large\", \"test2\": true}},",
+            "    {\"node\": {\"conditionId\": \"2\", \"test1\": \"excluded\", \"test2\": [\"a\", {\"b\": null}]}}",
+            "  ],",
+            "  \"conditionNodes\": [",
+            "    {\"node\": {\"conditionId\": \"0\", \"exclude\": false, \"conditions\": [",
+            "      {\"keyName\": \"value\", \"operator\": \"<\", \"operand\": \"10\"}]}},",
+            "    {\"node\": {\"conditionId\": \"1\", \"exclude\": false, \"conditions\": [",
+            "      {\"keyName\": \"value\", \"operator\": \">=\", \"operand\": \"10\"}]}},",
+            "    {\"node\": {\"conditionId\": \"2\", \"exclude\": true, \"conditions\": [",
+            "      {\"keyName\": \"value\", \"operator\": \"=\", \"operand\": \"5\"}]}}",
+            "  ]",
+            "}");
+
+    /**
+     * The illegal content file for testing
+     */
+    private static final String ILLEGAL_CONTENT = String.join("\n", "{",
+            "  \"meta\": {\"resultType\": \"org.thinkit.zenna.mapper.ConcreteContentEntity\"},",
+            "  \"selectionNodes\": {}",
+            "}");
+
+    /**
+     * The nested class for {@link ContentCompileTask#compile()} method.
+     */
+    @Nested
+    class TestCompile {
+
+        @Test
+        void testWhenContentFileIsLegal(@TempDir Path projectDirectory) throws IOException {
+
+            writeResource(projectDirectory, "zenna/org/thinkit/zenna/LegalContent.json", LEGAL_CONTENT);
+            writeResource(projectDirectory, "zenna/org/thinkit/zenna/notContent.txt", LEGAL_CONTENT);
+            writeResource(projectDirectory, "other/OtherContent.json", ILLEGAL_CONTENT);
+
+            final ContentCompileTask sut = getTask(projectDirectory);
+            sut.compile();
+
+            final Path outputDirectory = sut.getOutputDirectory().get().getAsFile().toPath();
+            final Path binaryFile = outputDirectory.resolve("zenna/org/thinkit/zenna/LegalContent.zdb");
+
+            assertTrue(Files.exists(binaryFile));
+            assertFalse(Files.exists(outputDirectory.resolve("zenna/org/thinkit/zenna/notContent.zdb")));
+            assertFalse(Files.exists(outputDirectory.resolve("other")));
+
+            try (InputStream binaryStream = Files.newInputStream(binaryFile)) {
+                final CompiledContent compiledContent = BinaryContentCompiler.from(binaryStream).compile();
+
+                assertEquals("org.thinkit.zenna.mapper.ConcreteContentEntity", compiledContent.getResultType());
+                assertEquals(1, compiledContent.getAttributeColumns().size());
+            }
+        }
+
+        @Test
+        void testWhenBinaryFileIsScanned(@TempDir Path projectDirectory) throws IOException {
+
+            writeResource(projectDirectory, "zenna/org/thinkit/zenna/ContentWithConditions.json",
+                    CONTENT_WITH_CONDITIONS);
+
+            final ContentCompileTask sut = getTask(projectDirectory);
+            sut.compile();
+
+            final Path binaryFile = sut.getOutputDirectory().get().getAsFile().toPath()
+                    .resolve("zenna/org/thinkit/zenna/ContentWithConditions.zdb");
+            final CompiledContent binaryContent = BinaryContentCompiler
+                    .from(ByteBuffer.wrap(Files.readAllBytes(binaryFile))).compile();
+            final CompiledContent jsonContent = ContentStreamCompiler
+                    .from(new ByteArrayInputStream(CONTENT_WITH_CONDITIONS.getBytes(StandardCharsets.UTF_8)))
+                    .compile();
+
+            for (final String value : List.of("1", "5", "10", "100", "x")) {
+                assertEquals(scan(jsonContent, value), scan(binaryContent, value));
+            }
+        }
+
+        @Test
+        void testWhenContentFilesArePacked(@TempDir Path projectDirectory) throws IOException {
+
+            writeResource(projectDirectory, "zenna/org/thinkit/zenna/LegalContent.json", LEGAL_CONTENT);
+            writeResource(projectDirectory, "zenna/LegalContent.json", LEGAL_CONTENT);
+
+            final ContentCompileTask sut = getTask(projectDirectory);
+            sut.getPack().set(true);
+            sut.compile();
+
+            final Path outputDirectory = sut.getOutputDirectory().get().getAsFile().toPath();
+            final Path archiveFile = outputDirectory.resolve(ContentCompileTask.CONTENT_ARCHIVE_PATH);
+
+            assertFalse(Files.exists(outputDirectory.resolve("zenna/org/thinkit/zenna/LegalContent.zdb")));
+
+            final ContentArchive contentArchive = ContentArchive.from(ByteBuffer.wrap(Files.readAllBytes(archiveFile)));
+
+            assertEquals(2, contentArchive.size());
+            assertEquals("org.thinkit.zenna.mapper.ConcreteContentEntity", BinaryContentCompiler
+                    .from(contentArchive.find("org/thinkit/zenna/LegalContent")).compile().getResultType());
+            assertEquals("org.thinkit.zenna.mapper.ConcreteContentEntity",
+                    BinaryContentCompiler.from(contentArchive.find("LegalContent")).compile().getResultType());
+        }
+
+        @Test
+        void testWhenContentFileIsIllegal(@TempDir Path projectDirectory) throws IOException {
+
+            writeResource(projectDirectory, "zenna/org/thinkit/zenna/LegalContent.json", LEGAL_CONTENT);
+            writeResource(projectDirectory, "zenna/org/thinkit/zenna/IllegalContent.json", ILLEGAL_CONTENT);
+            writeResource(projectDirectory, "zenna/org/thinkit/zenna/BrokenContent.json", "{\"meta\": ");
+
+            final GradleException exception = assertThrows(GradleException.class,
+                    () -> getTask(projectDirectory).compile());
+
+            assertTrue(exception.getMessage().startsWith("Failed to compile 2 content file(s)."));
+            assertTrue(exception.getMessage().contains(
+                    "zenna/org/thinkit/zenna/IllegalContent.json: The 'selectionNodes' must be an array."));
+            assertTrue(exception.getMessage().contains("zenna/org/thinkit/zenna/BrokenContent.json: "));
+        }
+
+        @Test
+        void testWhenStaleBinaryFileExists(@TempDir Path projectDirectory) throws IOException {
+
+            final ContentCompileTask sut = getTask(projectDirectory);
+            final Path staleFile = sut.getOutputDirectory().get().getAsFile().toPath()
+                    .resolve("zenna/org/thinkit/zenna/RemovedContent.zdb");
+
+            Files.createDirectories(staleFile.getParent());
+            Files.write(staleFile, new byte[0]);
+            writeResource(projectDirectory, "zenna/org/thinkit/zenna/LegalContent.json", LEGAL_CONTENT);
+
+            sut.compile();
+
+            assertFalse(Files.exists(staleFile));
+        }
+    }
+
+    /**
+     * Returns the selection nodes of the compiled content selected with the value
+     * passed as an argument.
+     *
+     * @param compiledContent The compiled content
+     * @param value           The value of the condition
+     * @return The selected selection nodes
+     */
+    private static List<Map<String, Object>> scan(CompiledContent compiledContent, String value) {
+        return ContentEvaluator.builder().compiledContent(compiledContent).attributes(Set.of("test1", "test2"))
+                .conditions(Map.of("value", value)).build().evaluate();
+    }
+
+    /**
+     * Returns the task that compiles the content files of the project in the
+     * project directory passed as an argument.
+     *
+     * @param projectDirectory The project directory
+     * @return The task that compiles the content files
+     */
+    private static ContentCompileTask getTask(Path projectDirectory) {
+
+        final Project project = ProjectBuilder.builder().withProjectDir(projectDirectory.toFile()).build();
+        project.getPluginManager().apply(ZennaPlugin.class);
+
+        return (ContentCompileTask) project.getTasks().getByName(ZennaPlugin.COMPILE_CONTENTS_TASK_NAME);
+    }
+
+    /**
+     * Writes the resource file to the resource directory of the main source set.
+     *
+     * @param projectDirectory The project directory
+     * @param path             The path of the resource file
+     * @param content          The content of the resource file
+     *
+     * @exception IOException If the resource file cannot be written
+     */
+    private static void writeResource(Path projectDirectory, String path, String content) throws IOException {
+        final Path resource = projectDirectory.resolve("src/main/resources").resolve(path);
+        Files.createDirectories(resource.getParent());
+        Files.write(resource, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
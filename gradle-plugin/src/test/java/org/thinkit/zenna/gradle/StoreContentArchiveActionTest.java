@@ -0,0 +1,142 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.gradle;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.thinkit.zenna.util.MappedFileResolver;
+
+/**
+ * The class that manages test case of {@link StoreContentArchiveAction} .
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public final class StoreContentArchiveActionTest {
+
+    /**
+     * The data of the content archive for testing
+     */
+    private static final byte[] CONTENT_ARCHIVE = "ZPK content archive for testing".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * The data of the other entry for testing
+     */
+    private static final byte[] OTHER_ENTRY = "Manifest-Version: 1.0\n".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * The nested class for {@link StoreContentArchiveAction#store(Path)} method.
+     */
+    @Nested
+    class TestStore {
+
+        @Test
+        void testWhenContentArchiveIsCompressed(@TempDir Path directory) throws IOException {
+
+            final Path jarFile = directory.resolve("contents.jar");
+            writeJar(jarFile, true);
+
+            new StoreContentArchiveAction().store(jarFile);
+
+            try (ZipFile zipFile = new ZipFile(jarFile.toFile())) {
+                assertEquals(List.of("META-INF/MANIFEST.MF", ContentCompileTask.CONTENT_ARCHIVE_PATH),
+                        Collections.list(zipFile.entries()).stream().map(ZipEntry::getName)
+                                .collect(Collectors.toList()));
+
+                final ZipEntry manifest = zipFile.getEntry("META-INF/MANIFEST.MF");
+                final ZipEntry contentArchive = zipFile.getEntry(ContentCompileTask.CONTENT_ARCHIVE_PATH);
+
+                assertEquals(ZipEntry.DEFLATED, manifest.getMethod());
+                assertEquals(ZipEntry.STORED, contentArchive.getMethod());
+                assertArrayEquals(OTHER_ENTRY, readEntry(zipFile, manifest));
+                assertArrayEquals(CONTENT_ARCHIVE, readEntry(zipFile, contentArchive));
+            }
+
+            final ByteBuffer mappedContentArchive = MappedFileResolver.mapStoredEntry(jarFile,
+                    ContentCompileTask.CONTENT_ARCHIVE_PATH);
+            final byte[] data = new byte[mappedContentArchive.remaining()];
+            mappedContentArchive.get(data);
+
+            assertArrayEquals(CONTENT_ARCHIVE, data);
+        }
+
+        @Test
+        void testWhenContentArchiveDoesNotExist(@TempDir Path directory) throws IOException {
+
+            final Path jarFile = directory.resolve("contents.jar");
+            writeJar(jarFile, false);
+
+            final byte[] expected = Files.readAllBytes(jarFile);
+            new StoreContentArchiveAction().store(jarFile);
+
+            assertArrayEquals(expected, Files.readAllBytes(jarFile));
+        }
+    }
+
+    /**
+     * Writes the jar file whose entries are all compressed.
+     *
+     * @param jarFile        The path of the jar file
+     * @param contentArchive {@code true} if the content archive is written,
+     *                       otherwise {@code false}
+     *
+     * @exception IOException If the jar file cannot be written
+     */
+    private static void writeJar(Path jarFile, boolean contentArchive) throws IOException {
+        try (ZipOutputStream zipStream = new ZipOutputStream(Files.newOutputStream(jarFile))) {
+            zipStream.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+            zipStream.write(OTHER_ENTRY);
+            zipStream.closeEntry();
+
+            if (contentArchive) {
+                zipStream.putNextEntry(new ZipEntry(ContentCompileTask.CONTENT_ARCHIVE_PATH));
+                zipStream.write(CONTENT_ARCHIVE);
+                zipStream.closeEntry();
+            }
+        }
+    }
+
+    /**
+     * Reads the data of the entry of the zip file.
+     *
+     * @param zipFile The zip file
+     * @param entry   The entry
+     * @return The data of the entry
+     *
+     * @exception IOException If the entry cannot be read
+     */
+    private static byte[] readEntry(ZipFile zipFile, ZipEntry entry) throws IOException {
+        try (InputStream entryStream = zipFile.getInputStream(entry)) {
+            return entryStream.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.gradle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+
+import org.gradle.api.Project;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The class that manages test case of {@link ZennaPlugin} .
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+public final class ZennaPluginTest {
+
+    /**
+     * The nested class for {@link ZennaPlugin#apply(Project)} method.
+     */
+    @Nested
+    class TestApply {
+
+        @Test
+        void testWhenPluginIsApplied(@TempDir Path projectDirectory) {
+
+            final Project project = ProjectBuilder.builder().withProjectDir(projectDirectory.toFile()).build();
+            project.getPluginManager().apply(ZennaPlugin.class);
+
+            assertTrue(project.getPluginManager().hasPlugin("java"));
+
+            final ContentCompileTask task = (ContentCompileTask) project.getTasks()
+                    .getByName(ZennaPlugin.COMPILE_CONTENTS_TASK_NAME);
+
+            assertFalse(task.getPack().get());
+            assertEquals(project.getLayout().getBuildDirectory().dir(ZennaPlugin.OUTPUT_DIRECTORY).get().getAsFile(),
+                    task.getOutputDirectory().get().getAsFile());
+            assertTrue(project.getTasks().getByName(JavaPlugin.PROCESS_RESOURCES_TASK_NAME).getTaskDependencies()
+                    .getDependencies(null).contains(task));
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+
+/**
+ * The class that represents the source of the condition extractor generated
+ * for a content mapper. The generated extractor writes the value of each field
+ * into the position of its key name in the fixed layout of the content mapper.
+ *
+ * <p>
+ * The value of each field is converted to the condition value in the same way
+ * as the reflection at runtime: the value of a field declared as {@code int} ,
+ * {@code long} , {@code short} or {@code byte} and the code of a field declared
+ * as {@code Catalog} or {@code BiCatalog} are set as integral values, otherwise
+ * the string representation of the value is set.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+final class ConditionExtractorSource extends GeneratedSource {
+
+    /**
+     * The suffix of the generated class name
+     */
+    private static final String SUFFIX = "_ZennaMapper";
+
+    /**
+     * The fully qualified name of catalog
+     */
+    private static final String CATALOG = "org.thinkit.api.catalog.Catalog";
+
+    /**
+     * The fully qualified name of bi-catalog
+     */
+    private static final String BI_CATALOG = "org.thinkit.api.catalog.BiCatalog";
+
+    /**
+     * The primitive types whose values are extracted as integral values
+     */
+    private static final Set<String> INTEGRAL_TYPES = Set.of("int", "long", "short", "byte");
+
+    /**
+     * The constructor
+     *
+     * @param processingEnv The processing environment
+     * @param mapper        The content mapper
+     * @param fields        The instance fields of the content mapper
+     */
+    ConditionExtractorSource(ProcessingEnvironment processingEnv, TypeElement mapper, List<VariableElement> fields) {
+        super(processingEnv, mapper, fields);
+    }
+
+    @Override
+    protected String getSuffix() {
+        return SUFFIX;
+    }
+
+    @Override
+    protected void writeBody(StringBuilder source) {
+
+        final List<VariableElement> fields = super.getFields();
+        final String contentName = super.getAnnotationValue(super.getTarget(), ContentProcessor.CONTENT);
+        final List<String> keys = new ArrayList<>(fields.size());
+
+        for (final VariableElement field : fields) {
+            final String key = this.getConditionKey(field);
+
+            if (!keys.contains(key)) {
+                keys.add(key);
+            }
+        }
+
+        source.append(" implements org.thinkit.zenna.spi.ConditionExtractor<org.thinkit.zenna.mapper.Mapper<?>> {\n\n");
+
+        source.append("    private static final org.thinkit.zenna.compiler.ConditionLayout LAYOUT = ")
+                .append("org.thinkit.zenna.compiler.ConditionLayout.of(");
+
+        for (int i = 0, size = keys.size(); i < size; i++) {
+            source.append(i == 0 ? "" : ", ").append(quote(keys.get(i)));
+        }
+
+        source.append(");\n\n");
+
+        super.writeVarHandles(source);
+
+        source.append("    @java.lang.Override\n");
+        source.append("    public java.lang.String getContentName() {\n");
+        source.append("        return ").append(contentName == null ? "null" : quote(contentName)).append(";\n");
+        source.append("    }\n\n");
+
+        source.append("    @java.lang.Override\n");
+        source.append("    public org.thinkit.zenna.compiler.ConditionLayout getLayout() {\n");
+        source.append("        return LAYOUT;\n");
+        source.append("    }\n\n");
+
+        source.append("    @java.lang.Override\n");
+        source.append("    public void extract(org.thinkit.zenna.mapper.Mapper<?> mapper, ")
+                .append("org.thinkit.zenna.compiler.ConditionTuple conditionTuple) {\n");
+        source.append("        final ").append(super.getTargetName())
+                .append(" target = java.util.Objects.requireNonNull((").append(super.getTargetName())
+                .append(") mapper);\n");
+        source.append("        java.util.Objects.requireNonNull(conditionTuple);\n");
+
+        for (int i = 0, size = fields.size(); i < size; i++) {
+            final VariableElement field = fields.get(i);
+            source.append("        conditionTuple.set(").append(keys.indexOf(this.getConditionKey(field))).append(", ")
+                    .append(this.getConditionValue(field, getVarHandleName(i))).append(");\n");
+        }
+
+        source.append("    }\n");
+    }
+
+    /**
+     * Returns the condition key of the field passed as an argument. The value of
+     * the condition annotation is used if it is given, otherwise the field name is
+     * used.
+     *
+     * @param field The field
+     * @return The condition key
+     */
+    private String getConditionKey(VariableElement field) {
+
+        final String conditionKey = super.getAnnotationValue(field, ContentProcessor.CONDITION);
+
+        if (conditionKey != null) {
+            return conditionKey;
+        }
+
+        return field.getSimpleName().toString();
+    }
+
+    /**
+     * Returns the expression that converts the value of the field passed as an
+     * argument to the condition value.
+     *
+     * @param field         The field
+     * @param varHandleName The name of the var handle of the field
+     * @return The expression of the condition value
+     */
+    private String getConditionValue(VariableElement field, String varHandleName) {
+
+        final String className = super.getClassName(field.asType());
+
+        if (CATALOG.equals(className) || BI_CATALOG.equals(className)) {
+            return String.format("((%s<?%s>) %s.get(target)).getCode()", className,
+                    BI_CATALOG.equals(className) ? ", ?" : "", varHandleName);
+        }
+
+        if (INTEGRAL_TYPES.contains(className)) {
+            return String.format("(long) %s.get(target)", varHandleName);
+        }
+
+        return String.format("java.lang.String.valueOf((java.lang.Object) %s.get(target))", varHandleName);
+    }
+}
@@ -0,0 +1,326 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * The annotation processor that generates the classes used by Zenna DB instead
+ * of the reflection at runtime.
+ *
+ * <p>
+ * For each concrete content mapper that extends {@code ContentMapper} , the
+ * class that implements {@code ConditionExtractor} is generated. It holds the
+ * content name specified in the {@code Content} annotation and extracts the
+ * conditions from the fields of the mapper.
+ *
+ * <p>
+ * For each concrete content entity that implements {@code ContentEntity} , the
+ * class that implements {@code EntityFactory} is generated. It holds the
+ * attribute names of the entity and creates the new entity from a selected
+ * item.
+ *
+ * <p>
+ * The processor is triggered only by the {@code Content} , {@code Condition}
+ * and {@code Attribute} annotations. The classes to be processed are found from
+ * the top-level classes declaring the annotated elements and their nested
+ * classes, and the content entity bound to the type argument of each content
+ * mapper found there is processed as well. A content mapper or a content entity
+ * that is not reachable from the annotations is handled by the reflection at
+ * runtime.
+ *
+ * <p>
+ * The fields are read and written through {@link java.lang.invoke.VarHandle}
+ * obtained once when the generated class is initialized, so neither the
+ * annotations nor the fields are looked up reflectively at runtime. A class
+ * that cannot be handled by the generated class, such as an entity that has
+ * final fields or does not have a no-argument constructor, is skipped and
+ * handled by the reflection at runtime as before.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+@SupportedAnnotationTypes({ ContentProcessor.CONTENT, ContentProcessor.CONDITION, ContentProcessor.ATTRIBUTE })
+public final class ContentProcessor extends AbstractProcessor {
+
+    /**
+     * The fully qualified name of the content annotation
+     */
+    static final String CONTENT = "org.thinkit.zenna.annotation.Content";
+
+    /**
+     * The fully qualified name of the condition annotation
+     */
+    static final String CONDITION = "org.thinkit.zenna.annotation.Condition";
+
+    /**
+     * The fully qualified name of the attribute annotation
+     */
+    static final String ATTRIBUTE = "org.thinkit.zenna.annotation.Attribute";
+
+    /**
+     * The fully qualified name of content mapper
+     */
+    static final String CONTENT_MAPPER = "org.thinkit.zenna.mapper.ContentMapper";
+
+    /**
+     * The fully qualified name of content entity
+     */
+    static final String CONTENT_ENTITY = "org.thinkit.zenna.entity.ContentEntity";
+
+    /**
+     * The fully qualified names of the classes already generated
+     */
+    private final Set<String> generatedClasses = new HashSet<>();
+
+    /**
+     * The default constructor
+     */
+    public ContentProcessor() {
+    }
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.generatedClasses.clear();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+        final TypeElement contentMapper = super.processingEnv.getElementUtils().getTypeElement(CONTENT_MAPPER);
+        final TypeElement contentEntity = super.processingEnv.getElementUtils().getTypeElement(CONTENT_ENTITY);
+
+        if (contentMapper == null || contentEntity == null) {
+            return false;
+        }
+
+        final TypeMirror mapperType = super.processingEnv.getTypeUtils().erasure(contentMapper.asType());
+        final TypeMirror entityType = super.processingEnv.getTypeUtils().erasure(contentEntity.asType());
+        final Set<TypeElement> rootTypes = new LinkedHashSet<>();
+
+        for (final TypeElement annotation : annotations) {
+            for (final Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                rootTypes.add(this.getTopLevelType(element));
+            }
+        }
+
+        for (final TypeElement type : this.getTargetTypes(new ArrayList<>(rootTypes))) {
+            final TypeElement resultType = this.getResultType(type, contentMapper);
+
+            if (resultType != null && roundEnv.getRootElements().contains(this.getTopLevelType(resultType))) {
+                rootTypes.add(this.getTopLevelType(resultType));
+            }
+        }
+
+        for (final TypeElement type : this.getTargetTypes(rootTypes)) {
+            final TypeMirror erasure = super.processingEnv.getTypeUtils().erasure(type.asType());
+
+            if (super.processingEnv.getTypeUtils().isSubtype(erasure, mapperType)) {
+                this.generate(new ConditionExtractorSource(super.processingEnv, type, this.getInstanceFields(type)));
+            }
+
+            if (super.processingEnv.getTypeUtils().isAssignable(erasure, entityType) && this.isBindable(type)) {
+                this.generate(new EntityFactorySource(super.processingEnv, type, this.getInstanceFields(type)));
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the concrete classes that can be referenced from the generated
+     * classes among the types passed as an argument and their nested types.
+     *
+     * @param types The root types
+     * @return The concrete classes that can be referenced from the generated
+     *         classes
+     */
+    private List<TypeElement> getTargetTypes(Iterable<TypeElement> types) {
+
+        final List<TypeElement> targetTypes = new ArrayList<>();
+
+        for (final TypeElement type : types) {
+            if (type.getModifiers().contains(Modifier.PRIVATE)) {
+                continue;
+            }
+
+            if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+
+            if (type.getKind() == ElementKind.CLASS && !type.getModifiers().contains(Modifier.ABSTRACT)
+                    && type.getTypeParameters().isEmpty()) {
+                targetTypes.add(type);
+            }
+
+            targetTypes.addAll(this.getTargetTypes(ElementFilter.typesIn(type.getEnclosedElements())));
+        }
+
+        return targetTypes;
+    }
+
+    /**
+     * Returns the top-level type enclosing the element passed as an argument. If
+     * the element is a top-level type, the element itself is returned.
+     *
+     * @param element The element
+     * @return The top-level type enclosing the element
+     */
+    private TypeElement getTopLevelType(Element element) {
+
+        Element topLevelType = element;
+
+        while (topLevelType.getEnclosingElement() != null
+                && topLevelType.getEnclosingElement().getKind() != ElementKind.PACKAGE) {
+            topLevelType = topLevelType.getEnclosingElement();
+        }
+
+        return (TypeElement) topLevelType;
+    }
+
+    /**
+     * Returns the content entity bound to the type argument of the content mapper
+     * passed as an argument.
+     *
+     * @param type          The type
+     * @param contentMapper The element of content mapper
+     * @return The content entity bound to the type argument, or {@code null} if the
+     *         type is not a content mapper or the type argument is not a class
+     */
+    private TypeElement getResultType(TypeElement type, TypeElement contentMapper) {
+
+        TypeMirror superclass = type.getSuperclass();
+
+        while (superclass.getKind() == TypeKind.DECLARED) {
+            final DeclaredType declaredType = (DeclaredType) superclass;
+            final TypeElement element = (TypeElement) declaredType.asElement();
+
+            if (element.equals(contentMapper)) {
+                final List<? extends TypeMirror> typeArguments = declaredType.getTypeArguments();
+
+                if (typeArguments.size() == 1 && typeArguments.get(0).getKind() == TypeKind.DECLARED) {
+                    return (TypeElement) ((DeclaredType) typeArguments.get(0)).asElement();
+                }
+
+                return null;
+            }
+
+            superclass = element.getSuperclass();
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the instance fields declared in the type passed as an argument.
+     *
+     * @param type The type
+     * @return The instance fields declared in the type
+     */
+    private List<VariableElement> getInstanceFields(TypeElement type) {
+
+        final List<VariableElement> fields = new ArrayList<>();
+
+        for (final VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (!field.getModifiers().contains(Modifier.STATIC)) {
+                fields.add(field);
+            }
+        }
+
+        return fields;
+    }
+
+    /**
+     * Checks if the entity passed as an argument can be created and bound by the
+     * generated class. The entity must have a non-private no-argument constructor
+     * and must not have final instance fields.
+     *
+     * @param type The type of entity
+     * @return {@code true} if the entity can be created and bound by the generated
+     *         class, otherwise {@code false}
+     */
+    private boolean isBindable(TypeElement type) {
+
+        for (final VariableElement field : this.getInstanceFields(type)) {
+            if (field.getModifiers().contains(Modifier.FINAL)) {
+                return false;
+            }
+        }
+
+        for (final ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Writes the generated source passed as an argument. If the class has already
+     * been generated, nothing is done.
+     *
+     * @param source The generated source
+     */
+    private void generate(GeneratedSource source) {
+
+        final String className = source.getQualifiedName();
+
+        if (!this.generatedClasses.add(className)) {
+            return;
+        }
+
+        final Element originatingElement = source.getTarget();
+
+        try (final Writer writer = super.processingEnv.getFiler().createSourceFile(className, originatingElement)
+                .openWriter()) {
+            writer.write(source.toSource());
+        } catch (IOException e) {
+            super.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    String.format("The class '%s' could not be generated: %s", className, e.getMessage()),
+                    originatingElement);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+
+/**
+ * The class that represents the source of the entity factory generated for a
+ * content entity.
+ *
+ * <p>
+ * The generated factory creates the entity with its no-argument constructor
+ * and sets the attribute of the selected item associated with each field, in
+ * the same way as the reflection at runtime. The value of a field declared as
+ * {@code int} , {@code long} , {@code double} or {@code boolean} is read with
+ * the typed getter of the attribute columns and set without boxing, and the
+ * entity passed to the factory is reused by overwriting its fields.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+final class EntityFactorySource extends GeneratedSource {
+
+    /**
+     * The suffix of the generated class name
+     */
+    private static final String SUFFIX = "_ZennaBinder";
+
+    /**
+     * The getters of the attribute columns associated with each primitive type
+     */
+    private static final Map<String, String> COLUMN_GETTERS = Map.of("int", "getInt", "long", "getLong", "double",
+            "getDouble", "boolean", "getBoolean");
+
+    /**
+     * The constructor
+     *
+     * @param processingEnv The processing environment
+     * @param entity        The content entity
+     * @param fields        The instance fields of the content entity
+     */
+    EntityFactorySource(ProcessingEnvironment processingEnv, TypeElement entity, List<VariableElement> fields) {
+        super(processingEnv, entity, fields);
+    }
+
+    @Override
+    protected String getSuffix() {
+        return SUFFIX;
+    }
+
+    @Override
+    protected void writeBody(StringBuilder source) {
+
+        final List<VariableElement> fields = super.getFields();
+        final String targetName = super.getTargetName();
+
+        source.append(" implements org.thinkit.zenna.spi.EntityFactory<").append(targetName).append("> {\n\n");
+
+        source.append("    private static final java.util.Set<java.lang.String> ATTRIBUTES = ")
+                .append("java.util.Collections.unmodifiableSet(new java.util.LinkedHashSet<>(")
+                .append("java.util.Arrays.<java.lang.String>asList(");
+
+        for (int i = 0, size = fields.size(); i < size; i++) {
+            source.append(i == 0 ? "" : ", ").append(quote(this.getAttribute(fields.get(i))));
+        }
+
+        source.append(")));\n\n");
+
+        super.writeVarHandles(source);
+
+        source.append("    @java.lang.Override\n");
+        source.append("    public java.util.Set<java.lang.String> getAttributes() {\n");
+        source.append("        return ATTRIBUTES;\n");
+        source.append("    }\n\n");
+
+        final List<String> attributes = new ArrayList<>();
+
+        for (final VariableElement field : fields) {
+            if (!attributes.contains(this.getAttribute(field))) {
+                attributes.add(this.getAttribute(field));
+            }
+        }
+
+        source.append("    @java.lang.Override\n");
+        source.append("    public ").append(targetName).append(" create(")
+                .append("org.thinkit.zenna.compiler.AttributeColumns attributeColumns, int[] columns, int row) {\n");
+        source.append("        return this.bind(null, attributeColumns, columns, row);\n");
+        source.append("    }\n\n");
+
+        source.append("    @java.lang.Override\n");
+        source.append("    public ").append(targetName).append(" bind(").append(targetName)
+                .append(" target, org.thinkit.zenna.compiler.AttributeColumns attributeColumns, int[] columns, ")
+                .append("int row) {\n");
+        source.append("        java.util.Objects.requireNonNull(attributeColumns);\n");
+        source.append("        java.util.Objects.requireNonNull(columns);\n");
+        source.append("        final ").append(targetName).append(" entity = target != null ? target : new ")
+                .append(targetName).append("();\n");
+
+        for (int i = 0, size = fields.size(); i < size; i++) {
+            final VariableElement field = fields.get(i);
+            source.append("        ").append(getVarHandleName(i)).append(".set(entity, attributeColumns.")
+                    .append(COLUMN_GETTERS.getOrDefault(super.getClassName(field.asType()), "getObject"))
+                    .append("(columns[").append(attributes.indexOf(this.getAttribute(field))).append("], row));\n");
+        }
+
+        source.append("        return entity;\n");
+        source.append("    }\n");
+    }
+
+    /**
+     * Returns the attribute name of the field passed as an argument. The value of
+     * the attribute annotation is used if it is given, otherwise the field name is
+     * used.
+     *
+     * @param field The field
+     * @return The attribute name
+     */
+    private String getAttribute(VariableElement field) {
+
+        final String attribute = super.getAnnotationValue(field, ContentProcessor.ATTRIBUTE);
+
+        if (attribute != null) {
+            return attribute;
+        }
+
+        return field.getSimpleName().toString();
+    }
+}
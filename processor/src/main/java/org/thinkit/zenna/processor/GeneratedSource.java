@@ -0,0 +1,326 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.processor;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map.Entry;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * The abstract class that represents the source of a class generated for a
+ * target class. The fields of the target class are accessed through the
+ * {@link java.lang.invoke.VarHandle} obtained with the private lookup in the
+ * target class when the generated class is initialized.
+ *
+ * <p>
+ * The generated class is placed in the same package as the target class, and
+ * its name consists of the binary name of the target class with {@code $}
+ * replaced by {@code _} and the suffix of each generated class.
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+abstract class GeneratedSource {
+
+    /**
+     * The name of the annotation processor given to the generated class
+     */
+    private static final String GENERATOR = ContentProcessor.class.getName();
+
+    /**
+     * The processing environment
+     */
+    private final ProcessingEnvironment processingEnv;
+
+    /**
+     * The target class
+     */
+    private final TypeElement target;
+
+    /**
+     * The instance fields of the target class
+     */
+    private final List<VariableElement> fields;
+
+    /**
+     * The constructor
+     *
+     * @param processingEnv The processing environment
+     * @param target        The target class
+     * @param fields        The instance fields of the target class
+     */
+    GeneratedSource(ProcessingEnvironment processingEnv, TypeElement target, List<VariableElement> fields) {
+        this.processingEnv = processingEnv;
+        this.target = target;
+        this.fields = fields;
+    }
+
+    /**
+     * Returns the suffix of the generated class name.
+     *
+     * @return The suffix of the generated class name
+     */
+    protected abstract String getSuffix();
+
+    /**
+     * Writes the declaration and the members of the generated class following the
+     * static initializer of the var handles.
+     *
+     * @param source The source being generated
+     */
+    protected abstract void writeBody(StringBuilder source);
+
+    /**
+     * Returns the target class.
+     *
+     * @return The target class
+     */
+    TypeElement getTarget() {
+        return this.target;
+    }
+
+    /**
+     * Returns the instance fields of the target class.
+     *
+     * @return The instance fields of the target class
+     */
+    protected List<VariableElement> getFields() {
+        return this.fields;
+    }
+
+    /**
+     * Returns the fully qualified name of the generated class.
+     *
+     * @return The fully qualified name of the generated class
+     */
+    String getQualifiedName() {
+
+        final String packageName = this.getPackageName();
+
+        if (packageName.isEmpty()) {
+            return this.getSimpleName();
+        }
+
+        return packageName + "." + this.getSimpleName();
+    }
+
+    /**
+     * Returns the whole source of the generated class.
+     *
+     * @return The source of the generated class
+     */
+    String toSource() {
+
+        final StringBuilder source = new StringBuilder();
+        final String packageName = this.getPackageName();
+
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+
+        source.append("@javax.annotation.processing.Generated(").append(quote(GENERATOR)).append(")\n");
+        source.append("public final class ").append(this.getSimpleName());
+
+        this.writeBody(source);
+
+        return source.append("}\n").toString();
+    }
+
+    /**
+     * Writes the declarations of the var handles of the instance fields and the
+     * static initializer that obtains them.
+     *
+     * @param source The source being generated
+     */
+    protected void writeVarHandles(StringBuilder source) {
+
+        if (this.fields.isEmpty()) {
+            return;
+        }
+
+        for (int i = 0, size = this.fields.size(); i < size; i++) {
+            source.append("    private static final java.lang.invoke.VarHandle ").append(getVarHandleName(i))
+                    .append(";\n\n");
+        }
+
+        final String targetClass = this.getTargetName() + ".class";
+
+        source.append("    static {\n");
+        source.append("        try {\n");
+        source.append("            final java.lang.invoke.MethodHandles.Lookup lookup = ")
+                .append("java.lang.invoke.MethodHandles.privateLookupIn(").append(targetClass)
+                .append(", java.lang.invoke.MethodHandles.lookup());\n");
+
+        for (int i = 0, size = this.fields.size(); i < size; i++) {
+            final VariableElement field = this.fields.get(i);
+            source.append("            ").append(getVarHandleName(i)).append(" = lookup.findVarHandle(")
+                    .append(targetClass).append(", ").append(quote(field.getSimpleName().toString())).append(", ")
+                    .append(this.getClassName(field.asType())).append(".class);\n");
+        }
+
+        source.append("        } catch (java.lang.ReflectiveOperationException e) {\n");
+        source.append("            throw new java.lang.ExceptionInInitializerError(e);\n");
+        source.append("        }\n");
+        source.append("    }\n\n");
+    }
+
+    /**
+     * Returns the canonical name of the target class.
+     *
+     * @return The canonical name of the target class
+     */
+    protected String getTargetName() {
+        return this.target.getQualifiedName().toString();
+    }
+
+    /**
+     * Returns the canonical name of the erasure of the type passed as an argument.
+     *
+     * @param type The type
+     * @return The canonical name of the erasure of the type
+     */
+    protected String getClassName(TypeMirror type) {
+
+        final TypeMirror erasure = this.processingEnv.getTypeUtils().erasure(type);
+
+        switch (erasure.getKind()) {
+            case ARRAY:
+                return this.getClassName(((ArrayType) erasure).getComponentType()) + "[]";
+            case DECLARED:
+                return ((TypeElement) ((DeclaredType) erasure).asElement()).getQualifiedName().toString();
+            default:
+                return erasure.getKind().name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Returns the value of the {@code value} element of the annotation given to the
+     * element passed as an argument, or {@code null} if the annotation is not
+     * given.
+     *
+     * @param element        The annotated element
+     * @param annotationName The fully qualified name of the annotation
+     * @return The value of the annotation, or {@code null} if the annotation is not
+     *         given
+     */
+    protected String getAnnotationValue(Element element, String annotationName) {
+
+        for (final AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            final TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+
+            if (!annotationType.getQualifiedName().contentEquals(annotationName)) {
+                continue;
+            }
+
+            for (final Entry<? extends ExecutableElement, ? extends AnnotationValue> value : this.processingEnv
+                    .getElementUtils().getElementValuesWithDefaults(annotation).entrySet()) {
+                if (value.getKey().getSimpleName().contentEquals("value")) {
+                    return String.valueOf(value.getValue().getValue());
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the name of the var handle of the field at the position passed as an
+     * argument.
+     *
+     * @param position The position of the field
+     * @return The name of the var handle
+     */
+    protected static String getVarHandleName(int position) {
+        return "FIELD_" + position;
+    }
+
+    /**
+     * Returns the Java string literal representing the value passed as an
+     * argument.
+     *
+     * @param value The value
+     * @return The Java string literal
+     */
+    protected static String quote(String value) {
+
+        final StringBuilder literal = new StringBuilder(value.length() + 2).append('"');
+
+        for (int i = 0, length = value.length(); i < length; i++) {
+            final char character = value.charAt(i);
+
+            switch (character) {
+                case '"':
+                    literal.append("\\\"");
+                    break;
+                case '\\':
+                    literal.append("\\\\");
+                    break;
+                case '\n':
+                    literal.append("\\n");
+                    break;
+                case '\r':
+                    literal.append("\\r");
+                    break;
+                case '\t':
+                    literal.append("\\t");
+                    break;
+                default:
+                    if (character < 0x20 || character > 0x7e) {
+                        literal.append(String.format("\\u%04x", (int) character));
+                    } else {
+                        literal.append(character);
+                    }
+            }
+        }
+
+        return literal.append('"').toString();
+    }
+
+    /**
+     * Returns the name of the package in which the target class is declared.
+     *
+     * @return The package name, or the empty string for the unnamed package
+     */
+    private String getPackageName() {
+        final PackageElement packageElement = this.processingEnv.getElementUtils().getPackageOf(this.target);
+        return packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+    }
+
+    /**
+     * Returns the simple name of the generated class.
+     *
+     * @return The simple name of the generated class
+     */
+    private String getSimpleName() {
+
+        final String binaryName = this.processingEnv.getElementUtils().getBinaryName(this.target).toString();
+        final String packageName = this.getPackageName();
+        final String className = packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+
+        return className.replace('$', '_') + this.getSuffix();
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * The package that manages the annotation processor of Zenna DB that generates
+ * the condition extractors of content mappers and the factories of content
+ * entities at compile time.
+ */
+package org.thinkit.zenna.processor;
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2021 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.zenna.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.thinkit.zenna.compiler.AttributeColumns;
+import org.thinkit.zenna.compiler.ConditionTuple;
+import org.thinkit.zenna.entity.ContentEntity;
+import org.thinkit.zenna.mapper.Mapper;
+import org.thinkit.zenna.spi.ConditionExtractor;
+import org.thinkit.zenna.spi.EntityFactory;
+import org.thinkit.zenna.spi.GeneratedClasses;
+
+/**
+ * The class that manages test case of {@link ContentProcessor} .
+ *
+ * @author Kato Shinya
+ * @since 1.1.0
+ */
+final class ContentProcessorTest {
+
+    /**
+     * The source of the content entity for testing
+     */
+    private static final String ENTITY_SOURCE = String.join("\n", "package test;",
+            "import org.thinkit.zenna.annotation.Attribute;", "import org.thinkit.zenna.entity.ContentEntity;",
+            "public class TestEntity implements ContentEntity {", "    private String test1;",
+            "    @Attribute(\"test\\\"2\") private int test2;", "    private static String ignored;",
+            "    public String getTest1() { return test1; }", "    public int getTest2() { return test2; }", "}");
+
+    /**
+     * The source of the content entity with a final field for testing
+     */
+    private static final String FINAL_ENTITY_SOURCE = String.join("\n", "package test;",
+            "import org.thinkit.zenna.entity.ContentEntity;", "public class FinalEntity implements ContentEntity {",
+            "    private final String test = \"\";", "}");
+
+    /**
+     * The source of the content entity without annotations for testing
+     */
+    private static final String PLAIN_ENTITY_SOURCE = String.join("\n", "package test;",
+            "import org.thinkit.zenna.entity.ContentEntity;", "public class PlainEntity implements ContentEntity {",
+            "    private String plain;", "}");
+
+    /**
+     * The source of the content mapper without annotations for testing
+     */
+    private static final String PLAIN_MAPPER_SOURCE = String.join("\n", "package test;",
+            "import org.thinkit.zenna.mapper.ContentMapper;",
+            "public class PlainMapper extends ContentMapper<FinalEntity> {", "    private String plain;", "}");
+
+    /**
+     * The source of the content mapper for testing
+     */
+    private static final String MAPPER_SOURCE = String.join("\n", "package test;",
+            "import org.thinkit.zenna.annotation.Condition;", "import org.thinkit.zenna.annotation.Content;",
+            "import org.thinkit.zenna.mapper.ContentMapper;", "@Content(\"TestContent\")",
+            "public class TestMapper extends ContentMapper<TestEntity> {",
+            "    private String variableName = \"value\";", "    @Condition(\"alias\") private long number = 10L;",
+            "    @Condition(\"alias\") private int duplicated = 20;",
+            "    private Object nothing;", "    private static final String IGNORED = \"\";",
+            "    public static class NestedMapper extends ContentMapper<PlainEntity> {",
+            "        private boolean flag = true;", "    }", "}");
+
+    @Nested
+    class TestConditionExtractor {
+
+        @Test
+        void testWhenConditionKeysAreDuplicated(@TempDir Path directory) throws Exception {
+            try (final URLClassLoader classLoader = compile(directory)) {
+                final ConditionExtractor<Mapper<?>> sut = newConditionExtractor(classLoader, "test.TestMapper");
+                assertEquals(3, sut.getLayout().size());
+                assertEquals(1, sut.getLayout().getPosition("alias"));
+            }
+        }
+
+        @Test
+        void testWhenMapperHasContentAnnotation(@TempDir Path directory) throws Exception {
+            try (final URLClassLoader classLoader = compile(directory)) {
+                final ConditionExtractor<Mapper<?>> sut = newConditionExtractor(classLoader, "test.TestMapper");
+                assertNotNull(sut);
+                assertEquals("TestContent", sut.getContentName());
+            }
+        }
+
+        @Test
+        void testWhenMapperHasConditions(@TempDir Path directory) throws Exception {
+            try (final URLClassLoader classLoader = compile(directory)) {
+                final ConditionExtractor<Mapper<?>> sut = newConditionExtractor(classLoader, "test.TestMapper");
+                final Map<String, String> conditions = extract(sut, classLoader.loadClass("test.TestMapper"));
+
+                assertEquals(3, conditions.size());
+                assertEquals("value", conditions.get("variableName"));
+                assertEquals("20", conditions.get("alias"));
+                assertEquals("null", conditions.get("nothing"));
+            }
+        }
+
+        @Test
+        void testWhenMapperIsNested(@TempDir Path directory) throws Exception {
+            try (final URLClassLoader classLoader = compile(directory)) {
+                final Class<?> mapperClass = classLoader.loadClass("test.TestMapper$NestedMapper");
+                final ConditionExtractor<Mapper<?>> sut = newConditionExtractor(classLoader,
+                        "test.TestMapper$NestedMapper");
+
+                assertEquals("test.TestMapper_NestedMapper_ZennaMapper",
+                        GeneratedClasses.getName(mapperClass, ConditionExtractor.SUFFIX));
+                assertNull(sut.getContentName());
+                assertEquals(Map.of("flag", "true"), extract(sut, mapperClass));
+            }
+        }
+
+        @Test
+        void testWhenMapperIsNotReachableFromAnnotations(@TempDir Path directory) throws Exception {
+            try (final URLClassLoader classLoader = compile(directory)) {
+                assertNull(newConditionExtractor(classLoader, "test.PlainMapper"));
+            }
+        }
+    }
+
+    @Nested
+    class TestEntityFactory {
+
+        @Test
+        void testWhenEntityHasAttributes(@TempDir Path directory) throws Exception {
+            try (final URLClassLoader classLoader = compile(directory)) {
+                final EntityFactory<ContentEntity> sut = newEntityFactory(classLoader, "test.TestEntity");
+                assertNotNull(sut);
+                assertEquals(new LinkedHashSet<>(List.of("test1", "test\"2")), sut.getAttributes());
+            }
+        }
+
+        @Test
+        void testWhenEntityIsCreated(@TempDir Path directory) throws Exception {
+            try (final URLClassLoader classLoader = compile(directory)) {
+                final EntityFactory<ContentEntity> sut = newEntityFactory(classLoader, "test.TestEntity");
+                final AttributeColumns attributeColumns = AttributeColumns.from(Map.of("selectionNodes",
+                        List.of(Map.of("node", Map.of("test1", "value1", "test\"2", 1)),
+                                Map.of("node", Map.of("test1", "value2", "test\"2", 2)))));
+                final int[] columns = attributeColumns.getColumns(sut.getAttributes());
+                final ContentEntity entity = sut.create(attributeColumns, columns, 0);
+
+                assertEquals("value1", entity.getClass().getMethod("getTest1").invoke(entity));
+                assertEquals(1, entity.getClass().getMethod("getTest2").invoke(entity));
+                assertSame(entity, sut.bind(entity, attributeColumns, columns, 1));
+                assertEquals("value2", entity.getClass().getMethod("getTest1").invoke(entity));
+                assertEquals(2, entity.getClass().getMethod("getTest2").invoke(entity));
+            }
+        }
+
+        @Test
+        void testWhenEntityIsResultTypeOfMapper(@TempDir Path directory) throws Exception {
+            try (final URLClassLoader classLoader = compile(directory)) {
+                final EntityFactory<ContentEntity> sut = newEntityFactory(classLoader, "test.PlainEntity");
+                assertNotNull(sut);
+                assertEquals(Set.of("plain"), sut.getAttributes());
+            }
+        }
+
+        @Test
+        void testWhenEntityHasFinalField(@TempDir Path directory) throws Exception {
+            try (final URLClassLoader classLoader = compile(directory)) {
+                assertNull(newEntityFactory(classLoader, "test.FinalEntity"));
+                assertFalse(Files.exists(directory.resolve("classes/test/FinalEntity_ZennaBinder.class")));
+                assertTrue(Files.exists(directory.resolve("classes/test/TestEntity_ZennaBinder.class")));
+            }
+        }
+    }
+
+    /**
+     * Compiles the sources for testing with {@link ContentProcessor} and returns
+     * the class loader that loads the compiled classes.
+     *
+     * @param directory The working directory
+     * @return The class loader that loads the compiled classes
+     *
+     * @throws IOException If an I/O error occurs
+     */
+    private static URLClassLoader compile(Path directory) throws IOException {
+
+        final Path sources = Files.createDirectories(directory.resolve("sources/test"));
+        final Path classes = Files.createDirectories(directory.resolve("classes"));
+        final List<String> arguments = new ArrayList<>(List.of("-d", classes.toString(), "-classpath",
+                System.getProperty("java.class.path"), "-processor", ContentProcessor.class.getName()));
+
+        arguments.add(write(sources.resolve("TestEntity.java"), ENTITY_SOURCE));
+        arguments.add(write(sources.resolve("FinalEntity.java"), FINAL_ENTITY_SOURCE));
+        arguments.add(write(sources.resolve("PlainEntity.java"), PLAIN_ENTITY_SOURCE));
+        arguments.add(write(sources.resolve("TestMapper.java"), MAPPER_SOURCE));
+        arguments.add(write(sources.resolve("PlainMapper.java"), PLAIN_MAPPER_SOURCE));
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertEquals(0, compiler.run(null, null, null, arguments.toArray(new String[0])));
+
+        return new URLClassLoader(new URL[] { classes.toUri().toURL() }, ContentProcessorTest.class.getClassLoader());
+    }
+
+    /**
+     * Writes the source to the file and returns the path of the file.
+     *
+     * @param file   The file
+     * @param source The source
+     * @return The path of the file
+     *
+     * @throws IOException If an I/O error occurs
+     */
+    private static String write(Path file, String source) throws IOException {
+        return Files.writeString(file, source, StandardCharsets.UTF_8).toString();
+    }
+
+    /**
+     * Returns the condition extractor generated for the content mapper.
+     *
+     * @param classLoader The class loader that loads the compiled classes
+     * @param className   The binary name of the content mapper
+     * @return The generated condition extractor, or {@code null}
+     *
+     * @throws ClassNotFoundException If the content mapper is not found
+     */
+    @SuppressWarnings("unchecked")
+    private static ConditionExtractor<Mapper<?>> newConditionExtractor(ClassLoader classLoader, String className)
+            throws ClassNotFoundException {
+        return GeneratedClasses.newInstance(classLoader.loadClass(className), ConditionExtractor.SUFFIX,
+                ConditionExtractor.class);
+    }
+
+    /**
+     * Returns the entity factory generated for the content entity.
+     *
+     * @param classLoader The class loader that loads the compiled classes
+     * @param className   The binary name of the content entity
+     * @return The generated entity factory, or {@code null}
+     *
+     * @throws ClassNotFoundException If the content entity is not found
+     */
+    @SuppressWarnings("unchecked")
+    private static EntityFactory<ContentEntity> newEntityFactory(ClassLoader classLoader, String className)
+            throws ClassNotFoundException {
+        return GeneratedClasses.newInstance(classLoader.loadClass(className), EntityFactory.SUFFIX,
+                EntityFactory.class);
+    }
+
+    /**
+     * Extracts the conditions from the new instance of the content mapper with the
+     * condition extractor and returns them as a map.
+     *
+     * @param conditionExtractor The condition extractor
+     * @param mapperClass        The class of the content mapper
+     * @return The map containing the conditions
+     *
+     * @throws ReflectiveOperationException If the content mapper cannot be
+     *                                      instantiated
+     */
+    private static Map<String, String> extract(ConditionExtractor<Mapper<?>> conditionExtractor,
+            Class<?> mapperClass) throws ReflectiveOperationException {
+
+        final ConditionTuple conditionTuple = conditionExtractor.getLayout().newTuple();
+        conditionExtractor.extract(newMapper(mapperClass), conditionTuple);
+
+        return conditionTuple.toMap();
+    }
+
+    /**
+     * Returns the new instance of the content mapper.
+     *
+     * @param mapperClass The class of the content mapper
+     * @return The new instance of the content mapper
+     *
+     * @throws ReflectiveOperationException If the content mapper cannot be
+     *                                      instantiated
+     */
+    private static Mapper<?> newMapper(Class<?> mapperClass) throws ReflectiveOperationException {
+        return (Mapper<?>) mapperClass.getConstructor().newInstance();
+    }
+}